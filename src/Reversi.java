@@ -11,11 +11,20 @@ import model.SquareReversi;
 import provider.StrategyAnyOpenSpace;
 import provider.StrategyMaximizeCurrentDiscs;
 import provider.StrategyMoveToCorner;
+import strategy.AlphaBetaStrategy;
 import strategy.CaptureMost;
+import strategy.ProbCutParameters;
+import strategy.ReversiStrategy;
+import strategy.WeightedEvaluator;
 import view.IReversiView;
 import view.ReversiView;
 import view.SquareReversiView;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.swing.SwingUtilities;
+
 
 /**
  * The `Reversi` class is the entry point for running the Reversi game.
@@ -148,22 +157,44 @@ public final class Reversi {
     }
   }
 
+  // AI players think on these daemon threads and report their moves on the Swing event thread,
+  // so the boards keep painting during a long search
+  private static final ExecutorService AI_THREADS = Executors.newCachedThreadPool(task -> {
+    Thread thread = new Thread(task, "reversi-ai");
+    thread.setDaemon(true);
+    return thread;
+  });
+
   private static Player createPlayer(ModelAdopter model, String playerType, CellType cellType) {
     switch (playerType.toLowerCase()) {
       case "humanplayer":
         return new HumanPlayer(model, cellType);
       case "strategy1":
-        return new AIPlayer(model, new CaptureMost(), cellType);
+        return aiPlayer(model, new CaptureMost(), cellType);
+      case "alphabeta":
+        AlphaBetaStrategy alphaBeta = new AlphaBetaStrategy();
+        alphaBeta.setPondering(true);
+        return aiPlayer(model, alphaBeta, cellType);
+      case "probcut":
+        AlphaBetaStrategy probCut = new AlphaBetaStrategy(WeightedEvaluator.standard(), 8,
+                ProbCutParameters.standard());
+        probCut.setPondering(true);
+        return aiPlayer(model, probCut, cellType);
       case "providerstrategy1":
-        return new AIPlayer(model,
+        return aiPlayer(model,
                 new StrategyAdopter(new StrategyMaximizeCurrentDiscs()), cellType);
       case "providerstrategyanyopenspace":
-        return new AIPlayer(model, new StrategyAdopter(new StrategyAnyOpenSpace()), cellType);
+        return aiPlayer(model, new StrategyAdopter(new StrategyAnyOpenSpace()), cellType);
       case "providerstrategy2":
-        return new AIPlayer(model,
+        return aiPlayer(model,
                 new StrategyAdopter(new StrategyMoveToCorner(model.getCopyOfBoard())), cellType);
       default:
         throw new IllegalArgumentException("Invalid player type: " + playerType);
     }
   }
-}
\ No newline at end of file
+
+  private static AIPlayer aiPlayer(ModelAdopter model, ReversiStrategy strategy,
+                                   CellType cellType) {
+    return new AIPlayer(model, strategy, cellType, AI_THREADS, SwingUtilities::invokeLater);
+  }
+}
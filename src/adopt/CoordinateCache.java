@@ -0,0 +1,204 @@
+package adopt;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import model.Coordinate;
+import model.ICoordinate;
+import provider.Board;
+import provider.Coordinates;
+import provider.HexDirection;
+import strategy.BoardGeometry;
+
+/**
+ * The CoordinateCache class translates between the provider's coordinates, given as row and
+ * column, and our model's {@link Coordinate}s, given as column and row, without making new
+ * objects. For every board shape there is one cache, made the first time it is asked for, that
+ * holds one provider coordinate and one model coordinate per cell, together with the neighbour
+ * of every cell in each {@link HexDirection}.
+ *
+ * <p>Because the coordinates handed out are shared, two lookups of the same cell give the same
+ * object, so coordinates from different adapters can be told apart by identity.</p>
+ */
+public final class CoordinateCache {
+
+  private static final Map<BoardGeometry, CoordinateCache> CACHE = new ConcurrentHashMap<>();
+
+  // row and column steps of each direction, in the order of HexDirection
+  private static final int[][] STEPS = {{-1, 0}, {-1, 1}, {0, 1}, {1, 0}, {1, -1}, {0, -1}};
+
+  private final BoardGeometry geometry;
+  private final CoordinateAdopter[] coordinates;
+  private final Coordinate[] modelCoordinates;
+  private final int[][] neighbors;
+  private final List<Coordinates> inBounds;
+
+  private CoordinateCache(BoardGeometry geometry) {
+    this.geometry = geometry;
+    int cells = geometry.getCellCount();
+    this.coordinates = new CoordinateAdopter[cells];
+    this.modelCoordinates = new Coordinate[cells];
+    for (int index = 0; index < cells; index++) {
+      coordinates[index] = new CoordinateAdopter(geometry.rowOf(index), geometry.columnOf(index));
+      modelCoordinates[index] = new Coordinate(geometry.columnOf(index), geometry.rowOf(index));
+    }
+    this.neighbors = new int[STEPS.length][cells];
+    for (int direction = 0; direction < STEPS.length; direction++) {
+      for (int index = 0; index < cells; index++) {
+        neighbors[direction][index] = geometry.indexOf(
+                geometry.columnOf(index) + STEPS[direction][1],
+                geometry.rowOf(index) + STEPS[direction][0]);
+      }
+    }
+    this.inBounds = Collections.unmodifiableList(Arrays.asList(coordinates));
+  }
+
+  /**
+   * Gets the cache of a board shape.
+   *
+   * @param geometry The shape of the board.
+   * @return The shared cache of that shape.
+   * @throws IllegalArgumentException If the geometry is null.
+   */
+  public static CoordinateCache of(BoardGeometry geometry) {
+    if (geometry == null) {
+      throw new IllegalArgumentException("Geometry cannot be null");
+    }
+    return CACHE.computeIfAbsent(geometry, CoordinateCache::new);
+  }
+
+  /**
+   * Gets the cache of a provider board, which is hexagonal unless it holds a square model's
+   * cells.
+   *
+   * @param board The board.
+   * @return The shared cache of the board's shape, or null if the board has no valid size.
+   */
+  public static CoordinateCache forBoard(Board board) {
+    if (board instanceof HexBoard) {
+      return ((HexBoard) board).getCoordinateCache();
+    }
+    try {
+      return of(BoardGeometry.hexagonal(board.getBoardSize()));
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Gets the shape of the board the cache is for.
+   *
+   * @return The geometry.
+   */
+  public BoardGeometry getGeometry() {
+    return geometry;
+  }
+
+  /**
+   * Gets the cell index of provider coordinates.
+   *
+   * @param coordinates The coordinates, row first.
+   * @return The cell index, or -1 if the coordinates are off the board.
+   * @throws IllegalArgumentException If the coordinates are null.
+   */
+  public int indexOf(Coordinates coordinates) {
+    if (coordinates == null) {
+      throw new IllegalArgumentException("Coordinates cannot be null");
+    }
+    return geometry.indexOf(coordinates.getSecondCoordinate(), coordinates.getFirstCoordinate());
+  }
+
+  /**
+   * Gets the shared provider coordinates of a cell.
+   *
+   * @param index The cell index.
+   * @return The coordinates.
+   */
+  public CoordinateAdopter get(int index) {
+    return coordinates[index];
+  }
+
+  /**
+   * Gets the shared provider coordinates of a position.
+   *
+   * @param row    The row.
+   * @param column The column.
+   * @return The coordinates, or null if the position is off the board.
+   */
+  public CoordinateAdopter get(int row, int column) {
+    int index = geometry.indexOf(column, row);
+    return index < 0 ? null : coordinates[index];
+  }
+
+  /**
+   * Translates model coordinates to the shared provider coordinates of the same cell.
+   *
+   * @param coordinate The model coordinate.
+   * @return The provider coordinates, or null if the coordinate is off the board.
+   */
+  public CoordinateAdopter toProvider(ICoordinate coordinate) {
+    return get(coordinate.getRow(), coordinate.getCol());
+  }
+
+  /**
+   * Translates provider coordinates to the shared model coordinate of the same cell.
+   *
+   * @param coordinates The provider coordinates, row first.
+   * @return The model coordinate, or a new one if the coordinates are off the board.
+   */
+  public Coordinate toModel(Coordinates coordinates) {
+    int index = indexOf(coordinates);
+    return index < 0
+            ? new Coordinate(coordinates.getSecondCoordinate(), coordinates.getFirstCoordinate())
+            : modelCoordinates[index];
+  }
+
+  /**
+   * Gets the shared model coordinate of a cell.
+   *
+   * @param index The cell index.
+   * @return The model coordinate.
+   */
+  public Coordinate toModel(int index) {
+    return modelCoordinates[index];
+  }
+
+  /**
+   * Gets the neighbour of a cell.
+   *
+   * @param index     The cell index.
+   * @param direction The direction of the neighbour.
+   * @return The index of the neighbour, or -1 if it is off the board.
+   */
+  public int neighbor(int index, HexDirection direction) {
+    return neighbors[direction.ordinal()][index];
+  }
+
+  /**
+   * Gets the shared coordinates of the neighbour of a cell.
+   *
+   * @param coordinates The coordinates of the cell.
+   * @param direction   The direction of the neighbour.
+   * @return The neighbour's coordinates, or null if the cell or its neighbour is off the board.
+   */
+  public CoordinateAdopter neighbor(Coordinates coordinates, HexDirection direction) {
+    int index = indexOf(coordinates);
+    if (index < 0) {
+      return null;
+    }
+    int next = neighbors[direction.ordinal()][index];
+    return next < 0 ? null : this.coordinates[next];
+  }
+
+  /**
+   * Gets the shared coordinates of every cell, row by row.
+   *
+   * @return An unmodifiable list of the coordinates.
+   */
+  public List<Coordinates> getInBoundsCoordinates() {
+    return inBounds;
+  }
+}
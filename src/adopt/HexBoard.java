@@ -4,53 +4,74 @@ import java.util.HashMap;
 import java.util.List;
 
 import model.CellType;
+import model.Coordinate;
 import model.ICoordinate;
 import provider.Board;
 import provider.Cell;
 import provider.Coordinates;
 import provider.DiscState;
+import strategy.BoardGeometry;
+import strategy.SearchBoard;
 
 /**
  * Represents a hexagonal board for a board game. This class provides functionality to manipulate
- * and access the state of the board. It operates with a delegate HashMap that maps coordinates
- * to cell types, enabling the management of the game's grid.
+ * and access the state of the board. The cells are kept in a compact search board, so copying a
+ * board copies a few small arrays rather than a map of coordinates.
  */
 public class HexBoard implements Board {
 
-  HexBoard board;
-  HashMap<ICoordinate, CellType> delegate;
+  final SearchBoard cells;
+  private final CoordinateCache coordinates;
 
   /**
-   * Constructs a HexBoard with a reference to another HexBoard.
-   * This constructor is used for creating a new board that shares
-   * the state with another board.
+   * Constructs a HexBoard holding a copy of another HexBoard. Changes to either board are not
+   * seen by the other.
    *
-   * @param board The HexBoard to be referenced.
+   * @param board The HexBoard to be copied.
    */
   public HexBoard(HexBoard board) {
-    this.board = board;
-    this.delegate = board.getDelegate();
+    this(board.cells);
   }
 
   /**
-   * Constructs a HexBoard with a specified delegate.
-   * This constructor initializes the board with a given delegate HashMap.
+   * Constructs a HexBoard with the cells of a game board map.
    *
-   * @param delegate The HashMap mapping coordinates to cell types.
+   * @param delegate The HashMap mapping coordinates to cell types, as given by a game model.
    */
   public HexBoard(HashMap<ICoordinate, CellType> delegate) {
-    this.delegate = delegate;
+    this.cells = SearchBoard.fromGameBoard(delegate, sizeOf(delegate), CellType.BLACK);
+    this.coordinates = CoordinateCache.of(cells.getGeometry());
+  }
+
+  /**
+   * Constructs a HexBoard holding a copy of a search board.
+   *
+   * @param cells The search board to copy.
+   */
+  HexBoard(SearchBoard cells) {
+    this.cells = new SearchBoard(cells);
+    this.coordinates = CoordinateCache.of(cells.getGeometry());
+  }
+
+  private static int sizeOf(HashMap<ICoordinate, CellType> board) {
+    int size = 0;
+    for (ICoordinate coordinate : board.keySet()) {
+      size = Math.max(size, Math.max(coordinate.getRow(), coordinate.getCol()) + 1);
+    }
+    return size;
   }
 
   /**
    * Retrieves the cell at the specified coordinates.
    *
    * @param coordinates The coordinates of the cell to retrieve.
-   * @return The Cell at the specified coordinates. Currently returns null.
+   * @return The Cell at the specified coordinates, which reads and changes this board, or null
+   *         if the coordinates are off the board.
    */
   @Override
   public Cell getCellAt(Coordinates coordinates) {
-    return null;
+    int index = indexOf(coordinates);
+    return index < 0 ? null : new BoardCell(index);
   }
 
   /**
@@ -58,62 +79,137 @@ public class HexBoard implements Board {
    *
    * @param coordinates The coordinates of the cell to modify.
    * @param state The new state of the cell.
+   * @throws IllegalArgumentException If the coordinates are off the board.
    */
   @Override
   public void setCellAt(Coordinates coordinates, DiscState state) {
-    int a = 1;
+    cells.setCell(requireIndex(coordinates), colorOf(state));
   }
 
   /**
-   * Flips the state of a cell at specified coordinates.
+   * Flips the state of a cell at specified coordinates. Empty cells stay empty.
    *
    * @param coordinates The coordinates of the cell to flip.
+   * @throws IllegalArgumentException If the coordinates are off the board.
    */
   @Override
   public void flipCellAt(Coordinates coordinates) {
-    int a = 1;
+    flip(requireIndex(coordinates));
   }
 
   /**
    * Returns the side length of the board.
-   * Currently, this method returns 0 and needs implementation.
    *
    * @return The side length of the board.
    */
   @Override
   public int getBoardSideLength() {
-    return 0;
+    return (getBoardSize() + 1) / 2;
   }
 
   /**
-   * Returns the total size of the board.
-   * Currently, this method returns 0 and needs implementation.
+   * Returns the number of rows (and columns) of the board.
    *
-   * @return The total size of the board.
+   * @return The size of the board.
    */
   @Override
   public int getBoardSize() {
-    return 0;
+    return cells.getGeometry().getBoardSize();
   }
 
   /**
-   * Retrieves a list of coordinates that are within the bounds of the board.
-   * Currently, this method returns null and needs implementation.
+   * Retrieves a list of coordinates that are within the bounds of the board, row by row.
    *
-   * @return A List of Coordinates within the bounds of the board.
+   * @return An unmodifiable List of the shared Coordinates within the bounds of the board.
    */
   @Override
   public List<Coordinates> getInBoundsCoordinates() {
-    return null;
+    return coordinates.getInBoundsCoordinates();
   }
 
   /**
-   * Accesses the delegate HashMap used by this HexBoard.
+   * Gets the board as a game board map, with null for the positions that are not cells. The
+   * map is a copy; changing it does not change the board.
    *
-   * @return The delegate HashMap mapping coordinates to cell types.
+   * @return The HashMap mapping coordinates to cell types.
    */
   public HashMap<ICoordinate, CellType> getDelegate() {
-    return delegate;
+    BoardGeometry geometry = cells.getGeometry();
+    HashMap<ICoordinate, CellType> map = new HashMap<>();
+    for (int row = 0; row < geometry.getBoardSize(); row++) {
+      for (int col = 0; col < geometry.getBoardSize(); col++) {
+        int index = geometry.indexOf(col, row);
+        if (index < 0) {
+          map.put(new Coordinate(col, row), null);
+        } else {
+          map.put(coordinates.toModel(index), SearchBoard.cellTypeOf(cells.getCell(index)));
+        }
+      }
+    }
+    return map;
   }
 
+  CoordinateCache getCoordinateCache() {
+    return coordinates;
+  }
+
+  private int indexOf(Coordinates coordinates) {
+    return this.coordinates.indexOf(coordinates);
+  }
+
+  private int requireIndex(Coordinates coordinates) {
+    int index = indexOf(coordinates);
+    if (index < 0) {
+      throw new IllegalArgumentException("Coordinates are off the board");
+    }
+    return index;
+  }
+
+  private void flip(int index) {
+    int color = cells.getCell(index);
+    if (color != SearchBoard.EMPTY) {
+      cells.setCell(index, SearchBoard.opponent(color));
+    }
+  }
+
+  static DiscState discStateOf(int color) {
+    if (color == SearchBoard.BLACK) {
+      return DiscState.BLACK;
+    }
+    return color == SearchBoard.WHITE ? DiscState.WHITE : DiscState.UNPLACED;
+  }
+
+  private static int colorOf(DiscState state) {
+    if (state == DiscState.BLACK) {
+      return SearchBoard.BLACK;
+    }
+    return state == DiscState.WHITE ? SearchBoard.WHITE : SearchBoard.EMPTY;
+  }
+
+  /**
+   * A cell of this board.
+   */
+  private final class BoardCell implements Cell {
+
+    private final int index;
+
+    private BoardCell(int index) {
+      this.index = index;
+    }
+
+    @Override
+    public DiscState getDiscState() {
+      return discStateOf(cells.getCell(index));
+    }
+
+    @Override
+    public void setDiscState(DiscState state) {
+      cells.setCell(index, colorOf(state));
+    }
+
+    @Override
+    public void flipDiscState() {
+      flip(index);
+    }
+  }
 }
@@ -1,10 +1,11 @@
 package adopt;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
-import model.BasicReversi;
 import model.CellType;
 import model.ICoordinate;
 import provider.ModelFeatures;
@@ -12,24 +13,66 @@ import provider.Coordinates;
 import provider.DiscState;
 import provider.MutableReversiModel;
 import provider.PlayerColor;
+import strategy.SearchBoard;
 
 /**
- * Implements a hexagonal version of the Reversi game model. This class is responsible for
- * managing the game state, including the board, moves, and game logic. It utilizes a HashMap
- * to maintain the state of the board and a BasicReversi model for the game logic.
+ * Implements a hexagonal version of the Reversi game model for simulating moves, such as a
+ * strategy trying out each of its candidate moves. The board is kept in a compact search board,
+ * so a simulation copies its parent's board cheaply, and a move tried out is taken back with
+ * {@link #undo()} instead of copying the board for every move.
+ *
+ * <p>Moves are checked with the standard rules: a move is legal if it flips at least one
+ * disc.</p>
  */
 public class HexReversi implements MutableReversiModel {
 
-  HashMap<ICoordinate, CellType> boardMine;
-  BasicReversi model;
+  private static final int PASS = -1;
+
+  private final SearchBoard board;
+  private final CoordinateCache coordinates;
+  private boolean started;
+  // the cells played, or PASS, in the order played, so they can be undone
+  private int[] history = new int[16];
+  private int played;
 
   /**
-   * Constructs a HexReversi game model with a specified initial board state.
+   * Constructs a HexReversi game model with a specified initial board state. The game starts
+   * with black to move once {@link #startGame()} is called.
    *
    * @param board The initial state of the board.
    */
   public HexReversi(HashMap<ICoordinate, CellType> board) {
-    this.boardMine = board;
+    this.board = new HexBoard(board).cells;
+    this.coordinates = CoordinateCache.of(this.board.getGeometry());
+  }
+
+  /**
+   * Constructs a started HexReversi game model on a copy of a board.
+   *
+   * @param board The board to copy.
+   * @param turn  The color of the player to move.
+   * @throws IllegalArgumentException If the board or the color is null.
+   */
+  public HexReversi(HexBoard board, PlayerColor turn) {
+    if (board == null || turn == null) {
+      throw new IllegalArgumentException("Board and turn cannot be null");
+    }
+    this.board = new SearchBoard(board.cells);
+    this.board.setSideToMove(colorOf(turn));
+    this.coordinates = CoordinateCache.of(this.board.getGeometry());
+    this.started = true;
+  }
+
+  /**
+   * Constructs a HexReversi game model in the same state as another one. The moves played on
+   * the other model cannot be undone on this one.
+   *
+   * @param parent The model to copy.
+   */
+  public HexReversi(HexReversi parent) {
+    this.board = new SearchBoard(parent.board);
+    this.coordinates = parent.coordinates;
+    this.started = parent.started;
   }
 
   /**
@@ -43,7 +86,13 @@ public class HexReversi implements MutableReversiModel {
   @Override
   public void makeMove(PlayerColor color, Coordinates coordinates)
           throws IllegalArgumentException, IllegalStateException {
-    // Method implementation
+    checkTurn(color);
+    int index = indexOf(coordinates);
+    if (index < 0 || !board.isLegalMove(index)) {
+      throw new IllegalArgumentException("Move is not valid");
+    }
+    board.makeMove(index);
+    remember(index);
   }
 
   /**
@@ -54,17 +103,38 @@ public class HexReversi implements MutableReversiModel {
    */
   @Override
   public void optToPass(PlayerColor color) throws IllegalStateException {
-    // Method implementation
+    checkTurn(color);
+    board.pass();
+    remember(PASS);
+  }
+
+  /**
+   * Takes back the last move or pass.
+   *
+   * @throws IllegalStateException If nothing has been played on this model.
+   */
+  public void undo() {
+    if (played == 0) {
+      throw new IllegalStateException("Nothing to undo");
+    }
+    if (history[--played] == PASS) {
+      board.pass();
+    } else {
+      board.undoMove();
+    }
   }
 
   /**
-   * Starts the game. Currently, this method requires implementation.
+   * Starts the game, with the player to move given when the model was made.
    *
-   * @throws IllegalStateException If the game cannot be started.
+   * @throws IllegalStateException If the game has already started.
    */
   @Override
   public void startGame() throws IllegalStateException {
-    // Method implementation
+    if (started) {
+      throw new IllegalStateException("Game has already started");
+    }
+    started = true;
   }
 
   /**
@@ -72,163 +142,175 @@ public class HexReversi implements MutableReversiModel {
    *
    * @param color The color of the player.
    * @param coordinates The coordinates of the intended move.
-   * @return false, currently not implemented.
-   * @throws IllegalArgumentException If the coordinates are invalid.
-   * @throws IllegalStateException If the game state is not valid for checking moves.
+   * @return True if the move would flip at least one disc, false if not or if it is off the board.
+   * @throws IllegalArgumentException If the color or the coordinates are null.
    */
   @Override
   public boolean isValidMove(PlayerColor color, Coordinates coordinates)
           throws IllegalArgumentException, IllegalStateException {
-    return false;
+    int index = indexOf(coordinates);
+    return index >= 0 && board.isLegalMove(index, colorOf(color));
   }
 
   /**
-   * Calculates possible moves for a given player color. Currently not implemented.
+   * Calculates possible moves for a given player color, row by row.
    *
    * @param color The color of the player.
-   * @return null, implementation required.
-   * @throws IllegalArgumentException If the player color is invalid.
-   * @throws IllegalStateException If the game state is not valid for calculating moves.
+   * @return The coordinates of the legal moves of that player.
+   * @throws IllegalArgumentException If the player color is null.
    */
   @Override
   public Set<Coordinates> calculateMoves(PlayerColor color)
           throws IllegalArgumentException, IllegalStateException {
-    return null;
+    int player = colorOf(color);
+    Set<Coordinates> moves = new LinkedHashSet<>();
+    for (int index = 0; index < board.getGeometry().getCellCount(); index++) {
+      if (board.isLegalMove(index, player)) {
+        moves.add(coordinates.get(index));
+      }
+    }
+    return moves;
   }
 
   /**
-   * Checks if the game is over. Currently, this method returns false and needs implementation.
+   * Checks if the game is over, which is when neither player has a legal move.
    *
-   * @return false, indicating the game is not over.
-   * @throws IllegalStateException If the game state is invalid.
+   * @return True if the game is over.
+   * @throws IllegalStateException If the game has not started.
    */
   @Override
   public boolean isGameOver() throws IllegalStateException {
-    return false;
+    checkStarted();
+    return board.isGameOver();
   }
 
   /**
-   * Retrieves the state of a disc at specified coordinates. Currently, this method returns null.
+   * Retrieves the state of a disc at specified coordinates.
    *
    * @param coordinates The coordinates of the disc.
-   * @return null, implementation required.
-   * @throws IllegalArgumentException If the coordinates are invalid.
-   * @throws IllegalStateException If the game state is invalid.
+   * @return The state of the disc, UNPLACED if the cell is empty or off the board.
+   * @throws IllegalArgumentException If the coordinates are null.
    */
   @Override
   public DiscState getDiscStateAt(Coordinates coordinates)
           throws IllegalArgumentException, IllegalStateException {
-    return null;
+    int index = indexOf(coordinates);
+    return index < 0 ? DiscState.UNPLACED : HexBoard.discStateOf(board.getCell(index));
   }
 
   /**
-   * Gets the score for a given player color. This method calculates the score based on the current
-   * board state.
+   * Gets the score for a given player color, the number of discs of that color on the board.
    *
    * @param color The color of the player whose score is to be retrieved.
    * @return The score of the specified player.
-   * @throws IllegalStateException If the game state is invalid for score calculation.
+   * @throws IllegalArgumentException If the color is null.
    */
   @Override
   public int getScore(PlayerColor color) throws IllegalStateException {
-    CellType colorCell;
-
-
-    if (color == PlayerColor.BLACK) {
-      colorCell = CellType.BLACK;
-    }
-    else {
-      colorCell = CellType.WHITE;
-    }
-
-    BasicReversi model =  new BasicReversi(boardMine, colorCell);
-
-    int[] scores = model.getScores();
-
-    int blackScore = scores[0];
-    int whiteScore = scores[1];
-
-    if (colorCell == CellType.BLACK) {
-      return blackScore;
-    }
-    else {
-      return whiteScore;
-    }
-
+    return board.getDiscCount(colorOf(color));
   }
 
   /**
-   * Gets a copy of the current board. Currently, this method returns null and needs implementation.
+   * Gets a copy of the current board.
    *
-   * @return null, implementation required.
+   * @return The copy, which does not change with this model.
    */
   @Override
   public HexBoard getCopyOfBoard() {
-    return null;
+    return new HexBoard(board);
   }
 
   /**
-   * Returns the total size of the board. Currently, this method returns 0 and needs implementation.
+   * Returns the number of rows (and columns) of the board.
    *
-   * @return 0, indicating the board size.
-   * @throws IllegalStateException If the game state is invalid.
+   * @return The board size.
    */
   @Override
   public int getBoardSize() throws IllegalStateException {
-    return 0;
+    return board.getGeometry().getBoardSize();
   }
 
   /**
-   * Returns the side length of the board. Currently, this method returns 0 and needs
-   * implementation.
+   * Returns the side length of the board.
    *
-   * @return 0, indicating the board side length.
-   * @throws IllegalStateException If the game state is invalid.
+   * @return The board side length.
    */
   @Override
   public int getBoardSideLength() throws IllegalStateException {
-    return 0;
+    return (getBoardSize() + 1) / 2;
   }
 
   /**
-   * Retrieves a list of coordinates that are within the bounds of the board.
-   * Currently, this method returns null and needs implementation.
+   * Retrieves a list of coordinates that are within the bounds of the board, row by row.
    *
-   * @return null, implementation required.
+   * @return An unmodifiable list of the shared coordinates of every cell.
    */
   @Override
   public List<Coordinates> getInBoundsCoordinates() {
-    return null;
+    return coordinates.getInBoundsCoordinates();
   }
 
   /**
-   * Returns the length of the longest row on the board. Currently, this method returns 0.
+   * Returns the length of the longest row on the board, the middle row.
    *
-   * @return 0, indicating the length of the longest row.
+   * @return The length of the longest row.
    */
   @Override
   public int getLongestRowLength() {
-    return 0;
+    return getBoardSize();
   }
 
   /**
-   * Retrieves which player's turn it is. Currently, this method returns null and needs
-   * implementation.
+   * Retrieves which player's turn it is.
    *
-   * @return null, implementation required.
+   * @return The color of the player to move, or null if the game has not started.
    */
   @Override
   public PlayerColor getTurn() {
-    return null;
+    if (!started) {
+      return null;
+    }
+    return board.getSideToMove() == SearchBoard.BLACK ? PlayerColor.BLACK : PlayerColor.WHITE;
   }
 
   /**
-   * Adds a listener for model features. Currently, this method has no implementation.
+   * Adds a listener for model features. A simulation has no listeners, so this does nothing.
    *
    * @param listener The listener to be added.
    */
   @Override
   public void addModelFeaturesListener(ModelFeatures listener) {
-    // Method implementation
+    // nobody but the simulating strategy sees a simulation
+  }
+
+  private void checkStarted() {
+    if (!started) {
+      throw new IllegalStateException("Game has not started");
+    }
+  }
+
+  private void checkTurn(PlayerColor color) {
+    checkStarted();
+    if (colorOf(color) != board.getSideToMove()) {
+      throw new IllegalStateException("It is not your turn");
+    }
+  }
+
+  private void remember(int index) {
+    if (played == history.length) {
+      history = Arrays.copyOf(history, played * 2);
+    }
+    history[played++] = index;
+  }
+
+  private int indexOf(Coordinates coordinates) {
+    return this.coordinates.indexOf(coordinates);
+  }
+
+  private static int colorOf(PlayerColor color) {
+    if (color == null) {
+      throw new IllegalArgumentException("Color cannot be null");
+    }
+    return color == PlayerColor.BLACK ? SearchBoard.BLACK : SearchBoard.WHITE;
   }
 }
@@ -1,20 +1,21 @@
 package adopt;
 
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import model.BasicReversi;
 import model.CellType;
 import model.ICoordinate;
 import model.ReadonlyReversiModel;
+import profiling.MoveGenerationEvent;
 import provider.ModelFeatures;
 import provider.Coordinates;
 import provider.DiscState;
 import provider.PlayerColor;
 import provider.ReadOnlyReversiModel;
+import strategy.SearchBoard;
 
 /**
  * ModelAdopter serves as an adapter class, implementing both ReadOnlyReversiModel
@@ -23,11 +24,26 @@ import provider.ReadOnlyReversiModel;
  * providing a unified interface for accessing the game state and logic of a Reversi game.
  * This class is useful for adapting between different implementations
  * or versions of the Reversi model interface.
+ *
+ * <p>Provider queries are answered from a search board copied from the model once per board
+ * version, so asking for moves, discs or scores many times between two moves copies the board
+ * only once. The coordinates handed out come from the board's {@link CoordinateCache}. Since the
+ * model turns down some moves that flip discs, every move the search board allows is checked
+ * with the model before it is handed out; the search board never misses one the model
+ * allows.</p>
  */
 public class ModelAdopter implements ReadOnlyReversiModel, ReadonlyReversiModel {
 
   ReadonlyReversiModel delegate;
 
+  // the board as of snapshotVersion, and the shared coordinates of its cells
+  private SearchBoard snapshot;
+  private long snapshotVersion = -1;
+  private CoordinateCache coordinates;
+  // asked about moves of the player not to move, made when first needed for a version
+  private ReadonlyReversiModel otherTurn;
+  private int otherTurnColor;
+
   /**
    * Constructs a ModelAdopter with a specified ReadonlyReversiModel.
    *
@@ -51,6 +67,11 @@ public class ModelAdopter implements ReadOnlyReversiModel, ReadonlyReversiModel
     return delegate.getCurrentPlayerTurn();
   }
 
+  @Override
+  public long getBoardVersion() {
+    return delegate.getBoardVersion();
+  }
+
   @Override
   public char getWinner() {
     return delegate.getWinner();
@@ -86,17 +107,29 @@ public class ModelAdopter implements ReadOnlyReversiModel, ReadonlyReversiModel
     int happy = 1;
   }
 
+  /**
+   * Checks whether a player may place a disc at the given coordinates.
+   *
+   * @param color       The color of the player.
+   * @param coordinates The coordinates of the move.
+   * @return True if the move is legal for that player, false if it is not or is off the board.
+   * @throws IllegalArgumentException If the color or the coordinates are null.
+   */
   @Override
   public boolean isValidMove(PlayerColor color, Coordinates coordinates)
           throws IllegalArgumentException, IllegalStateException {
-    return false;
+    int player = colorOf(color);
+    SearchBoard board = snapshot();
+    int index = this.coordinates.indexOf(coordinates);
+    return index >= 0 && board.isLegalMove(index, player)
+            && refereeFor(player).canMakeMove(coordinates.getFirstCoordinate(),
+                    coordinates.getSecondCoordinate());
   }
 
   /**
    * Calculates all possible moves for a given player color on the Reversi board.
    * This method determine the valid moves based on the current game state and the specified
-   * player color. It creates a temporary BasicReversi model with a copy of the game board
-   * and the player color to evaluate possible moves.
+   * player color, whether or not it is that player's turn. The moves are listed row by row.
    *
    * @param color The color of the player (either PlayerColor.BLACK or PlayerColor.WHITE) for
    *              whom to calculate moves.
@@ -107,38 +140,20 @@ public class ModelAdopter implements ReadOnlyReversiModel, ReadonlyReversiModel
   @Override
   public Set<Coordinates> calculateMoves(PlayerColor color)
           throws IllegalArgumentException, IllegalStateException {
-
-
-
-
-    Set<Coordinates> set = new HashSet<>();
-
-    CellType colorCell;
-    if (color == PlayerColor.BLACK) {
-      colorCell = CellType.BLACK;
-    }
-    else {
-      colorCell = CellType.WHITE;
-    }
-
-    HashMap<ICoordinate, CellType> copyBoard = delegate.getGameBoard();
-
-    ReadonlyReversiModel model = new BasicReversi(copyBoard, colorCell);
-
-    for (int row = 0; row < model.getBoardSize(); row ++) {
-
-      for (int col = 0; col < model.getBoardSize(); col ++) {
-
-        if (model.canMakeMove(row, col)) {
-          set.add(new CoordinateAdopter(row, col));
-        }
+    int player = colorOf(color);
+    MoveGenerationEvent event = new MoveGenerationEvent();
+    event.begin();
+    SearchBoard board = snapshot();
+    ReadonlyReversiModel referee = refereeFor(player);
+    Set<Coordinates> set = new LinkedHashSet<>();
+    for (int index = 0; index < board.getGeometry().getCellCount(); index++) {
+      CoordinateAdopter cell = coordinates.get(index);
+      if (board.isLegalMove(index, player)
+              && referee.canMakeMove(cell.getFirstCoordinate(), cell.getSecondCoordinate())) {
+        set.add(cell);
       }
-
-
     }
-
-
-
+    event.commit(board.getGeometry().getBoardSize(), "provider adapter", set.size(), true);
     return set;
   }
 
@@ -164,13 +179,14 @@ public class ModelAdopter implements ReadOnlyReversiModel, ReadonlyReversiModel
           throws IllegalArgumentException, IllegalStateException {
 
 
-    int row = coordinates.getFirstCoordinate();
-    int column = coordinates.getSecondCoordinate();
+    SearchBoard board = snapshot();
+    int index = this.coordinates.indexOf(coordinates);
+    int cell = index < 0 ? SearchBoard.EMPTY : board.getCell(index);
 
-    if (delegate.getContent(row, column) == CellType.BLACK) {
+    if (cell == SearchBoard.BLACK) {
       return DiscState.BLACK;
     }
-    if (delegate.getContent(row, column) == CellType.WHITE) {
+    if (cell == SearchBoard.WHITE) {
       return DiscState.WHITE;
     }
     else {
@@ -179,16 +195,21 @@ public class ModelAdopter implements ReadOnlyReversiModel, ReadonlyReversiModel
 
   }
 
+  /**
+   * Counts the discs of a player on the board.
+   *
+   * @param color The color of the player.
+   * @return The number of discs of that color.
+   * @throws IllegalArgumentException If the color is null.
+   */
   @Override
   public int getScore(PlayerColor color) throws IllegalStateException {
-    return 0;
+    return snapshot().getDiscCount(colorOf(color));
   }
 
   @Override
   public HexBoard getCopyOfBoard() {
-
-
-    return new HexBoard(delegate.getGameBoard());
+    return new HexBoard(snapshot());
   }
 
 
@@ -204,31 +225,16 @@ public class ModelAdopter implements ReadOnlyReversiModel, ReadonlyReversiModel
 
   /**
    * Retrieves a list of coordinates that are within the bounds of the Reversi board and
-   * have a non-null content.
-   * This method iterates through each cell of the game board, as defined by the delegate's
-   * board size,and adds the coordinates of cells with non-null content to the list.
+   * have a non-null content, row by row.
    *
-   * @return A list of Coordinates objects representing all the in-bounds coordinates on the
-   *      game board with non-null content.
-   *      IEach coordinate is adapted into the CoordinateAdopter format.
+   * @return An unmodifiable list of Coordinates objects representing all the in-bounds
+   *      coordinates on the game board with non-null content.
+   *      Each coordinate is a shared CoordinateAdopter of the board's CoordinateCache.
    */
   @Override
   public List<Coordinates> getInBoundsCoordinates() {
-
-    List<Coordinates> list = new ArrayList<>();
-
-    for (int row = 0; row < delegate.getBoardSize(); row++) {
-      for (int col = 0; col < delegate.getBoardSize(); col++) {
-
-        if (delegate.getContent(row, col) != null) {
-          list.add(new CoordinateAdopter(row, col));
-        }
-
-      }
-    }
-
-
-    return list;
+    snapshot();
+    return coordinates.getInBoundsCoordinates();
   }
 
   @Override
@@ -245,4 +251,82 @@ public class ModelAdopter implements ReadOnlyReversiModel, ReadonlyReversiModel
   public void addModelFeaturesListener(ModelFeatures listener) {
     int jkl = 1;
   }
+
+  // copies the board once per version; the cell adapters are made on the first copy, since the
+  // cells of a board never change
+  private synchronized SearchBoard snapshot() {
+    long version = delegate.getBoardVersion();
+    if (snapshot == null || version != snapshotVersion) {
+      snapshot = SearchBoard.fromGameBoard(delegate.getGameBoard(), delegate.getBoardSize(),
+              CellType.BLACK);
+      snapshotVersion = version;
+      otherTurn = null;
+      if (coordinates == null) {
+        coordinates = CoordinateCache.of(snapshot.getGeometry());
+      }
+    }
+    return snapshot;
+  }
+
+  /**
+   * Gets the shared coordinates of the model's board.
+   *
+   * @return The coordinate cache of the board's shape.
+   */
+  CoordinateCache getCoordinateCache() {
+    snapshot();
+    return coordinates;
+  }
+
+  // the model that has the player to move, so its rules decide which moves are legal
+  private synchronized ReadonlyReversiModel refereeFor(int player) {
+    CellType turn;
+    try {
+      turn = delegate.isGameOver() ? null : delegate.getCurrentPlayerTurn();
+    } catch (IllegalStateException e) {
+      // the game has not started
+      turn = null;
+    }
+    if (turn != null && SearchBoard.colorOf(turn) == player) {
+      return delegate;
+    }
+    if (otherTurn == null || otherTurnColor != player) {
+      otherTurn = new BasicReversi(delegate.getGameBoard(), SearchBoard.cellTypeOf(player));
+      otherTurnColor = player;
+    }
+    return otherTurn;
+  }
+
+  /**
+   * Holds the adapter of the model a strategy was last asked about, so that the strategy reuses
+   * it, with its board copy and coordinates, while it is asked about the same model.
+   */
+  static final class Holder {
+
+    private ModelAdopter adopted;
+
+    /**
+     * Gets an adapter for a model: the model itself if it is one, else the one made for it
+     * last time, or a new one if the model has changed.
+     *
+     * @param model The model.
+     * @return The adapter.
+     */
+    synchronized ModelAdopter forModel(ReadonlyReversiModel model) {
+      if (model instanceof ModelAdopter) {
+        return (ModelAdopter) model;
+      }
+      if (adopted == null || adopted.delegate != model) {
+        adopted = new ModelAdopter(model);
+      }
+      return adopted;
+    }
+  }
+
+  private static int colorOf(PlayerColor color) {
+    if (color == null) {
+      throw new IllegalArgumentException("Color cannot be null");
+    }
+    return color == PlayerColor.BLACK ? SearchBoard.BLACK : SearchBoard.WHITE;
+  }
 }
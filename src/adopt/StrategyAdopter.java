@@ -18,6 +18,8 @@ public class StrategyAdopter implements strategy.ReversiStrategy {
 
   ReversiStrategy delegate;
 
+  private final ModelAdopter.Holder adopted = new ModelAdopter.Holder();
+
   /**
    * Constructs a StrategyAdopter with a specific implementation of the ReversiStrategy.
    *
@@ -40,22 +42,11 @@ public class StrategyAdopter implements strategy.ReversiStrategy {
   @Override
   public Coordinate chooseCoordinate(ReadonlyReversiModel model, CellType player) {
 
-    ModelAdopter model1 = new ModelAdopter(model);
-
-
-
+    ModelAdopter model1 = adopted.forModel(model);
 
     Optional<Coordinates> coordinates = delegate.chooseMove(model1, new PlayerAdopter(player));
 
 
-    int row = coordinates.get().getFirstCoordinate();
-    int col = coordinates.get().getSecondCoordinate();
-
-
-
-
-
-
-    return new Coordinate(col, row);
+    return model1.getCoordinateCache().toModel(coordinates.get());
   }
 }
@@ -0,0 +1,278 @@
+package adopt;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+
+import model.CellType;
+import model.Coordinate;
+import model.ReadonlyReversiModel;
+import provider.Coordinates;
+import provider.Player;
+import provider.PlayerColor;
+import provider.ReadOnlyReversiModel;
+import provider.ReversiStrategy;
+import strategy.SearchBoard;
+
+/**
+ * The StrategyPipeline class chains simple strategies, such as "take a corner", "stay off the
+ * second layer" and "flip the most discs", into one. The moves are generated once per decision
+ * and handed from stage to stage, each stage narrowing them down, instead of every strategy
+ * asking the model for the moves again when it falls back to the next one. Once a single move is
+ * left the remaining stages are skipped. If more than one move is left after the last stage, the
+ * upper-left-most one is chosen.
+ *
+ * <p>A pipeline is both a provider {@link ReversiStrategy} and one of our
+ * {@link strategy.ReversiStrategy}s, so it can play through either interface.</p>
+ */
+public final class StrategyPipeline implements ReversiStrategy, strategy.ReversiStrategy {
+
+  /**
+   * Tells whether a move has some property, such as being a corner.
+   */
+  public interface MoveFilter {
+
+    /**
+     * Tests a move.
+     *
+     * @param board The board before the move, with the player choosing the move to move.
+     * @param move  The cell index of the move.
+     * @return True if the move has the property.
+     */
+    boolean test(SearchBoard board, int move);
+  }
+
+  /**
+   * Gives a move a score, higher being better.
+   */
+  public interface MoveScorer {
+
+    /**
+     * Scores a move.
+     *
+     * @param board The board before the move, with the player choosing the move to move.
+     * @param move  The cell index of the move.
+     * @return The score of the move.
+     */
+    int score(SearchBoard board, int move);
+  }
+
+  /**
+   * A step of a pipeline, which keeps some of the candidate moves.
+   */
+  public interface Stage {
+
+    /**
+     * Narrows down the candidate moves, moving the ones kept to the front of the array in the
+     * order they were in.
+     *
+     * @param board The board before the move, with the player choosing the move to move.
+     * @param moves The cell indices of the candidates.
+     * @param count The number of candidates, at least two.
+     * @return The number of candidates kept, at least one.
+     */
+    int apply(SearchBoard board, int[] moves, int count);
+
+    /**
+     * Makes a stage that keeps only the moves a filter accepts, or every move if it accepts none.
+     *
+     * @param filter The filter.
+     * @return The stage.
+     * @throws IllegalArgumentException If the filter is null.
+     */
+    static Stage prefer(MoveFilter filter) {
+      requireNonNull(filter);
+      return (board, moves, count) -> keep(board, moves, count, filter, true);
+    }
+
+    /**
+     * Makes a stage that drops the moves a filter accepts, unless it accepts every move.
+     *
+     * @param filter The filter.
+     * @return The stage.
+     * @throws IllegalArgumentException If the filter is null.
+     */
+    static Stage avoid(MoveFilter filter) {
+      requireNonNull(filter);
+      return (board, moves, count) -> keep(board, moves, count, filter, false);
+    }
+
+    /**
+     * Makes a stage that keeps only the moves with the highest score.
+     *
+     * @param scorer The scorer.
+     * @return The stage.
+     * @throws IllegalArgumentException If the scorer is null.
+     */
+    static Stage maximize(MoveScorer scorer) {
+      requireNonNull(scorer);
+      return (board, moves, count) -> {
+        int best = Integer.MIN_VALUE;
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+          int score = scorer.score(board, moves[i]);
+          if (score > best) {
+            best = score;
+            kept = 0;
+          }
+          if (score == best) {
+            moves[kept++] = moves[i];
+          }
+        }
+        return kept;
+      };
+    }
+  }
+
+  /**
+   * Accepts the corners of the board.
+   */
+  public static final MoveFilter CORNER = (board, move) -> board.getGeometry().isCorner(move);
+
+  /**
+   * Accepts the cells of the outermost layer of the board, corners included.
+   */
+  public static final MoveFilter OUTER_LAYER =
+          (board, move) -> board.getGeometry().isOuterLayer(move);
+
+  /**
+   * Accepts the cells of the second outermost layer of the board, which give the opponent a way
+   * to the outer layer.
+   */
+  public static final MoveFilter SECOND_LAYER =
+          (board, move) -> board.getGeometry().isSecondLayer(move);
+
+  /**
+   * Scores a move by the number of discs it flips, which ranks the moves the same as the
+   * player's discs after them.
+   */
+  public static final MoveScorer FLIPS = SearchBoard::countFlips;
+
+  private final Stage[] stages;
+
+  private final ModelAdopter.Holder adopted = new ModelAdopter.Holder();
+
+  /**
+   * Constructs a pipeline that runs stages in order.
+   *
+   * @param stages The stages, first to last.
+   * @throws IllegalArgumentException If the stages or any of them are null.
+   */
+  public StrategyPipeline(Stage... stages) {
+    if (stages == null) {
+      throw new IllegalArgumentException("Stages cannot be null");
+    }
+    for (Stage stage : stages) {
+      if (stage == null) {
+        throw new IllegalArgumentException("Stages cannot be null");
+      }
+    }
+    this.stages = stages.clone();
+  }
+
+  /**
+   * Makes the pipeline of the provider's strategies: take a corner, else stay off the second
+   * layer, then flip the most discs.
+   *
+   * @return The pipeline.
+   */
+  public static StrategyPipeline standard() {
+    return new StrategyPipeline(Stage.prefer(CORNER), Stage.avoid(SECOND_LAYER),
+            Stage.maximize(FLIPS));
+  }
+
+  /**
+   * Chooses a move for a player of a provider model.
+   *
+   * @param model  The game.
+   * @param player The player to choose a move for.
+   * @return The chosen move, or empty if the player has no legal move.
+   * @throws IllegalArgumentException If the model or the player is null.
+   */
+  @Override
+  public Optional<Coordinates> chooseMove(ReadOnlyReversiModel model, Player player)
+          throws IllegalArgumentException {
+    if (model == null || player == null) {
+      throw new IllegalArgumentException("Model and player cannot be null");
+    }
+    PlayerColor color = player.getColor();
+    Set<Coordinates> moves = model.calculateMoves(color);
+    if (moves.isEmpty()) {
+      return Optional.empty();
+    }
+    HexBoard board = model.getCopyOfBoard();
+    CoordinateCache coordinates = board.getCoordinateCache();
+    int move = choose(board.cells, color, moves, coordinates);
+    return Optional.of(coordinates.get(move));
+  }
+
+  /**
+   * Chooses a move for a player of one of our models.
+   *
+   * @param model  The game.
+   * @param player The player to choose a move for.
+   * @return The chosen move.
+   * @throws IllegalArgumentException If it is not the player's turn or the game is over.
+   * @throws IllegalStateException    If the player has no legal move.
+   */
+  @Override
+  public Coordinate chooseCoordinate(ReadonlyReversiModel model, CellType player) {
+    if (model.getCurrentPlayerTurn() != player) {
+      throw new IllegalArgumentException("Not the correct player's turn to use a strategy");
+    }
+    if (model.isGameOver()) {
+      throw new IllegalArgumentException("The game is over");
+    }
+    ModelAdopter adopter = adopted.forModel(model);
+    PlayerColor color = player == CellType.BLACK ? PlayerColor.BLACK : PlayerColor.WHITE;
+    Set<Coordinates> moves = adopter.calculateMoves(color);
+    if (moves.isEmpty()) {
+      throw new IllegalStateException("You don't have any available moves left");
+    }
+    CoordinateCache coordinates = adopter.getCoordinateCache();
+    int move = choose(adopter.getCopyOfBoard().cells, color, moves, coordinates);
+    return coordinates.toModel(move);
+  }
+
+  // runs the stages over the moves, which are sorted by cell index so the first one left is the
+  // upper-left-most
+  private int choose(SearchBoard board, PlayerColor color, Set<Coordinates> legal,
+                     CoordinateCache coordinates) {
+    board.setSideToMove(color == PlayerColor.BLACK ? SearchBoard.BLACK : SearchBoard.WHITE);
+    int[] moves = new int[legal.size()];
+    int count = 0;
+    for (Coordinates move : legal) {
+      int index = coordinates.indexOf(move);
+      if (index >= 0) {
+        moves[count++] = index;
+      }
+    }
+    if (count == 0) {
+      throw new IllegalStateException("The moves are off the board");
+    }
+    Arrays.sort(moves, 0, count);
+    for (int i = 0; i < stages.length && count > 1; i++) {
+      count = stages[i].apply(board, moves, count);
+    }
+    return moves[0];
+  }
+
+  // keeps the moves the filter accepts, or rejects, unless none would be kept
+  private static int keep(SearchBoard board, int[] moves, int count, MoveFilter filter,
+                          boolean accepted) {
+    int kept = 0;
+    for (int i = 0; i < count; i++) {
+      if (filter.test(board, moves[i]) == accepted) {
+        moves[kept++] = moves[i];
+      }
+    }
+    // nothing is moved if nothing is kept
+    return kept == 0 ? count : kept;
+  }
+
+  private static void requireNonNull(Object argument) {
+    if (argument == null) {
+      throw new IllegalArgumentException("Argument cannot be null");
+    }
+  }
+}
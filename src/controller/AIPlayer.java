@@ -1,18 +1,44 @@
 package controller;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import model.CellType;
+import model.Coordinate;
 import model.ReadonlyReversiModel;
+import profiling.DecisionEvent;
+import strategy.InstrumentedStrategy;
 import strategy.ReversiStrategy;
+import strategy.SearchAbortedException;
+import strategy.SearchStatistics;
 
 /**
  * The AIPlayer class represents an AI-controlled player in the Reversi game.
  * It implements the Player interface and uses a specified ReversiStrategy for making moves.
+ * The strategy is asked once per version of the game state; repeated requests for the same
+ * state get the same decision back, and the time spent on each decision is recorded.
+ *
+ * <p>By default the strategy runs on the thread that asks for a move. An asynchronous player
+ * instead runs it on a search executor and hands the chosen move to its listeners through a
+ * delivery executor, such as {@code SwingUtilities::invokeLater}, so that a long search does not
+ * block the thread that drives the game. A move that is still being searched can be cancelled,
+ * and a move found for a turn that is already over is thrown away. The model is only read by the
+ * search while it is this player's turn, when nobody else may change it.</p>
+ *
+ * <p>Every decision also records the bytes the deciding thread allocated and, for an
+ * {@link InstrumentedStrategy}, the search work, and is reported to the
+ * {@link DecisionListener}s.</p>
  */
 public class AIPlayer implements Player {
 
+  // counts the bytes each thread allocates, or null if the JVM cannot
+  private static final com.sun.management.ThreadMXBean ALLOCATIONS = allocationCounter();
+
   private ReadonlyReversiModel model;
 
   private final ReversiStrategy strategy;
@@ -21,6 +47,26 @@ public class AIPlayer implements Player {
 
   private List<PlayerActionFeatures> actionListeners = new ArrayList<>();
 
+  // told on the search thread, which may not be the one adding them
+  private final List<DecisionListener> decisionListeners = new CopyOnWriteArrayList<>();
+
+  // both null for a synchronous player
+  private final Executor searchExecutor;
+  private final Executor deliveryExecutor;
+
+  // the move being searched and the number of the request it answers; a result is delivered
+  // only while its request is still the latest one
+  private Future<?> pendingMove;
+  private long requests;
+
+  // the strategy's latest decision, reused while the game state has not changed, and the
+  // timing of all decisions
+  private MoveDecision lastDecision;
+  private long decisions;
+  private long cachedDecisions;
+  private long totalThinkNanos;
+  private long maxThinkNanos;
+
   /**
    * Constructs an AIPlayer with the specified Reversi model, strategy, and piece color.
    *
@@ -32,8 +78,33 @@ public class AIPlayer implements Player {
     this.model = model;
     this.strategy = strategy;
     this.pieceColor = pieceColor;
+    this.searchExecutor = null;
+    this.deliveryExecutor = null;
+
 
+  }
 
+  /**
+   * Constructs an asynchronous AIPlayer, which searches for its moves on one executor and
+   * reports them on another.
+   *
+   * @param model            The ReadonlyReversiModel to interact with.
+   * @param strategy         The ReversiStrategy used for making moves.
+   * @param pieceColor       The color of the AI player's pieces.
+   * @param searchExecutor   The executor the strategy runs on.
+   * @param deliveryExecutor The executor the listeners are notified on.
+   * @throws IllegalArgumentException If either executor is null.
+   */
+  public AIPlayer(ReadonlyReversiModel model, ReversiStrategy strategy, CellType pieceColor,
+                  Executor searchExecutor, Executor deliveryExecutor) {
+    if (searchExecutor == null || deliveryExecutor == null) {
+      throw new IllegalArgumentException("Executors cannot be null");
+    }
+    this.model = model;
+    this.strategy = strategy;
+    this.pieceColor = pieceColor;
+    this.searchExecutor = searchExecutor;
+    this.deliveryExecutor = deliveryExecutor;
   }
 
 
@@ -48,6 +119,28 @@ public class AIPlayer implements Player {
   }
 
 
+  /**
+   * Adds a listener for the decisions of this player's strategy.
+   *
+   * @param listener The listener to be added.
+   * @throws IllegalArgumentException If the listener is null.
+   */
+  public void addDecisionListener(DecisionListener listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("Listener cannot be null");
+    }
+    decisionListeners.add(listener);
+  }
+
+  /**
+   * Removes a listener for the decisions of this player's strategy.
+   *
+   * @param listener The listener to be removed.
+   */
+  public void removeDecisionListener(DecisionListener listener) {
+    decisionListeners.remove(listener);
+  }
+
   /**
    * Gets the color of the AI player's pieces.
    *
@@ -92,34 +185,211 @@ public class AIPlayer implements Player {
   }
 
   /**
-   * Handles the event when a move is chosen. Uses the specified strategy to choose a coordinate.
-   * Notifies listeners of the chosen move.
+   * Handles the event when a move is chosen. Uses the specified strategy to choose a coordinate,
+   * unless it already decided on one for the current version of the game state, and notifies
+   * listeners of the chosen move or pass. An asynchronous player returns at once, cancelling
+   * any move it was still searching for, and notifies the listeners once the search is done.
    *
    * @param row    The row of the chosen move.
    * @param column The column of the chosen move.
    */
   public void handleMoveChosen(int row, int column) {
 
-    try {
+    // read here, where the model cannot change, rather than on the search thread
+    long version = model.getBoardVersion();
+    if (searchExecutor != null) {
+      synchronized (this) {
+        cancelSearch();
+        long request = requests;
+        FutureTask<Void> search =
+                new FutureTask<>(() -> searchMove(request, version), null);
+        pendingMove = search;
+        searchExecutor.execute(search);
+      }
+      return;
+    }
 
+    deliver(decide(version));
+  }
 
-      int optimalRow = strategy.chooseCoordinate(model, pieceColor).getRow();
-      int optimalColumn = strategy.chooseCoordinate(model, pieceColor).getCol();
-      notifyMoveChosen(optimalRow, optimalColumn);
+  /**
+   * Handles the event when a pass is chosen. Notifies listeners of the chosen pass.
+   */
+  public void handlePassChosen() {
 
+    notifyPassChosen();
+  }
 
-    } catch (IllegalStateException e) {
-      handlePassChosen();
+  /**
+   * Cancels the move an asynchronous player is searching for, interrupting the search. The
+   * listeners will not hear about it, even if the search has already finished.
+   */
+  public synchronized void cancelPendingMove() {
+    cancelSearch();
+  }
+
+  /**
+   * Checks whether an asynchronous player is still searching for or delivering a move.
+   *
+   * @return True while a move is pending.
+   */
+  public synchronized boolean isMovePending() {
+    return pendingMove != null;
+  }
+
+  // must hold the lock
+  private void cancelSearch() {
+    requests++;
+    if (pendingMove != null) {
+      pendingMove.cancel(true);
+      pendingMove = null;
     }
+  }
 
+  /**
+   * Gets the most recent decision the strategy made.
+   *
+   * @return The last decision, or null if the player has not decided anything yet.
+   */
+  public synchronized MoveDecision getLastDecision() {
+    return lastDecision;
+  }
 
+  /**
+   * Gets the number of times the strategy was asked for a move.
+   *
+   * @return The number of decisions made.
+   */
+  public synchronized long getDecisionCount() {
+    return decisions;
   }
 
   /**
-   * Handles the event when a pass is chosen. Notifies listeners of the chosen pass.
+   * Gets the number of move requests answered from the cached decision, without asking the
+   * strategy again.
+   *
+   * @return The number of cached answers.
    */
-  public void handlePassChosen() {
+  public synchronized long getCachedDecisionCount() {
+    return cachedDecisions;
+  }
 
-    notifyPassChosen();
+  /**
+   * Gets the time the strategy spent on all decisions.
+   *
+   * @return The total think time in nanoseconds.
+   */
+  public synchronized long getTotalThinkNanos() {
+    return totalThinkNanos;
+  }
+
+  /**
+   * Gets the longest time the strategy spent on one decision.
+   *
+   * @return The longest think time in nanoseconds.
+   */
+  public synchronized long getMaxThinkNanos() {
+    return maxThinkNanos;
+  }
+
+  // Asks the strategy for a move once per version of the game state, the version the move was
+  // requested for. The strategy runs without the lock, so that an asynchronous search can be
+  // cancelled meanwhile.
+  private MoveDecision decide(long version) {
+    synchronized (this) {
+      if (lastDecision != null && lastDecision.getBoardVersion() == version) {
+        cachedDecisions++;
+        return lastDecision;
+      }
+    }
+    DecisionEvent event = new DecisionEvent();
+    event.begin();
+    long allocatedBefore = allocatedBytes();
+    long start = System.nanoTime();
+    Coordinate move;
+    try {
+      move = strategy.chooseCoordinate(model, pieceColor);
+    } catch (IllegalStateException e) {
+      move = null;
+    }
+    long thinkNanos = System.nanoTime() - start;
+    long allocated = allocatedBefore < 0 ? -1 : allocatedBytes() - allocatedBefore;
+    SearchStatistics search = strategy instanceof InstrumentedStrategy
+            ? ((InstrumentedStrategy) strategy).getLastSearchStatistics()
+            : SearchStatistics.NONE;
+    MoveDecision decision = new MoveDecision(version, move,
+            new DecisionMetrics(thinkNanos, search, allocated));
+    event.commit(strategy, pieceColor, model.getBoardSize(), move == null, search.getNodes(),
+            search.getDepth(), allocated);
+    synchronized (this) {
+      lastDecision = decision;
+      decisions++;
+      totalThinkNanos += decision.getThinkNanos();
+      maxThinkNanos = Math.max(maxThinkNanos, decision.getThinkNanos());
+    }
+    for (DecisionListener listener : decisionListeners) {
+      listener.decisionMade(pieceColor, decision);
+    }
+    return decision;
+  }
+
+  // the bytes the current thread has allocated, or -1 if the JVM does not count them
+  private static long allocatedBytes() {
+    if (ALLOCATIONS == null) {
+      return -1;
+    }
+    return ALLOCATIONS.getCurrentThreadAllocatedBytes();
+  }
+
+  private static com.sun.management.ThreadMXBean allocationCounter() {
+    try {
+      if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (threads.isThreadAllocatedMemorySupported()
+                && threads.isThreadAllocatedMemoryEnabled()) {
+          return threads;
+        }
+      }
+    } catch (LinkageError | SecurityException e) {
+      // a JVM without the management extensions
+    }
+    return null;
+  }
+
+  private void deliver(MoveDecision decision) {
+    if (decision.isPass()) {
+      handlePassChosen();
+    } else {
+      notifyMoveChosen(decision.getMove().getRow(), decision.getMove().getCol());
+    }
+  }
+
+  // runs on the search executor
+  private void searchMove(long request, long version) {
+    MoveDecision decision;
+    try {
+      decision = decide(version);
+    } catch (SearchAbortedException | IllegalArgumentException e) {
+      // cancelled, or the turn ended while the strategy was reading the model
+      return;
+    }
+    if (Thread.currentThread().isInterrupted()) {
+      return;
+    }
+    deliveryExecutor.execute(() -> deliverMove(request, decision));
+  }
+
+  // runs on the delivery executor
+  private void deliverMove(long request, MoveDecision decision) {
+    synchronized (this) {
+      if (request != requests) {
+        return;
+      }
+      pendingMove = null;
+    }
+    if (model.getBoardVersion() == decision.getBoardVersion()) {
+      deliver(decision);
+    }
   }
 }
@@ -0,0 +1,54 @@
+package controller;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The CountingNotificationSink class drops the text of every notification and only counts them,
+ * by title, for metrics and tests.
+ */
+public class CountingNotificationSink implements NotificationSink {
+
+  private final Map<String, Integer> counts = new HashMap<>();
+  private int notifications;
+  private int errors;
+
+  @Override
+  public synchronized void inform(String title, String message) {
+    notifications++;
+    counts.merge(title, 1, Integer::sum);
+  }
+
+  @Override
+  public synchronized void reportError(String message) {
+    errors++;
+  }
+
+  /**
+   * Gets the number of notifications with a title.
+   *
+   * @param title The title.
+   * @return The number of notifications with that title.
+   */
+  public synchronized int getCount(String title) {
+    return counts.getOrDefault(title, 0);
+  }
+
+  /**
+   * Gets the number of notifications received, not counting errors.
+   *
+   * @return The number of notifications.
+   */
+  public synchronized int getNotificationCount() {
+    return notifications;
+  }
+
+  /**
+   * Gets the number of rejected actions reported.
+   *
+   * @return The number of errors.
+   */
+  public synchronized int getErrorCount() {
+    return errors;
+  }
+}
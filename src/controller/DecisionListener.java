@@ -0,0 +1,19 @@
+package controller;
+
+import model.CellType;
+
+/**
+ * The DecisionListener interface is implemented by whoever wants to hear about every decision an
+ * {@link AIPlayer} makes, such as a {@link DecisionTelemetry} collecting latencies.
+ */
+public interface DecisionListener {
+
+  /**
+   * Called once the strategy has decided, on the thread that ran it. Decisions answered from the
+   * player's cache are not reported. Must be quick, since the move waits for it.
+   *
+   * @param player   The color of the player that decided.
+   * @param decision The decision, with its metrics.
+   */
+  void decisionMade(CellType player, MoveDecision decision);
+}
@@ -0,0 +1,111 @@
+package controller;
+
+import strategy.SearchStatistics;
+
+/**
+ * The DecisionMetrics class holds what one decision of an {@link AIPlayer} cost: the wall time,
+ * the bytes the deciding thread allocated and, for strategies that report it, the search work.
+ */
+public final class DecisionMetrics {
+
+  private final long wallNanos;
+  private final SearchStatistics search;
+  private final long allocatedBytes;
+
+  /**
+   * Constructs decision metrics.
+   *
+   * @param wallNanos      The time the decision took, in nanoseconds.
+   * @param search         The work the strategy did, {@link SearchStatistics#NONE} if it does not
+   *                       report any.
+   * @param allocatedBytes The bytes allocated while deciding, or -1 if the JVM cannot tell.
+   * @throws IllegalArgumentException If the time is negative or the search statistics are null.
+   */
+  public DecisionMetrics(long wallNanos, SearchStatistics search, long allocatedBytes) {
+    if (wallNanos < 0) {
+      throw new IllegalArgumentException("Think time cannot be negative");
+    }
+    if (search == null) {
+      throw new IllegalArgumentException("Search statistics cannot be null");
+    }
+    this.wallNanos = wallNanos;
+    this.search = search;
+    this.allocatedBytes = Math.max(-1, allocatedBytes);
+  }
+
+  /**
+   * Gets the time the decision took.
+   *
+   * @return The wall time in nanoseconds.
+   */
+  public long getWallNanos() {
+    return wallNanos;
+  }
+
+  /**
+   * Gets the work the strategy did.
+   *
+   * @return The search statistics.
+   */
+  public SearchStatistics getSearchStatistics() {
+    return search;
+  }
+
+  /**
+   * Gets the number of positions the strategy visited.
+   *
+   * @return The node count, 0 if the strategy does not report it.
+   */
+  public long getNodes() {
+    return search.getNodes();
+  }
+
+  /**
+   * Gets the depth the strategy's search reached.
+   *
+   * @return The depth in plies, 0 if the strategy does not report it.
+   */
+  public int getDepth() {
+    return search.getDepth();
+  }
+
+  /**
+   * Gets the number of positions visited per second of wall time.
+   *
+   * @return The search speed, 0 if no time was measured.
+   */
+  public double getNodesPerSecond() {
+    return wallNanos == 0 ? 0 : search.getNodes() * 1e9 / wallNanos;
+  }
+
+  /**
+   * Gets the share of transposition table lookups that found their position.
+   *
+   * @return The hit rate between 0 and 1, or NaN if there were no lookups.
+   */
+  public double getTableHitRate() {
+    return search.getTableProbes() == 0
+            ? Double.NaN : (double) search.getTableHits() / search.getTableProbes();
+  }
+
+  /**
+   * Gets the bytes the deciding thread allocated.
+   *
+   * @return The allocated bytes, or -1 if the JVM cannot tell.
+   */
+  public long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  @Override
+  public String toString() {
+    String text = (wallNanos / 1_000) + " us";
+    if (search.getNodes() > 0) {
+      text += ", " + search + ", " + Math.round(getNodesPerSecond()) + " nodes/s";
+    }
+    if (allocatedBytes >= 0) {
+      text += ", " + allocatedBytes + " bytes allocated";
+    }
+    return text;
+  }
+}
@@ -0,0 +1,136 @@
+package controller;
+
+import model.CellType;
+
+/**
+ * The DecisionTelemetry class adds up the decisions of one or more {@link AIPlayer}s: how many
+ * there were, their latency percentiles, the search speed and table hit rate over all of them
+ * and the bytes they allocated. Recording a decision takes a lock and a few additions, so it can
+ * stay subscribed in production.
+ */
+public final class DecisionTelemetry implements DecisionListener {
+
+  private final LatencyHistogram latency = new LatencyHistogram();
+  private long decisions;
+  private long passes;
+  private long wallNanos;
+  private long nodes;
+  private long depths;
+  private int maxDepth;
+  private long tableProbes;
+  private long tableHits;
+  private long allocatedBytes;
+  private long measuredAllocations;
+
+  @Override
+  public void decisionMade(CellType player, MoveDecision decision) {
+    DecisionMetrics metrics = decision.getMetrics();
+    latency.record(metrics.getWallNanos());
+    synchronized (this) {
+      decisions++;
+      if (decision.isPass()) {
+        passes++;
+      }
+      wallNanos += metrics.getWallNanos();
+      nodes += metrics.getNodes();
+      depths += metrics.getDepth();
+      maxDepth = Math.max(maxDepth, metrics.getDepth());
+      tableProbes += metrics.getSearchStatistics().getTableProbes();
+      tableHits += metrics.getSearchStatistics().getTableHits();
+      if (metrics.getAllocatedBytes() >= 0) {
+        allocatedBytes += metrics.getAllocatedBytes();
+        measuredAllocations++;
+      }
+    }
+  }
+
+  /**
+   * Gets the latencies of the decisions.
+   *
+   * @return The histogram of the decisions' wall times, which keeps filling.
+   */
+  public LatencyHistogram getLatency() {
+    return latency;
+  }
+
+  /**
+   * Gets the number of decisions recorded.
+   *
+   * @return The decision count.
+   */
+  public synchronized long getDecisionCount() {
+    return decisions;
+  }
+
+  /**
+   * Gets the number of decisions to pass.
+   *
+   * @return The pass count.
+   */
+  public synchronized long getPassCount() {
+    return passes;
+  }
+
+  /**
+   * Gets the number of positions searched by all decisions.
+   *
+   * @return The node count.
+   */
+  public synchronized long getNodes() {
+    return nodes;
+  }
+
+  /**
+   * Gets the positions searched per second of thinking, over all decisions.
+   *
+   * @return The search speed, 0 if no time was measured.
+   */
+  public synchronized double getNodesPerSecond() {
+    return wallNanos == 0 ? 0 : nodes * 1e9 / wallNanos;
+  }
+
+  /**
+   * Gets the mean depth the decisions reached.
+   *
+   * @return The mean depth in plies, 0 if there were no decisions.
+   */
+  public synchronized double getMeanDepth() {
+    return decisions == 0 ? 0 : (double) depths / decisions;
+  }
+
+  /**
+   * Gets the deepest any decision searched.
+   *
+   * @return The greatest depth in plies.
+   */
+  public synchronized int getMaxDepth() {
+    return maxDepth;
+  }
+
+  /**
+   * Gets the share of transposition table lookups that found their position, over all decisions.
+   *
+   * @return The hit rate between 0 and 1, or NaN if there were no lookups.
+   */
+  public synchronized double getTableHitRate() {
+    return tableProbes == 0 ? Double.NaN : (double) tableHits / tableProbes;
+  }
+
+  /**
+   * Gets the mean number of bytes allocated by a decision.
+   *
+   * @return The mean allocation, or -1 if the JVM could not tell for any decision.
+   */
+  public synchronized double getMeanAllocatedBytes() {
+    return measuredAllocations == 0 ? -1 : (double) allocatedBytes / measuredAllocations;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return decisions + " decisions (" + passes + " passes), latency " + latency + ", "
+            + Math.round(getNodesPerSecond()) + " nodes/s, mean depth "
+            + String.format("%.1f", getMeanDepth()) + ", table hit rate "
+            + String.format("%.2f", getTableHitRate()) + ", "
+            + Math.round(getMeanAllocatedBytes()) + " bytes per decision";
+  }
+}
@@ -0,0 +1,31 @@
+package controller;
+
+import javax.swing.JOptionPane;
+
+/**
+ * The DialogNotificationSink class shows every notification in a modal message dialog. It is
+ * what the Swing game uses.
+ */
+public class DialogNotificationSink implements NotificationSink {
+
+  @Override
+  public void inform(String title, String message) {
+    JOptionPane.showMessageDialog(null, message, title, JOptionPane.INFORMATION_MESSAGE);
+  }
+
+  /**
+   * Shows the dialog from a separate thread, so that the caller carries on while it is open.
+   *
+   * @param title   A short title for the message.
+   * @param message The message.
+   */
+  @Override
+  public void announce(String title, String message) {
+    new Thread(() -> inform(title, message)).start();
+  }
+
+  @Override
+  public void reportError(String message) {
+    inform("", message);
+  }
+}
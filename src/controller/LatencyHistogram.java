@@ -0,0 +1,145 @@
+package controller;
+
+import java.util.Arrays;
+
+/**
+ * The LatencyHistogram class counts durations in buckets whose width grows with the duration, so
+ * that recording one is a few arithmetic operations and the histogram takes a fixed, small amount
+ * of memory however many are recorded. Durations under 16 nanoseconds are counted exactly; longer
+ * ones fall in one of eight buckets per power of two, so a percentile is at most 12.5% above the
+ * true one.
+ */
+public final class LatencyHistogram {
+
+  // durations below this are counted exactly
+  private static final int EXACT = 16;
+  // buckets per power of two, as a power of two
+  private static final int SUB_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BITS;
+  private static final int FIRST_EXPONENT = 4;
+  private static final int BUCKETS = EXACT + (63 - FIRST_EXPONENT) * SUB_BUCKETS;
+
+  private final long[] counts = new long[BUCKETS];
+  private long count;
+  private long total;
+  private long max;
+
+  /**
+   * Records a duration. Negative durations are recorded as zero.
+   *
+   * @param nanos The duration in nanoseconds.
+   */
+  public synchronized void record(long nanos) {
+    long value = Math.max(0, nanos);
+    counts[bucketOf(value)]++;
+    count++;
+    total += value;
+    max = Math.max(max, value);
+  }
+
+  /**
+   * Gets the number of durations recorded.
+   *
+   * @return The count.
+   */
+  public synchronized long getCount() {
+    return count;
+  }
+
+  /**
+   * Gets the longest duration recorded.
+   *
+   * @return The longest duration in nanoseconds, 0 if none was recorded.
+   */
+  public synchronized long getMax() {
+    return max;
+  }
+
+  /**
+   * Gets the mean of the durations recorded.
+   *
+   * @return The mean in nanoseconds, 0 if none was recorded.
+   */
+  public synchronized double getMean() {
+    return count == 0 ? 0 : (double) total / count;
+  }
+
+  /**
+   * Gets a percentile of the durations recorded: the duration that the given share of them did
+   * not exceed, rounded up to the end of its bucket.
+   *
+   * @param percentile The percentile, above 0 and at most 100.
+   * @return The percentile in nanoseconds, 0 if none was recorded.
+   * @throws IllegalArgumentException If the percentile is out of range.
+   */
+  public synchronized long getPercentile(double percentile) {
+    if (!(percentile > 0 && percentile <= 100)) {
+      throw new IllegalArgumentException("Percentile must be above 0 and at most 100");
+    }
+    if (count == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(percentile / 100 * count);
+    long seen = 0;
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      seen += counts[bucket];
+      if (seen >= rank) {
+        return Math.min(upperBoundOf(bucket), max);
+      }
+    }
+    return max;
+  }
+
+  /**
+   * Gets the median duration.
+   *
+   * @return The 50th percentile in nanoseconds.
+   */
+  public long getP50() {
+    return getPercentile(50);
+  }
+
+  /**
+   * Gets the duration 99% of the recorded ones did not exceed.
+   *
+   * @return The 99th percentile in nanoseconds.
+   */
+  public long getP99() {
+    return getPercentile(99);
+  }
+
+  /**
+   * Forgets every duration recorded.
+   */
+  public synchronized void clear() {
+    Arrays.fill(counts, 0);
+    count = 0;
+    total = 0;
+    max = 0;
+  }
+
+  private static int bucketOf(long value) {
+    if (value < EXACT) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+    return EXACT + (exponent - FIRST_EXPONENT) * SUB_BUCKETS + sub;
+  }
+
+  private static long upperBoundOf(int bucket) {
+    if (bucket < EXACT) {
+      return bucket;
+    }
+    int exponent = (bucket - EXACT) / SUB_BUCKETS + FIRST_EXPONENT;
+    int sub = (bucket - EXACT) % SUB_BUCKETS;
+    long width = 1L << (exponent - SUB_BITS);
+    return (SUB_BUCKETS + sub) * width + width - 1;
+  }
+
+  @Override
+  public String toString() {
+    return "p50 " + getP50() / 1_000 + " us, p99 " + getP99() / 1_000 + " us, max "
+            + getMax() / 1_000 + " us over " + getCount();
+  }
+}
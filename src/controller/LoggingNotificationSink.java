@@ -0,0 +1,44 @@
+package controller;
+
+import java.io.IOException;
+
+/**
+ * The LoggingNotificationSink class writes every notification as one line of text, in the form
+ * {@code [title] message}, with errors titled {@code error}.
+ */
+public class LoggingNotificationSink implements NotificationSink {
+
+  private final Appendable output;
+
+  /**
+   * Constructs a sink writing to the given output.
+   *
+   * @param output Where the lines are written, such as {@code System.out} or a StringBuilder.
+   * @throws IllegalArgumentException If the output is null.
+   */
+  public LoggingNotificationSink(Appendable output) {
+    if (output == null) {
+      throw new IllegalArgumentException("Output cannot be null");
+    }
+    this.output = output;
+  }
+
+  @Override
+  public void inform(String title, String message) {
+    write(title, message);
+  }
+
+  @Override
+  public void reportError(String message) {
+    write("error", message);
+  }
+
+  private synchronized void write(String title, String message) {
+    try {
+      output.append('[').append(title).append("] ")
+              .append(message.replace('\n', ' ')).append('\n');
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not write notification", e);
+    }
+  }
+}
@@ -1,7 +1,10 @@
 package controller;
 
 import java.util.List;
+import java.util.Set;
+
 import model.CellType;
+import model.ICoordinate;
 import model.ReversiModel;
 import view.IReversiView;
 
@@ -36,6 +39,24 @@ public class MockController extends ReversiController
     this.player = player;
   }
 
+  /**
+   * Constructs a MockController for testing purposes that sends its messages to a given sink,
+   * so that no dialogs are shown.
+   *
+   * @param model         The ReversiModel to be used in the controller.
+   * @param player        The Player (HumanPlayer or AIPlayer) associated with the controller.
+   * @param view          The IReversiView to be used in the controller.
+   * @param transcript    The list to capture the transcript of game events and actions.
+   * @param notifications The sink that receives the controller's messages.
+   * @throws IllegalArgumentException If the sink is null.
+   */
+  public MockController(ReversiModel model, Player player, IReversiView view,
+                        List<String> transcript, NotificationSink notifications) {
+    super(model, player, view, notifications);
+    this.transcript = transcript;
+    this.player = player;
+  }
+
 
   /**
    * Converts a Player instance to its string representation.
@@ -105,4 +126,11 @@ public class MockController extends ReversiController
     super.handleGameBoardChange();
   }
 
+  @Override
+  public void handleGameBoardChange(Set<ICoordinate> changedCells) {
+
+    transcript.add(playerToString(player) + " " + player.getColor() + " view has been updated");
+    super.handleGameBoardChange(changedCells);
+  }
+
 }
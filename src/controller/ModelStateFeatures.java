@@ -1,6 +1,9 @@
 package controller;
 
+import java.util.Set;
+
 import model.CellType;
+import model.ICoordinate;
 
 
 /**
@@ -32,4 +35,15 @@ public interface ModelStateFeatures {
    * Handles the change in the game board.
    */
   void handleGameBoardChange();
+
+  /**
+   * Handles a change in the game board that touched only some cells. The cells may have
+   * changed again since, so their contents should be read from the model. By default the
+   * whole board is treated as changed.
+   *
+   * @param changedCells The cells that changed.
+   */
+  default void handleGameBoardChange(Set<ICoordinate> changedCells) {
+    handleGameBoardChange();
+  }
 }
@@ -0,0 +1,95 @@
+package controller;
+
+import model.Coordinate;
+import strategy.SearchStatistics;
+
+/**
+ * The MoveDecision class records one decision of an {@link AIPlayer}: the move its strategy chose
+ * for a version of the game state, or a pass, and what it cost the strategy to choose it.
+ */
+public final class MoveDecision {
+
+  private final long boardVersion;
+  private final Coordinate move;
+  private final DecisionMetrics metrics;
+
+  /**
+   * Constructs a decision.
+   *
+   * @param boardVersion The version of the game state the decision was made for.
+   * @param move         The chosen move, or null for a pass.
+   * @param thinkNanos   The time the strategy took, in nanoseconds.
+   * @throws IllegalArgumentException If the time is negative.
+   */
+  public MoveDecision(long boardVersion, Coordinate move, long thinkNanos) {
+    this(boardVersion, move, new DecisionMetrics(thinkNanos, SearchStatistics.NONE, -1));
+  }
+
+  /**
+   * Constructs a decision with all its metrics.
+   *
+   * @param boardVersion The version of the game state the decision was made for.
+   * @param move         The chosen move, or null for a pass.
+   * @param metrics      What the decision cost.
+   * @throws IllegalArgumentException If the metrics are null.
+   */
+  public MoveDecision(long boardVersion, Coordinate move, DecisionMetrics metrics) {
+    if (metrics == null) {
+      throw new IllegalArgumentException("Metrics cannot be null");
+    }
+    this.boardVersion = boardVersion;
+    this.move = move;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Gets the version of the game state the decision was made for.
+   *
+   * @return The board version.
+   */
+  public long getBoardVersion() {
+    return boardVersion;
+  }
+
+  /**
+   * Gets the chosen move.
+   *
+   * @return The move, or null if the player passes.
+   */
+  public Coordinate getMove() {
+    return move;
+  }
+
+  /**
+   * Checks whether the decision is to pass.
+   *
+   * @return True for a pass.
+   */
+  public boolean isPass() {
+    return move == null;
+  }
+
+  /**
+   * Gets the time the strategy took to decide.
+   *
+   * @return The think time in nanoseconds.
+   */
+  public long getThinkNanos() {
+    return metrics.getWallNanos();
+  }
+
+  /**
+   * Gets what the decision cost: its time, search work and allocations.
+   *
+   * @return The metrics.
+   */
+  public DecisionMetrics getMetrics() {
+    return metrics;
+  }
+
+  @Override
+  public String toString() {
+    String choice = isPass() ? "pass" : "row " + move.getRow() + " column " + move.getCol();
+    return choice + " in " + (getThinkNanos() / 1_000_000) + " ms";
+  }
+}
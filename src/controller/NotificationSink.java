@@ -0,0 +1,37 @@
+package controller;
+
+/**
+ * The NotificationSink interface receives the messages a {@link ReversiController} has for the
+ * person at the board: moves, passes, rejected actions and the end of the game. A Swing game shows
+ * them in dialogs, while a headless game can log them, count them or drop them, so that games run
+ * at full speed.
+ */
+public interface NotificationSink {
+
+  /**
+   * Reports something that happened in the game. The Swing sink blocks until the message is
+   * dismissed.
+   *
+   * @param title   A short title for the message, such as "Move notification".
+   * @param message The message.
+   */
+  void inform(String title, String message);
+
+  /**
+   * Reports something that happened in the game without making the caller wait for the message
+   * to be acknowledged. By default this is the same as {@link #inform(String, String)}.
+   *
+   * @param title   A short title for the message.
+   * @param message The message.
+   */
+  default void announce(String title, String message) {
+    inform(title, message);
+  }
+
+  /**
+   * Reports an action that the model rejected.
+   *
+   * @param message The reason the action was rejected.
+   */
+  void reportError(String message);
+}
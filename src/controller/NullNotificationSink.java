@@ -0,0 +1,17 @@
+package controller;
+
+/**
+ * The NullNotificationSink class ignores every notification, for games played at full speed.
+ */
+public class NullNotificationSink implements NotificationSink {
+
+  @Override
+  public void inform(String title, String message) {
+    // nobody is watching
+  }
+
+  @Override
+  public void reportError(String message) {
+    // nobody is watching
+  }
+}
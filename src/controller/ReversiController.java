@@ -1,14 +1,18 @@
 package controller;
 
+import java.util.Set;
+
 import model.CellType;
+import model.ICoordinate;
 import model.ReversiModel;
 import view.IReversiView;
-import javax.swing.JOptionPane;
 
 
 /**
  * The ReversiController class is responsible for controlling the Reversi game flow,
  * handling player actions and responding to state changes in the model and view.
+ * Its messages go to a {@link NotificationSink}: dialogs by default, or a log, a counter or
+ * nothing at all for games without a display.
  */
 public class ReversiController implements PlayerActionFeatures, ModelStateFeatures {
 
@@ -19,18 +23,40 @@ public class ReversiController implements PlayerActionFeatures, ModelStateFeatur
 
   private final IReversiView view;
 
+  private final NotificationSink notifications;
+
   /**
-   * Constructs a ReversiController with the specified Reversi model, player, and view.
+   * Constructs a ReversiController with the specified Reversi model, player, and view, which
+   * shows its messages in dialogs.
    *
    * @param model  The ReversiModel to interact with.
    * @param player The Player controlling the game.
    * @param view   The IReversiView for displaying the game.
    */
   public ReversiController(ReversiModel model, Player player, IReversiView view) {
+    this(model, player, view, new DialogNotificationSink());
+  }
+
+  /**
+   * Constructs a ReversiController with the specified Reversi model, player, view and
+   * destination for its messages.
+   *
+   * @param model         The ReversiModel to interact with.
+   * @param player        The Player controlling the game.
+   * @param view          The IReversiView for displaying the game.
+   * @param notifications The sink that receives the controller's messages.
+   * @throws IllegalArgumentException If the sink is null.
+   */
+  public ReversiController(ReversiModel model, Player player, IReversiView view,
+                           NotificationSink notifications) {
+    if (notifications == null) {
+      throw new IllegalArgumentException("Notification sink cannot be null");
+    }
     this.model = model;
     this.player = player;
     this.view = view;
     this.playerColor = player.getColor();
+    this.notifications = notifications;
 
     // Register as a listener for player actions from both the view and the player
     //view.addMoveListener(this);
@@ -67,16 +93,13 @@ public class ReversiController implements PlayerActionFeatures, ModelStateFeatur
       }
 
 
-      JOptionPane.showMessageDialog(null,
-              message + " has made a move.\n" + secondMessage + "'s turn to make move.",
-              "Move notification", JOptionPane.INFORMATION_MESSAGE);
+      notifications.inform("Move notification",
+              message + " has made a move.\n" + secondMessage + "'s turn to make move.");
 
       // });
 
     } catch (IllegalStateException e) {
-      String message = e.getMessage();
-      JOptionPane.showMessageDialog(null, message, "",
-              JOptionPane.INFORMATION_MESSAGE);
+      notifications.reportError(e.getMessage());
     }
 
 
@@ -99,14 +122,11 @@ public class ReversiController implements PlayerActionFeatures, ModelStateFeatur
       }
 
       if (!model.isGameOver()) {
-        JOptionPane.showMessageDialog(null, message, "",
-                JOptionPane.INFORMATION_MESSAGE);
+        notifications.inform("", message);
       }
 
     } catch (IllegalStateException e) {
-      String message = e.getMessage();
-      JOptionPane.showMessageDialog(null, message, "",
-              JOptionPane.INFORMATION_MESSAGE);
+      notifications.reportError(e.getMessage());
     }
 
 
@@ -131,9 +151,7 @@ public class ReversiController implements PlayerActionFeatures, ModelStateFeatur
         }
       } catch (Exception e) {
 
-        String message = e.getMessage();
-        JOptionPane.showMessageDialog(null, message, "",
-                JOptionPane.INFORMATION_MESSAGE);
+        notifications.reportError(e.getMessage());
       }
     }
 
@@ -161,8 +179,7 @@ public class ReversiController implements PlayerActionFeatures, ModelStateFeatur
     }
 
 
-    JOptionPane.showMessageDialog(null, message, "Game concluded",
-            JOptionPane.INFORMATION_MESSAGE);
+    notifications.inform("Game concluded", message);
 
 
   }
@@ -180,13 +197,9 @@ public class ReversiController implements PlayerActionFeatures, ModelStateFeatur
     if (!model.isGameOver()) {
       if (model.getCurrentPlayerTurn() == playerColor) {
 
-        new Thread(() -> {
-          if (playerColor == CellType.BLACK) {
-            JOptionPane.showMessageDialog(null,
-                    "Black player makes move first",
-                    "Initialize Game", JOptionPane.INFORMATION_MESSAGE);
-          }
-        }).start();
+        if (playerColor == CellType.BLACK) {
+          notifications.announce("Initialize Game", "Black player makes move first");
+        }
 
         player.handleMoveChosen(0, 0);
 
@@ -208,5 +221,17 @@ public class ReversiController implements PlayerActionFeatures, ModelStateFeatur
     }
   }
 
+  /**
+   * Handles a change in the game board by updating only the changed cells of the view.
+   *
+   * @param changedCells The cells that changed.
+   */
+  @Override
+  public void handleGameBoardChange(Set<ICoordinate> changedCells) {
+    if (!model.isGameOver()) {
+      view.updateView(changedCells);
+    }
+  }
+
 
 }
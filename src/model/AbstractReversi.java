@@ -2,10 +2,13 @@ package model;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import controller.ModelStateFeatures;
+import profiling.BoardCopyEvent;
+import profiling.MoveGenerationEvent;
 
 /**
  * An abstract class representing the core functionality of a Reversi game model.
@@ -66,7 +69,15 @@ public abstract class AbstractReversi implements ReversiModel {
 
 
 
-  private List<ModelStateFeatures> listeners = new ArrayList<>();
+  private final GameEventBus events = new GameEventBus();
+
+  // raised by every published event, since each one follows a change of the game state;
+  // volatile because AI players read it from their search threads
+  private volatile long boardVersion;
+
+  // discs flipped by the move being made, and the disc counts kept up to date from the events
+  private final List<ICoordinate> pendingFlips = new ArrayList<>();
+  private int[] discCounts;
 
 
   /**
@@ -116,8 +127,13 @@ public abstract class AbstractReversi implements ReversiModel {
 
   @Override
   public void addModelStateListener(ModelStateFeatures listener) {
-    listeners.add(listener);
+    events.subscribe(new ModelStateAdapter(listener));
+
+  }
 
+  @Override
+  public GameEventBus getEventBus() {
+    return events;
   }
 
   // Abstract methods for game initialization and player moves
@@ -143,6 +159,8 @@ public abstract class AbstractReversi implements ReversiModel {
     if (!this.gameStarted) {
       throw new IllegalStateException("Game has not started");
     }
+    BoardCopyEvent event = new BoardCopyEvent();
+    event.begin();
 
 
     //Perform a deep copy
@@ -162,6 +180,7 @@ public abstract class AbstractReversi implements ReversiModel {
       gameBoardCopy.put(keyCopy, valueCopy);
     }
 
+    event.commit(boardSize, gameBoardCopy.size());
     return gameBoardCopy;
 
   }
@@ -294,15 +313,19 @@ public abstract class AbstractReversi implements ReversiModel {
 
   @Override
   public boolean playerLegalMoves() {
+    MoveGenerationEvent event = new MoveGenerationEvent();
+    event.begin();
 
     for (int row = 0; row < boardSize; row++) {
       for (int column = 0; column < boardSize; column++) {
         if (canMakeMove(row, column)) {
+          event.commit(boardSize, "model", 1, false);
           return true;
         }
       }
     }
 
+    event.commit(boardSize, "model", 0, true);
     return false;
   }
 
@@ -315,29 +338,134 @@ public abstract class AbstractReversi implements ReversiModel {
   //Verify moving disk action type is legal
   protected abstract boolean validateMove(int row, int column);
 
-  protected void notifyPlayerChange(CellType currPlayer) {
-    for (ModelStateFeatures listener : listeners) {
-      listener.handlePlayerChange(currPlayer);
-    }
+  @Override
+  public long getBoardVersion() {
+    return boardVersion;
+  }
+
+  /**
+   * Flips a disc to the color of the player making the current move and records it for the
+   * event of that move.
+   *
+   * @param cell The cell of the disc.
+   */
+  protected void flipDisc(ICoordinate cell) {
+    gameBoard.replace(cell, currentPlayerTurn);
+    pendingFlips.add(cell);
+  }
+
+  /**
+   * Gets the number of discs the current move has flipped through {@link #flipDisc(ICoordinate)}
+   * so far, before {@link #publishMove(CellType, ICoordinate)} hands them to the listeners.
+   *
+   * @return The number of discs flipped.
+   */
+  protected int pendingFlipCount() {
+    return pendingFlips.size();
   }
 
-  protected void notifyGameBoardChange() {
-    for (ModelStateFeatures listener : listeners) {
-      listener.handleGameBoardChange();
+  /**
+   * Publishes the move just made, with the discs flipped through {@link #flipDisc(ICoordinate)}.
+   * The turn must already have passed to the next player.
+   *
+   * @param player The player who moved.
+   * @param placed The cell of the placed disc.
+   */
+  protected void publishMove(CellType player, ICoordinate placed) {
+    Map<ICoordinate, CellType> changes = new LinkedHashMap<>();
+    changes.put(placed, player);
+    for (ICoordinate flipped : pendingFlips) {
+      changes.put(flipped, player);
+    }
+    int flips = changes.size() - 1;
+    pendingFlips.clear();
+    if (discCounts == null) {
+      discCounts = countDiscs();
+    } else {
+      int mover = player == CellType.BLACK ? 0 : 1;
+      discCounts[mover] += flips + 1;
+      discCounts[1 - mover] -= flips;
     }
+    publish(GameEvent.Type.MOVE_PLAYED, player, placed, changes, currentPlayerTurn);
   }
 
+  /**
+   * Publishes a pass. The turn must already have passed to the next player.
+   *
+   * @param player The player who passed.
+   */
+  protected void publishPass(CellType player) {
+    publish(GameEvent.Type.PASSED, player, null, new LinkedHashMap<>(), currentPlayerTurn);
+  }
+
+  /**
+   * Publishes the end of the game. The game state must already be over.
+   */
+  protected void publishGameOver() {
+    publish(GameEvent.Type.GAME_OVER, null, null, new LinkedHashMap<>(), null);
+  }
+
+  /**
+   * Publishes the start of the game, with every disc of the starting position as a change.
+   */
+  protected void publishGameStart() {
+    Map<ICoordinate, CellType> changes = new LinkedHashMap<>();
+    for (Map.Entry<ICoordinate, CellType> cell : gameBoard.entrySet()) {
+      if (cell.getValue() == CellType.BLACK || cell.getValue() == CellType.WHITE) {
+        changes.put(cell.getKey(), cell.getValue());
+      }
+    }
+    discCounts = null;
+    publish(GameEvent.Type.GAME_STARTED, CellType.BLACK, null, changes, currentPlayerTurn);
+  }
 
+  private void publish(GameEvent.Type type, CellType player, ICoordinate placed,
+                       Map<ICoordinate, CellType> changes, CellType nextTurn) {
+    boardVersion++;
+    if (discCounts == null) {
+      discCounts = countDiscs();
+    }
+    events.publish(new GameEvent(type, boardVersion, player, placed, changes, nextTurn,
+            discCounts[0], discCounts[1]));
+  }
 
-  protected void notifyGameOver() {
-    for (ModelStateFeatures listener : listeners) {
-      listener.handleGameOver();
+  private int[] countDiscs() {
+    int[] counts = new int[2];
+    for (CellType cell : gameBoard.values()) {
+      if (cell == CellType.BLACK) {
+        counts[0]++;
+      } else if (cell == CellType.WHITE) {
+        counts[1]++;
+      }
     }
+    return counts;
   }
 
-  protected void notifyGameStart() {
-    for (ModelStateFeatures listener : listeners) {
-      listener.handleInitializeGame(CellType.BLACK);
+  // Feeds the typed events to a listener written against the older callbacks, in the order
+  // the model used to call them.
+  private static final class ModelStateAdapter implements GameEventListener {
+
+    private final ModelStateFeatures listener;
+
+    ModelStateAdapter(ModelStateFeatures listener) {
+      this.listener = listener;
+    }
+
+    @Override
+    public void handleEvent(GameEvent event) {
+      switch (event.getType()) {
+        case GAME_STARTED:
+          listener.handleInitializeGame(event.getPlayer());
+          break;
+        case GAME_OVER:
+          listener.handleGameBoardChange();
+          listener.handleGameOver();
+          break;
+        default:
+          listener.handlePlayerChange(event.getNextTurn());
+          listener.handleGameBoardChange(event.getChanges().keySet());
+          break;
+      }
     }
   }
 }
@@ -3,6 +3,9 @@ package model;
 import java.util.ArrayList;
 import java.util.HashMap;
 
+import profiling.MoveEvent;
+import profiling.SkipEvent;
+
 /**
  * An implementation of the Reversi game with basic rules and functionality.
  * This class extends the abstract Reversi model and provides methods to initialize the game,
@@ -140,6 +143,8 @@ public class BasicReversi extends AbstractReversi {
 
   @Override
   public void makeMove(CellType player, int row, int column) {
+    MoveEvent event = new MoveEvent();
+    event.begin();
 
     if (!this.gameStarted) {
       throw new IllegalStateException("Game has not started");
@@ -176,27 +181,17 @@ public class BasicReversi extends AbstractReversi {
 
     flipPieces(getSamePieceBetween(column, row), new Coordinate(column, row));
 
-
+    CellType mover = currentPlayerTurn;
     updatePlayerTurn();
 
-
-    notifyPlayerChange(nextPlayer());
-    updateGameBoard();
-
-
-
-
-
-
-    //After making a move number of skips should be set back to 0
+    //After making a move number of skips should be set back to 0, before the next player
+    //hears of the move and possibly passes
 
     this.skipTimes = 0;
 
-
-  }
-
-  private void updateGameBoard() {
-    notifyGameBoardChange();
+    // committed before the listeners hear of the move, so their work is not timed as the move
+    event.commit(boardSize, mover, row, column, pendingFlipCount());
+    publishMove(mover, new Coordinate(column, row));
   }
 
   /**
@@ -209,6 +204,8 @@ public class BasicReversi extends AbstractReversi {
 
   @Override
   public void skip(CellType player) {
+    SkipEvent event = new SkipEvent();
+    event.begin();
     if (!this.gameStarted) {
       throw new IllegalStateException("Game has not started");
     }
@@ -225,20 +222,21 @@ public class BasicReversi extends AbstractReversi {
     this.skipTimes++;
 
     if (this.skipTimes == 2) {
-      updateGameBoard();
       this.gameState = GameState.OVER;
-      notifyGameOver();
+      event.commit(boardSize, player, true);
+      publishGameOver();
 
     } else {
+      CellType passer = currentPlayerTurn;
       updatePlayerTurn();
-      notifyPlayerChange(nextPlayer());
-      updateGameBoard();
+      event.commit(boardSize, player, false);
+      publishPass(passer);
     }
   }
 
   @Override
   public void startGame() {
-    notifyGameStart();
+    publishGameStart();
   }
 
   private void updatePlayerTurn() {
@@ -272,7 +270,7 @@ public class BasicReversi extends AbstractReversi {
         for (int i = placedCoordinate.getRow() - 1; i > coordinate.getRow(); i--) {
 
 
-          this.gameBoard.replace(new Coordinate(placedCoordinate.getCol(), i), currentPlayerTurn);
+          flipDisc(new Coordinate(placedCoordinate.getCol(), i));
 
         }
 
@@ -288,7 +286,7 @@ public class BasicReversi extends AbstractReversi {
         while (col < coordinate.getCol() && row > coordinate.getRow()) {
 
 
-          this.gameBoard.replace(new Coordinate(col, row), currentPlayerTurn);
+          flipDisc(new Coordinate(col, row));
           // Move to the next diagonal element
           col++;
           row--;
@@ -305,7 +303,7 @@ public class BasicReversi extends AbstractReversi {
         for (int i = placedCoordinate.getCol() - 1; i > coordinate.getCol(); i--) {
 
 
-          this.gameBoard.replace(new Coordinate(i, placedCoordinate.getRow()), currentPlayerTurn);
+          flipDisc(new Coordinate(i, placedCoordinate.getRow()));
         }
 
       }
@@ -318,7 +316,7 @@ public class BasicReversi extends AbstractReversi {
         for (int i = placedCoordinate.getCol() + 1; i < coordinate.getCol(); i++) {
 
 
-          this.gameBoard.replace(new Coordinate(i, placedCoordinate.getRow()), currentPlayerTurn);
+          flipDisc(new Coordinate(i, placedCoordinate.getRow()));
 
         }
 
@@ -332,7 +330,7 @@ public class BasicReversi extends AbstractReversi {
         for (int i = placedCoordinate.getRow() + 1; i < coordinate.getRow(); i++) {
 
 
-          this.gameBoard.replace(new Coordinate(placedCoordinate.getCol(), i), currentPlayerTurn);
+          flipDisc(new Coordinate(placedCoordinate.getCol(), i));
 
         }
 
@@ -350,7 +348,7 @@ public class BasicReversi extends AbstractReversi {
         while (col > coordinate.getCol() && row < coordinate.getRow()) {
 
 
-          this.gameBoard.replace(new Coordinate(col, row), currentPlayerTurn);
+          flipDisc(new Coordinate(col, row));
 
           // Move to the next diagonal element
           col--;
@@ -0,0 +1,176 @@
+package model;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The GameEvent class describes one change of a Reversi game, with everything a listener needs
+ * to follow the game without reading the whole board again: the cells that changed and what
+ * they now hold, whose turn it is and the scores. Events are immutable.
+ */
+public final class GameEvent {
+
+  /**
+   * The kinds of change.
+   */
+  public enum Type {
+    /** The game started; the changes hold every disc of the starting position. */
+    GAME_STARTED,
+    /** A player placed a disc; the changes hold that disc and every flipped disc. */
+    MOVE_PLAYED,
+    /** A player passed; nothing on the board changed. */
+    PASSED,
+    /** The game ended; nothing on the board changed and nobody is to move. */
+    GAME_OVER
+  }
+
+  private final Type type;
+  private final long version;
+  private final CellType player;
+  private final ICoordinate placed;
+  private final Map<ICoordinate, CellType> changes;
+  private final CellType nextTurn;
+  private final int blackScore;
+  private final int whiteScore;
+
+  /**
+   * Constructs an event.
+   *
+   * @param type       The kind of change.
+   * @param version    The board version after the change.
+   * @param player     The player who moved or passed; the starting player for
+   *                   {@link Type#GAME_STARTED}; null for {@link Type#GAME_OVER}.
+   * @param placed     The cell of the placed disc, or null if no disc was placed.
+   * @param changes    The cells that changed, in order, mapped to their new contents.
+   * @param nextTurn   The player to move now, or null once the game is over.
+   * @param blackScore The number of black discs.
+   * @param whiteScore The number of white discs.
+   * @throws IllegalArgumentException If the type or the changes are null.
+   */
+  public GameEvent(Type type, long version, CellType player, ICoordinate placed,
+                   Map<ICoordinate, CellType> changes, CellType nextTurn, int blackScore,
+                   int whiteScore) {
+    if (type == null || changes == null) {
+      throw new IllegalArgumentException("Type and changes cannot be null");
+    }
+    this.type = type;
+    this.version = version;
+    this.player = player;
+    this.placed = placed;
+    this.changes = Collections.unmodifiableMap(new LinkedHashMap<>(changes));
+    this.nextTurn = nextTurn;
+    this.blackScore = blackScore;
+    this.whiteScore = whiteScore;
+  }
+
+  /**
+   * Gets the kind of change.
+   *
+   * @return The event type.
+   */
+  public Type getType() {
+    return type;
+  }
+
+  /**
+   * Gets the board version after the change, as given by
+   * {@link ReadonlyReversiModel#getBoardVersion()}.
+   *
+   * @return The version.
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Gets the player who moved or passed, or the starting player of a new game.
+   *
+   * @return The player, or null for the end of the game.
+   */
+  public CellType getPlayer() {
+    return player;
+  }
+
+  /**
+   * Gets the cell of the placed disc.
+   *
+   * @return The cell, or null if no disc was placed.
+   */
+  public ICoordinate getPlaced() {
+    return placed;
+  }
+
+  /**
+   * Gets the cells that changed, in the order they changed, mapped to what they now hold.
+   *
+   * @return An unmodifiable map of the changed cells.
+   */
+  public Map<ICoordinate, CellType> getChanges() {
+    return changes;
+  }
+
+  /**
+   * Gets the player to move after the change.
+   *
+   * @return The player, or null once the game is over.
+   */
+  public CellType getNextTurn() {
+    return nextTurn;
+  }
+
+  /**
+   * Gets the scores after the change.
+   *
+   * @return The number of black discs and the number of white discs.
+   */
+  public int[] getScores() {
+    return new int[]{blackScore, whiteScore};
+  }
+
+  /**
+   * Checks whether this event can be merged with a later one by {@link #coalesce(GameEvent)}.
+   * Only moves and passes can; the start and the end of a game are always delivered.
+   *
+   * @return True for a move or a pass.
+   */
+  public boolean isCoalescable() {
+    return type == Type.MOVE_PLAYED || type == Type.PASSED;
+  }
+
+  /**
+   * Merges this event with the event that followed it into one event that has the same effect
+   * on a listener: the changes of both, with the later contents winning, and the turn, scores
+   * and version of the later event. An event older than this one is already covered by it and
+   * is ignored.
+   *
+   * @param later The event that followed this one.
+   * @return The merged event, or this event if the other one is older.
+   * @throws IllegalArgumentException If either event is not a move or a pass.
+   */
+  public GameEvent coalesce(GameEvent later) {
+    if (!isCoalescable() || !later.isCoalescable()) {
+      throw new IllegalArgumentException("Only moves and passes can be coalesced");
+    }
+    if (later.version < version) {
+      return this;
+    }
+    Map<ICoordinate, CellType> merged = new LinkedHashMap<>(changes);
+    for (Map.Entry<ICoordinate, CellType> change : later.changes.entrySet()) {
+      // re-inserted so the merged order stays the order of the last change
+      merged.remove(change.getKey());
+      merged.put(change.getKey(), change.getValue());
+    }
+    Type mergedType = type == Type.MOVE_PLAYED || later.type == Type.MOVE_PLAYED
+            ? Type.MOVE_PLAYED : Type.PASSED;
+    ICoordinate mergedPlaced = later.placed != null ? later.placed : placed;
+    return new GameEvent(mergedType, later.version, later.player, mergedPlaced, merged,
+            later.nextTurn, later.blackScore, later.whiteScore);
+  }
+
+  @Override
+  public String toString() {
+    return type + " v" + version + " by " + player + " placed " + placed + " changes "
+            + changes.size() + " next " + nextTurn + " score " + blackScore + "-" + whiteScore;
+  }
+}
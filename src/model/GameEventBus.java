@@ -0,0 +1,155 @@
+package model;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+/**
+ * The GameEventBus class delivers the {@link GameEvent}s of a game to its listeners. A listener
+ * is either synchronous, called on the publishing thread before the change returns, or
+ * asynchronous, called in order on an executor of its choice so that it cannot stall moves.
+ * An asynchronous listener may ask for coalescing: when it falls behind, the moves and passes
+ * waiting for it are merged with {@link GameEvent#coalesce(GameEvent)} and it gets one event
+ * for the whole burst.
+ *
+ * <p>Subscribing and publishing are safe from any thread. Events are delivered in the order of
+ * the changes: an event published by a listener, as when an AI player replies to a move, waits
+ * until the outer event has reached every listener, and a publish from another thread waits
+ * until the running one is done. A synchronous listener must therefore not block on another
+ * thread that changes the game.</p>
+ */
+public final class GameEventBus {
+
+  private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+  // events published while a publish is running, delivered by the outermost publish in order
+  private final ArrayDeque<GameEvent> queued = new ArrayDeque<>();
+  private boolean publishing;
+
+  // one listener with its delivery policy
+  private static final class Subscription {
+
+    private final GameEventListener listener;
+    private final Executor executor;
+    private final boolean coalesce;
+    private final ArrayDeque<GameEvent> pending = new ArrayDeque<>();
+    private boolean draining;
+
+    Subscription(GameEventListener listener, Executor executor, boolean coalesce) {
+      this.listener = listener;
+      this.executor = executor;
+      this.coalesce = coalesce;
+    }
+
+    void offer(GameEvent event) {
+      if (executor == null) {
+        listener.handleEvent(event);
+        return;
+      }
+      synchronized (this) {
+        pending.add(event);
+        if (draining) {
+          return;
+        }
+        draining = true;
+      }
+      executor.execute(this::drain);
+    }
+
+    private void drain() {
+      while (true) {
+        GameEvent next;
+        synchronized (this) {
+          next = pending.poll();
+          if (next == null) {
+            draining = false;
+            return;
+          }
+          if (coalesce) {
+            while (next.isCoalescable() && pending.peek() != null
+                    && pending.peek().isCoalescable()) {
+              next = next.coalesce(pending.poll());
+            }
+          }
+        }
+        listener.handleEvent(next);
+      }
+    }
+  }
+
+  /**
+   * Adds a listener that is called on the publishing thread.
+   *
+   * @param listener The listener.
+   * @throws IllegalArgumentException If the listener is null.
+   */
+  public void subscribe(GameEventListener listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("Listener cannot be null");
+    }
+    subscriptions.add(new Subscription(listener, null, false));
+  }
+
+  /**
+   * Adds a listener that is called on an executor, one event at a time and in order.
+   *
+   * @param listener The listener.
+   * @param executor The executor the listener runs on, such as
+   *                 {@code SwingUtilities::invokeLater}.
+   * @param coalesce Whether moves and passes that queue up while the listener is busy are
+   *                 merged into one event.
+   * @throws IllegalArgumentException If the listener or the executor is null.
+   */
+  public void subscribe(GameEventListener listener, Executor executor, boolean coalesce) {
+    if (listener == null || executor == null) {
+      throw new IllegalArgumentException("Listener and executor cannot be null");
+    }
+    subscriptions.add(new Subscription(listener, executor, coalesce));
+  }
+
+  /**
+   * Removes a listener.
+   *
+   * @param listener The listener.
+   * @return True if the listener was subscribed.
+   */
+  public boolean unsubscribe(GameEventListener listener) {
+    return subscriptions.removeIf(subscription -> subscription.listener == listener);
+  }
+
+  /**
+   * Gets the number of listeners.
+   *
+   * @return The number of subscriptions.
+   */
+  public int getListenerCount() {
+    return subscriptions.size();
+  }
+
+  /**
+   * Delivers an event to every listener. If a listener publishes while this event is being
+   * delivered, its event is delivered after this one, before this call returns.
+   *
+   * @param event The event.
+   */
+  public void publish(GameEvent event) {
+    synchronized (queued) {
+      queued.add(event);
+      if (publishing) {
+        return;
+      }
+      publishing = true;
+      try {
+        GameEvent next;
+        while ((next = queued.poll()) != null) {
+          for (Subscription subscription : subscriptions) {
+            subscription.offer(next);
+          }
+        }
+      } finally {
+        publishing = false;
+      }
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package model;
+
+/**
+ * The GameEventListener interface receives the {@link GameEvent}s of a game from a
+ * {@link GameEventBus}.
+ */
+public interface GameEventListener {
+
+  /**
+   * Handles a change of the game.
+   *
+   * @param event The change.
+   */
+  void handleEvent(GameEvent event);
+}
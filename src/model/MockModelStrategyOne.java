@@ -97,6 +97,12 @@ public class MockModelStrategyOne extends BasicReversi implements ReadonlyRevers
     return model.getContent(row, column);
   }
 
+  @Override
+  public long getBoardVersion() {
+    transcript.add("getBoardVersion");
+    return model.getBoardVersion();
+  }
+
   @Override
   public boolean playerLegalMoves() {
     transcript.add("playerLegalMoves");
@@ -105,4 +105,13 @@ public interface ReadonlyReversiModel {
    */
 
   boolean canMakeMove(int row, int column);
+
+  /**
+   * Gets the version of the game state. The version changes whenever the board, the player to
+   * move or the state of the game changes, before any listener hears of the change, so anything
+   * computed from the model can be cached under it.
+   *
+   * @return The current version of the game state.
+   */
+  long getBoardVersion();
 }
@@ -20,6 +20,14 @@ public interface ReversiModel extends ReadonlyReversiModel {
 
   void addModelStateListener(ModelStateFeatures listener);
 
+  /**
+   * Gets the bus that delivers the typed events of this game, for listeners that want the
+   * exact changes instead of the callbacks of {@link ModelStateFeatures}.
+   *
+   * @return The event bus of the game.
+   */
+  GameEventBus getEventBus();
+
   /**
    * Make a move on the game board.
    * Making a move is placing a disk on the board that is legal.
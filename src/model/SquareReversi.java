@@ -3,6 +3,9 @@ package model;
 import java.util.ArrayList;
 import java.util.HashMap;
 
+import profiling.MoveEvent;
+import profiling.SkipEvent;
+
 /**
  * An implementation of the Reversi game with basic rules and functionality.
  * This class extends the abstract Reversi model and provides methods to initialize the game,
@@ -84,6 +87,8 @@ public class SquareReversi extends AbstractReversi {
 
   @Override
   public void makeMove(CellType player, int row, int column) throws IllegalArgumentException {
+    MoveEvent event = new MoveEvent();
+    event.begin();
 
     if (!this.gameStarted) {
       throw new IllegalStateException("Game has not started");
@@ -121,26 +126,25 @@ public class SquareReversi extends AbstractReversi {
     flipPieces(getSamePieceBetween(column, row), new SquareCoordinate(column, row));
 
 
+    CellType mover = currentPlayerTurn;
     previousPlayerTurn = currentPlayerTurn;
     currentPlayerTurn = nextPlayer();
 
-
-    notifyPlayerChange(nextPlayer());
-    notifyGameBoardChange();
-
-
-
-
-
-
-    //After making a move number of skips should be set back to 0
+    //After making a move number of skips should be set back to 0, before the next player
+    //hears of the move and possibly passes
 
     this.skipTimes = 0;
 
+    // committed before the listeners hear of the move, so their work is not timed as the move
+    event.commit(boardSize, mover, row, column, pendingFlipCount());
+    publishMove(mover, new SquareCoordinate(column, row));
+
   }
 
   @Override
   public void skip(CellType player) throws IllegalArgumentException {
+    SkipEvent event = new SkipEvent();
+    event.begin();
     if (!this.gameStarted) {
       throw new IllegalStateException("Game has not started");
     }
@@ -158,15 +162,16 @@ public class SquareReversi extends AbstractReversi {
 
     if (this.skipTimes == 2) {
 
-      notifyGameBoardChange();
       this.gameState = GameState.OVER;
-      notifyGameOver();
+      event.commit(boardSize, player, true);
+      publishGameOver();
 
     } else {
+      CellType passer = currentPlayerTurn;
       previousPlayerTurn = currentPlayerTurn;
       currentPlayerTurn = nextPlayer();
-      notifyPlayerChange(nextPlayer());
-      notifyGameBoardChange();
+      event.commit(boardSize, player, false);
+      publishPass(passer);
     }
   }
 
@@ -174,7 +179,12 @@ public class SquareReversi extends AbstractReversi {
 
   @Override
   public void startGame() {
-    notifyGameStart();
+    publishGameStart();
+  }
+
+  @Override
+  public CellType getContent(int row, int column) {
+    return this.gameBoard.get(new SquareCoordinate(column, row));
   }
 
 
@@ -710,7 +720,7 @@ public class SquareReversi extends AbstractReversi {
         while (col > coordinate.getCol() && row > coordinate.getRow()) {
 
 
-          this.gameBoard.replace(new SquareCoordinate(col, row), currentPlayerTurn);
+          flipDisc(new SquareCoordinate(col, row));
           // Move to the next diagonal element
           col--;
           row--;
@@ -729,7 +739,7 @@ public class SquareReversi extends AbstractReversi {
         while (col < coordinate.getCol() && row < coordinate.getRow()) {
 
 
-          this.gameBoard.replace(new SquareCoordinate(col, row), currentPlayerTurn);
+          flipDisc(new SquareCoordinate(col, row));
           // Move to the next diagonal element
           col++;
           row++;
@@ -746,8 +756,7 @@ public class SquareReversi extends AbstractReversi {
         for (int i = placedCoordinate.getCol() - 1; i > coordinate.getCol(); i--) {
 
 
-          this.gameBoard.replace(
-                  new SquareCoordinate(i, placedCoordinate.getRow()), currentPlayerTurn);
+          flipDisc(new SquareCoordinate(i, placedCoordinate.getRow()));
         }
 
       }
@@ -760,8 +769,7 @@ public class SquareReversi extends AbstractReversi {
         for (int i = placedCoordinate.getCol() + 1; i < coordinate.getCol(); i++) {
 
 
-          this.gameBoard.replace(
-                  new SquareCoordinate(i, placedCoordinate.getRow()), currentPlayerTurn);
+          flipDisc(new SquareCoordinate(i, placedCoordinate.getRow()));
 
         }
 
@@ -777,7 +785,7 @@ public class SquareReversi extends AbstractReversi {
         while (col > coordinate.getCol() && row < coordinate.getRow()) {
 
 
-          this.gameBoard.replace(new SquareCoordinate(col, row), currentPlayerTurn);
+          flipDisc(new SquareCoordinate(col, row));
           // Move to the next diagonal element
           col--;
           row++;
@@ -796,7 +804,7 @@ public class SquareReversi extends AbstractReversi {
         while (col < coordinate.getCol() && row > coordinate.getRow()) {
 
 
-          this.gameBoard.replace(new SquareCoordinate(col, row), currentPlayerTurn);
+          flipDisc(new SquareCoordinate(col, row));
           // Move to the next diagonal element
           col++;
           row--;
@@ -813,8 +821,7 @@ public class SquareReversi extends AbstractReversi {
         for (int i = placedCoordinate.getRow() - 1; i > coordinate.getRow(); i--) {
 
 
-          this.gameBoard.replace(
-                  new SquareCoordinate(placedCoordinate.getCol(), i), currentPlayerTurn);
+          flipDisc(new SquareCoordinate(placedCoordinate.getCol(), i));
         }
 
       }
@@ -828,8 +835,7 @@ public class SquareReversi extends AbstractReversi {
         for (int i = placedCoordinate.getRow() + 1; i < coordinate.getRow(); i++) {
 
 
-          this.gameBoard.replace(
-                  new SquareCoordinate(placedCoordinate.getCol(), i), currentPlayerTurn);
+          flipDisc(new SquareCoordinate(placedCoordinate.getCol(), i));
 
         }
 
@@ -0,0 +1,40 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The BoardCopyEvent class is the Java Flight Recorder event of a game model copying its board
+ * for a caller. The stack trace is kept, since it shows who asked for the copy.
+ */
+@Name("reversi.BoardCopy")
+@Label("Board Copy")
+@Category({"Reversi", "Model"})
+@Description("A copy of the game board handed out by a model")
+public final class BoardCopyEvent extends Event {
+
+  @Label("Board Size")
+  private int boardSize;
+
+  @Label("Cells")
+  @Description("The number of positions copied")
+  private int cells;
+
+  /**
+   * Ends the event and records it, if a recording wants it.
+   *
+   * @param boardSize The number of rows (and columns) of the board.
+   * @param cells     The number of positions copied.
+   */
+  public void commit(int boardSize, int cells) {
+    end();
+    if (shouldCommit()) {
+      this.boardSize = boardSize;
+      this.cells = cells;
+      commit();
+    }
+  }
+}
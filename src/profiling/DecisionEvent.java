@@ -0,0 +1,74 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import model.CellType;
+
+/**
+ * The DecisionEvent class is the Java Flight Recorder event of a strategy choosing a move for an
+ * AI player, with the search work it reported.
+ */
+@Name("reversi.StrategyDecision")
+@Label("Strategy Decision")
+@Category({"Reversi", "Strategy"})
+@Description("A strategy choosing a move or a pass")
+@StackTrace(false)
+public final class DecisionEvent extends Event {
+
+  @Label("Strategy")
+  private String strategy;
+
+  @Label("Player")
+  private String player;
+
+  @Label("Board Size")
+  private int boardSize;
+
+  @Label("Pass")
+  private boolean pass;
+
+  @Label("Nodes")
+  @Description("The positions searched, 0 if the strategy does not report them")
+  private long nodes;
+
+  @Label("Depth")
+  @Description("The depth reached in plies, 0 if the strategy does not report it")
+  private int depth;
+
+  @Label("Allocated")
+  @Description("The bytes the deciding thread allocated, -1 if unknown")
+  @DataAmount
+  private long allocatedBytes;
+
+  /**
+   * Ends the event and records it, if a recording wants it.
+   *
+   * @param strategy       The strategy that decided.
+   * @param player         The player it decided for.
+   * @param boardSize      The number of rows (and columns) of the board.
+   * @param pass           Whether it decided to pass.
+   * @param nodes          The positions searched.
+   * @param depth          The depth reached.
+   * @param allocatedBytes The bytes allocated, or -1 if unknown.
+   */
+  public void commit(Object strategy, CellType player, int boardSize, boolean pass, long nodes,
+                     int depth, long allocatedBytes) {
+    end();
+    if (shouldCommit()) {
+      this.strategy = strategy.getClass().getName();
+      this.player = player == null ? null : player.name();
+      this.boardSize = boardSize;
+      this.pass = pass;
+      this.nodes = nodes;
+      this.depth = depth;
+      this.allocatedBytes = allocatedBytes;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import model.CellType;
+
+/**
+ * The MoveEvent class is the Java Flight Recorder event of a move played on a game model, from
+ * the checks of the move to the event published for it.
+ */
+@Name("reversi.Move")
+@Label("Move")
+@Category({"Reversi", "Model"})
+@Description("A disc placed on the board, with the discs it flipped")
+@StackTrace(false)
+public final class MoveEvent extends Event {
+
+  @Label("Board Size")
+  private int boardSize;
+
+  @Label("Player")
+  private String player;
+
+  @Label("Row")
+  private int row;
+
+  @Label("Column")
+  private int column;
+
+  @Label("Flips")
+  @Description("The number of discs the move flipped")
+  private int flips;
+
+  /**
+   * Ends the event and records it, if a recording wants it.
+   *
+   * @param boardSize The number of rows (and columns) of the board.
+   * @param player    The player who moved.
+   * @param row       The row of the placed disc.
+   * @param column    The column of the placed disc.
+   * @param flips     The number of discs flipped.
+   */
+  public void commit(int boardSize, CellType player, int row, int column, int flips) {
+    end();
+    if (shouldCommit()) {
+      this.boardSize = boardSize;
+      this.player = player == null ? null : player.name();
+      this.row = row;
+      this.column = column;
+      this.flips = flips;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The MoveGenerationEvent class is the Java Flight Recorder event of a search for the legal moves
+ * of a player. A search that only asks whether there is any move stops at the first one.
+ */
+@Name("reversi.MoveGeneration")
+@Label("Move Generation")
+@Category({"Reversi", "Model"})
+@Description("A search for the legal moves of a player")
+@StackTrace(false)
+public final class MoveGenerationEvent extends Event {
+
+  @Label("Board Size")
+  private int boardSize;
+
+  @Label("Generator")
+  @Description("What searched for the moves")
+  private String generator;
+
+  @Label("Moves")
+  @Description("The number of legal moves found")
+  private int moves;
+
+  @Label("Complete")
+  @Description("False if the search stopped at the first move")
+  private boolean complete;
+
+  /**
+   * Ends the event and records it, if a recording wants it.
+   *
+   * @param boardSize The number of rows (and columns) of the board.
+   * @param generator What searched for the moves.
+   * @param moves     The number of legal moves found.
+   * @param complete  False if the search stopped at the first move.
+   */
+  public void commit(int boardSize, String generator, int moves, boolean complete) {
+    end();
+    if (shouldCommit()) {
+      this.boardSize = boardSize;
+      this.generator = generator;
+      this.moves = moves;
+      this.complete = complete;
+      commit();
+    }
+  }
+}
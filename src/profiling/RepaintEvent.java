@@ -0,0 +1,56 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The RepaintEvent class is the Java Flight Recorder event of a board panel painting itself.
+ */
+@Name("reversi.Repaint")
+@Label("Repaint")
+@Category({"Reversi", "View"})
+@Description("A board panel painting itself")
+@StackTrace(false)
+public final class RepaintEvent extends Event {
+
+  @Label("View")
+  private String view;
+
+  @Label("Board Size")
+  private int boardSize;
+
+  @Label("Cells Drawn")
+  @Description("The number of cells drawn, 0 if a cached image was drawn instead")
+  private int cellsDrawn;
+
+  @Label("Width")
+  private int width;
+
+  @Label("Height")
+  private int height;
+
+  /**
+   * Ends the event and records it, if a recording wants it.
+   *
+   * @param view       The panel that painted.
+   * @param boardSize  The number of rows (and columns) of the board.
+   * @param cellsDrawn The number of cells drawn.
+   * @param width      The width of the panel in pixels.
+   * @param height     The height of the panel in pixels.
+   */
+  public void commit(Object view, int boardSize, int cellsDrawn, int width, int height) {
+    end();
+    if (shouldCommit()) {
+      this.view = view.getClass().getName();
+      this.boardSize = boardSize;
+      this.cellsDrawn = cellsDrawn;
+      this.width = width;
+      this.height = height;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import model.CellType;
+
+/**
+ * The SkipEvent class is the Java Flight Recorder event of a player passing on a game model.
+ */
+@Name("reversi.Skip")
+@Label("Skip")
+@Category({"Reversi", "Model"})
+@Description("A player passing their turn")
+@StackTrace(false)
+public final class SkipEvent extends Event {
+
+  @Label("Board Size")
+  private int boardSize;
+
+  @Label("Player")
+  private String player;
+
+  @Label("Game Over")
+  @Description("Whether the pass ended the game")
+  private boolean gameOver;
+
+  /**
+   * Ends the event and records it, if a recording wants it.
+   *
+   * @param boardSize The number of rows (and columns) of the board.
+   * @param player    The player who passed.
+   * @param gameOver  Whether the pass ended the game.
+   */
+  public void commit(int boardSize, CellType player, boolean gameOver) {
+    end();
+    if (shouldCommit()) {
+      this.boardSize = boardSize;
+      this.player = player == null ? null : player.name();
+      this.gameOver = gameOver;
+      commit();
+    }
+  }
+}
@@ -1,21 +1,33 @@
 package provider;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 
 
+import adopt.CoordinateCache;
 import adopt.OffsetHexCoordinates;
 
 /**
  * Abstract base class for Reversi strategies with utility methods.
  *
  * <p>Implements common methods for coordinate generation and move selection.</p>
+ *
+ * <p>The corners and the two outer layers of a board are walked once per board shape and shared
+ * by every strategy, each with a bit set of its cells, so checking whether a move lies in one of
+ * them takes constant time.</p>
  */
 public abstract class AbstractStrategy implements ReversiStrategy {
+
+  private static final Map<CoordinateCache, Regions> REGIONS = new ConcurrentHashMap<>();
+
   private Board board;
 
   /**
@@ -60,9 +72,71 @@ public abstract class AbstractStrategy implements ReversiStrategy {
   /**
    * Retrieves the outermost layer coordinates on the game board.
    *
-   * @return The list of outermost layer coordinates.
+   * @return The unmodifiable list of outermost layer coordinates.
    */
   protected List<Coordinates> getOuterMostLayerCoordinates() {
+    return regions().outerLayer.coordinates;
+  }
+
+  /**
+   * Retrieves the coordinates of the second outermost layer on the game board.
+   *
+   * @return The unmodifiable list of second outermost layer coordinates.
+   */
+  protected List<Coordinates> getSecondOuterMostLayerCoordinates() {
+    return regions().secondLayer.coordinates;
+  }
+
+  /**
+   * Retrieves the coordinates of the corners on the game board.
+   *
+   * @return The unmodifiable list of corner coordinates.
+   */
+  protected List<Coordinates> getCornerCoordinates() {
+    return regions().corners.coordinates;
+  }
+
+  /**
+   * Checks whether coordinates are a corner of the game board.
+   *
+   * @param coordinates The coordinates.
+   * @return True if they are one of the corners.
+   */
+  protected boolean isCorner(Coordinates coordinates) {
+    return regions().corners.contains(coordinates);
+  }
+
+  /**
+   * Checks whether coordinates lie in the outermost layer of the game board.
+   *
+   * @param coordinates The coordinates.
+   * @return True if they are in the outermost layer.
+   */
+  protected boolean isOuterMostLayer(Coordinates coordinates) {
+    return regions().outerLayer.contains(coordinates);
+  }
+
+  /**
+   * Checks whether coordinates lie in the second outermost layer of the game board.
+   *
+   * @param coordinates The coordinates.
+   * @return True if they are in the second outermost layer.
+   */
+  protected boolean isSecondOuterMostLayer(Coordinates coordinates) {
+    return regions().secondLayer.contains(coordinates);
+  }
+
+  // boards of no hexagonal size have no shared coordinates, so their regions are walked each time
+  private Regions regions() {
+    CoordinateCache cache = CoordinateCache.forBoard(board);
+    if (cache == null) {
+      return new Regions(null, walkCorners(), walkOuterMostLayer(), walkSecondOuterMostLayer());
+    }
+    return REGIONS.computeIfAbsent(cache, key -> new Regions(key, walkCorners(),
+            walkOuterMostLayer(), walkSecondOuterMostLayer()));
+  }
+
+  private List<Coordinates> walkOuterMostLayer() {
     List<Coordinates> inBoundsCoords = board.getInBoundsCoordinates();
     HexDirection[] outerLayerDirections = {HexDirection.RIGHT, HexDirection.BOTTOMRIGHT,
         HexDirection.BOTTOMLEFT,
@@ -72,12 +146,7 @@ public abstract class AbstractStrategy implements ReversiStrategy {
             outerLayerDirections, board.getBoardSideLength() - 1);
   }
 
-  /**
-   * Retrieves the coordinates of the second outermost layer on the game board.
-   *
-   * @return The list of second outermost layer coordinates.
-   */
-  protected List<Coordinates> getSecondOuterMostLayerCoordinates() {
+  private List<Coordinates> walkSecondOuterMostLayer() {
     List<Coordinates> inBoundsCoords = board.getInBoundsCoordinates();
     HexDirection[] secondOuterLayerDirections = {HexDirection.RIGHT, HexDirection.BOTTOMRIGHT,
         HexDirection.BOTTOMLEFT,
@@ -88,12 +157,7 @@ public abstract class AbstractStrategy implements ReversiStrategy {
             secondOuterLayerDirections, board.getBoardSideLength() - 2);
   }
 
-  /**
-   * Retrieves the coordinates of the corners on the game board.
-   *
-   * @return The list of corner coordinates.
-   */
-  protected List<Coordinates> getCornerCoordinates() {
+  private List<Coordinates> walkCorners() {
     List<Coordinates> inBoundsCoords = board.getInBoundsCoordinates();
     HexDirection[] cornerDirections = {HexDirection.RIGHT, HexDirection.BOTTOMRIGHT,
         HexDirection.BOTTOMLEFT,
@@ -139,6 +203,13 @@ public abstract class AbstractStrategy implements ReversiStrategy {
    * @return The neighboring coordinates.
    */
   protected Coordinates getNeighborCoordinates(Coordinates coordinates, HexDirection direction) {
+    CoordinateCache cache = board == null ? null : CoordinateCache.forBoard(board);
+    Coordinates neighbor = cache == null ? null : cache.neighbor(coordinates, direction);
+    if (neighbor != null) {
+      return neighbor;
+    }
+
+    // off the board, where there are no shared coordinates
     int xHat = coordinates.getFirstCoordinate();
     int yHat = coordinates.getSecondCoordinate();
 
@@ -173,4 +244,50 @@ public abstract class AbstractStrategy implements ReversiStrategy {
 
 
   }
+
+  /**
+   * The corners and layers of one board shape.
+   */
+  private static final class Regions {
+    private final Region corners;
+    private final Region outerLayer;
+    private final Region secondLayer;
+
+    private Regions(CoordinateCache cache, List<Coordinates> corners,
+                    List<Coordinates> outerLayer, List<Coordinates> secondLayer) {
+      this.corners = new Region(cache, corners);
+      this.outerLayer = new Region(cache, outerLayer);
+      this.secondLayer = new Region(cache, secondLayer);
+    }
+  }
+
+  /**
+   * The cells of one region, as a list and as a bit set of cell indices.
+   */
+  private static final class Region {
+    private final CoordinateCache cache;
+    private final List<Coordinates> coordinates;
+    private final BitSet cells = new BitSet();
+
+    private Region(CoordinateCache cache, List<Coordinates> coordinates) {
+      this.cache = cache;
+      this.coordinates = Collections.unmodifiableList(coordinates);
+      if (cache != null) {
+        for (Coordinates cell : coordinates) {
+          int index = cache.indexOf(cell);
+          if (index >= 0) {
+            cells.set(index);
+          }
+        }
+      }
+    }
+
+    private boolean contains(Coordinates cell) {
+      if (cache == null) {
+        return coordinates.contains(cell);
+      }
+      int index = cache.indexOf(cell);
+      return index >= 0 && cells.get(index);
+    }
+  }
 }
@@ -19,6 +19,8 @@ import javax.swing.JPanel;
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 
+import view.GridHitIndex;
+
 /**
  * Represents a graphical view of a Reversi game board using hexagonal tiles.
  */
@@ -29,6 +31,7 @@ public class HexagonalBoardView extends JPanel implements Panel {
   private Hexagon temporaryHex;
   private int hexagonLength;
   private Features featuresListener;
+  private GridHitIndex<Hexagon> hitIndex;
 
   /**
    * Constructs a HexagonalBoardView with the given ReadOnlyReversiModel.
@@ -130,6 +133,23 @@ public class HexagonalBoardView extends JPanel implements Panel {
   private void initializeHexagons() {
     renderHexagonsInHalf(true);
     renderHexagonsInHalf(false);
+    indexHexagons();
+  }
+
+  /**
+   * Indexes the hexagons by the pixels they cover, so that a click finds its hexagon without
+   * testing every one. Only unselected hexagons can be clicked.
+   */
+  private void indexHexagons() {
+    int bucketSize = Math.max(1, 2 * hexagonLength);
+    hitIndex = new GridHitIndex<>(bucketSize, bucketSize,
+            (hexagon, x, y) -> hexagon.getPolygon().contains(x, y)
+                    && hexagon.getColor() == Color.GRAY);
+    for (List<Hexagon> row : hexagons) {
+      for (Hexagon hexagon : row) {
+        hitIndex.add(hexagon, hexagon.getPolygon().getBounds());
+      }
+    }
   }
 
   /**
@@ -263,27 +283,19 @@ public class HexagonalBoardView extends JPanel implements Panel {
       Point point = MouseInfo.getPointerInfo().getLocation();
       SwingUtilities.convertPointFromScreen(point, outerBoard);
 
-      boolean hexagonClicked = false;
-
-      for (int i = 0; i < getNumRow(); i++) {
-        for (int j = 0; j < getNumCol(i); j++) {
-          Hexagon hexagon = getHexagon(i, j);
-          if (hexagon.getPolygon().contains(point) && hexagon.getColor() == Color.GRAY) {
-            Coordinates coordinates = hexagon.getCoordinates();
-            DiscState discState = model.getDiscStateAt(coordinates);
-
-            if (discState == DiscState.UNPLACED) {
-              handleUnplacedDisc(hexagon);
-            } else {
-              handlePlacedDisc(coordinates);
-            }
+      Hexagon hexagon = hitIndex.find(point.getX(), point.getY());
+      if (hexagon != null) {
+        Coordinates coordinates = hexagon.getCoordinates();
+        DiscState discState = model.getDiscStateAt(coordinates);
 
-            hexagonClicked = true;
-          }
+        if (discState == DiscState.UNPLACED) {
+          handleUnplacedDisc(hexagon);
+        } else {
+          handlePlacedDisc(coordinates);
         }
       }
 
-      if (!hexagonClicked && temporaryHex != null) {
+      if (hexagon == null && temporaryHex != null) {
         temporaryHex.setColor(Color.GRAY);
         temporaryHex = null;
       }
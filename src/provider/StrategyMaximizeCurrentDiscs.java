@@ -7,7 +7,6 @@ import java.util.Set;
 
 
 
-import adopt.HexBoard;
 import adopt.HexReversi;
 
 /**
@@ -30,38 +29,20 @@ public class StrategyMaximizeCurrentDiscs extends AbstractStrategy {
       Set<Coordinates> bestMoves = new HashSet<>();
       int maxScore = 0;
       Optional<Coordinates> bestMove;
-      for (Coordinates coords: possibleMoves) {
-
-
-
-
-
-
-        HexBoard boardCopy = new HexBoard(model.getCopyOfBoard());
-
-
-
 
-        MutableReversiModel modelSimMove = new HexReversi(boardCopy.getDelegate());
-        modelSimMove.startGame();
-
-
-        if (player.getColor() == PlayerColor.WHITE) {
-
-          modelSimMove.optToPass(PlayerColor.BLACK);
-
-
-        }
+      // one simulation for all the candidates, each move taken back once it is scored
+      HexReversi modelSimMove = new HexReversi(model.getCopyOfBoard(), player.getColor());
+      for (Coordinates coords: possibleMoves) {
         modelSimMove.makeMove(player.getColor(), coords);
-        if (modelSimMove.getScore(player.getColor()) >= maxScore) {
-          if (modelSimMove.getScore(player.getColor()) > maxScore) {
+        int score = modelSimMove.getScore(player.getColor());
+        modelSimMove.undo();
+        if (score >= maxScore) {
+          if (score > maxScore) {
             bestMoves.clear();
           }
           bestMoves.add(coords);
-          maxScore = modelSimMove.getScore(player.getColor());
+          maxScore = score;
         }
-
-
       }
 
 
@@ -22,7 +22,7 @@ public class StrategyMoveToCorner extends AbstractStrategy {
     Optional<Coordinates> bestMove;
 
     for (Coordinates move : moves) {
-      if (getCornerCoordinates().contains(move)) {
+      if (isCorner(move)) {
         outerMoves.add(move);
       }
     }
@@ -27,7 +27,7 @@ public class StrategyMoveToOuterLayer extends AbstractStrategy {
     Optional<Coordinates> bestMove;
 
     for (Coordinates move : moves) {
-      if (getOuterMostLayerCoordinates().contains(move)) {
+      if (isOuterMostLayer(move)) {
         outerMoves.add(move);
       }
     }
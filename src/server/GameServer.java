@@ -0,0 +1,306 @@
+package server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import view.TerminalSpectator;
+
+/**
+ * The GameServer class hosts many games in one process and lets clients play them over a
+ * line based TCP protocol on the loopback interface. Every request is one line and every
+ * response starts with {@code OK} or {@code ERR <reason>}:
+ * <pre>
+ * NEW &lt;hexagon|square&gt; &lt;size&gt; &lt;black&gt; &lt;white&gt;  -&gt; OK &lt;id&gt;
+ *                                   (players are human or ai, sizes at most
+ *                                   {@link GameSession#MAX_BOARD_SIZE})
+ * MOVE &lt;id&gt; &lt;row&gt; &lt;column&gt;          -&gt; OK &lt;state&gt;
+ * PASS &lt;id&gt;                          -&gt; OK &lt;state&gt;
+ * STATE &lt;id&gt;                         -&gt; OK &lt;state&gt;
+ * MOVES &lt;id&gt;                         -&gt; OK &lt;row&gt;,&lt;column&gt; ...
+ * BOARD &lt;id&gt;                         -&gt; OK &lt;lines&gt;, followed by that many lines
+ * CLOSE &lt;id&gt;                         -&gt; OK
+ * WATCH &lt;id&gt;                         -&gt; OK, then ANSI frames of the game until the client
+ *                                   sends any line, which is answered with OK
+ * QUIT                               -&gt; BYE, and the connection is closed
+ * </pre>
+ * where a state is given by {@link GameSession#describeState()}. AI players reply within the
+ * MOVE or PASS request that hands them the turn.
+ *
+ * <p>Sessions are kept by a {@link SessionManager} and hold no thread while idle, so the
+ * number of games is bounded by memory only. Each open connection is served by a thread of a
+ * cached pool. The frames of every watched game are drawn by one shared scheduler thread, at
+ * most {@value #WATCH_FRAMES_PER_SECOND} times a second per game.</p>
+ */
+public final class GameServer implements AutoCloseable {
+
+  /**
+   * The most frames a second drawn for a watched game.
+   */
+  public static final int WATCH_FRAMES_PER_SECOND = 10;
+
+  private final SessionManager sessions;
+  private final int requestedPort;
+  private final ExecutorService connections = Executors.newCachedThreadPool(task -> {
+    Thread thread = new Thread(task, "reversi-connection");
+    thread.setDaemon(true);
+    return thread;
+  });
+  private final ScheduledExecutorService spectators =
+      Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "reversi-spectators");
+        thread.setDaemon(true);
+        return thread;
+      });
+  private final Set<Socket> openSockets = ConcurrentHashMap.newKeySet();
+  private ServerSocket serverSocket;
+  private Thread acceptor;
+
+  /**
+   * Constructs a server. It does not listen until {@link #start()} is called.
+   *
+   * @param sessions The sessions to serve.
+   * @param port     The port to listen on, or 0 for any free port.
+   * @throws IllegalArgumentException If the sessions are null or the port is out of range.
+   */
+  public GameServer(SessionManager sessions, int port) {
+    if (sessions == null) {
+      throw new IllegalArgumentException("Sessions cannot be null");
+    }
+    if (port < 0 || port > 65535) {
+      throw new IllegalArgumentException("Invalid port: " + port);
+    }
+    this.sessions = sessions;
+    this.requestedPort = port;
+  }
+
+  /**
+   * Starts listening for connections on the loopback interface.
+   *
+   * @throws IOException           If the port cannot be opened.
+   * @throws IllegalStateException If the server was already started.
+   */
+  public synchronized void start() throws IOException {
+    if (serverSocket != null) {
+      throw new IllegalStateException("Server already started");
+    }
+    serverSocket = new ServerSocket(requestedPort, 128, InetAddress.getLoopbackAddress());
+    acceptor = new Thread(this::acceptConnections, "reversi-server");
+    acceptor.setDaemon(true);
+    acceptor.start();
+  }
+
+  /**
+   * Gets the port the server listens on.
+   *
+   * @return The port.
+   * @throws IllegalStateException If the server has not been started.
+   */
+  public synchronized int getPort() {
+    if (serverSocket == null) {
+      throw new IllegalStateException("Server not started");
+    }
+    return serverSocket.getLocalPort();
+  }
+
+  /**
+   * Stops listening and closes every open connection. The sessions are kept.
+   *
+   * @throws IOException If the server socket cannot be closed.
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (serverSocket != null) {
+      serverSocket.close();
+    }
+    for (Socket socket : openSockets) {
+      socket.close();
+    }
+    connections.shutdownNow();
+    spectators.shutdownNow();
+  }
+
+  /**
+   * Answers one request line of the protocol.
+   *
+   * @param line The request.
+   * @return The response, without a trailing line break; it has more than one line only for
+   *         BOARD.
+   */
+  public String respond(String line) {
+    String[] words = line.trim().split("\\s+");
+    try {
+      switch (words[0].toUpperCase(Locale.ROOT)) {
+        case "NEW":
+          expectArguments(words, 4);
+          GameSession created = sessions.create(words[1].toLowerCase(Locale.ROOT),
+                  Integer.parseInt(words[2]), playerType(words[3]), playerType(words[4]));
+          return "OK " + created.getId();
+        case "MOVE":
+          expectArguments(words, 3);
+          GameSession moved = session(words[1]);
+          moved.move(Integer.parseInt(words[2]), Integer.parseInt(words[3]));
+          return "OK " + moved.describeState();
+        case "PASS":
+          expectArguments(words, 1);
+          GameSession passed = session(words[1]);
+          passed.pass();
+          return "OK " + passed.describeState();
+        case "STATE":
+          expectArguments(words, 1);
+          return "OK " + session(words[1]).describeState();
+        case "MOVES":
+          expectArguments(words, 1);
+          return "OK" + formatMoves(session(words[1]).getLegalMoves());
+        case "BOARD":
+          expectArguments(words, 1);
+          String board = session(words[1]).renderBoard().stripTrailing();
+          return "OK " + board.lines().count() + "\n" + board;
+        case "CLOSE":
+          expectArguments(words, 1);
+          sessions.remove(Long.parseLong(words[1]));
+          return "OK";
+        default:
+          return "ERR Unknown command: " + words[0];
+      }
+    } catch (NumberFormatException e) {
+      return "ERR Expected a number";
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      return "ERR " + e.getMessage();
+    }
+  }
+
+  private GameSession session(String id) {
+    return sessions.get(Long.parseLong(id));
+  }
+
+  private static void expectArguments(String[] words, int count) {
+    if (words.length != count + 1) {
+      throw new IllegalArgumentException(words[0].toUpperCase(Locale.ROOT) + " takes "
+              + count + " arguments");
+    }
+  }
+
+  private static GameSession.PlayerType playerType(String word) {
+    try {
+      return GameSession.PlayerType.valueOf(word.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown player type: " + word);
+    }
+  }
+
+  private static String formatMoves(List<int[]> moves) {
+    StringBuilder text = new StringBuilder();
+    for (int[] move : moves) {
+      text.append(' ').append(move[0]).append(',').append(move[1]);
+    }
+    return text.toString();
+  }
+
+  private void acceptConnections() {
+    while (true) {
+      Socket socket;
+      try {
+        socket = serverSocket.accept();
+      } catch (IOException e) {
+        // closed
+        return;
+      }
+      openSockets.add(socket);
+      connections.execute(() -> serve(socket));
+    }
+  }
+
+  private void serve(Socket socket) {
+    try (Socket client = socket;
+         BufferedReader in = new BufferedReader(new InputStreamReader(
+                 client.getInputStream(), StandardCharsets.UTF_8));
+         Writer out = new OutputStreamWriter(client.getOutputStream(),
+                 StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = in.readLine()) != null) {
+        if (line.isBlank()) {
+          continue;
+        }
+        if ("QUIT".equalsIgnoreCase(line.trim())) {
+          out.write("BYE\n");
+          out.flush();
+          return;
+        }
+        String[] words = line.trim().split("\\s+");
+        if ("WATCH".equalsIgnoreCase(words[0])) {
+          watch(words, in, out);
+          continue;
+        }
+        out.write(respond(line));
+        out.write('\n');
+        out.flush();
+      }
+    } catch (SocketException e) {
+      // the client went away or the server was closed
+    } catch (IOException e) {
+      // nothing to report to a client that cannot be written to
+    } finally {
+      openSockets.remove(socket);
+    }
+  }
+
+  // streams frames of a game until the client sends a line; a response is written either way
+  private void watch(String[] words, BufferedReader in, Writer out) throws IOException {
+    TerminalSpectator spectator;
+    try {
+      expectArguments(words, 1);
+      GameSession watched = session(words[1]);
+      out.write("OK\n");
+      out.flush();
+      spectator = watched.watch(out, WATCH_FRAMES_PER_SECOND, spectators);
+    } catch (NumberFormatException e) {
+      out.write("ERR Expected a number\n");
+      out.flush();
+      return;
+    } catch (IllegalArgumentException e) {
+      out.write("ERR " + e.getMessage() + "\n");
+      out.flush();
+      return;
+    }
+    try {
+      in.readLine();
+    } finally {
+      spectator.close();
+    }
+    out.write("OK\n");
+    out.flush();
+  }
+
+  /**
+   * Runs a server until the process is stopped.
+   *
+   * @param args The port to listen on, 7777 if not given.
+   * @throws IOException If the port cannot be opened.
+   */
+  public static void main(String[] args) throws IOException {
+    int port = args.length > 0 ? Integer.parseInt(args[0]) : 7777;
+    GameServer server = new GameServer(new SessionManager(), port);
+    server.start();
+    System.out.println("Serving Reversi games on localhost:" + server.getPort());
+    try {
+      Thread.currentThread().join();
+    } catch (InterruptedException e) {
+      server.close();
+    }
+  }
+}
@@ -0,0 +1,240 @@
+package server;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+import controller.AIPlayer;
+import controller.HumanPlayer;
+import controller.NotificationSink;
+import controller.Player;
+import controller.ReversiController;
+import model.BasicReversi;
+import model.CellType;
+import model.ICoordinate;
+import model.ReversiModel;
+import model.SquareReversi;
+import strategy.CaptureMost;
+import view.BoardTextRenderer;
+import view.HeadlessView;
+import view.ReversiTextualView;
+import view.SquareReversiTextualView;
+import view.TerminalSpectator;
+
+/**
+ * The GameSession class is one game hosted by a {@link GameServer}: a model wired to a
+ * controller and a player for each color, exactly as the Swing game does it, but with
+ * {@link HeadlessView}s and a notification sink that keeps the controllers' errors for the
+ * client. Human players act through {@link #move(int, int)} and {@link #pass()}; AI players
+ * answer synchronously inside those calls. All methods are synchronized, so a session can be
+ * shared by connections; an idle session holds no thread.
+ */
+public final class GameSession {
+
+  /**
+   * Who plays a color in a session.
+   */
+  public enum PlayerType {
+    /** Moves come from the client. */
+    HUMAN,
+    /** Moves are chosen by the server with {@link CaptureMost}. */
+    AI
+  }
+
+  /**
+   * The largest board a client may ask for, so that one request cannot exhaust the memory of a
+   * server hosting every other game.
+   */
+  public static final int MAX_BOARD_SIZE = 25;
+
+  private final long id;
+  private final String boardType;
+  private final ReversiModel model;
+  private final Map<CellType, HeadlessView> humanViews = new EnumMap<>(CellType.class);
+  private String lastError;
+
+  /**
+   * Creates a session and starts its game. If black is an AI it makes its first move (and
+   * the whole game, if white is an AI too) before this constructor returns.
+   *
+   * @param id        The id of the session.
+   * @param boardType Either "hexagon" or "square".
+   * @param size      The size of the board.
+   * @param black     Who plays black.
+   * @param white     Who plays white.
+   * @throws IllegalArgumentException If the board type, size or a player type is invalid, or
+   *                                  the size is above {@link #MAX_BOARD_SIZE}.
+   */
+  public GameSession(long id, String boardType, int size, PlayerType black, PlayerType white) {
+    if (black == null || white == null) {
+      throw new IllegalArgumentException("Player types cannot be null");
+    }
+    if (size > MAX_BOARD_SIZE) {
+      throw new IllegalArgumentException("Board size cannot be more than " + MAX_BOARD_SIZE);
+    }
+    this.id = id;
+    this.boardType = boardType;
+    if ("hexagon".equals(boardType)) {
+      this.model = new BasicReversi(size);
+    } else if ("square".equals(boardType)) {
+      this.model = new SquareReversi(size);
+    } else {
+      throw new IllegalArgumentException("Unknown board type: " + boardType);
+    }
+
+    NotificationSink errors = new NotificationSink() {
+      @Override
+      public void inform(String title, String message) {
+        // the client asks for the state when it wants it
+      }
+
+      @Override
+      public void reportError(String message) {
+        lastError = message;
+      }
+    };
+    addPlayer(CellType.BLACK, black, errors);
+    addPlayer(CellType.WHITE, white, errors);
+    model.startGame();
+  }
+
+  private void addPlayer(CellType color, PlayerType type, NotificationSink errors) {
+    HeadlessView view = new HeadlessView();
+    Player player;
+    if (type == PlayerType.HUMAN) {
+      player = new HumanPlayer(model, color);
+      humanViews.put(color, view);
+    } else {
+      player = new AIPlayer(model, new CaptureMost(), color);
+    }
+    new ReversiController(model, player, view, errors);
+  }
+
+  /**
+   * Gets the id of the session.
+   *
+   * @return The session id.
+   */
+  public long getId() {
+    return id;
+  }
+
+  /**
+   * Plays a move for the human player whose turn it is. AI replies are played before this
+   * method returns.
+   *
+   * @param row    The row of the move.
+   * @param column The column of the move.
+   * @throws IllegalStateException    If the game is over, it is not a human's turn or the
+   *                                  move is not legal.
+   * @throws IllegalArgumentException If the cell is not on the board.
+   */
+  public synchronized void move(int row, int column) {
+    act(humanToMove(), view -> view.chooseMove(row, column));
+  }
+
+  /**
+   * Passes for the human player whose turn it is. AI replies are played before this method
+   * returns.
+   *
+   * @throws IllegalStateException If the game is over or it is not a human's turn.
+   */
+  public synchronized void pass() {
+    act(humanToMove(), HeadlessView::choosePass);
+  }
+
+  /**
+   * Lists the legal moves of the player to move.
+   *
+   * @return The moves as {row, column} pairs, by row and then column; empty once the game is
+   *         over.
+   */
+  public synchronized List<int[]> getLegalMoves() {
+    List<int[]> moves = new ArrayList<>();
+    if (model.isGameOver()) {
+      return moves;
+    }
+    for (ICoordinate cell : model.getGameBoard().keySet()) {
+      if (model.getContent(cell.getRow(), cell.getCol()) == CellType.EMPTY
+              && model.canMakeMove(cell.getRow(), cell.getCol())) {
+        moves.add(new int[]{cell.getRow(), cell.getCol()});
+      }
+    }
+    moves.sort((a, b) -> a[0] != b[0] ? Integer.compare(a[0], b[0])
+            : Integer.compare(a[1], b[1]));
+    return moves;
+  }
+
+  /**
+   * Describes the state of the game in one line: the scores of black and white, then the
+   * color to move or, once the game is over, {@code OVER} and the winner (B, W or N).
+   *
+   * @return The state, such as "3 3 BLACK" or "20 17 OVER B".
+   */
+  public synchronized String describeState() {
+    int[] scores = model.getScores();
+    String state = model.isGameOver() ? "OVER " + model.getWinner()
+            : model.getCurrentPlayerTurn().name();
+    return scores[0] + " " + scores[1] + " " + state;
+  }
+
+  /**
+   * Draws the board as text.
+   *
+   * @return The board, one line per row.
+   */
+  public synchronized String renderBoard() {
+    if ("square".equals(boardType)) {
+      return new SquareReversiTextualView((SquareReversi) model).toString();
+    }
+    return new ReversiTextualView(model).toString();
+  }
+
+  /**
+   * Starts showing the game on a text terminal. The board is copied while the session is locked,
+   * so no move is missed or shown twice.
+   *
+   * @param out                Where to write the frames.
+   * @param maxFramesPerSecond The most frames to draw in a second.
+   * @param scheduler          The executor that draws the frames.
+   * @return The spectator, which shows the game until it is closed.
+   * @throws IllegalArgumentException If an argument is null or the frame rate is not positive.
+   */
+  public synchronized TerminalSpectator watch(Appendable out, int maxFramesPerSecond,
+                                              ScheduledExecutorService scheduler) {
+    BoardTextRenderer.Layout layout = "square".equals(boardType)
+            ? BoardTextRenderer.Layout.SQUARE : BoardTextRenderer.Layout.HEXAGONAL;
+    return TerminalSpectator.watch(model, layout, out, maxFramesPerSecond, scheduler);
+  }
+
+  /**
+   * Checks whether the game is over.
+   *
+   * @return True once neither player can move.
+   */
+  public synchronized boolean isGameOver() {
+    return model.isGameOver();
+  }
+
+  private HeadlessView humanToMove() {
+    if (model.isGameOver()) {
+      throw new IllegalStateException("Game has concluded");
+    }
+    HeadlessView view = humanViews.get(model.getCurrentPlayerTurn());
+    if (view == null) {
+      throw new IllegalStateException("It is not a human player's turn");
+    }
+    return view;
+  }
+
+  private void act(HeadlessView view, Consumer<HeadlessView> action) {
+    lastError = null;
+    action.accept(view);
+    if (lastError != null) {
+      throw new IllegalStateException(lastError);
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package server;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The SessionManager class creates game sessions, hands out their ids and finds them again.
+ * It is safe to use from many connections at once.
+ */
+public final class SessionManager {
+
+  private final Map<Long, GameSession> sessions = new ConcurrentHashMap<>();
+  private final AtomicLong nextId = new AtomicLong(1);
+
+  /**
+   * Creates a session and starts its game.
+   *
+   * @param boardType Either "hexagon" or "square".
+   * @param size      The size of the board.
+   * @param black     Who plays black.
+   * @param white     Who plays white.
+   * @return The new session.
+   * @throws IllegalArgumentException If the board type, size or a player type is invalid.
+   */
+  public GameSession create(String boardType, int size, GameSession.PlayerType black,
+                            GameSession.PlayerType white) {
+    GameSession session = new GameSession(nextId.getAndIncrement(), boardType, size, black,
+            white);
+    sessions.put(session.getId(), session);
+    return session;
+  }
+
+  /**
+   * Finds a session.
+   *
+   * @param id The id of the session.
+   * @return The session.
+   * @throws IllegalArgumentException If there is no session with that id.
+   */
+  public GameSession get(long id) {
+    GameSession session = sessions.get(id);
+    if (session == null) {
+      throw new IllegalArgumentException("No session " + id);
+    }
+    return session;
+  }
+
+  /**
+   * Ends a session and forgets it.
+   *
+   * @param id The id of the session.
+   * @throws IllegalArgumentException If there is no session with that id.
+   */
+  public void remove(long id) {
+    if (sessions.remove(id) == null) {
+      throw new IllegalArgumentException("No session " + id);
+    }
+  }
+
+  /**
+   * Gets the number of sessions being hosted.
+   *
+   * @return The number of sessions.
+   */
+  public int size() {
+    return sessions.size();
+  }
+}
@@ -0,0 +1,226 @@
+package strategy;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import model.CellType;
+import model.Coordinate;
+import model.ReadonlyReversiModel;
+import profiling.MoveGenerationEvent;
+
+/**
+ * The AlphaBetaStrategy class represents a Reversi strategy that looks several moves ahead with
+ * a principal variation search and scores the resulting positions with a pluggable
+ * {@link Evaluator}. Only moves the model itself accepts are considered at the root, so the chosen
+ * move is always playable. The nodes, depth and table hits of every decision are kept for
+ * {@link #getLastSearchStatistics()}.
+ */
+public class AlphaBetaStrategy implements InstrumentedStrategy {
+
+  private final SearchEngine engine;
+  private final int depth;
+  private Ponderer ponderer;
+  // the last position decided and the move chosen there, for callers that ask twice
+  private long lastHash;
+  private int lastMove = -1;
+  private SearchStatistics lastStatistics = SearchStatistics.NONE;
+
+  /**
+   * Constructs an alpha-beta strategy with the standard evaluator and a depth of 4 plies.
+   */
+  public AlphaBetaStrategy() {
+    this(WeightedEvaluator.standard(), 4);
+  }
+
+  /**
+   * Constructs an alpha-beta strategy.
+   *
+   * @param evaluator The evaluator used to score positions.
+   * @param depth     The search depth in plies.
+   * @throws IllegalArgumentException If the evaluator is null or the depth is not positive.
+   */
+  public AlphaBetaStrategy(Evaluator evaluator, int depth) {
+    if (depth < 1) {
+      throw new IllegalArgumentException("Depth must be positive");
+    }
+    this.engine = new SearchEngine(evaluator);
+    this.depth = depth;
+  }
+
+  /**
+   * Constructs an alpha-beta strategy that prunes selectively with ProbCut, which reaches
+   * deeper than a full width search in the same time.
+   *
+   * @param evaluator The evaluator used to score positions.
+   * @param depth     The search depth in plies.
+   * @param probCut   The ProbCut parameters, fitted for this evaluator.
+   * @throws IllegalArgumentException If the evaluator is null or the depth is not positive.
+   */
+  public AlphaBetaStrategy(Evaluator evaluator, int depth, ProbCutParameters probCut) {
+    this(evaluator, depth);
+    engine.setProbCut(probCut);
+  }
+
+  /**
+   * Turns pondering on or off. While pondering, the strategy searches the position after the
+   * opponent's most likely reply on a background thread as soon as it has chosen a move, and
+   * answers at once if the opponent plays that reply.
+   *
+   * @param enabled True to ponder.
+   */
+  public synchronized void setPondering(boolean enabled) {
+    if (enabled && ponderer == null) {
+      ponderer = new Ponderer(engine);
+    } else if (!enabled && ponderer != null) {
+      ponderer.stop();
+      ponderer = null;
+    }
+  }
+
+  /**
+   * Gets the ponderer of this strategy, for its statistics.
+   *
+   * @return The ponderer, or null if pondering is off.
+   */
+  public synchronized Ponderer getPonderer() {
+    return ponderer;
+  }
+
+  /**
+   * Chooses the coordinate for the next move based on the strategy's evaluation.
+   *
+   * @param model  The Reversi game model.
+   * @param player The current player making the move.
+   * @return The chosen coordinate for the next move.
+   * @throws IllegalArgumentException If it's not the correct player's turn to use the strategy
+   *                                  or the game is over.
+   * @throws IllegalStateException    If the current player has no available moves left.
+   * @throws SearchAbortedException   If the thread is interrupted while searching or waiting for
+   *                                  a pondered search.
+   */
+  @Override
+  public synchronized Coordinate chooseCoordinate(ReadonlyReversiModel model, CellType player) {
+    if (model.isGameOver()) {
+      throw new IllegalArgumentException("The game is over");
+    }
+    if (model.getCurrentPlayerTurn() != player) {
+      throw new IllegalArgumentException("Not the correct player's turn to use a strategy");
+    }
+
+    SearchBoard board = SearchBoard.fromModel(model);
+    BoardGeometry geometry = board.getGeometry();
+    int[] moves = new int[geometry.getCellCount()];
+    int count = playableMoves(model, board, moves);
+    if (count == 0) {
+      throw new IllegalStateException("You don't have any available moves left");
+    }
+
+    if (lastMove >= 0 && lastHash == board.getHash() && contains(moves, count, lastMove)) {
+      lastStatistics = SearchStatistics.NONE;
+      return new Coordinate(geometry.columnOf(lastMove), geometry.rowOf(lastMove));
+    }
+    int best = -1;
+    if (ponderer != null) {
+      SearchResult pondered = ponderer.takeResult(board);
+      if (pondered != null && contains(moves, count, pondered.getBestMove())) {
+        best = pondered.getBestMove();
+        // searched in the opponent's time, so its table lookups are not this decision's
+        lastStatistics = new SearchStatistics(pondered.getNodes(), pondered.getDepth(), 0, 0);
+      }
+    }
+    if (best < 0) {
+      TranspositionTable table = engine.getTable();
+      long probes = table.getProbes();
+      long hits = table.getHits();
+      SearchResult result = engine.search(board, depth, moves, count);
+      best = result.getBestMove();
+      lastStatistics = statistics(result, table, probes, hits);
+    }
+    lastHash = board.getHash();
+    lastMove = best;
+    if (ponderer != null) {
+      board.makeMove(best);
+      ponderer.start(board, depth);
+    }
+    return new Coordinate(geometry.columnOf(best), geometry.rowOf(best));
+  }
+
+  /**
+   * Gets the statistics of the last decision: the search it ran, or the pondering search whose
+   * result it took, or nothing if it answered a repeated position from its last decision.
+   *
+   * @return The statistics of the last decision.
+   */
+  @Override
+  public synchronized SearchStatistics getLastSearchStatistics() {
+    return lastStatistics;
+  }
+
+  /**
+   * Scores the best few moves of the player to move, for hints and analysis.
+   *
+   * @param model The Reversi game model.
+   * @param count The number of moves to report.
+   * @return The best moves in order, best first, mapped to labels of their scores as given by
+   *         {@link SearchEngine#describeScore(int)}; empty if the player cannot move.
+   * @throws IllegalArgumentException If the count is not positive.
+   */
+  public synchronized Map<Coordinate, String> analyze(ReadonlyReversiModel model, int count) {
+    if (ponderer != null) {
+      ponderer.stop();
+    }
+    Map<Coordinate, String> scores = new LinkedHashMap<>();
+    if (model.isGameOver()) {
+      return scores;
+    }
+    SearchBoard board = SearchBoard.fromModel(model);
+    BoardGeometry geometry = board.getGeometry();
+    int[] moves = new int[geometry.getCellCount()];
+    int playable = playableMoves(model, board, moves);
+    for (SearchResult result : engine.analyze(board, depth, moves, playable, count)) {
+      scores.put(new Coordinate(geometry.columnOf(result.getBestMove()),
+              geometry.rowOf(result.getBestMove())),
+              SearchEngine.describeScore(result.getScore()));
+    }
+    return scores;
+  }
+
+  // the table is cleared when the board shape changes, and then counts from zero again
+  private static SearchStatistics statistics(SearchResult result, TranspositionTable table,
+                                             long probesBefore, long hitsBefore) {
+    long probes = table.getProbes();
+    long hits = table.getHits();
+    if (probes < probesBefore || hits < hitsBefore) {
+      probesBefore = 0;
+      hitsBefore = 0;
+    }
+    probes -= probesBefore;
+    hits = Math.min(hits - hitsBefore, probes);
+    return new SearchStatistics(result.getNodes(), result.getDepth(), probes, hits);
+  }
+
+  private static boolean contains(int[] moves, int count, int move) {
+    for (int i = 0; i < count; i++) {
+      if (moves[i] == move) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // Collects the moves both the search board and the model accept
+  private static int playableMoves(ReadonlyReversiModel model, SearchBoard board, int[] moves) {
+    MoveGenerationEvent event = new MoveGenerationEvent();
+    event.begin();
+    BoardGeometry geometry = board.getGeometry();
+    int count = 0;
+    for (int index = 0; index < geometry.getCellCount(); index++) {
+      if (board.isLegalMove(index)
+              && model.canMakeMove(geometry.rowOf(index), geometry.columnOf(index))) {
+        moves[count++] = index;
+      }
+    }
+    event.commit(geometry.getBoardSize(), "alpha-beta root", count, true);
+    return count;
+  }
+}
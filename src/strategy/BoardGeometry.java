@@ -0,0 +1,435 @@
+package strategy;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The BoardGeometry class describes the shape of a Reversi board independently of any game
+ * state. Every playable cell is given a dense index so that search code can work with plain
+ * arrays instead of coordinate maps. Neighbour tables, board regions (corners, outer layer,
+ * second layer) and the lines used by stability analysis are computed once per board size and
+ * shared between all boards of that size.
+ *
+ * <p>Hexagonal boards use the same axial (column, row) layout as {@code BasicReversi}; square
+ * boards use the layout of {@code SquareReversi}. Directions are ordered so that direction
+ * {@code d} and direction {@code d + getDirectionCount() / 2} always point in opposite ways.</p>
+ */
+public final class BoardGeometry {
+
+  private static final Map<String, BoardGeometry> CACHE = new ConcurrentHashMap<>();
+
+  // right, bottomRight, bottomLeft, left, topLeft, topRight as (column, row) offsets
+  private static final int[][] HEX_DIRECTIONS = {{1, 0}, {0, 1}, {-1, 1}, {-1, 0}, {0, -1},
+      {1, -1}};
+
+  // east, south east, south, south west, west, north west, north, north east
+  private static final int[][] SQUARE_DIRECTIONS = {{1, 0}, {1, 1}, {0, 1}, {-1, 1}, {-1, 0},
+      {-1, -1}, {0, -1}, {1, -1}};
+
+  private final boolean hexagonal;
+  private final int boardSize;
+  private final int cellCount;
+  private final int directionCount;
+  private final int[] indexByPosition;
+  private final int[] rows;
+  private final int[] columns;
+  private final int[][] neighbors;
+  private final boolean[] corner;
+  private final boolean[] outerLayer;
+  private final boolean[] secondLayer;
+  private final boolean[] cornerNeighbor;
+  private final int[] cornerIndices;
+  private final int wordCount;
+  private final int[][] lineOf;
+  private final int[] lineCount;
+  private final long[][][] lineMasks;
+  private final long[][] axisEdgeMasks;
+  private final long[][] zobristKeys;
+  private final long zobristSideKey;
+
+  private BoardGeometry(boolean hexagonal, int boardSize) {
+    this.hexagonal = hexagonal;
+    this.boardSize = boardSize;
+    int[][] offsets = hexagonal ? HEX_DIRECTIONS : SQUARE_DIRECTIONS;
+    this.directionCount = offsets.length;
+
+    this.indexByPosition = new int[boardSize * boardSize];
+    int count = 0;
+    for (int row = 0; row < boardSize; row++) {
+      for (int col = 0; col < boardSize; col++) {
+        if (isOnBoard(col, row)) {
+          indexByPosition[row * boardSize + col] = count++;
+        } else {
+          indexByPosition[row * boardSize + col] = -1;
+        }
+      }
+    }
+    this.cellCount = count;
+
+    this.rows = new int[cellCount];
+    this.columns = new int[cellCount];
+    for (int row = 0; row < boardSize; row++) {
+      for (int col = 0; col < boardSize; col++) {
+        int index = indexByPosition[row * boardSize + col];
+        if (index >= 0) {
+          rows[index] = row;
+          columns[index] = col;
+        }
+      }
+    }
+
+    this.neighbors = new int[directionCount][cellCount];
+    for (int dir = 0; dir < directionCount; dir++) {
+      for (int index = 0; index < cellCount; index++) {
+        neighbors[dir][index] = indexOf(columns[index] + offsets[dir][0],
+                rows[index] + offsets[dir][1]);
+      }
+    }
+
+    this.corner = new boolean[cellCount];
+    this.outerLayer = new boolean[cellCount];
+    this.secondLayer = new boolean[cellCount];
+    this.cornerNeighbor = new boolean[cellCount];
+
+    int[][] cornerPositions = cornerPositions();
+    this.cornerIndices = new int[cornerPositions.length];
+    for (int i = 0; i < cornerPositions.length; i++) {
+      cornerIndices[i] = indexOf(cornerPositions[i][0], cornerPositions[i][1]);
+      corner[cornerIndices[i]] = true;
+    }
+
+    for (int index = 0; index < cellCount; index++) {
+      for (int dir = 0; dir < directionCount; dir++) {
+        if (neighbors[dir][index] < 0) {
+          outerLayer[index] = true;
+        }
+      }
+    }
+
+    for (int index = 0; index < cellCount; index++) {
+      for (int dir = 0; dir < directionCount; dir++) {
+        int neighbor = neighbors[dir][index];
+        if (neighbor < 0) {
+          continue;
+        }
+        if (!outerLayer[index] && outerLayer[neighbor]) {
+          secondLayer[index] = true;
+        }
+        if (!corner[index] && corner[neighbor]) {
+          cornerNeighbor[index] = true;
+        }
+      }
+    }
+
+    // Split every axis into its lines, as used by stability analysis
+    int axes = directionCount / 2;
+    this.wordCount = (cellCount + 63) >>> 6;
+    this.lineOf = new int[axes][cellCount];
+    this.lineCount = new int[axes];
+    this.lineMasks = new long[axes][][];
+    this.axisEdgeMasks = new long[axes][wordCount];
+    for (int axis = 0; axis < axes; axis++) {
+      int lines = 0;
+      for (int index = 0; index < cellCount; index++) {
+        if (neighbors[axis + axes][index] < 0) {
+          for (int cell = index; cell >= 0; cell = neighbors[axis][cell]) {
+            lineOf[axis][cell] = lines;
+          }
+          lines++;
+        }
+        if (neighbors[axis][index] < 0 || neighbors[axis + axes][index] < 0) {
+          axisEdgeMasks[axis][index >>> 6] |= 1L << index;
+        }
+      }
+      lineCount[axis] = lines;
+      lineMasks[axis] = new long[lines][wordCount];
+      for (int index = 0; index < cellCount; index++) {
+        lineMasks[axis][lineOf[axis][index]][index >>> 6] |= 1L << index;
+      }
+    }
+
+    // Fixed seed so hashes are reproducible between runs and between threads
+    SplittableRandom random = new SplittableRandom(0x5EED_0000L + boardSize * 2L
+            + (hexagonal ? 1 : 0));
+    this.zobristKeys = new long[3][cellCount];
+    for (int color = 1; color < 3; color++) {
+      for (int index = 0; index < cellCount; index++) {
+        zobristKeys[color][index] = random.nextLong();
+      }
+    }
+    this.zobristSideKey = random.nextLong();
+  }
+
+  /**
+   * Gets the shared geometry of a hexagonal board as created by {@code BasicReversi}.
+   *
+   * @param boardSize The number of rows (and columns) of the board, an odd number.
+   * @return The geometry for that board size.
+   * @throws IllegalArgumentException If the board size is not a valid hexagonal size.
+   */
+  public static BoardGeometry hexagonal(int boardSize) {
+    if (boardSize < 3 || boardSize % 2 == 0) {
+      throw new IllegalArgumentException("Invalid board size");
+    }
+    return CACHE.computeIfAbsent("hex" + boardSize, key -> new BoardGeometry(true, boardSize));
+  }
+
+  /**
+   * Gets the shared geometry of a square board as created by {@code SquareReversi}.
+   *
+   * @param boardSize The number of rows (and columns) of the board, an even number.
+   * @return The geometry for that board size.
+   * @throws IllegalArgumentException If the board size is not a valid square size.
+   */
+  public static BoardGeometry square(int boardSize) {
+    if (boardSize < 2 || boardSize % 2 != 0) {
+      throw new IllegalArgumentException("Invalid board size");
+    }
+    return CACHE.computeIfAbsent("square" + boardSize,
+        key -> new BoardGeometry(false, boardSize));
+  }
+
+  private boolean isOnBoard(int col, int row) {
+    if (col < 0 || row < 0 || col >= boardSize || row >= boardSize) {
+      return false;
+    }
+    if (!hexagonal) {
+      return true;
+    }
+    int side = (boardSize - 1) / 2;
+    return col + row >= side && col + row <= 3 * side;
+  }
+
+  private int[][] cornerPositions() {
+    int last = boardSize - 1;
+    if (!hexagonal) {
+      return new int[][]{{0, 0}, {last, 0}, {last, last}, {0, last}};
+    }
+    int side = last / 2;
+    return new int[][]{{side, 0}, {last, 0}, {last, side}, {side, last}, {0, last}, {0, side}};
+  }
+
+  /**
+   * Returns whether this geometry describes a hexagonal board.
+   *
+   * @return True for hexagonal boards, false for square boards.
+   */
+  public boolean isHexagonal() {
+    return hexagonal;
+  }
+
+  /**
+   * Gets the board size (number of rows and columns) of this geometry.
+   *
+   * @return The board size.
+   */
+  public int getBoardSize() {
+    return boardSize;
+  }
+
+  /**
+   * Gets the number of playable cells.
+   *
+   * @return The number of playable cells.
+   */
+  public int getCellCount() {
+    return cellCount;
+  }
+
+  /**
+   * Gets the number of directions a line of discs can run in (6 for hex, 8 for square).
+   *
+   * @return The number of directions.
+   */
+  public int getDirectionCount() {
+    return directionCount;
+  }
+
+  /**
+   * Gets the index of the cell at the given column and row.
+   *
+   * @param col The column of the cell.
+   * @param row The row of the cell.
+   * @return The cell index, or -1 if the position is not a playable cell.
+   */
+  public int indexOf(int col, int row) {
+    if (col < 0 || row < 0 || col >= boardSize || row >= boardSize) {
+      return -1;
+    }
+    return indexByPosition[row * boardSize + col];
+  }
+
+  /**
+   * Gets the row of a cell.
+   *
+   * @param index The cell index.
+   * @return The row of the cell.
+   */
+  public int rowOf(int index) {
+    return rows[index];
+  }
+
+  /**
+   * Gets the column of a cell.
+   *
+   * @param index The cell index.
+   * @return The column of the cell.
+   */
+  public int columnOf(int index) {
+    return columns[index];
+  }
+
+  /**
+   * Gets the neighbour of a cell in a direction.
+   *
+   * @param direction The direction, between 0 and {@link #getDirectionCount()} - 1.
+   * @param index     The cell index.
+   * @return The index of the neighbour, or -1 if it is off the board.
+   */
+  public int neighbor(int direction, int index) {
+    return neighbors[direction][index];
+  }
+
+  /**
+   * Gets the whole neighbour table of one direction. The returned array must not be modified.
+   *
+   * @param direction The direction.
+   * @return The neighbour of every cell in that direction, -1 where it is off the board.
+   */
+  int[] neighborsInDirection(int direction) {
+    return neighbors[direction];
+  }
+
+  /**
+   * Returns whether a cell is one of the corners of the board.
+   *
+   * @param index The cell index.
+   * @return True if the cell is a corner.
+   */
+  public boolean isCorner(int index) {
+    return corner[index];
+  }
+
+  /**
+   * Returns whether a cell lies on the outermost layer of the board (corners included).
+   *
+   * @param index The cell index.
+   * @return True if the cell is on the outermost layer.
+   */
+  public boolean isOuterLayer(int index) {
+    return outerLayer[index];
+  }
+
+  /**
+   * Returns whether a cell lies on the second outermost layer of the board.
+   *
+   * @param index The cell index.
+   * @return True if the cell is on the second outermost layer.
+   */
+  public boolean isSecondLayer(int index) {
+    return secondLayer[index];
+  }
+
+  /**
+   * Returns whether a cell touches a corner without being one. These cells usually hand the
+   * corner to the opponent and are the hexagonal equivalent of the X- and C-squares.
+   *
+   * @param index The cell index.
+   * @return True if the cell is next to a corner.
+   */
+  public boolean isCornerNeighbor(int index) {
+    return cornerNeighbor[index];
+  }
+
+  /**
+   * Gets the indices of the corners of the board. The returned array must not be modified.
+   *
+   * @return The corner indices.
+   */
+  int[] cornerIndices() {
+    return cornerIndices;
+  }
+
+  /**
+   * Gets the number of axes lines can run along (3 for hex, 4 for square). Axis {@code a} runs
+   * along directions {@code a} and {@code a + getAxisCount()}.
+   *
+   * @return The number of axes.
+   */
+  public int getAxisCount() {
+    return directionCount / 2;
+  }
+
+  /**
+   * Gets the number of 64 bit words needed for a bit mask with one bit per cell.
+   *
+   * @return The number of words of a cell mask.
+   */
+  public int getWordCount() {
+    return wordCount;
+  }
+
+  /**
+   * Gets the number of full board lines along an axis.
+   *
+   * @param axis The axis.
+   * @return The number of lines.
+   */
+  public int getLineCount(int axis) {
+    return lineCount[axis];
+  }
+
+  /**
+   * Gets the line a cell belongs to along an axis.
+   *
+   * @param axis  The axis.
+   * @param index The cell index.
+   * @return The line number, between 0 and {@link #getLineCount(int)} - 1.
+   */
+  public int lineOf(int axis, int index) {
+    return lineOf[axis][index];
+  }
+
+  /**
+   * Gets the cell mask of a line. The returned array must not be modified.
+   *
+   * @param axis The axis.
+   * @param line The line number.
+   * @return The mask of the cells on the line.
+   */
+  long[] lineMask(int axis, int line) {
+    return lineMasks[axis][line];
+  }
+
+  /**
+   * Gets the mask of cells that have the edge of the board on at least one side along an axis.
+   * The returned array must not be modified.
+   *
+   * @param axis The axis.
+   * @return The mask of cells touching the edge along the axis.
+   */
+  long[] axisEdgeMask(int axis) {
+    return axisEdgeMasks[axis];
+  }
+
+  /**
+   * Gets the hashing key for a disc of a color on a cell.
+   *
+   * @param color The disc color, {@link SearchBoard#BLACK} or {@link SearchBoard#WHITE}.
+   * @param index The cell index.
+   * @return The hashing key.
+   */
+  long zobristKey(int color, int index) {
+    return zobristKeys[color][index];
+  }
+
+  /**
+   * Gets the hashing key toggled whenever the side to move changes.
+   *
+   * @return The hashing key for the side to move.
+   */
+  long zobristSideKey() {
+    return zobristSideKey;
+  }
+}
@@ -0,0 +1,323 @@
+package strategy;
+
+import java.util.Arrays;
+
+/**
+ * The EndgameSolver class plays out every line of a position to the end of the game and finds
+ * the disc differential both players reach with perfect play. It is meant for positions with few
+ * empty cells left, where an exact answer is affordable and beats any heuristic.
+ *
+ * <p>The search is a negamax with alpha-beta pruning on the final disc differential. To keep the
+ * tree small it tries moves that leave the opponent the fewest replies first (fastest first),
+ * prefers moves in regions with an odd number of empty cells (parity), remembers solved positions
+ * in a small {@link TranspositionTable} and cuts nodes whose stable disc bound cannot beat the
+ * window. A solver keeps its buffers between calls and must not be shared between threads.</p>
+ */
+public class EndgameSolver {
+
+  // below these numbers of empty cells the extra work does not pay for itself
+  private static final int FASTEST_FIRST_EMPTIES = 7;
+  private static final int TABLE_EMPTIES = 6;
+  private static final int STABILITY_EMPTIES = 8;
+  // larger than any disc differential
+  private static final int INFINITE = 1 << 16;
+
+  private final TranspositionTable table;
+  private StabilityCalculator stability;
+  private int[][] moveBuffers = new int[0][];
+  private int[][] keyBuffers = new int[0][];
+  private int[] regionOf = new int[0];
+  private int[] regionSizes = new int[0];
+  private int[] fillQueue = new int[0];
+  private long nodes;
+  private volatile boolean stopRequested;
+
+  /**
+   * Constructs a solver with a table of 2^16 entries.
+   */
+  public EndgameSolver() {
+    this(16);
+  }
+
+  /**
+   * Constructs a solver.
+   *
+   * @param tableBits The base 2 logarithm of the number of table entries.
+   * @throws IllegalArgumentException If the table size is out of range.
+   */
+  public EndgameSolver(int tableBits) {
+    this.table = new TranspositionTable(tableBits);
+  }
+
+  /**
+   * Solves a position over all legal moves of the player to move.
+   *
+   * @param board The position to solve; it is restored before this method returns.
+   * @return The best move and the final disc differential it leads to for the player to move,
+   *         with a best move of -1 if the player must pass.
+   */
+  public SearchResult solve(SearchBoard board) {
+    int[] moves = new int[board.getGeometry().getCellCount()];
+    int count = board.generateMoves(moves);
+    if (count == 0) {
+      nodes = 0;
+      prepare(board);
+      return new SearchResult(-1, solve(board, -INFINITE, INFINITE, 0),
+              board.getEmptyCount(), nodes);
+    }
+    return solve(board, moves, count);
+  }
+
+  /**
+   * Solves a position over a given subset of the legal moves of the player to move.
+   *
+   * @param board     The position to solve; it is restored before this method returns.
+   * @param rootMoves The candidate moves to choose from.
+   * @param rootCount The number of candidates in {@code rootMoves}.
+   * @return The best candidate and the final disc differential it leads to for the player to
+   *         move, with a best move of -1 if there is no candidate.
+   */
+  public SearchResult solve(SearchBoard board, int[] rootMoves, int rootCount) {
+    nodes = 0;
+    prepare(board);
+
+    int[] moves = rootMoves.clone();
+    int[] keys = new int[rootCount];
+    orderMoves(board, moves, keys, rootCount, -1);
+
+    int bestMove = -1;
+    int bestScore = -INFINITE;
+    int alpha = -INFINITE;
+    for (int i = 0; i < rootCount; i++) {
+      board.makeMove(moves[i]);
+      int score = -solve(board, -INFINITE, -alpha, 1);
+      board.undoMove();
+      if (score > bestScore) {
+        bestScore = score;
+        bestMove = moves[i];
+      }
+      alpha = Math.max(alpha, score);
+    }
+    return new SearchResult(bestMove, bestScore, board.getEmptyCount(), nodes);
+  }
+
+  /**
+   * Asks the solve running on another thread to stop. The solve, and any solve started before
+   * {@link #clearStop()} is called, throws a {@link SearchAbortedException} soon after.
+   * Interrupting the solving thread stops the solve the same way.
+   */
+  public void requestStop() {
+    stopRequested = true;
+  }
+
+  /**
+   * Allows solves to run again after {@link #requestStop()}.
+   */
+  public void clearStop() {
+    stopRequested = false;
+  }
+
+  /**
+   * Gets the number of positions visited by the last solve.
+   *
+   * @return The node count.
+   */
+  public long getNodes() {
+    return nodes;
+  }
+
+  /**
+   * Gets the table of solved positions. It is kept between solves, since positions of one game
+   * recur from move to move.
+   *
+   * @return The transposition table.
+   */
+  public TranspositionTable getTable() {
+    return table;
+  }
+
+  private int solve(SearchBoard board, int alpha, int beta, int ply) {
+    if ((++nodes & SearchEngine.STOP_CHECK_MASK) == 0
+            && (stopRequested || Thread.currentThread().isInterrupted())) {
+      throw new SearchAbortedException();
+    }
+    int side = board.getSideToMove();
+    int empties = board.getEmptyCount();
+    if (empties == 1) {
+      return solveLastMove(board);
+    }
+
+    if (empties >= STABILITY_EMPTIES) {
+      int upper = stability.discDifferenceUpperBound(board);
+      if (upper <= alpha) {
+        return upper;
+      }
+      beta = Math.min(beta, upper);
+    }
+
+    int hashMove = -1;
+    long hash = board.getHash();
+    if (empties >= TABLE_EMPTIES) {
+      int slot = table.find(hash);
+      if (slot >= 0) {
+        int score = table.getScore(slot);
+        int bound = table.getBound(slot);
+        if (bound == TranspositionTable.EXACT) {
+          return score;
+        } else if (bound == TranspositionTable.LOWER) {
+          alpha = Math.max(alpha, score);
+        } else {
+          beta = Math.min(beta, score);
+        }
+        if (alpha >= beta) {
+          return score;
+        }
+        hashMove = table.getBestMove(slot);
+      }
+    }
+
+    int[] moves = moveBuffers[ply];
+    int count = board.generateMoves(moves);
+    if (count == 0) {
+      if (!board.hasMoves(SearchBoard.opponent(side))) {
+        return board.getDiscDifference(side);
+      }
+      board.pass();
+      int score = -solve(board, -beta, -alpha, ply + 1);
+      board.pass();
+      return score;
+    }
+    if (count > 1) {
+      orderMoves(board, moves, keyBuffers[ply], count, hashMove);
+    }
+
+    int originalAlpha = alpha;
+    int best = -INFINITE;
+    int bestMove = -1;
+    for (int i = 0; i < count; i++) {
+      board.makeMove(moves[i]);
+      int score = -solve(board, -beta, -alpha, ply + 1);
+      board.undoMove();
+      if (score > best) {
+        best = score;
+        bestMove = moves[i];
+        if (score > alpha) {
+          alpha = score;
+          if (alpha >= beta) {
+            break;
+          }
+        }
+      }
+    }
+
+    if (empties >= TABLE_EMPTIES) {
+      int bound = best <= originalAlpha ? TranspositionTable.UPPER
+              : best >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+      table.store(hash, empties, best, bound, bestMove);
+    }
+    return best;
+  }
+
+  private int solveLastMove(SearchBoard board) {
+    int side = board.getSideToMove();
+    int difference = board.getDiscDifference(side);
+    int last = 0;
+    while (board.getCell(last) != SearchBoard.EMPTY) {
+      last++;
+    }
+    int flips = board.countFlips(last);
+    if (flips > 0) {
+      return difference + 2 * flips + 1;
+    }
+    board.pass();
+    flips = board.countFlips(last);
+    board.pass();
+    if (flips > 0) {
+      return difference - 2 * flips - 1;
+    }
+    return difference;
+  }
+
+  // Sorts moves by ascending key: the hash move first, then moves that leave the opponent few
+  // replies, with moves in odd-sized empty regions ahead of the others.
+  private void orderMoves(SearchBoard board, int[] moves, int[] keys, int count, int hashMove) {
+    labelRegions(board);
+    boolean fastestFirst = board.getEmptyCount() >= FASTEST_FIRST_EMPTIES;
+    BoardGeometry geometry = board.getGeometry();
+    for (int i = 0; i < count; i++) {
+      int move = moves[i];
+      int key = (regionSizes[regionOf[move]] & 1) == 0 ? 1 : 0;
+      if (fastestFirst) {
+        board.makeMove(move);
+        key += 4 * board.countMoves(board.getSideToMove());
+        board.undoMove();
+        if (geometry.isCorner(move)) {
+          key -= 4;
+        }
+      }
+      keys[i] = move == hashMove ? Integer.MIN_VALUE : key;
+    }
+
+    for (int i = 1; i < count; i++) {
+      int move = moves[i];
+      int key = keys[i];
+      int j = i - 1;
+      while (j >= 0 && keys[j] > key) {
+        moves[j + 1] = moves[j];
+        keys[j + 1] = keys[j];
+        j--;
+      }
+      moves[j + 1] = move;
+      keys[j + 1] = key;
+    }
+  }
+
+  // Splits the empty cells into connected regions and records the size of each.
+  private void labelRegions(SearchBoard board) {
+    BoardGeometry geometry = board.getGeometry();
+    int cells = geometry.getCellCount();
+    Arrays.fill(regionOf, -1);
+    int regions = 0;
+    for (int start = 0; start < cells; start++) {
+      if (board.getCell(start) != SearchBoard.EMPTY || regionOf[start] >= 0) {
+        continue;
+      }
+      int head = 0;
+      int tail = 0;
+      fillQueue[tail++] = start;
+      regionOf[start] = regions;
+      while (head < tail) {
+        int index = fillQueue[head++];
+        for (int dir = 0; dir < geometry.getDirectionCount(); dir++) {
+          int neighbor = geometry.neighbor(dir, index);
+          if (neighbor >= 0 && regionOf[neighbor] < 0
+                  && board.getCell(neighbor) == SearchBoard.EMPTY) {
+            regionOf[neighbor] = regions;
+            fillQueue[tail++] = neighbor;
+          }
+        }
+      }
+      regionSizes[regions++] = tail;
+    }
+  }
+
+  private void prepare(SearchBoard board) {
+    BoardGeometry geometry = board.getGeometry();
+    if (stability == null || stability.getGeometry() != geometry) {
+      stability = new StabilityCalculator(geometry);
+      table.clear();
+    }
+    int cells = geometry.getCellCount();
+    // every ply fills a cell or passes, and two passes in a row end the game
+    int plies = board.getEmptyCount() * 2 + 2;
+    if (moveBuffers.length < plies || moveBuffers[0].length < cells) {
+      moveBuffers = new int[plies][cells];
+      keyBuffers = new int[plies][cells];
+    }
+    if (regionOf.length < cells) {
+      regionOf = new int[cells];
+      regionSizes = new int[cells];
+      fillQueue = new int[cells];
+    }
+  }
+}
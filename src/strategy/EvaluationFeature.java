@@ -0,0 +1,26 @@
+package strategy;
+
+/**
+ * The EvaluationFeature interface represents one measurable property of a Reversi position,
+ * such as mobility or corner ownership. Features are combined into an {@link Evaluator} by
+ * {@link WeightedEvaluator}.
+ */
+public interface EvaluationFeature {
+
+  /**
+   * Gets the name of this feature, as used in weight files.
+   *
+   * @return The feature name.
+   */
+  String getName();
+
+  /**
+   * Computes the feature for a player, usually as the player's value minus the opponent's.
+   *
+   * @param board  The position to measure.
+   * @param player The player the value is computed for, {@link SearchBoard#BLACK} or
+   *               {@link SearchBoard#WHITE}.
+   * @return The feature value from the player's point of view.
+   */
+  int compute(SearchBoard board, int player);
+}
@@ -0,0 +1,16 @@
+package strategy;
+
+/**
+ * The Evaluator interface defines a static evaluation of a Reversi position, used by searching
+ * strategies at the leaves of their search. Larger values are better for the player to move.
+ */
+public interface Evaluator {
+
+  /**
+   * Evaluates a position from the point of view of the player to move.
+   *
+   * @param board The position to evaluate.
+   * @return The score of the position for {@link SearchBoard#getSideToMove()}.
+   */
+  int evaluate(SearchBoard board);
+}
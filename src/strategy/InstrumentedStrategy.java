@@ -0,0 +1,16 @@
+package strategy;
+
+/**
+ * The InstrumentedStrategy interface is implemented by strategies that can tell how much work
+ * they did for their last decision, so that players can report it alongside the time taken.
+ * Keeping the statistics must cost next to nothing, since it is always on.
+ */
+public interface InstrumentedStrategy extends ReversiStrategy {
+
+  /**
+   * Gets the statistics of the last call to {@link #chooseCoordinate}, made on any thread.
+   *
+   * @return The statistics, or {@link SearchStatistics#NONE} if no decision has been made.
+   */
+  SearchStatistics getLastSearchStatistics();
+}
@@ -0,0 +1,165 @@
+package strategy;
+
+import java.util.Arrays;
+
+/**
+ * The MoveOrderer class sorts the candidate moves of a search node so that the moves most likely
+ * to cause a cutoff are searched first. Moves are tried in this order:
+ * <ol>
+ *   <li>the best move stored in the transposition table for the position,</li>
+ *   <li>the two killer moves of the ply, which recently caused cutoffs in sibling positions,</li>
+ *   <li>the remaining moves by their history score, the total of the cutoffs they caused anywhere
+ *   in the tree weighted by the depth remaining,</li>
+ *   <li>ties by a static priority of the cell: corners first, then the outer layer, the
+ *   interior and the second layer, and the cells next to a corner last.</li>
+ * </ol>
+ *
+ * <p>An orderer keeps its tables between searches and must not be shared between threads.</p>
+ */
+public final class MoveOrderer {
+
+  private static final int KILLERS_PER_PLY = 2;
+  // history scores are halved once one of them reaches this value
+  private static final int HISTORY_LIMIT = 1 << 20;
+  private static final int HASH_MOVE_KEY = Integer.MAX_VALUE;
+  private static final int FIRST_KILLER_KEY = Integer.MAX_VALUE - 1;
+  private static final int SECOND_KILLER_KEY = Integer.MAX_VALUE - 2;
+
+  private BoardGeometry geometry;
+  private int[] priorities = new int[0];
+  private int[][] history = new int[3][0];
+  private int[][] killers = new int[0][KILLERS_PER_PLY];
+  private int[] keys = new int[0];
+
+  /**
+   * Gets the static priority of a cell: 4 for a corner, 3 for the rest of the outer layer, 2 for
+   * the interior, 1 for the second layer and 0 for a cell next to a corner.
+   *
+   * @param geometry The shape of the board.
+   * @param index    The cell index.
+   * @return The priority, higher is searched earlier.
+   */
+  public static int staticPriority(BoardGeometry geometry, int index) {
+    if (geometry.isCorner(index)) {
+      return 4;
+    }
+    if (geometry.isCornerNeighbor(index)) {
+      return 0;
+    }
+    if (geometry.isOuterLayer(index)) {
+      return 3;
+    }
+    if (geometry.isSecondLayer(index)) {
+      return 1;
+    }
+    return 2;
+  }
+
+  /**
+   * Prepares the orderer for a new search of a board. Killer moves are forgotten and history
+   * scores are halved, so recent searches count more than old ones.
+   *
+   * @param geometry The shape of the board that will be searched.
+   * @param plies    The largest ply the search can reach.
+   */
+  public void startSearch(BoardGeometry geometry, int plies) {
+    int cells = geometry.getCellCount();
+    if (geometry != this.geometry) {
+      this.geometry = geometry;
+      this.priorities = new int[cells];
+      for (int index = 0; index < cells; index++) {
+        priorities[index] = staticPriority(geometry, index);
+      }
+      this.history = new int[3][cells];
+      this.keys = new int[cells];
+    } else {
+      ageHistory();
+    }
+    if (killers.length < plies) {
+      killers = new int[plies][KILLERS_PER_PLY];
+    }
+    for (int[] slots : killers) {
+      Arrays.fill(slots, -1);
+    }
+  }
+
+  /**
+   * Sorts the moves of a node, best candidates first.
+   *
+   * @param board    The position, used for the side to move.
+   * @param moves    The moves to sort in place.
+   * @param count    The number of moves.
+   * @param ply      The distance of the node from the root.
+   * @param hashMove The best move stored for the position, or -1 if there is none.
+   */
+  public void order(SearchBoard board, int[] moves, int count, int ply, int hashMove) {
+    int[] playerHistory = history[board.getSideToMove()];
+    int[] plyKillers = killers[ply];
+    for (int i = 0; i < count; i++) {
+      int move = moves[i];
+      if (move == hashMove) {
+        keys[i] = HASH_MOVE_KEY;
+      } else if (move == plyKillers[0]) {
+        keys[i] = FIRST_KILLER_KEY;
+      } else if (move == plyKillers[1]) {
+        keys[i] = SECOND_KILLER_KEY;
+      } else {
+        keys[i] = (playerHistory[move] << 3) + priorities[move];
+      }
+    }
+
+    for (int i = 1; i < count; i++) {
+      int move = moves[i];
+      int key = keys[i];
+      int j = i - 1;
+      while (j >= 0 && keys[j] < key) {
+        moves[j + 1] = moves[j];
+        keys[j + 1] = keys[j];
+        j--;
+      }
+      moves[j + 1] = move;
+      keys[j + 1] = key;
+    }
+  }
+
+  /**
+   * Records that a move caused a beta cutoff, making it a killer move of its ply and raising its
+   * history score.
+   *
+   * @param board The position the move was played in, used for the side to move.
+   * @param move  The move.
+   * @param ply   The distance of the node from the root.
+   * @param depth The depth remaining at the node.
+   */
+  public void recordCutoff(SearchBoard board, int move, int ply, int depth) {
+    int[] plyKillers = killers[ply];
+    if (plyKillers[0] != move) {
+      plyKillers[1] = plyKillers[0];
+      plyKillers[0] = move;
+    }
+    int[] playerHistory = history[board.getSideToMove()];
+    playerHistory[move] += depth * depth;
+    if (playerHistory[move] >= HISTORY_LIMIT) {
+      ageHistory();
+    }
+  }
+
+  /**
+   * Gets the history score of a move.
+   *
+   * @param color The player making the move.
+   * @param move  The cell index.
+   * @return The history score.
+   */
+  public int getHistory(int color, int move) {
+    return history[color].length > move ? history[color][move] : 0;
+  }
+
+  private void ageHistory() {
+    for (int[] playerHistory : history) {
+      for (int index = 0; index < playerHistory.length; index++) {
+        playerHistory[index] >>= 1;
+      }
+    }
+  }
+}
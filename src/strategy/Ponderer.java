@@ -0,0 +1,226 @@
+package strategy;
+
+/**
+ * The Ponderer class lets a search engine think on the opponent's time. After the engine's own
+ * move it searches, on a background daemon thread, the opponent's most likely reply and then the
+ * position that reply leads to. If the opponent does play that reply, the finished (or nearly
+ * finished) search is handed back instead of starting over; if not, the pondering is stopped and
+ * the engine's transposition table is at least warm for the real position.
+ *
+ * <p>The engine must not be used by anyone else while pondering; {@link #takeResult(SearchBoard)}
+ * and {@link #stop()} return only once the background thread has let go of it.</p>
+ */
+public final class Ponderer {
+
+  private final SearchEngine engine;
+  private Thread thread;
+  private boolean cancelled;
+  private boolean predicted;
+  private boolean finished;
+  private long predictedHash;
+  private SearchResult result;
+  private long hits;
+  private long misses;
+
+  /**
+   * Constructs a ponderer for an engine.
+   *
+   * @param engine The engine to ponder with.
+   * @throws IllegalArgumentException If the engine is null.
+   */
+  public Ponderer(SearchEngine engine) {
+    if (engine == null) {
+      throw new IllegalArgumentException("Engine cannot be null");
+    }
+    this.engine = engine;
+  }
+
+  /**
+   * Starts pondering a position, stopping any earlier pondering first.
+   *
+   * @param afterOwnMove The position right after the engine's move, with the opponent to move.
+   *                     The ponderer works on a copy.
+   * @param depth        The depth to search the predicted position to.
+   */
+  public void start(SearchBoard afterOwnMove, int depth) {
+    stop();
+    SearchBoard board = new SearchBoard(afterOwnMove);
+    Thread ponder = new Thread(() -> ponder(board, depth), "reversi-ponder");
+    ponder.setDaemon(true);
+    synchronized (this) {
+      cancelled = false;
+      predicted = false;
+      finished = false;
+      result = null;
+      thread = ponder;
+    }
+    ponder.start();
+  }
+
+  /**
+   * Ends pondering and gets its result if it was for the given position. When the position is
+   * the predicted one and the search is still running, this waits for it to finish, which is
+   * sooner than a new search would. If the reply has not been predicted yet, this first waits
+   * for the (shallower) prediction.
+   *
+   * @param current The position the engine now has to move in.
+   * @return The search result for that position, or null if pondering predicted another one,
+   *         was not running or did not finish.
+   * @throws SearchAbortedException If the calling thread is interrupted while waiting. The
+   *                                pondering is cancelled and the thread stays interrupted;
+   *                                the next call to this method or {@link #stop()} waits for
+   *                                the background thread to let go of the engine.
+   */
+  public SearchResult takeResult(SearchBoard current) {
+    Thread ponder;
+    boolean matches;
+    try {
+      synchronized (this) {
+        ponder = thread;
+        if (ponder == null) {
+          return null;
+        }
+        while (!predicted && !finished) {
+          wait();
+        }
+        matches = !cancelled && predicted && predictedHash == current.getHash();
+        if (!matches) {
+          cancel();
+        }
+      }
+      ponder.join();
+    } catch (InterruptedException e) {
+      synchronized (this) {
+        cancel();
+        misses++;
+      }
+      Thread.currentThread().interrupt();
+      throw new SearchAbortedException();
+    }
+    synchronized (this) {
+      SearchResult found = matches ? result : null;
+      if (found != null) {
+        hits++;
+      } else {
+        misses++;
+      }
+      reset();
+      return found;
+    }
+  }
+
+  /**
+   * Stops pondering, if it is running, and waits for the background thread to finish. The
+   * search is cancelled first, so the wait is short even if the calling thread is interrupted.
+   */
+  public void stop() {
+    Thread ponder;
+    synchronized (this) {
+      ponder = thread;
+      if (ponder == null) {
+        return;
+      }
+      cancel();
+    }
+    join(ponder);
+    synchronized (this) {
+      reset();
+    }
+  }
+
+  /**
+   * Checks whether a background search is running.
+   *
+   * @return True while pondering.
+   */
+  public synchronized boolean isPondering() {
+    return thread != null && thread.isAlive();
+  }
+
+  /**
+   * Gets the number of moves for which the pondered result was used.
+   *
+   * @return The number of correct predictions.
+   */
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  /**
+   * Gets the number of moves for which pondering had to be thrown away.
+   *
+   * @return The number of wrong or unfinished predictions.
+   */
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  private void ponder(SearchBoard board, int depth) {
+    try {
+      synchronized (this) {
+        if (cancelled) {
+          return;
+        }
+        engine.clearStop();
+      }
+      int[] moves = new int[board.getGeometry().getCellCount()];
+      int count = board.generateMoves(moves);
+      if (count > 0) {
+        // the opponent's best reply, searched one ply shallower, is the prediction
+        SearchResult reply = engine.search(board, Math.max(1, depth - 1), moves, count);
+        board.makeMove(reply.getBestMove());
+      } else {
+        board.pass();
+      }
+      if (!board.hasMoves(board.getSideToMove())) {
+        return;
+      }
+      synchronized (this) {
+        predicted = true;
+        predictedHash = board.getHash();
+        notifyAll();
+      }
+      SearchResult found = engine.search(board, depth);
+      synchronized (this) {
+        result = found;
+      }
+    } catch (SearchAbortedException e) {
+      // stopped because the opponent played something else
+    } finally {
+      synchronized (this) {
+        finished = true;
+        notifyAll();
+      }
+    }
+  }
+
+  // must hold the lock
+  private void cancel() {
+    cancelled = true;
+    engine.requestStop();
+  }
+
+  // must hold the lock; the thread has finished
+  private void reset() {
+    thread = null;
+    result = null;
+    predicted = false;
+    finished = false;
+    cancelled = false;
+    engine.clearStop();
+  }
+
+  private static void join(Thread ponder) {
+    boolean interrupted = false;
+    while (ponder.isAlive()) {
+      try {
+        ponder.join();
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
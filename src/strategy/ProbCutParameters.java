@@ -0,0 +1,275 @@
+package strategy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The ProbCutParameters class holds the statistics that let a search prune with ProbCut. For a
+ * pair of depths, the score of a deep search is modelled as a linear function of the score of a
+ * shallow search of the same position, {@code deep = slope * shallow + intercept}, with a normally
+ * distributed error of standard deviation {@code sigma}. A node is cut when the shallow search
+ * says the deep score lies outside the window with a confidence of {@code threshold} standard
+ * deviations. Several pairs may share a deep depth, which gives multi-ProbCut: the cheapest check
+ * is tried first.
+ *
+ * <p>Parameters are fitted from self-play by {@link ProbCutTrainer} and stored in a text file
+ * with one setting per line:</p>
+ * <pre>
+ * # comments start with '#'
+ * threshold = 1.5
+ * cut 6 2 0.98 -1.5 52.0   (depth, shallow depth, slope, intercept, sigma)
+ * </pre>
+ */
+public final class ProbCutParameters {
+
+  /**
+   * One pair of depths and the fitted relation between their scores.
+   */
+  public static final class Cut {
+
+    private final int depth;
+    private final int shallowDepth;
+    private final double slope;
+    private final double intercept;
+    private final double sigma;
+
+    /**
+     * Constructs a cut.
+     *
+     * @param depth        The depth of the search being predicted.
+     * @param shallowDepth The depth of the search predicting it.
+     * @param slope        The slope of the fitted line.
+     * @param intercept    The intercept of the fitted line.
+     * @param sigma        The standard deviation of the prediction error.
+     * @throws IllegalArgumentException If the shallow depth is not between 0 and the depth, or
+     *                                  the slope or sigma is not positive.
+     */
+    public Cut(int depth, int shallowDepth, double slope, double intercept, double sigma) {
+      if (shallowDepth < 0 || shallowDepth >= depth) {
+        throw new IllegalArgumentException("Shallow depth must be below the depth");
+      }
+      if (!(slope > 0) || !(sigma > 0)) {
+        throw new IllegalArgumentException("Slope and sigma must be positive");
+      }
+      this.depth = depth;
+      this.shallowDepth = shallowDepth;
+      this.slope = slope;
+      this.intercept = intercept;
+      this.sigma = sigma;
+    }
+
+    /**
+     * Gets the depth of the search being predicted.
+     *
+     * @return The deep depth.
+     */
+    public int getDepth() {
+      return depth;
+    }
+
+    /**
+     * Gets the depth of the search predicting it.
+     *
+     * @return The shallow depth.
+     */
+    public int getShallowDepth() {
+      return shallowDepth;
+    }
+
+    /**
+     * Gets the slope of the fitted line.
+     *
+     * @return The slope.
+     */
+    public double getSlope() {
+      return slope;
+    }
+
+    /**
+     * Gets the intercept of the fitted line.
+     *
+     * @return The intercept.
+     */
+    public double getIntercept() {
+      return intercept;
+    }
+
+    /**
+     * Gets the standard deviation of the prediction error.
+     *
+     * @return The sigma.
+     */
+    public double getSigma() {
+      return sigma;
+    }
+  }
+
+  private static final Cut[] NO_CUTS = new Cut[0];
+
+  private final double threshold;
+  private final List<Cut> cuts;
+  // cuts indexed by their deep depth, shallowest check first
+  private final Cut[][] cutsByDepth;
+
+  /**
+   * Constructs a set of ProbCut parameters.
+   *
+   * @param threshold The confidence, in standard deviations, a cut needs.
+   * @param cuts      The fitted pairs of depths.
+   * @throws IllegalArgumentException If the threshold is not positive or the cuts are null.
+   */
+  public ProbCutParameters(double threshold, List<Cut> cuts) {
+    if (!(threshold > 0)) {
+      throw new IllegalArgumentException("Threshold must be positive");
+    }
+    if (cuts == null) {
+      throw new IllegalArgumentException("Cuts cannot be null");
+    }
+    this.threshold = threshold;
+    this.cuts = Collections.unmodifiableList(new ArrayList<>(cuts));
+
+    int maxDepth = 0;
+    for (Cut cut : cuts) {
+      maxDepth = Math.max(maxDepth, cut.getDepth());
+    }
+    this.cutsByDepth = new Cut[maxDepth + 1][];
+    for (int depth = 0; depth <= maxDepth; depth++) {
+      List<Cut> atDepth = new ArrayList<>();
+      for (Cut cut : cuts) {
+        if (cut.getDepth() == depth) {
+          atDepth.add(cut);
+        }
+      }
+      atDepth.sort((a, b) -> Integer.compare(a.getShallowDepth(), b.getShallowDepth()));
+      cutsByDepth[depth] = atDepth.toArray(NO_CUTS);
+    }
+  }
+
+  /**
+   * Creates the default parameters, fitted by {@link ProbCutTrainer} from 200 self-play games on
+   * the standard hexagonal board with the standard evaluator. The fitted errors are large (about
+   * a corner's worth), so the threshold is low and depth 3 is left to the full width search;
+   * at depth 10 this visits a third fewer nodes than a full width search.
+   *
+   * @return The default parameters.
+   */
+  public static ProbCutParameters standard() {
+    List<Cut> cuts = new ArrayList<>();
+    cuts.add(new Cut(4, 2, 1.0957, 2.9788, 67.2826));
+    cuts.add(new Cut(5, 3, 1.1067, 1.1337, 66.7190));
+    cuts.add(new Cut(6, 2, 1.2117, 3.7772, 110.3166));
+    cuts.add(new Cut(6, 4, 1.1074, -0.0625, 68.9771));
+    return new ProbCutParameters(0.6, cuts);
+  }
+
+  /**
+   * Loads parameters from a file in the format described above.
+   *
+   * @param file The file to read.
+   * @return The parameters described by the file.
+   * @throws IOException              If the file cannot be read.
+   * @throws IllegalArgumentException If the file is malformed.
+   */
+  public static ProbCutParameters fromFile(Path file) throws IOException {
+    try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      return fromReader(reader);
+    }
+  }
+
+  /**
+   * Loads parameters from file contents in the format described above.
+   *
+   * @param reader The source of the parameter file.
+   * @return The parameters described by the contents.
+   * @throws IOException              If reading fails.
+   * @throws IllegalArgumentException If the contents are malformed.
+   */
+  public static ProbCutParameters fromReader(Reader reader) throws IOException {
+    double threshold = 1.5;
+    List<Cut> cuts = new ArrayList<>();
+    BufferedReader lines = new BufferedReader(reader);
+    String line;
+    int lineNumber = 0;
+    while ((line = lines.readLine()) != null) {
+      lineNumber++;
+      line = line.trim();
+      if (line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+      try {
+        if (line.startsWith("threshold")) {
+          threshold = Double.parseDouble(line.substring(line.indexOf('=') + 1).trim());
+        } else if (line.startsWith("cut")) {
+          String[] fields = line.substring(3).trim().split("\\s+");
+          if (fields.length != 5) {
+            throw new IllegalArgumentException("Expected 5 values after cut on line "
+                    + lineNumber);
+          }
+          cuts.add(new Cut(Integer.parseInt(fields[0]), Integer.parseInt(fields[1]),
+                  Double.parseDouble(fields[2]), Double.parseDouble(fields[3]),
+                  Double.parseDouble(fields[4])));
+        } else {
+          throw new IllegalArgumentException("Unknown setting on line " + lineNumber);
+        }
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid number on line " + lineNumber);
+      }
+    }
+    return new ProbCutParameters(threshold, cuts);
+  }
+
+  /**
+   * Writes these parameters in the file format read by {@link #fromReader(Reader)}.
+   *
+   * @param writer The destination.
+   * @throws IOException If writing fails.
+   */
+  public void write(Writer writer) throws IOException {
+    writer.write("# ProbCut parameters: cut depth shallow slope intercept sigma\n");
+    writer.write("threshold = " + threshold + "\n");
+    for (Cut cut : cuts) {
+      writer.write(String.format(Locale.ROOT, "cut %d %d %.4f %.4f %.4f\n",
+              cut.getDepth(), cut.getShallowDepth(), cut.getSlope(), cut.getIntercept(),
+              cut.getSigma()));
+    }
+    writer.flush();
+  }
+
+  /**
+   * Gets the confidence, in standard deviations, a cut needs.
+   *
+   * @return The threshold.
+   */
+  public double getThreshold() {
+    return threshold;
+  }
+
+  /**
+   * Gets all cuts.
+   *
+   * @return An unmodifiable list of the cuts.
+   */
+  public List<Cut> getCuts() {
+    return cuts;
+  }
+
+  /**
+   * Gets the cuts that predict searches of a depth, shallowest check first. The returned array
+   * is shared and must not be modified.
+   *
+   * @param depth The depth of the search being predicted.
+   * @return The cuts for that depth, possibly none.
+   */
+  Cut[] cutsFor(int depth) {
+    return depth < cutsByDepth.length ? cutsByDepth[depth] : NO_CUTS;
+  }
+}
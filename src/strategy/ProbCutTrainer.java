@@ -0,0 +1,190 @@
+package strategy;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import model.BasicReversi;
+
+/**
+ * The ProbCutTrainer class fits {@link ProbCutParameters} offline. It plays games against itself,
+ * searches sampled positions of those games to a shallow and a deep depth, and fits a least
+ * squares line through the pairs of scores for every pair of depths. Positions already decided
+ * (won or lost) are skipped, since their scores are not on the evaluator's scale.
+ *
+ * <p>Run it as {@code java strategy.ProbCutTrainer <board size> <games> <output file>
+ * [deep:shallow ...]}; the depth pairs default to 3:1 4:2 5:3 6:2 6:4.</p>
+ */
+public final class ProbCutTrainer {
+
+  private static final int[][] DEFAULT_PAIRS = {{3, 1}, {4, 2}, {5, 3}, {6, 2}, {6, 4}};
+  // random moves at the start of each game, so that the games differ
+  private static final int OPENING_MOVES = 6;
+  // share of later positions that are searched for samples
+  private static final double SAMPLE_RATE = 0.25;
+  private static final int PLAY_DEPTH = 2;
+
+  private final Evaluator evaluator;
+  private final Random random;
+
+  /**
+   * Constructs a trainer.
+   *
+   * @param evaluator The evaluator the fitted parameters will be used with.
+   * @param random    The source of randomness for the self-play games.
+   */
+  public ProbCutTrainer(Evaluator evaluator, Random random) {
+    if (evaluator == null || random == null) {
+      throw new IllegalArgumentException("Evaluator and random cannot be null");
+    }
+    this.evaluator = evaluator;
+    this.random = random;
+  }
+
+  /**
+   * Plays self-play games and fits one cut per pair of depths.
+   *
+   * @param boardSize The size of the hexagonal board to play on.
+   * @param games     The number of games to play.
+   * @param pairs     The pairs of {deep depth, shallow depth} to fit.
+   * @param threshold The threshold to store in the parameters.
+   * @return The fitted parameters; pairs with too few samples are left out.
+   */
+  public ProbCutParameters train(int boardSize, int games, int[][] pairs, double threshold) {
+    List<List<double[]>> samples = new ArrayList<>();
+    for (int i = 0; i < pairs.length; i++) {
+      samples.add(new ArrayList<>());
+    }
+    SearchEngine player = new SearchEngine(evaluator);
+    SearchEngine probe = new SearchEngine(evaluator);
+    player.setEndgameEmpties(0);
+    probe.setEndgameEmpties(0);
+
+    for (int game = 0; game < games; game++) {
+      SearchBoard board = SearchBoard.fromModel(new BasicReversi(boardSize));
+      int[] moves = new int[board.getGeometry().getCellCount()];
+      int ply = 0;
+      while (!board.isGameOver()) {
+        int count = board.generateMoves(moves);
+        if (count == 0) {
+          board.pass();
+          continue;
+        }
+        if (ply >= OPENING_MOVES && random.nextDouble() < SAMPLE_RATE) {
+          sample(probe, board, pairs, samples);
+        }
+        int move = ply < OPENING_MOVES ? moves[random.nextInt(count)]
+                : player.search(board, PLAY_DEPTH, moves, count).getBestMove();
+        board.makeMove(move);
+        ply++;
+      }
+    }
+
+    List<ProbCutParameters.Cut> cuts = new ArrayList<>();
+    for (int i = 0; i < pairs.length; i++) {
+      ProbCutParameters.Cut cut = fit(pairs[i][0], pairs[i][1], samples.get(i));
+      if (cut != null) {
+        cuts.add(cut);
+      }
+    }
+    return new ProbCutParameters(threshold, cuts);
+  }
+
+  /**
+   * Fits the line {@code deep = slope * shallow + intercept} through pairs of scores by least
+   * squares.
+   *
+   * @param depth        The deep depth.
+   * @param shallowDepth The shallow depth.
+   * @param samples      The pairs of {shallow score, deep score}.
+   * @return The fitted cut, or null if there are fewer than 3 samples or the fit is degenerate.
+   */
+  public static ProbCutParameters.Cut fit(int depth, int shallowDepth, List<double[]> samples) {
+    int n = samples.size();
+    if (n < 3) {
+      return null;
+    }
+    double meanX = 0;
+    double meanY = 0;
+    for (double[] sample : samples) {
+      meanX += sample[0];
+      meanY += sample[1];
+    }
+    meanX /= n;
+    meanY /= n;
+    double covariance = 0;
+    double variance = 0;
+    for (double[] sample : samples) {
+      covariance += (sample[0] - meanX) * (sample[1] - meanY);
+      variance += (sample[0] - meanX) * (sample[0] - meanX);
+    }
+    if (variance == 0 || covariance <= 0) {
+      return null;
+    }
+    double slope = covariance / variance;
+    double intercept = meanY - slope * meanX;
+    double squaredError = 0;
+    for (double[] sample : samples) {
+      double error = sample[1] - (slope * sample[0] + intercept);
+      squaredError += error * error;
+    }
+    // at least a tenth of a point, so an exact fit never claims perfect certainty
+    double sigma = Math.max(0.1, Math.sqrt(squaredError / (n - 2)));
+    return new ProbCutParameters.Cut(depth, shallowDepth, slope, intercept, sigma);
+  }
+
+  private void sample(SearchEngine probe, SearchBoard board, int[][] pairs,
+                      List<List<double[]>> samples) {
+    for (int i = 0; i < pairs.length; i++) {
+      // a table entry from a deeper search would leak into the shallow score
+      probe.getTable().clear();
+      int shallow = pairs[i][1] == 0 ? evaluator.evaluate(board)
+              : probe.search(board, pairs[i][1]).getScore();
+      probe.getTable().clear();
+      int deep = probe.search(board, pairs[i][0]).getScore();
+      if (Math.abs(deep) < SearchEngine.WIN_SCORE / 2
+              && Math.abs(shallow) < SearchEngine.WIN_SCORE / 2) {
+        samples.get(i).add(new double[]{shallow, deep});
+      }
+    }
+  }
+
+  /**
+   * Trains ProbCut parameters from the command line and writes them to a file.
+   *
+   * @param args The board size, the number of games, the output file and optionally the pairs
+   *             of depths as deep:shallow.
+   * @throws IOException If the output file cannot be written.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 3) {
+      System.out.println("Usage: ProbCutTrainer <board size> <games> <output file> "
+              + "[deep:shallow ...]");
+      System.exit(1);
+    }
+    int boardSize = Integer.parseInt(args[0]);
+    int games = Integer.parseInt(args[1]);
+    Path output = Paths.get(args[2]);
+    int[][] pairs = DEFAULT_PAIRS;
+    if (args.length > 3) {
+      pairs = new int[args.length - 3][];
+      for (int i = 3; i < args.length; i++) {
+        String[] depths = args[i].split(":");
+        pairs[i - 3] = new int[]{Integer.parseInt(depths[0]), Integer.parseInt(depths[1])};
+      }
+    }
+
+    ProbCutTrainer trainer = new ProbCutTrainer(WeightedEvaluator.standard(), new Random());
+    ProbCutParameters parameters = trainer.train(boardSize, games, pairs, 1.5);
+    try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+      parameters.write(writer);
+    }
+    System.out.println("Wrote " + parameters.getCuts().size() + " cuts to " + output);
+  }
+}
@@ -0,0 +1,18 @@
+package strategy;
+
+/**
+ * Thrown by a search that was stopped with {@link SearchEngine#requestStop()}, or whose thread
+ * was interrupted, before it finished.
+ * The searched board is left in an unspecified state and should be discarded.
+ */
+public class SearchAbortedException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Constructs the exception.
+   */
+  public SearchAbortedException() {
+    super("The search was stopped");
+  }
+}
@@ -0,0 +1,561 @@
+package strategy;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import model.CellType;
+import model.ICoordinate;
+import model.ReadonlyReversiModel;
+
+/**
+ * The SearchBoard class is a compact, mutable copy of a Reversi position used by searching
+ * strategies. Cells are stored in a byte array indexed by {@link BoardGeometry}, moves are
+ * applied and undone in place, and disc counts, region counts and the position hash are kept up
+ * to date incrementally so evaluators never have to rescan the board for them.
+ *
+ * <p>The rules are the standard Reversi rules for the board's geometry: a move is legal when it
+ * brackets at least one contiguous line of opposing discs. A player without a legal move passes
+ * and the game ends when neither player can move.</p>
+ */
+public final class SearchBoard {
+
+  /**
+   * Value of an empty cell.
+   */
+  public static final int EMPTY = 0;
+
+  /**
+   * Value of a cell holding a black disc, and the color of the black player.
+   */
+  public static final int BLACK = 1;
+
+  /**
+   * Value of a cell holding a white disc, and the color of the white player.
+   */
+  public static final int WHITE = 2;
+
+  private final BoardGeometry geometry;
+  private final byte[] cells;
+  private final int[] discCount = new int[3];
+  private final int[] cornerCount = new int[3];
+  private final int[] outerLayerCount = new int[3];
+  private final long[][] discMasks;
+  private final int[][] lineEmpties;
+  private int sideToMove;
+  private long hash;
+
+  // Undo information: every move pushes its flipped cells followed by a frame header
+  private int[] undoStack;
+  private int undoTop;
+
+  /**
+   * Creates an empty board of the given geometry with black to move.
+   *
+   * @param geometry The shape of the board.
+   */
+  public SearchBoard(BoardGeometry geometry) {
+    this.geometry = geometry;
+    this.cells = new byte[geometry.getCellCount()];
+    this.discCount[EMPTY] = geometry.getCellCount();
+    this.discMasks = new long[3][geometry.getWordCount()];
+    this.lineEmpties = new int[geometry.getAxisCount()][];
+    for (int axis = 0; axis < geometry.getAxisCount(); axis++) {
+      lineEmpties[axis] = new int[geometry.getLineCount(axis)];
+      for (int index = 0; index < geometry.getCellCount(); index++) {
+        lineEmpties[axis][geometry.lineOf(axis, index)]++;
+      }
+    }
+    this.sideToMove = BLACK;
+    this.undoStack = new int[geometry.getCellCount() * 4];
+  }
+
+  /**
+   * Creates a copy of another board. The undo history is not copied.
+   *
+   * @param other The board to copy.
+   */
+  public SearchBoard(SearchBoard other) {
+    this.geometry = other.geometry;
+    this.cells = other.cells.clone();
+    System.arraycopy(other.discCount, 0, this.discCount, 0, 3);
+    System.arraycopy(other.cornerCount, 0, this.cornerCount, 0, 3);
+    System.arraycopy(other.outerLayerCount, 0, this.outerLayerCount, 0, 3);
+    this.discMasks = new long[3][];
+    for (int color = 0; color < 3; color++) {
+      this.discMasks[color] = other.discMasks[color].clone();
+    }
+    this.lineEmpties = new int[other.lineEmpties.length][];
+    for (int axis = 0; axis < lineEmpties.length; axis++) {
+      this.lineEmpties[axis] = other.lineEmpties[axis].clone();
+    }
+    this.sideToMove = other.sideToMove;
+    this.hash = other.hash;
+    this.undoStack = new int[geometry.getCellCount() * 4];
+  }
+
+  /**
+   * Creates a search board from the current state of a model, with the model's current player
+   * to move.
+   *
+   * @param model The model to copy.
+   * @return A search board holding the same position.
+   * @throws IllegalStateException If the game has not started or is over.
+   */
+  public static SearchBoard fromModel(ReadonlyReversiModel model) {
+    return fromGameBoard(model.getGameBoard(), model.getBoardSize(),
+            model.getCurrentPlayerTurn());
+  }
+
+  /**
+   * Creates a search board from a game board map as returned by
+   * {@link ReadonlyReversiModel#getGameBoard()}. Boards whose every position is playable are
+   * treated as square boards, all others as hexagonal boards.
+   *
+   * @param gameBoard  The game board.
+   * @param boardSize  The number of rows (and columns) of the board.
+   * @param playerTurn The player to move.
+   * @return A search board holding the same position.
+   */
+  public static SearchBoard fromGameBoard(HashMap<ICoordinate, CellType> gameBoard,
+                                          int boardSize, CellType playerTurn) {
+    int playable = 0;
+    for (CellType cell : gameBoard.values()) {
+      if (cell != null) {
+        playable++;
+      }
+    }
+    BoardGeometry geometry = playable == boardSize * boardSize && boardSize % 2 == 0
+            ? BoardGeometry.square(boardSize) : BoardGeometry.hexagonal(boardSize);
+
+    SearchBoard board = new SearchBoard(geometry);
+    // go by position, since square models key their boards by another coordinate class
+    for (Map.Entry<ICoordinate, CellType> entry : gameBoard.entrySet()) {
+      int index = geometry.indexOf(entry.getKey().getCol(), entry.getKey().getRow());
+      if (index >= 0) {
+        board.setCell(index, colorOf(entry.getValue()));
+      }
+    }
+    board.setSideToMove(colorOf(playerTurn));
+    return board;
+  }
+
+  /**
+   * Converts a cell type to a color value of this class.
+   *
+   * @param cellType The cell type, may be null.
+   * @return {@link #BLACK}, {@link #WHITE} or {@link #EMPTY}.
+   */
+  public static int colorOf(CellType cellType) {
+    if (cellType == CellType.BLACK) {
+      return BLACK;
+    }
+    if (cellType == CellType.WHITE) {
+      return WHITE;
+    }
+    return EMPTY;
+  }
+
+  /**
+   * Converts a color value of this class to a cell type.
+   *
+   * @param color The color value.
+   * @return The matching cell type.
+   */
+  public static CellType cellTypeOf(int color) {
+    switch (color) {
+      case BLACK:
+        return CellType.BLACK;
+      case WHITE:
+        return CellType.WHITE;
+      default:
+        return CellType.EMPTY;
+    }
+  }
+
+  /**
+   * Gets the opposing color.
+   *
+   * @param color {@link #BLACK} or {@link #WHITE}.
+   * @return The other color.
+   */
+  public static int opponent(int color) {
+    return 3 - color;
+  }
+
+  /**
+   * Gets the geometry of this board.
+   *
+   * @return The geometry.
+   */
+  public BoardGeometry getGeometry() {
+    return geometry;
+  }
+
+  /**
+   * Gets the content of a cell.
+   *
+   * @param index The cell index.
+   * @return {@link #EMPTY}, {@link #BLACK} or {@link #WHITE}.
+   */
+  public int getCell(int index) {
+    return cells[index];
+  }
+
+  /**
+   * Places, replaces or removes a disc without applying any rule. Used to set up positions.
+   *
+   * @param index The cell index.
+   * @param color The new content of the cell.
+   */
+  public void setCell(int index, int color) {
+    int old = cells[index];
+    if (old == color) {
+      return;
+    }
+    removeDisc(index, old);
+    addDisc(index, color);
+    cells[index] = (byte) color;
+  }
+
+  /**
+   * Gets the color of the player to move.
+   *
+   * @return {@link #BLACK} or {@link #WHITE}.
+   */
+  public int getSideToMove() {
+    return sideToMove;
+  }
+
+  /**
+   * Sets the color of the player to move.
+   *
+   * @param color {@link #BLACK} or {@link #WHITE}.
+   */
+  public void setSideToMove(int color) {
+    if (color != BLACK && color != WHITE) {
+      throw new IllegalArgumentException("Invalid player");
+    }
+    if (color != sideToMove) {
+      sideToMove = color;
+      hash ^= geometry.zobristSideKey();
+    }
+  }
+
+  /**
+   * Gets the number of cells holding a given content.
+   *
+   * @param color {@link #EMPTY}, {@link #BLACK} or {@link #WHITE}.
+   * @return The number of such cells.
+   */
+  public int getDiscCount(int color) {
+    return discCount[color];
+  }
+
+  /**
+   * Gets the number of empty cells.
+   *
+   * @return The number of empty cells.
+   */
+  public int getEmptyCount() {
+    return discCount[EMPTY];
+  }
+
+  /**
+   * Gets the number of corners holding a disc of the given color.
+   *
+   * @param color {@link #BLACK} or {@link #WHITE}.
+   * @return The number of corners owned by that color.
+   */
+  public int getCornerCount(int color) {
+    return cornerCount[color];
+  }
+
+  /**
+   * Gets the number of outer layer cells holding a disc of the given color.
+   *
+   * @param color {@link #BLACK} or {@link #WHITE}.
+   * @return The number of outer layer cells owned by that color.
+   */
+  public int getOuterLayerCount(int color) {
+    return outerLayerCount[color];
+  }
+
+  /**
+   * Gets the bit mask of the cells holding a disc of a color, one bit per cell index. The
+   * returned array is live and must not be modified.
+   *
+   * @param color {@link #BLACK} or {@link #WHITE}.
+   * @return The disc mask of that color.
+   */
+  long[] discMask(int color) {
+    return discMasks[color];
+  }
+
+  /**
+   * Checks whether every cell of a line is occupied.
+   *
+   * @param axis The axis of the line.
+   * @param line The line number along that axis.
+   * @return True if the line holds no empty cell.
+   */
+  public boolean isLineFull(int axis, int line) {
+    return lineEmpties[axis][line] == 0;
+  }
+
+  /**
+   * Gets the hash of the position, including the side to move.
+   *
+   * @return The position hash.
+   */
+  public long getHash() {
+    return hash;
+  }
+
+  /**
+   * Checks whether the player to move may place a disc on a cell.
+   *
+   * @param index The cell index.
+   * @return True if the move is legal.
+   */
+  public boolean isLegalMove(int index) {
+    return isLegalMove(index, sideToMove);
+  }
+
+  /**
+   * Checks whether a player may place a disc on a cell.
+   *
+   * @param index The cell index.
+   * @param color The player.
+   * @return True if the move is legal for that player.
+   */
+  public boolean isLegalMove(int index, int color) {
+    if (cells[index] != EMPTY) {
+      return false;
+    }
+    int other = opponent(color);
+    for (int dir = 0; dir < geometry.getDirectionCount(); dir++) {
+      int[] step = geometry.neighborsInDirection(dir);
+      int next = step[index];
+      if (next < 0 || cells[next] != other) {
+        continue;
+      }
+      next = step[next];
+      while (next >= 0 && cells[next] == other) {
+        next = step[next];
+      }
+      if (next >= 0 && cells[next] == color) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Writes the legal moves of the player to move into an array.
+   *
+   * @param moves An array with room for at least {@link BoardGeometry#getCellCount()} moves.
+   * @return The number of moves written.
+   */
+  public int generateMoves(int[] moves) {
+    int count = 0;
+    for (int index = 0; index < cells.length; index++) {
+      if (isLegalMove(index, sideToMove)) {
+        moves[count++] = index;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Counts the legal moves of a player.
+   *
+   * @param color The player.
+   * @return The number of legal moves.
+   */
+  public int countMoves(int color) {
+    int count = 0;
+    for (int index = 0; index < cells.length; index++) {
+      if (isLegalMove(index, color)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Checks whether a player has at least one legal move.
+   *
+   * @param color The player.
+   * @return True if the player can move.
+   */
+  public boolean hasMoves(int color) {
+    for (int index = 0; index < cells.length; index++) {
+      if (isLegalMove(index, color)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Checks whether neither player can move.
+   *
+   * @return True if the game is over.
+   */
+  public boolean isGameOver() {
+    return !hasMoves(sideToMove) && !hasMoves(opponent(sideToMove));
+  }
+
+  /**
+   * Counts the discs the player to move would flip by playing on a cell, without playing it.
+   *
+   * @param index The cell index.
+   * @return The number of discs that would be flipped, 0 if the move is illegal.
+   */
+  public int countFlips(int index) {
+    if (cells[index] != EMPTY) {
+      return 0;
+    }
+    int color = sideToMove;
+    int other = opponent(color);
+    int flips = 0;
+    for (int dir = 0; dir < geometry.getDirectionCount(); dir++) {
+      int[] step = geometry.neighborsInDirection(dir);
+      int run = 0;
+      int next = step[index];
+      while (next >= 0 && cells[next] == other) {
+        run++;
+        next = step[next];
+      }
+      if (run > 0 && next >= 0 && cells[next] == color) {
+        flips += run;
+      }
+    }
+    return flips;
+  }
+
+  /**
+   * Plays a move for the player to move and hands the turn to the opponent. The move is assumed
+   * to be legal; use {@link #isLegalMove(int)} first when that is not known.
+   *
+   * @param index The cell index.
+   * @return The number of discs flipped.
+   */
+  public int makeMove(int index) {
+    int color = sideToMove;
+    int other = opponent(color);
+    ensureUndoCapacity(geometry.getCellCount() + 2);
+    int flips = 0;
+
+    for (int dir = 0; dir < geometry.getDirectionCount(); dir++) {
+      int[] step = geometry.neighborsInDirection(dir);
+      int next = step[index];
+      int run = 0;
+      while (next >= 0 && cells[next] == other) {
+        run++;
+        next = step[next];
+      }
+      if (run == 0 || next < 0 || cells[next] != color) {
+        continue;
+      }
+      next = step[index];
+      for (int i = 0; i < run; i++) {
+        flipDisc(next, color);
+        undoStack[undoTop++] = next;
+        next = step[next];
+      }
+      flips += run;
+    }
+
+    setCell(index, color);
+    undoStack[undoTop++] = index;
+    undoStack[undoTop++] = flips;
+    sideToMove = other;
+    hash ^= geometry.zobristSideKey();
+    return flips;
+  }
+
+  /**
+   * Undoes the last move made with {@link #makeMove(int)}.
+   */
+  public void undoMove() {
+    int flips = undoStack[--undoTop];
+    int index = undoStack[--undoTop];
+    int other = sideToMove;
+    int color = opponent(other);
+    for (int i = 0; i < flips; i++) {
+      flipDisc(undoStack[--undoTop], other);
+    }
+    setCell(index, EMPTY);
+    sideToMove = color;
+    hash ^= geometry.zobristSideKey();
+  }
+
+  /**
+   * Passes the turn to the opponent. Passing twice restores the original position.
+   */
+  public void pass() {
+    sideToMove = opponent(sideToMove);
+    hash ^= geometry.zobristSideKey();
+  }
+
+  /**
+   * Gets the final disc differential from a player's point of view.
+   *
+   * @param color The player.
+   * @return The player's discs minus the opponent's discs.
+   */
+  public int getDiscDifference(int color) {
+    return discCount[color] - discCount[opponent(color)];
+  }
+
+  private void flipDisc(int index, int color) {
+    int old = cells[index];
+    removeDisc(index, old);
+    addDisc(index, color);
+    cells[index] = (byte) color;
+  }
+
+  private void addDisc(int index, int color) {
+    discCount[color]++;
+    if (color == EMPTY) {
+      for (int axis = 0; axis < lineEmpties.length; axis++) {
+        lineEmpties[axis][geometry.lineOf(axis, index)]++;
+      }
+      return;
+    }
+    discMasks[color][index >>> 6] |= 1L << index;
+    hash ^= geometry.zobristKey(color, index);
+    if (geometry.isCorner(index)) {
+      cornerCount[color]++;
+    }
+    if (geometry.isOuterLayer(index)) {
+      outerLayerCount[color]++;
+    }
+  }
+
+  private void removeDisc(int index, int color) {
+    discCount[color]--;
+    if (color == EMPTY) {
+      for (int axis = 0; axis < lineEmpties.length; axis++) {
+        lineEmpties[axis][geometry.lineOf(axis, index)]--;
+      }
+      return;
+    }
+    discMasks[color][index >>> 6] &= ~(1L << index);
+    hash ^= geometry.zobristKey(color, index);
+    if (geometry.isCorner(index)) {
+      cornerCount[color]--;
+    }
+    if (geometry.isOuterLayer(index)) {
+      outerLayerCount[color]--;
+    }
+  }
+
+  private void ensureUndoCapacity(int extra) {
+    if (undoTop + extra > undoStack.length) {
+      undoStack = Arrays.copyOf(undoStack, Math.max(undoStack.length * 2, undoTop + extra));
+    }
+  }
+}
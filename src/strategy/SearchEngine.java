@@ -0,0 +1,538 @@
+package strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The SearchEngine class runs an iteratively deepened principal variation search over a
+ * {@link SearchBoard}, scoring the leaves with an {@link Evaluator}. Positions where neither
+ * player can move are scored exactly so that won endgames always outrank heuristic scores, and
+ * once few enough cells are empty the whole search is handed to an {@link EndgameSolver}.
+ *
+ * <p>Moves are searched in the order given by a {@link MoveOrderer}, and results are kept in a
+ * {@link TranspositionTable} so that positions reached through different move orders are only
+ * searched once and the best move of the previous iteration is tried first. Optionally, nodes
+ * are pruned selectively with {@link ProbCutParameters ProbCut}.</p>
+ *
+ * <p>An engine keeps reusable move buffers between searches, so one instance must not be used
+ * by two threads at the same time.</p>
+ */
+public class SearchEngine {
+
+  /**
+   * A score larger than any position can be worth.
+   */
+  public static final int INFINITY = 1 << 30;
+
+  /**
+   * The base score of a won game; the final disc differential is added on top of it.
+   */
+  public static final int WIN_SCORE = 1 << 20;
+
+  /**
+   * The base 2 logarithm of the default number of transposition table entries.
+   */
+  public static final int DEFAULT_TABLE_BITS = 18;
+
+  // half width of the window the next iteration is searched with, around the last score
+  private static final int ASPIRATION_WINDOW = 40;
+  // the stop flag is read once every 1024 nodes
+  static final int STOP_CHECK_MASK = 1023;
+  // returned by a ProbCut check that does not cut; no score can be this low
+  private static final int NO_CUT = Integer.MIN_VALUE;
+
+  private final Evaluator evaluator;
+  private final TranspositionTable table;
+  private final MoveOrderer orderer = new MoveOrderer();
+  private final EndgameSolver endgameSolver = new EndgameSolver();
+  private BoardGeometry tableGeometry;
+  private ProbCutParameters probCut;
+  private volatile boolean stopRequested;
+  // -1 picks a threshold for the shape of each searched board
+  private int endgameEmpties = -1;
+  private int[][] moveBuffers = new int[0][];
+  private long nodes;
+
+  /**
+   * Constructs a search engine using the given evaluation function.
+   *
+   * @param evaluator The evaluator used at the leaves of the search.
+   * @throws IllegalArgumentException If the evaluator is null.
+   */
+  public SearchEngine(Evaluator evaluator) {
+    this(evaluator, DEFAULT_TABLE_BITS);
+  }
+
+  /**
+   * Constructs a search engine using the given evaluation function and table size.
+   *
+   * @param evaluator The evaluator used at the leaves of the search.
+   * @param tableBits The base 2 logarithm of the number of transposition table entries.
+   * @throws IllegalArgumentException If the evaluator is null or the table size is out of range.
+   */
+  public SearchEngine(Evaluator evaluator, int tableBits) {
+    if (evaluator == null) {
+      throw new IllegalArgumentException("Evaluator cannot be null");
+    }
+    this.evaluator = evaluator;
+    this.table = new TranspositionTable(tableBits);
+  }
+
+  /**
+   * Gets the evaluator used by this engine.
+   *
+   * @return The evaluator.
+   */
+  public Evaluator getEvaluator() {
+    return evaluator;
+  }
+
+  /**
+   * Gets the transposition table of this engine. It is kept between searches.
+   *
+   * @return The transposition table.
+   */
+  public TranspositionTable getTable() {
+    return table;
+  }
+
+  /**
+   * Asks the search running on another thread to stop. The search, and any search started
+   * before {@link #clearStop()} is called, throws a {@link SearchAbortedException} soon after.
+   * Interrupting the searching thread stops the search the same way.
+   */
+  public void requestStop() {
+    stopRequested = true;
+    endgameSolver.requestStop();
+  }
+
+  /**
+   * Allows searches to run again after {@link #requestStop()}.
+   */
+  public void clearStop() {
+    stopRequested = false;
+    endgameSolver.clearStop();
+  }
+
+  /**
+   * Gets the ProbCut parameters used to prune the search.
+   *
+   * @return The parameters, or null if the search is full width.
+   */
+  public ProbCutParameters getProbCut() {
+    return probCut;
+  }
+
+  /**
+   * Turns ProbCut pruning on or off. With parameters set, a node searched with a null window
+   * first runs the shallow searches of the cuts for its depth and is cut when they predict that
+   * the deep search would fall outside the window.
+   *
+   * @param probCut The parameters, or null for a full width search.
+   */
+  public void setProbCut(ProbCutParameters probCut) {
+    this.probCut = probCut;
+  }
+
+  /**
+   * Gets the number of empty cells at or below which searches of a board are solved exactly.
+   *
+   * @param geometry The shape of the board.
+   * @return The endgame threshold.
+   */
+  public int getEndgameEmpties(BoardGeometry geometry) {
+    return endgameEmpties >= 0 ? endgameEmpties : defaultEndgameEmpties(geometry);
+  }
+
+  /**
+   * Gets the endgame threshold used unless one is set. Hexagonal games end with many cells that
+   * can never be filled, so their threshold is a share of the board rather than a fixed number;
+   * either way the solver takes well under a second at the threshold.
+   *
+   * @param geometry The shape of the board.
+   * @return The default endgame threshold.
+   */
+  public static int defaultEndgameEmpties(BoardGeometry geometry) {
+    return geometry.isHexagonal() ? geometry.getCellCount() / 3 : 14;
+  }
+
+  /**
+   * Sets the number of empty cells at or below which searches are solved exactly instead of
+   * being cut off at the search depth. A threshold of 0 turns the endgame solver off.
+   *
+   * @param endgameEmpties The endgame threshold.
+   * @throws IllegalArgumentException If the threshold is negative.
+   */
+  public void setEndgameEmpties(int endgameEmpties) {
+    if (endgameEmpties < 0) {
+      throw new IllegalArgumentException("Endgame threshold cannot be negative");
+    }
+    this.endgameEmpties = endgameEmpties;
+  }
+
+  /**
+   * Scores a finished game from the point of view of the player to move.
+   *
+   * @param board The finished position.
+   * @return A score beyond every heuristic score, ordered by disc differential.
+   */
+  public static int finalScore(SearchBoard board) {
+    return exactScore(board.getDiscDifference(board.getSideToMove()));
+  }
+
+  /**
+   * Converts a final disc differential into a search score.
+   *
+   * @param difference The final disc differential for the player to move.
+   * @return A score beyond every heuristic score, ordered by disc differential.
+   */
+  public static int exactScore(int difference) {
+    if (difference > 0) {
+      return WIN_SCORE + difference;
+    }
+    if (difference < 0) {
+      return -WIN_SCORE + difference;
+    }
+    return 0;
+  }
+
+  /**
+   * Searches all legal moves of the player to move.
+   *
+   * @param board The position to search; it is restored before this method returns.
+   * @param depth The search depth in plies, at least 1.
+   * @return The best move and its score, with a best move of -1 if the player must pass.
+   */
+  public SearchResult search(SearchBoard board, int depth) {
+    int[] moves = new int[board.getGeometry().getCellCount()];
+    int count = board.generateMoves(moves);
+    return search(board, depth, moves, count);
+  }
+
+  /**
+   * Searches a given subset of the legal moves of the player to move. The search deepens one ply
+   * at a time up to the requested depth; every iteration after the first starts with a narrow
+   * aspiration window around the previous score and only widens it when the score falls outside.
+   *
+   * @param board     The position to search; it is restored before this method returns.
+   * @param depth     The search depth in plies, at least 1.
+   * @param rootMoves The candidate moves to choose from.
+   * @param rootCount The number of candidates in {@code rootMoves}.
+   * @return The best candidate and its score, with a best move of -1 if there is none.
+   * @throws IllegalArgumentException If the depth is not positive.
+   * @throws SearchAbortedException   If the search was asked to stop.
+   */
+  public SearchResult search(SearchBoard board, int depth, int[] rootMoves, int rootCount) {
+    if (depth < 1) {
+      throw new IllegalArgumentException("Depth must be positive");
+    }
+    if (rootCount > 0 && isEndgame(board)) {
+      SearchResult solved = endgameSolver.solve(board, rootMoves, rootCount);
+      nodes = solved.getNodes();
+      return new SearchResult(solved.getBestMove(), exactScore(solved.getScore()),
+              solved.getDepth(), nodes);
+    }
+    nodes = 0;
+    int[] moves = prepareRoot(board, depth, rootMoves, rootCount);
+    if (rootCount == 0) {
+      return new SearchResult(-1, -INFINITY, depth, nodes);
+    }
+
+    int score = 0;
+    for (int iteration = 1; iteration <= depth; iteration++) {
+      score = aspirate(board, iteration, score, moves, rootCount);
+    }
+    return new SearchResult(moves[0], score, depth, nodes);
+  }
+
+  /**
+   * Scores the best few moves of a position exactly, for analysis rather than play. Moves whose
+   * score cannot reach the best {@code count} found so far are only bounded, which keeps the
+   * analysis close to the cost of a normal search.
+   *
+   * @param board     The position to analyse; it is restored before this method returns.
+   * @param depth     The search depth in plies, at least 1.
+   * @param rootMoves The candidate moves to choose from.
+   * @param rootCount The number of candidates in {@code rootMoves}.
+   * @param count     The number of moves to report.
+   * @return Up to {@code count} results, one per move and best first.
+   * @throws IllegalArgumentException If the depth or count is not positive.
+   */
+  public List<SearchResult> analyze(SearchBoard board, int depth, int[] rootMoves, int rootCount,
+                                    int count) {
+    if (depth < 1 || count < 1) {
+      throw new IllegalArgumentException("Depth and move count must be positive");
+    }
+    List<SearchResult> best = new ArrayList<>();
+    if (rootCount == 0) {
+      return best;
+    }
+
+    if (isEndgame(board)) {
+      long total = 0;
+      for (int i = 0; i < rootCount; i++) {
+        SearchResult solved = endgameSolver.solve(board, new int[]{rootMoves[i]}, 1);
+        total += solved.getNodes();
+        insert(best, new SearchResult(rootMoves[i], exactScore(solved.getScore()),
+                solved.getDepth(), solved.getNodes()), count);
+      }
+      nodes = total;
+      return best;
+    }
+
+    // a normal search first fills the table and the move order for the last iteration
+    SearchResult shallow = depth > 1 ? search(board, depth - 1, rootMoves, rootCount) : null;
+    long total = shallow == null ? 0 : shallow.getNodes();
+    nodes = 0;
+    int[] moves = prepareRoot(board, depth, rootMoves, rootCount);
+    for (int i = 0; i < rootCount; i++) {
+      int floor = best.size() < count ? -INFINITY : best.get(count - 1).getScore();
+      long before = nodes;
+      board.makeMove(moves[i]);
+      int score = -negamax(board, depth - 1, -INFINITY, -floor, 1);
+      board.undoMove();
+      if (score > floor) {
+        insert(best, new SearchResult(moves[i], score, depth, nodes - before), count);
+      }
+    }
+    nodes += total;
+    return best;
+  }
+
+  /**
+   * Describes a search score for people: a signed heuristic score, or the outcome and final disc
+   * differential for positions that were solved to the end.
+   *
+   * @param score A score returned by this engine.
+   * @return A short label such as "+12", "W+4", "L-2" or "D".
+   */
+  public static String describeScore(int score) {
+    if (score > WIN_SCORE / 2) {
+      return "W+" + (score - WIN_SCORE);
+    }
+    if (score < -WIN_SCORE / 2) {
+      return "L" + (score + WIN_SCORE);
+    }
+    return score > 0 ? "+" + score : Integer.toString(score);
+  }
+
+  /**
+   * Gets the number of positions visited by the last search.
+   *
+   * @return The node count.
+   */
+  public long getNodes() {
+    return nodes;
+  }
+
+  private int negamax(SearchBoard board, int depth, int alpha, int beta, int ply) {
+    if ((++nodes & STOP_CHECK_MASK) == 0
+            && (stopRequested || Thread.currentThread().isInterrupted())) {
+      throw new SearchAbortedException();
+    }
+    if (depth == 0) {
+      return evaluator.evaluate(board);
+    }
+
+    long hash = board.getHash();
+    int hashMove = -1;
+    int slot = table.find(hash);
+    if (slot >= 0) {
+      hashMove = table.getBestMove(slot);
+      if (table.getDepth(slot) >= depth) {
+        int score = table.getScore(slot);
+        int bound = table.getBound(slot);
+        if (bound == TranspositionTable.EXACT
+                || (bound == TranspositionTable.LOWER && score >= beta)
+                || (bound == TranspositionTable.UPPER && score <= alpha)) {
+          return score;
+        }
+      }
+    }
+
+    if (probCut != null && beta - alpha == 1 && Math.abs(beta) < WIN_SCORE / 2) {
+      for (ProbCutParameters.Cut cut : probCut.cutsFor(depth)) {
+        int cutScore = probCut(board, cut, alpha, beta, ply);
+        if (cutScore != NO_CUT) {
+          return cutScore;
+        }
+      }
+    }
+
+    int[] moves = moveBuffers[ply];
+    int count = board.generateMoves(moves);
+    if (count == 0) {
+      if (!board.hasMoves(SearchBoard.opponent(board.getSideToMove()))) {
+        return finalScore(board);
+      }
+      board.pass();
+      int score = -negamax(board, depth, -beta, -alpha, ply + 1);
+      board.pass();
+      return score;
+    }
+    orderer.order(board, moves, count, ply, hashMove);
+
+    int originalAlpha = alpha;
+    int best = -INFINITY;
+    int bestMove = -1;
+    for (int i = 0; i < count; i++) {
+      board.makeMove(moves[i]);
+      int score;
+      if (i == 0) {
+        score = -negamax(board, depth - 1, -beta, -alpha, ply + 1);
+      } else {
+        // later moves only have to be shown worse than the first, which a null window does
+        score = -negamax(board, depth - 1, -alpha - 1, -alpha, ply + 1);
+        if (score > alpha && score < beta) {
+          score = -negamax(board, depth - 1, -beta, -alpha, ply + 1);
+        }
+      }
+      board.undoMove();
+      if (score > best) {
+        best = score;
+        bestMove = moves[i];
+        if (score > alpha) {
+          alpha = score;
+          if (alpha >= beta) {
+            orderer.recordCutoff(board, moves[i], ply, depth);
+            break;
+          }
+        }
+      }
+    }
+
+    int bound = best <= originalAlpha ? TranspositionTable.UPPER
+            : best >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+    table.store(hash, depth, best, bound, bestMove);
+    return best;
+  }
+
+  // Checks whether a shallow search predicts a deep score outside (alpha, beta) with enough
+  // confidence; returns the bound to cut with, or NO_CUT. Runs before the node uses its move
+  // buffer, so the shallow search may share the ply.
+  private int probCut(SearchBoard board, ProbCutParameters.Cut cut, int alpha, int beta,
+                      int ply) {
+    double margin = probCut.getThreshold() * cut.getSigma();
+    // the static score tells which side of the window the node probably falls on, so only
+    // that side is checked
+    boolean high = evaluator.evaluate(board) >= beta;
+    if (high) {
+      int bound = (int) Math.ceil((beta + margin - cut.getIntercept()) / cut.getSlope());
+      if (bound < WIN_SCORE / 2
+              && negamax(board, cut.getShallowDepth(), bound - 1, bound, ply) >= bound) {
+        return beta;
+      }
+    } else {
+      int bound = (int) Math.floor((alpha - margin - cut.getIntercept()) / cut.getSlope());
+      if (bound > -WIN_SCORE / 2
+              && negamax(board, cut.getShallowDepth(), bound, bound + 1, ply) <= bound) {
+        return alpha;
+      }
+    }
+    return NO_CUT;
+  }
+
+  // Runs one iteration, first inside a window around the previous score, then again with the
+  // window opened on whichever side the score fell out of.
+  private int aspirate(SearchBoard board, int depth, int previous, int[] moves, int count) {
+    int alpha = -INFINITY;
+    int beta = INFINITY;
+    if (depth > 1 && Math.abs(previous) < WIN_SCORE / 2) {
+      alpha = previous - ASPIRATION_WINDOW;
+      beta = previous + ASPIRATION_WINDOW;
+    }
+    while (true) {
+      int score = searchRoot(board, depth, alpha, beta, moves, count);
+      if (score <= alpha && alpha > -INFINITY) {
+        alpha = -INFINITY;
+      } else if (score >= beta && beta < INFINITY) {
+        beta = INFINITY;
+      } else {
+        return score;
+      }
+    }
+  }
+
+  // Searches the root moves with principal variation search and moves the best one to the front
+  private int searchRoot(SearchBoard board, int depth, int alpha, int beta, int[] moves,
+                         int count) {
+    int originalAlpha = alpha;
+    int best = -INFINITY;
+    int bestIndex = 0;
+    for (int i = 0; i < count; i++) {
+      board.makeMove(moves[i]);
+      int score;
+      if (i == 0) {
+        score = -negamax(board, depth - 1, -beta, -alpha, 1);
+      } else {
+        score = -negamax(board, depth - 1, -alpha - 1, -alpha, 1);
+        if (score > alpha && score < beta) {
+          score = -negamax(board, depth - 1, -beta, -alpha, 1);
+        }
+      }
+      board.undoMove();
+      if (score > best) {
+        best = score;
+        bestIndex = i;
+        if (score > alpha) {
+          alpha = score;
+          if (alpha >= beta) {
+            break;
+          }
+        }
+      }
+    }
+
+    int bestMove = moves[bestIndex];
+    System.arraycopy(moves, 0, moves, 1, bestIndex);
+    moves[0] = bestMove;
+    int bound = best <= originalAlpha ? TranspositionTable.UPPER
+            : best >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+    table.store(board.getHash(), depth, best, bound, bestMove);
+    return best;
+  }
+
+  // Copies and orders the root moves into the buffer of ply 0
+  private int[] prepareRoot(SearchBoard board, int depth, int[] rootMoves, int rootCount) {
+    prepare(board, depth);
+    int[] moves = moveBuffers[0];
+    System.arraycopy(rootMoves, 0, moves, 0, rootCount);
+    int slot = table.find(board.getHash());
+    orderer.order(board, moves, rootCount, 0, slot >= 0 ? table.getBestMove(slot) : -1);
+    return moves;
+  }
+
+  private boolean isEndgame(SearchBoard board) {
+    return board.getEmptyCount() <= getEndgameEmpties(board.getGeometry());
+  }
+
+  // Adds a result to a best-first list that is kept to at most limit entries
+  private static void insert(List<SearchResult> best, SearchResult result, int limit) {
+    int position = best.size();
+    while (position > 0 && best.get(position - 1).getScore() < result.getScore()) {
+      position--;
+    }
+    if (position < limit) {
+      best.add(position, result);
+      if (best.size() > limit) {
+        best.remove(limit);
+      }
+    }
+  }
+
+  private void prepare(SearchBoard board, int depth) {
+    BoardGeometry geometry = board.getGeometry();
+    if (geometry != tableGeometry) {
+      // cell indices mean different cells on another board, so old entries are useless
+      table.clear();
+      tableGeometry = geometry;
+    }
+    // a pass does not use up depth, but two passes in a row end the game
+    int plies = depth * 2 + 2;
+    int cells = geometry.getCellCount();
+    if (moveBuffers.length < plies || moveBuffers[0].length < cells) {
+      moveBuffers = new int[plies][cells];
+    }
+    orderer.startSearch(geometry, plies);
+  }
+}
@@ -0,0 +1,64 @@
+package strategy;
+
+/**
+ * The SearchResult class holds the outcome of a search: the best move found, its score and how
+ * much work the search did to find it.
+ */
+public final class SearchResult {
+
+  private final int bestMove;
+  private final int score;
+  private final int depth;
+  private final long nodes;
+
+  /**
+   * Constructs a search result.
+   *
+   * @param bestMove The cell index of the best move, or -1 if the player has to pass.
+   * @param score    The score of the best move for the player to move.
+   * @param depth    The depth the search reached.
+   * @param nodes    The number of positions visited.
+   */
+  public SearchResult(int bestMove, int score, int depth, long nodes) {
+    this.bestMove = bestMove;
+    this.score = score;
+    this.depth = depth;
+    this.nodes = nodes;
+  }
+
+  /**
+   * Gets the cell index of the best move.
+   *
+   * @return The best move, or -1 if the player has to pass.
+   */
+  public int getBestMove() {
+    return bestMove;
+  }
+
+  /**
+   * Gets the score of the best move for the player to move.
+   *
+   * @return The score.
+   */
+  public int getScore() {
+    return score;
+  }
+
+  /**
+   * Gets the depth the search reached.
+   *
+   * @return The depth in plies.
+   */
+  public int getDepth() {
+    return depth;
+  }
+
+  /**
+   * Gets the number of positions visited.
+   *
+   * @return The node count.
+   */
+  public long getNodes() {
+    return nodes;
+  }
+}
@@ -0,0 +1,83 @@
+package strategy;
+
+/**
+ * The SearchStatistics class holds how much work a strategy did for one decision: the positions
+ * it visited, the depth it reached and how often its transposition table had the position it
+ * looked for. A decision that needed no search, such as one answered from a cache, did no work.
+ */
+public final class SearchStatistics {
+
+  /**
+   * The statistics of a decision that searched nothing.
+   */
+  public static final SearchStatistics NONE = new SearchStatistics(0, 0, 0, 0);
+
+  private final long nodes;
+  private final int depth;
+  private final long tableProbes;
+  private final long tableHits;
+
+  /**
+   * Constructs search statistics.
+   *
+   * @param nodes       The number of positions visited.
+   * @param depth       The depth the search reached, in plies.
+   * @param tableProbes The number of transposition table lookups.
+   * @param tableHits   The number of lookups that found their position.
+   * @throws IllegalArgumentException If a count is negative or there are more hits than probes.
+   */
+  public SearchStatistics(long nodes, int depth, long tableProbes, long tableHits) {
+    if (nodes < 0 || depth < 0 || tableProbes < 0 || tableHits < 0) {
+      throw new IllegalArgumentException("Counts cannot be negative");
+    }
+    if (tableHits > tableProbes) {
+      throw new IllegalArgumentException("Hits cannot exceed probes");
+    }
+    this.nodes = nodes;
+    this.depth = depth;
+    this.tableProbes = tableProbes;
+    this.tableHits = tableHits;
+  }
+
+  /**
+   * Gets the number of positions visited.
+   *
+   * @return The node count.
+   */
+  public long getNodes() {
+    return nodes;
+  }
+
+  /**
+   * Gets the depth the search reached.
+   *
+   * @return The depth in plies, 0 if nothing was searched.
+   */
+  public int getDepth() {
+    return depth;
+  }
+
+  /**
+   * Gets the number of transposition table lookups.
+   *
+   * @return The probe count.
+   */
+  public long getTableProbes() {
+    return tableProbes;
+  }
+
+  /**
+   * Gets the number of transposition table lookups that found their position.
+   *
+   * @return The hit count.
+   */
+  public long getTableHits() {
+    return tableHits;
+  }
+
+  @Override
+  public String toString() {
+    return nodes + " nodes to depth " + depth + ", " + tableHits + "/" + tableProbes
+            + " table hits";
+  }
+}
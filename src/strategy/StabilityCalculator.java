@@ -0,0 +1,187 @@
+package strategy;
+
+/**
+ * The StabilityCalculator class finds the stable discs of a position: discs that can never be
+ * flipped again, whatever either player does. A disc is stable when, along every axis of the
+ * board, it cannot be bracketed: its line along that axis is full, it touches the edge of the
+ * board along that axis, or it is next to a stable disc of its own color along that axis.
+ *
+ * <p>Discs satisfying the first two conditions on every axis are found with bit mask operations
+ * over the whole board; stability then floods outwards from them (corners are always among these
+ * seeds) through a work list. All buffers are reused, so a calculator can be called at every leaf
+ * of a search without allocating. A calculator is bound to one geometry and must not be shared
+ * between threads.</p>
+ */
+public final class StabilityCalculator {
+
+  private final BoardGeometry geometry;
+  private final int axes;
+  private final long[][] anchored;
+  private final long[] stable;
+  private final long[] seeds;
+  private final int[] queue;
+  private final int[] stableCount = new int[3];
+
+  /**
+   * Constructs a stability calculator for boards of the given geometry.
+   *
+   * @param geometry The geometry of the boards to analyse.
+   */
+  public StabilityCalculator(BoardGeometry geometry) {
+    this.geometry = geometry;
+    this.axes = geometry.getAxisCount();
+    this.anchored = new long[axes][geometry.getWordCount()];
+    this.stable = new long[geometry.getWordCount()];
+    this.seeds = new long[geometry.getWordCount()];
+    this.queue = new int[geometry.getCellCount()];
+  }
+
+  /**
+   * Gets the geometry this calculator works on.
+   *
+   * @return The geometry.
+   */
+  public BoardGeometry getGeometry() {
+    return geometry;
+  }
+
+  /**
+   * Finds the stable discs of both players. The results are available through
+   * {@link #getStableCount(int)} and {@link #isStable(int)} until the next computation.
+   *
+   * @param board The position to analyse.
+   * @throws IllegalArgumentException If the board has a different geometry.
+   */
+  public void compute(SearchBoard board) {
+    prepare(board);
+    flood(board, SearchBoard.BLACK);
+    flood(board, SearchBoard.WHITE);
+  }
+
+  /**
+   * Counts the stable discs of one player. Only that player's discs are analysed, which is
+   * cheaper than {@link #compute(SearchBoard)}.
+   *
+   * @param board The position to analyse.
+   * @param color The player.
+   * @return The number of stable discs of that player.
+   * @throws IllegalArgumentException If the board has a different geometry.
+   */
+  public int countStable(SearchBoard board, int color) {
+    prepare(board);
+    flood(board, color);
+    return stableCount[color];
+  }
+
+  /**
+   * Gets an upper bound on the final disc differential the player to move can reach: the
+   * opponent keeps at least its stable discs, and the player can at most own everything else.
+   *
+   * @param board The position to analyse.
+   * @return An upper bound on the player to move's final discs minus the opponent's.
+   */
+  public int discDifferenceUpperBound(SearchBoard board) {
+    int opponentStable = countStable(board, SearchBoard.opponent(board.getSideToMove()));
+    return geometry.getCellCount() - 2 * opponentStable;
+  }
+
+  /**
+   * Gets the number of stable discs of a player found by the last computation.
+   *
+   * @param color The player.
+   * @return The number of stable discs.
+   */
+  public int getStableCount(int color) {
+    return stableCount[color];
+  }
+
+  /**
+   * Checks whether a cell held a stable disc in the last computation.
+   *
+   * @param index The cell index.
+   * @return True if the disc on the cell is stable.
+   */
+  public boolean isStable(int index) {
+    return (stable[index >>> 6] & (1L << index)) != 0;
+  }
+
+  private void prepare(SearchBoard board) {
+    if (board.getGeometry() != geometry) {
+      throw new IllegalArgumentException("Board does not match the calculator's geometry");
+    }
+    int words = stable.length;
+    for (int w = 0; w < words; w++) {
+      stable[w] = 0;
+    }
+    stableCount[SearchBoard.BLACK] = 0;
+    stableCount[SearchBoard.WHITE] = 0;
+
+    // cells that cannot be bracketed along an axis whatever their neighbours are
+    for (int axis = 0; axis < axes; axis++) {
+      long[] mask = anchored[axis];
+      System.arraycopy(geometry.axisEdgeMask(axis), 0, mask, 0, words);
+      for (int line = 0; line < geometry.getLineCount(axis); line++) {
+        if (board.isLineFull(axis, line)) {
+          long[] lineMask = geometry.lineMask(axis, line);
+          for (int w = 0; w < words; w++) {
+            mask[w] |= lineMask[w];
+          }
+        }
+      }
+    }
+  }
+
+  private void flood(SearchBoard board, int color) {
+    long[] discs = board.discMask(color);
+    int words = stable.length;
+    for (int w = 0; w < words; w++) {
+      long seed = discs[w];
+      for (int axis = 0; axis < axes; axis++) {
+        seed &= anchored[axis][w];
+      }
+      seeds[w] = seed;
+    }
+
+    int head = 0;
+    int tail = 0;
+    for (int w = 0; w < words; w++) {
+      long bits = seeds[w];
+      while (bits != 0) {
+        int index = (w << 6) + Long.numberOfTrailingZeros(bits);
+        bits &= bits - 1;
+        stable[w] |= 1L << index;
+        queue[tail++] = index;
+      }
+    }
+
+    int directions = geometry.getDirectionCount();
+    while (head < tail) {
+      int index = queue[head++];
+      for (int dir = 0; dir < directions; dir++) {
+        int neighbor = geometry.neighbor(dir, index);
+        if (neighbor >= 0 && board.getCell(neighbor) == color && !isStable(neighbor)
+                && isAnchored(board, neighbor, color)) {
+          stable[neighbor >>> 6] |= 1L << neighbor;
+          queue[tail++] = neighbor;
+        }
+      }
+    }
+    stableCount[color] = tail;
+  }
+
+  private boolean isAnchored(SearchBoard board, int index, int color) {
+    for (int axis = 0; axis < axes; axis++) {
+      if ((anchored[axis][index >>> 6] & (1L << index)) != 0) {
+        continue;
+      }
+      int forward = geometry.neighbor(axis, index);
+      int backward = geometry.neighbor(axis + axes, index);
+      if ((board.getCell(forward) == color && isStable(forward))
+              || (board.getCell(backward) == color && isStable(backward))) {
+        continue;
+      }
+      return false;
+    }
+    return true;
+  }
+}
@@ -0,0 +1,158 @@
+package strategy;
+
+/**
+ * The standard evaluation features of a Reversi position. Features backed by counters that
+ * {@link SearchBoard} maintains incrementally (discs, corners, outer layer) cost O(1); the others
+ * scan the board once.
+ */
+public enum StandardFeature implements EvaluationFeature {
+
+  /**
+   * The player's discs minus the opponent's discs.
+   */
+  DISC_DIFFERENCE {
+    @Override
+    public int compute(SearchBoard board, int player) {
+      return board.getDiscDifference(player);
+    }
+  },
+
+  /**
+   * The player's legal moves minus the opponent's legal moves.
+   */
+  MOBILITY {
+    @Override
+    public int compute(SearchBoard board, int player) {
+      return board.countMoves(player) - board.countMoves(SearchBoard.opponent(player));
+    }
+  },
+
+  /**
+   * Empty cells next to an opponent disc minus empty cells next to one of the player's discs.
+   * These frontier cells are where moves will become available later in the game.
+   */
+  POTENTIAL_MOBILITY {
+    @Override
+    public int compute(SearchBoard board, int player) {
+      BoardGeometry geometry = board.getGeometry();
+      int opponent = SearchBoard.opponent(player);
+      int score = 0;
+      for (int index = 0; index < geometry.getCellCount(); index++) {
+        if (board.getCell(index) != SearchBoard.EMPTY) {
+          continue;
+        }
+        boolean nextToPlayer = false;
+        boolean nextToOpponent = false;
+        for (int dir = 0; dir < geometry.getDirectionCount(); dir++) {
+          int neighbor = geometry.neighbor(dir, index);
+          if (neighbor >= 0) {
+            nextToPlayer |= board.getCell(neighbor) == player;
+            nextToOpponent |= board.getCell(neighbor) == opponent;
+          }
+        }
+        if (nextToOpponent) {
+          score++;
+        }
+        if (nextToPlayer) {
+          score--;
+        }
+      }
+      return score;
+    }
+  },
+
+  /**
+   * Corners owned by the player minus corners owned by the opponent.
+   */
+  CORNERS {
+    @Override
+    public int compute(SearchBoard board, int player) {
+      return board.getCornerCount(player) - board.getCornerCount(SearchBoard.opponent(player));
+    }
+  },
+
+  /**
+   * Outer layer cells other than corners owned by the player minus those owned by the opponent.
+   */
+  EDGES {
+    @Override
+    public int compute(SearchBoard board, int player) {
+      int opponent = SearchBoard.opponent(player);
+      return board.getOuterLayerCount(player) - board.getCornerCount(player)
+              - board.getOuterLayerCount(opponent) + board.getCornerCount(opponent);
+    }
+  },
+
+  /**
+   * Discs of the opponent next to an empty corner minus the player's discs next to an empty
+   * corner. Such discs tend to give the corner away, so a positive value is good.
+   */
+  CORNER_NEIGHBORS {
+    @Override
+    public int compute(SearchBoard board, int player) {
+      BoardGeometry geometry = board.getGeometry();
+      int opponent = SearchBoard.opponent(player);
+      int score = 0;
+      for (int corner : geometry.cornerIndices()) {
+        if (board.getCell(corner) != SearchBoard.EMPTY) {
+          continue;
+        }
+        for (int dir = 0; dir < geometry.getDirectionCount(); dir++) {
+          int neighbor = geometry.neighbor(dir, corner);
+          if (neighbor < 0) {
+            continue;
+          }
+          if (board.getCell(neighbor) == opponent) {
+            score++;
+          } else if (board.getCell(neighbor) == player) {
+            score--;
+          }
+        }
+      }
+      return score;
+    }
+  },
+
+  /**
+   * The player's stable discs minus the opponent's stable discs, as found by
+   * {@link StabilityCalculator}.
+   */
+  STABILITY {
+    @Override
+    public int compute(SearchBoard board, int player) {
+      StabilityCalculator calculator = CALCULATORS.get();
+      if (calculator == null || calculator.getGeometry() != board.getGeometry()) {
+        calculator = new StabilityCalculator(board.getGeometry());
+        CALCULATORS.set(calculator);
+      }
+      calculator.compute(board);
+      return calculator.getStableCount(player)
+              - calculator.getStableCount(SearchBoard.opponent(player));
+    }
+  };
+
+  // calculators keep scratch buffers, so each search thread gets its own
+  private static final ThreadLocal<StabilityCalculator> CALCULATORS = new ThreadLocal<>();
+
+  @Override
+  public String getName() {
+    return name();
+  }
+
+  /**
+   * Finds a standard feature by name, ignoring case and treating '-' like '_'.
+   *
+   * @param name The feature name.
+   * @return The feature.
+   * @throws IllegalArgumentException If no feature has that name.
+   */
+  public static StandardFeature byName(String name) {
+    String normalized = name.trim().toUpperCase().replace('-', '_');
+    for (StandardFeature feature : values()) {
+      if (feature.name().equals(normalized)) {
+        return feature;
+      }
+    }
+    throw new IllegalArgumentException("Unknown evaluation feature: " + name);
+  }
+}
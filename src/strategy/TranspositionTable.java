@@ -0,0 +1,172 @@
+package strategy;
+
+import java.util.Arrays;
+
+/**
+ * The TranspositionTable class remembers the results of positions already searched, keyed by
+ * their {@link SearchBoard#getHash() hash}. The table has a fixed, power of two number of slots
+ * stored in parallel primitive arrays, so storing and probing never allocate. When two positions
+ * map to the same slot the deeper result is kept.
+ *
+ * <p>A table must not be used by two threads at the same time.</p>
+ */
+public final class TranspositionTable {
+
+  /**
+   * Bound type of a score that is exact.
+   */
+  public static final int EXACT = 0;
+
+  /**
+   * Bound type of a score that is a lower bound (the search failed high).
+   */
+  public static final int LOWER = 1;
+
+  /**
+   * Bound type of a score that is an upper bound (the search failed low).
+   */
+  public static final int UPPER = 2;
+
+  private final int mask;
+  private final long[] keys;
+  private final int[] scores;
+  private final short[] moves;
+  // depth + 1, so that 0 marks an unused slot
+  private final short[] depths;
+  private final byte[] bounds;
+  private long probes;
+  private long hits;
+
+  /**
+   * Constructs an empty table.
+   *
+   * @param bits The base 2 logarithm of the number of slots, between 1 and 28.
+   * @throws IllegalArgumentException If the size is out of range.
+   */
+  public TranspositionTable(int bits) {
+    if (bits < 1 || bits > 28) {
+      throw new IllegalArgumentException("Table size must be between 2^1 and 2^28 slots");
+    }
+    int size = 1 << bits;
+    this.mask = size - 1;
+    this.keys = new long[size];
+    this.scores = new int[size];
+    this.moves = new short[size];
+    this.depths = new short[size];
+    this.bounds = new byte[size];
+  }
+
+  /**
+   * Gets the number of slots of the table.
+   *
+   * @return The table size.
+   */
+  public int size() {
+    return keys.length;
+  }
+
+  /**
+   * Looks up a position.
+   *
+   * @param hash The position hash.
+   * @return The slot holding the position, or -1 if it is not in the table.
+   */
+  public int find(long hash) {
+    probes++;
+    int slot = (int) (hash ^ (hash >>> 32)) & mask;
+    if (depths[slot] != 0 && keys[slot] == hash) {
+      hits++;
+      return slot;
+    }
+    return -1;
+  }
+
+  /**
+   * Gets the depth the position in a slot was searched to.
+   *
+   * @param slot A slot returned by {@link #find(long)}.
+   * @return The depth.
+   */
+  public int getDepth(int slot) {
+    return depths[slot] - 1;
+  }
+
+  /**
+   * Gets the score of the position in a slot.
+   *
+   * @param slot A slot returned by {@link #find(long)}.
+   * @return The score.
+   */
+  public int getScore(int slot) {
+    return scores[slot];
+  }
+
+  /**
+   * Gets the bound type of the score of the position in a slot.
+   *
+   * @param slot A slot returned by {@link #find(long)}.
+   * @return {@link #EXACT}, {@link #LOWER} or {@link #UPPER}.
+   */
+  public int getBound(int slot) {
+    return bounds[slot];
+  }
+
+  /**
+   * Gets the best move found for the position in a slot.
+   *
+   * @param slot A slot returned by {@link #find(long)}.
+   * @return The cell index of the move, or -1 if none is known.
+   */
+  public int getBestMove(int slot) {
+    return moves[slot];
+  }
+
+  /**
+   * Stores the result of a search. An entry for another position is only replaced if it was not
+   * searched deeper.
+   *
+   * @param hash     The position hash.
+   * @param depth    The depth the position was searched to.
+   * @param score    The score found.
+   * @param bound    The bound type of the score.
+   * @param bestMove The best move found, or -1 if none.
+   */
+  public void store(long hash, int depth, int score, int bound, int bestMove) {
+    int slot = (int) (hash ^ (hash >>> 32)) & mask;
+    if (depths[slot] != 0 && keys[slot] != hash && depths[slot] - 1 > depth) {
+      return;
+    }
+    keys[slot] = hash;
+    scores[slot] = score;
+    moves[slot] = (short) bestMove;
+    depths[slot] = (short) (depth + 1);
+    bounds[slot] = (byte) bound;
+  }
+
+  /**
+   * Removes every entry and resets the statistics.
+   */
+  public void clear() {
+    Arrays.fill(depths, (short) 0);
+    probes = 0;
+    hits = 0;
+  }
+
+  /**
+   * Gets the number of lookups since the table was created or cleared.
+   *
+   * @return The number of probes.
+   */
+  public long getProbes() {
+    return probes;
+  }
+
+  /**
+   * Gets the number of successful lookups since the table was created or cleared.
+   *
+   * @return The number of hits.
+   */
+  public long getHits() {
+    return hits;
+  }
+}
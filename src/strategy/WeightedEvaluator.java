@@ -0,0 +1,145 @@
+package strategy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The WeightedEvaluator class scores a position as a weighted linear combination of
+ * {@link EvaluationFeature}s. Weights can be given in code or loaded from a text file with one
+ * {@code FEATURE = weight} entry per line, where blank lines and lines starting with '#' are
+ * ignored, for example:
+ *
+ * <pre>
+ * # corners are worth far more than anything else
+ * CORNERS = 60
+ * MOBILITY = 8
+ * </pre>
+ */
+public final class WeightedEvaluator implements Evaluator {
+
+  private final EvaluationFeature[] features;
+  private final int[] weights;
+
+  /**
+   * Constructs an evaluator from features and their weights. Features with a weight of zero are
+   * dropped so they cost nothing at evaluation time.
+   *
+   * @param weightedFeatures The features and their weights, evaluated in iteration order.
+   * @throws IllegalArgumentException If the map is null.
+   */
+  public WeightedEvaluator(Map<? extends EvaluationFeature, Integer> weightedFeatures) {
+    if (weightedFeatures == null) {
+      throw new IllegalArgumentException("Features cannot be null");
+    }
+    int used = 0;
+    for (Integer weight : weightedFeatures.values()) {
+      if (weight != 0) {
+        used++;
+      }
+    }
+    this.features = new EvaluationFeature[used];
+    this.weights = new int[used];
+    int i = 0;
+    for (Map.Entry<? extends EvaluationFeature, Integer> entry : weightedFeatures.entrySet()) {
+      if (entry.getValue() != 0) {
+        features[i] = entry.getKey();
+        weights[i] = entry.getValue();
+        i++;
+      }
+    }
+  }
+
+  /**
+   * Creates an evaluator with the default hand tuned weights.
+   *
+   * @return The default evaluator.
+   */
+  public static WeightedEvaluator standard() {
+    Map<StandardFeature, Integer> weights = new LinkedHashMap<>();
+    weights.put(StandardFeature.CORNERS, 80);
+    weights.put(StandardFeature.STABILITY, 20);
+    weights.put(StandardFeature.CORNER_NEIGHBORS, 15);
+    weights.put(StandardFeature.MOBILITY, 8);
+    weights.put(StandardFeature.POTENTIAL_MOBILITY, 3);
+    weights.put(StandardFeature.EDGES, 2);
+    weights.put(StandardFeature.DISC_DIFFERENCE, 1);
+    return new WeightedEvaluator(weights);
+  }
+
+  /**
+   * Loads an evaluator from a weight file.
+   *
+   * @param file The file to read.
+   * @return The evaluator described by the file.
+   * @throws IOException              If the file cannot be read.
+   * @throws IllegalArgumentException If the file is malformed or names an unknown feature.
+   */
+  public static WeightedEvaluator fromFile(Path file) throws IOException {
+    try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      return fromReader(reader);
+    }
+  }
+
+  /**
+   * Loads an evaluator from weight file contents.
+   *
+   * @param reader The source of the weight file.
+   * @return The evaluator described by the contents.
+   * @throws IOException              If reading fails.
+   * @throws IllegalArgumentException If the contents are malformed or name an unknown feature.
+   */
+  public static WeightedEvaluator fromReader(Reader reader) throws IOException {
+    Map<StandardFeature, Integer> weights = new LinkedHashMap<>();
+    BufferedReader lines = new BufferedReader(reader);
+    String line;
+    int lineNumber = 0;
+    while ((line = lines.readLine()) != null) {
+      lineNumber++;
+      line = line.trim();
+      if (line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+      int separator = line.indexOf('=');
+      if (separator < 0) {
+        throw new IllegalArgumentException("Expected FEATURE = weight on line " + lineNumber);
+      }
+      StandardFeature feature = StandardFeature.byName(line.substring(0, separator));
+      try {
+        weights.put(feature, Integer.parseInt(line.substring(separator + 1).trim()));
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid weight on line " + lineNumber);
+      }
+    }
+    return new WeightedEvaluator(weights);
+  }
+
+  /**
+   * Gets the features used by this evaluator and their weights.
+   *
+   * @return An unmodifiable view of the non-zero weights, in evaluation order.
+   */
+  public Map<EvaluationFeature, Integer> getWeights() {
+    Map<EvaluationFeature, Integer> result = new LinkedHashMap<>();
+    for (int i = 0; i < features.length; i++) {
+      result.put(features[i], weights[i]);
+    }
+    return Collections.unmodifiableMap(result);
+  }
+
+  @Override
+  public int evaluate(SearchBoard board) {
+    int player = board.getSideToMove();
+    int score = 0;
+    for (int i = 0; i < features.length; i++) {
+      score += weights[i] * features[i].compute(board, player);
+    }
+    return score;
+  }
+}
@@ -0,0 +1,249 @@
+package view;
+
+import java.io.IOException;
+
+import model.CellType;
+import model.ReadonlyReversiModel;
+
+/**
+ * The BoardTextRenderer class writes the textual board of a game straight to an
+ * {@link Appendable}, such as a log {@link java.io.Writer}, without copying the board or building
+ * the whole text first. Rows are built in one buffer that is reused for every frame.
+ *
+ * <p>The renderer remembers what it last wrote, so that it can write only what has changed since:
+ * the changed rows, for logs, or ANSI cursor moves to just the changed cells, for terminals.</p>
+ */
+public final class BoardTextRenderer {
+
+  /**
+   * The layout of the text.
+   */
+  public enum Layout {
+    /**
+     * The hexagonal layout of {@link ReversiTextualView}, with the lower rows indented and no
+     * line break after the last row.
+     */
+    HEXAGONAL,
+    /**
+     * The square layout of {@link SquareReversiTextualView}, with a line break after every row.
+     */
+    SQUARE
+  }
+
+  /**
+   * Gives what the cells of a board hold.
+   */
+  public interface CellSource {
+
+    /**
+     * Gets what a cell holds.
+     *
+     * @param row    The row of the cell.
+     * @param column The column of the cell.
+     * @return The cell type, or null if there is no cell at that position.
+     */
+    CellType getContent(int row, int column);
+  }
+
+  private static final String ESCAPE = "\u001b[";
+
+  private final CellSource cells;
+  private final Layout layout;
+  private final int boardSize;
+  // the text column of every cell, and what was written there last, null if it is no cell
+  private final int[] columnOf;
+  private final CellType[] shown;
+  private final StringBuilder buffer = new StringBuilder();
+  private boolean framed;
+
+  /**
+   * Constructs a renderer for a model.
+   *
+   * @param model  The model to render.
+   * @param layout The layout of the text.
+   * @throws IllegalArgumentException If the model or the layout is null.
+   */
+  public BoardTextRenderer(ReadonlyReversiModel model, Layout layout) {
+    this(requireModel(model).getBoardSize(), model::getContent, layout);
+  }
+
+  /**
+   * Constructs a renderer for a board whose cells are given by a source other than a model, such
+   * as a copy of the board kept by another thread.
+   *
+   * @param boardSize The number of rows (and columns) of the board.
+   * @param cells     What the cells hold.
+   * @param layout    The layout of the text.
+   * @throws IllegalArgumentException If the size is not positive or the source or the layout is
+   *                                  null.
+   */
+  public BoardTextRenderer(int boardSize, CellSource cells, Layout layout) {
+    if (boardSize < 1) {
+      throw new IllegalArgumentException("Board size must be positive");
+    }
+    if (cells == null || layout == null) {
+      throw new IllegalArgumentException("Cells and layout cannot be null");
+    }
+    this.cells = cells;
+    this.layout = layout;
+    this.boardSize = boardSize;
+    this.columnOf = new int[boardSize * boardSize];
+    this.shown = new CellType[boardSize * boardSize];
+    for (int row = 0; row < boardSize; row++) {
+      int column = indentOf(row);
+      for (int col = 0; col < boardSize; col++) {
+        columnOf[row * boardSize + col] = column;
+        column += cells.getContent(row, col) == null ? 1 : 2;
+      }
+    }
+  }
+
+  private static ReadonlyReversiModel requireModel(ReadonlyReversiModel model) {
+    if (model == null) {
+      throw new IllegalArgumentException("Model cannot be null");
+    }
+    return model;
+  }
+
+  /**
+   * Gets the number of text lines the board takes.
+   *
+   * @return The number of rows.
+   */
+  public int getLineCount() {
+    return boardSize;
+  }
+
+  /**
+   * Writes the whole board, in the same text as the textual views give.
+   *
+   * @param out Where to write the board.
+   * @throws IOException If writing fails.
+   */
+  public void render(Appendable out) throws IOException {
+    for (int row = 0; row < boardSize; row++) {
+      buffer.setLength(0);
+      appendRow(row);
+      appendLineEnd(row);
+      out.append(buffer);
+    }
+    framed = true;
+  }
+
+  /**
+   * Writes only the rows that changed since the board was last written, each on its own line
+   * after its row number, as in {@code "3: _ X O _ "}. The first call writes every row.
+   *
+   * @param out Where to write the rows.
+   * @return The number of rows written.
+   * @throws IOException If writing fails.
+   */
+  public int renderChangedRows(Appendable out) throws IOException {
+    int written = 0;
+    for (int row = 0; row < boardSize; row++) {
+      if (framed && !rowChanged(row)) {
+        continue;
+      }
+      buffer.setLength(0);
+      buffer.append(row).append(": ");
+      appendRow(row);
+      buffer.append('\n');
+      out.append(buffer);
+      written++;
+    }
+    framed = true;
+    return written;
+  }
+
+  /**
+   * Writes a terminal frame with ANSI escape codes. The first frame clears the screen and draws
+   * the whole board; every later one moves the cursor to each cell that changed and redraws only
+   * that cell. The cursor is left on the line below the board.
+   *
+   * @param out Where to write the frame.
+   * @return The number of cells drawn.
+   * @throws IOException If writing fails.
+   */
+  public int renderAnsiDiff(Appendable out) throws IOException {
+    buffer.setLength(0);
+    int drawn = 0;
+    if (!framed) {
+      buffer.append(ESCAPE).append("H").append(ESCAPE).append("2J");
+      for (int row = 0; row < boardSize; row++) {
+        drawn += appendRow(row);
+        buffer.append('\n');
+      }
+      framed = true;
+    } else {
+      for (int row = 0; row < boardSize; row++) {
+        for (int col = 0; col < boardSize; col++) {
+          int index = row * boardSize + col;
+          CellType content = cells.getContent(row, col);
+          if (content != null && content != shown[index]) {
+            moveCursor(row, columnOf[index]);
+            buffer.append(content.toString());
+            shown[index] = content;
+            drawn++;
+          }
+        }
+      }
+      if (drawn == 0) {
+        return 0;
+      }
+      moveCursor(boardSize, 0);
+    }
+    out.append(buffer);
+    return drawn;
+  }
+
+  /**
+   * Forgets what was last written, so that the next frame is written in full.
+   */
+  public void reset() {
+    framed = false;
+  }
+
+  // appends a row to the buffer and remembers its cells as shown, returning the number of cells
+  private int appendRow(int row) {
+    int drawn = 0;
+    for (int i = indentOf(row); i > 0; i--) {
+      buffer.append(' ');
+    }
+    for (int col = 0; col < boardSize; col++) {
+      CellType content = cells.getContent(row, col);
+      shown[row * boardSize + col] = content;
+      if (content == null) {
+        buffer.append(' ');
+      } else {
+        buffer.append(content.toString()).append(' ');
+        drawn++;
+      }
+    }
+    return drawn;
+  }
+
+  private void appendLineEnd(int row) {
+    if (layout == Layout.SQUARE || row != boardSize - 1) {
+      buffer.append('\n');
+    }
+  }
+
+  private boolean rowChanged(int row) {
+    for (int col = 0; col < boardSize; col++) {
+      if (cells.getContent(row, col) != shown[row * boardSize + col]) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private int indentOf(int row) {
+    int middle = (boardSize - 1) / 2;
+    return layout == Layout.HEXAGONAL && row > middle ? row - middle : 0;
+  }
+
+  // ANSI positions count from 1
+  private void moveCursor(int row, int column) {
+    buffer.append(ESCAPE).append(row + 1).append(';').append(column + 1).append('H');
+  }
+}
@@ -0,0 +1,182 @@
+package view;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The GridHitIndex class finds which cell of a board lies under a pixel without scanning every
+ * cell. The area covered by the cells is split into equal buckets, and each cell is listed in the
+ * buckets its bounds overlap, so a lookup only tests the few cells of one bucket. With buckets
+ * about the size of a cell, a lookup takes the same time however large the board is.
+ *
+ * <p>Cells are tested in the order they were added, and the first one that contains the pixel is
+ * found, the same as a scan over the cells in that order would find.</p>
+ *
+ * @param <T> The type of the cells.
+ */
+public final class GridHitIndex<T> {
+
+  /**
+   * Tests whether a cell contains a pixel.
+   *
+   * @param <T> The type of the cells.
+   */
+  public interface HitTest<T> {
+
+    /**
+     * Checks whether the cell contains the pixel.
+     *
+     * @param cell The cell.
+     * @param x    The x position of the pixel.
+     * @param y    The y position of the pixel.
+     * @return True if the pixel is on the cell.
+     */
+    boolean contains(T cell, double x, double y);
+  }
+
+  private static final Object[] NO_CELLS = new Object[0];
+
+  private final int bucketWidth;
+  private final int bucketHeight;
+  private final HitTest<T> hitTest;
+  private final List<T> cells = new ArrayList<>();
+  private final List<Rectangle> bounds = new ArrayList<>();
+
+  // built from the cells on the first lookup after a change
+  private Object[][] buckets;
+  private int originX;
+  private int originY;
+  private int columns;
+  private int rows;
+
+  /**
+   * Constructs an empty index.
+   *
+   * @param bucketWidth  The width of a bucket in pixels, best about the width of a cell.
+   * @param bucketHeight The height of a bucket in pixels, best about the height of a cell.
+   * @param hitTest      The test of whether a cell contains a pixel.
+   * @throws IllegalArgumentException If a bucket size is not positive or the test is null.
+   */
+  public GridHitIndex(int bucketWidth, int bucketHeight, HitTest<T> hitTest) {
+    if (bucketWidth <= 0 || bucketHeight <= 0) {
+      throw new IllegalArgumentException("Bucket size must be positive");
+    }
+    if (hitTest == null) {
+      throw new IllegalArgumentException("Hit test cannot be null");
+    }
+    this.bucketWidth = bucketWidth;
+    this.bucketHeight = bucketHeight;
+    this.hitTest = hitTest;
+  }
+
+  /**
+   * Adds a cell to the index.
+   *
+   * @param cell       The cell.
+   * @param cellBounds A rectangle that holds every pixel the hit test accepts for the cell.
+   * @throws IllegalArgumentException If the cell or its bounds are null.
+   */
+  public void add(T cell, Rectangle cellBounds) {
+    if (cell == null || cellBounds == null) {
+      throw new IllegalArgumentException("Cell and bounds cannot be null");
+    }
+    cells.add(cell);
+    bounds.add(new Rectangle(cellBounds));
+    buckets = null;
+  }
+
+  /**
+   * Removes every cell from the index.
+   */
+  public void clear() {
+    cells.clear();
+    bounds.clear();
+    buckets = null;
+  }
+
+  /**
+   * Gets the number of cells in the index.
+   *
+   * @return The number of cells.
+   */
+  public int size() {
+    return cells.size();
+  }
+
+  /**
+   * Finds the cell under a pixel.
+   *
+   * @param x The x position of the pixel.
+   * @param y The y position of the pixel.
+   * @return The first added cell that contains the pixel, or null if there is none.
+   */
+  @SuppressWarnings("unchecked")
+  public T find(double x, double y) {
+    if (buckets == null) {
+      build();
+    }
+    int column = (int) Math.floor((x - originX) / bucketWidth);
+    int row = (int) Math.floor((y - originY) / bucketHeight);
+    if (column < 0 || row < 0 || column >= columns || row >= rows) {
+      return null;
+    }
+    // each bucket lists its cells in the order they were added
+    for (Object cell : buckets[row * columns + column]) {
+      if (hitTest.contains((T) cell, x, y)) {
+        return (T) cell;
+      }
+    }
+    return null;
+  }
+
+  private void build() {
+    if (cells.isEmpty()) {
+      buckets = new Object[0][];
+      columns = 0;
+      rows = 0;
+      return;
+    }
+    Rectangle area = new Rectangle(bounds.get(0));
+    for (Rectangle cellBounds : bounds) {
+      area.add(cellBounds);
+    }
+    originX = area.x;
+    originY = area.y;
+    columns = Math.max(1, (area.width + bucketWidth - 1) / bucketWidth);
+    rows = Math.max(1, (area.height + bucketHeight - 1) / bucketHeight);
+
+    int[] counts = new int[columns * rows];
+    forEachBucket((bucket, index) -> counts[bucket]++);
+    Object[][] built = new Object[columns * rows][];
+    for (int i = 0; i < built.length; i++) {
+      built[i] = counts[i] == 0 ? NO_CELLS : new Object[counts[i]];
+    }
+    Arrays.fill(counts, 0);
+    forEachBucket((bucket, index) -> built[bucket][counts[bucket]++] = cells.get(index));
+    buckets = built;
+  }
+
+  private interface BucketVisitor {
+    void visit(int bucket, int cellIndex);
+  }
+
+  // visits every bucket each cell overlaps, cells in the order they were added
+  private void forEachBucket(BucketVisitor visitor) {
+    for (int i = 0; i < cells.size(); i++) {
+      Rectangle cellBounds = bounds.get(i);
+      int firstColumn = (cellBounds.x - originX) / bucketWidth;
+      int lastColumn = Math.min(columns - 1,
+              (cellBounds.x + cellBounds.width - originX) / bucketWidth);
+      int firstRow = (cellBounds.y - originY) / bucketHeight;
+      int lastRow = Math.min(rows - 1,
+              (cellBounds.y + cellBounds.height - originY) / bucketHeight);
+      for (int row = firstRow; row <= lastRow; row++) {
+        for (int column = firstColumn; column <= lastColumn; column++) {
+          visitor.visit(row * columns + column, i);
+        }
+      }
+    }
+  }
+}
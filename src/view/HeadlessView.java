@@ -0,0 +1,73 @@
+package view;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import controller.PlayerActionFeatures;
+
+/**
+ * The HeadlessView class is a view without a window, for running games where there is no
+ * display, such as tests and batch games. It only counts how often it was asked to update, and
+ * lets a caller act for the human at the board with {@link #chooseMove(int, int)} and
+ * {@link #choosePass()}.
+ */
+public class HeadlessView implements IReversiView {
+
+  private final List<PlayerActionFeatures> listeners = new ArrayList<>();
+  private boolean visible;
+  private int updates;
+
+  @Override
+  public void setVisible(boolean set) {
+    this.visible = set;
+  }
+
+  @Override
+  public void updateView() {
+    updates++;
+  }
+
+  @Override
+  public void addPlayerActionListener(PlayerActionFeatures listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * Plays a move as if it was clicked on the board.
+   *
+   * @param row    The row of the move.
+   * @param column The column of the move.
+   */
+  public void chooseMove(int row, int column) {
+    for (PlayerActionFeatures listener : listeners) {
+      listener.handleMoveChosen(row, column);
+    }
+  }
+
+  /**
+   * Passes as if the pass key was pressed.
+   */
+  public void choosePass() {
+    for (PlayerActionFeatures listener : listeners) {
+      listener.handlePassChosen();
+    }
+  }
+
+  /**
+   * Checks whether the view was made visible.
+   *
+   * @return True if the last call to {@link #setVisible(boolean)} made it visible.
+   */
+  public boolean isVisible() {
+    return visible;
+  }
+
+  /**
+   * Gets the number of times the view was asked to update.
+   *
+   * @return The number of updates.
+   */
+  public int getUpdateCount() {
+    return updates;
+  }
+}
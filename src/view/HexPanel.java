@@ -3,12 +3,15 @@ package view;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Map;
 
 import javax.swing.JPanel;
 
@@ -16,7 +19,7 @@ import model.CellType;
 import model.Coordinate;
 import model.ICoordinate;
 import model.ReadonlyReversiModel;
-import strategy.CaptureMost;
+import profiling.RepaintEvent;
 
 /**
  * The HexPanel class represents a panel containing hexagonal cells to visualize the Reversi game
@@ -25,59 +28,177 @@ import strategy.CaptureMost;
  */
 public class HexPanel extends JPanel {
 
+  // how far and for how many moves the hint overlay searches
+  private static final int HINT_DEPTH = 3;
+  private static final int HINT_MOVES = 3;
+  private static final int HEXAGON_WIDTH = 30;
 
   private HashMap<ICoordinate, CellType> board;
   private ArrayList<HexagonCell> allHexagons;
+  private final Map<Coordinate, HexagonCell> hexagonsByCoordinate = new HashMap<>();
+  private final GridHitIndex<HexagonCell> hitIndex =
+          new GridHitIndex<>(HEXAGON_WIDTH * 2, HEXAGON_WIDTH * 2, HexagonCell::isMouseClick);
   private HexagonCell hexagonClicked;
 
   private ReadonlyReversiModel model;
 
   private Coordinate hexagonClickedLogicalCoordinate;
 
+  // the drawn grid, so that a change repaints only the cells it touched
+  private BufferedImage gridImage;
+  private boolean gridStale = true;
+
+  private boolean hintsOn;
+  private final HintService hintService;
+
   /**
-   * Constructs a HexPanel with the specified Reversi game model.
+   * Constructs a HexPanel with the specified Reversi game model. Its hints are worked out on a
+   * background thread.
    *
    * @param model The ReadonlyReversiModel to visualize.
    */
   public HexPanel(ReadonlyReversiModel model) {
+    this(model, HintService.forSwing(HINT_DEPTH, HINT_MOVES));
+  }
+
+  /**
+   * Constructs a HexPanel with the specified Reversi game model and the service that works out
+   * its hints.
+   *
+   * @param model       The ReadonlyReversiModel to visualize.
+   * @param hintService The service that works out the hints, delivering them on the thread that
+   *                    updates this panel.
+   */
+  public HexPanel(ReadonlyReversiModel model, HintService hintService) {
     super();
 
 
     this.model = model;
+    this.hintService = hintService;
     this.board = model.getGameBoard();
     this.setBackground(Color.DARK_GRAY);
     allHexagons = createListOfHexagons(board);
+    for (HexagonCell hex : allHexagons) {
+      hexagonsByCoordinate.put(hex.getCoordinate(), hex);
+      hitIndex.add(hex, hex.getCellBounds());
+    }
 
 
 
 
     addMouseListener(new MyMouseListener());
+    requestHints();
 
   }
 
   /**
-   * Updates the hexagon grid based on the updated game board.
+   * Updates the hexagon grid based on the updated game board. The cells are kept and only what
+   * they hold is changed.
    */
   public void updateHexagonGrid() {
     //Get updated board
     board = model.getGameBoard();
 
-    ArrayList<HexagonCell> updatedHexagons = createListOfHexagons(board);
-    allHexagons.clear();
-    allHexagons.addAll(updatedHexagons);
-    repaint();
+    for (HexagonCell hex : this.allHexagons) {
+      hex.setCellType(board.get(hex.getCoordinate()));
+    }
+    requestHints();
+    repaintGrid();
   }
 
-
+  /**
+   * Updates only the given cells of the hexagon grid, reading what they hold from the model.
+   * Cells that are not on the board are ignored. Only the area of those cells is repainted;
+   * the hints of the new position follow once they are worked out.
+   *
+   * @param changedCells The cells that changed.
+   */
+  public void updateCells(Collection<? extends ICoordinate> changedCells) {
+    for (ICoordinate changed : changedCells) {
+      HexagonCell hex = hexagonsByCoordinate.get(
+              new Coordinate(changed.getCol(), changed.getRow()));
+      if (hex != null) {
+        CellType content = model.getContent(changed.getRow(), changed.getCol());
+        board.put(hex.getCoordinate(), content);
+        hex.setCellType(content);
+        repaintCell(hex);
+      }
+    }
+    requestHints();
+  }
 
   /**
-   * toggle the hints needed.
+   * toggle the hints needed. Besides the flip count of the selected cell, the best few moves of
+   * the player to move are marked with their search scores.
    *
    */
   public void toggleHint() {
+    hintsOn = !hintsOn;
     for (HexagonCell hex : this.allHexagons) {
       hex.toggleHint();
     }
+    if (hintsOn) {
+      requestHints();
+    }
+    repaintGrid();
+  }
+
+  // the whole grid image is redrawn at the next paint
+  private void repaintGrid() {
+    gridStale = true;
+    repaint();
+  }
+
+  // draws one cell into the grid image and repaints only its area
+  private void repaintCell(HexagonCell hex) {
+    if (gridImage == null || gridStale) {
+      repaint();
+      return;
+    }
+    Graphics2D g2d = gridImage.createGraphics();
+    try {
+      hex.draw(g2d);
+    } finally {
+      g2d.dispose();
+    }
+    repaint(hex.getCellBounds());
+  }
+
+  // clicks the cell and repaints it
+  private void toggleSelection(HexagonCell hex) {
+    hex.click();
+    repaintCell(hex);
+  }
+
+  /**
+   * Gets the number of discs the hints say a move would flip, for testing.
+   *
+   * @param row    The row of the move.
+   * @param column The column of the move.
+   * @return The number of discs, or -1 if the hints of the shown position are not ready.
+   */
+  public int getHintedFlips(int row, int column) {
+    HintService.Hints hints = hintService.getHints(model.getBoardVersion());
+    return hints == null ? -1 : hints.getFlips(new Coordinate(column, row));
+  }
+
+  // flip counts are always worked out, search scores only while they are shown
+  private void requestHints() {
+    hintService.request(model, hintsOn, this::showHints);
+  }
+
+  private void showHints(HintService.Hints hints) {
+    if (hints.getBoardVersion() != model.getBoardVersion()) {
+      // the board has changed since; the hints for it are on their way
+      return;
+    }
+    for (HexagonCell hex : this.allHexagons) {
+      hex.setFlipped(hints.getFlips(hex.getCoordinate()));
+      hex.setSearchHint(hints.getSearchScore(hex.getCoordinate()));
+    }
+    if (hintsOn) {
+      repaintGrid();
+    }
   }
 
 
@@ -92,72 +213,39 @@ public class HexPanel extends JPanel {
       int mouseY = e.getY();
 
 
-      boolean clickedOutside = true;
-
-
       // Check if the click is within any hexagon
-      for (HexagonCell hexagonCell : allHexagons) {
-        if (hexagonCell.isMouseClick(new Point2D.Double(mouseX, mouseY))) {
+      HexagonCell hexagonCell = hitIndex.find(mouseX, mouseY);
+      if (hexagonCell != null) {
 
+        // Print the logical coordinates of the clicked hexagon
+        Coordinate coordinate = hexagonCell.getCoordinate();
+        hexagonClickedLogicalCoordinate = coordinate;
 
-          // Print the logical coordinates of the clicked hexagon
-          Coordinate coordinate = hexagonCell.getCoordinate();
-          hexagonClickedLogicalCoordinate = coordinate;
 
+        if (!hexagonCell.getClicked()) {
+          System.out.println("Hexagon clicked at logical coordinates: Column: "
+                  + coordinate.getCol() + " Row: " + coordinate.getRow());
 
-          if (!hexagonCell.getClicked()) {
-            System.out.println("Hexagon clicked at logical coordinates: Column: "
-                    + coordinate.getCol() + " Row: " + coordinate.getRow());
-
-            hexagonCell.click();
-            if (hexagonClicked != null) {
-              hexagonClicked.click();
-            }
-            hexagonClicked = hexagonCell;
-          } else {
-            hexagonCell.click();
-            int i = new CaptureMost().getScore(hexagonCell.getCoordinate(), model);
-            System.out.println(i);
-            hexagonCell.setFlipped(i);
-            hexagonClicked = null;
+          toggleSelection(hexagonCell);
+          if (hexagonClicked != null) {
+            toggleSelection(hexagonClicked);
           }
-
-
-          // Optionally, you can perform additional actions here
-          break; // Stop checking once a hexagon is clicked
-        }
-
-      }
-
-      // Check if the click is within any hexagon
-      for (HexagonCell hexagonCell : allHexagons) {
-        if (hexagonCell.isMouseClick(new Point2D.Double(mouseX, mouseY))) {
-
-          clickedOutside = false;
-
-
-        }
-
-
-      }
-
-
-      if (clickedOutside) {
-
-        for (HexagonCell hexagonCell : allHexagons) {
-          if (hexagonCell.getClicked()) {
-
-            hexagonCell.click();
-            hexagonClicked = null;
-
-
+          hexagonClicked = hexagonCell;
+        } else {
+          HintService.Hints hints = hintService.getHints(model.getBoardVersion());
+          if (hints != null) {
+            System.out.println(hints.getFlips(coordinate));
           }
-
-
+          toggleSelection(hexagonCell);
+          hexagonClicked = null;
         }
+      } else if (hexagonClicked != null) {
+        // only the selected hexagon can be clicked, so a click outside clears it
+        if (hexagonClicked.getClicked()) {
+          toggleSelection(hexagonClicked);
+        }
+        hexagonClicked = null;
       }
-
-      repaint();
     }
 
   }
@@ -169,15 +257,35 @@ public class HexPanel extends JPanel {
    * @return the hexagon on which the mouse is.
    */
   public Coordinate handleMouseRelease(int mouseX, int mouseY) {
-    for (HexagonCell hexagonCell : allHexagons) {
-      if (hexagonCell.isMouseClick(new Point2D.Double(mouseX, mouseY))) {
-        return hexagonCell.getCoordinate();
-      }
-    }
-    return null;
+    HexagonCell hexagonCell = hitIndex.find(mouseX, mouseY);
+    return hexagonCell == null ? null : hexagonCell.getCoordinate();
   }
 
 
+  /**
+   * Gets the area a hexagon covers on the panel.
+   *
+   * @param row    The row of the hexagon.
+   * @param column The column of the hexagon.
+   * @return The bounds of the hexagon, or null if there is no hexagon there.
+   */
+  public Rectangle getCellBounds(int row, int column) {
+    HexagonCell hex = hexagonsByCoordinate.get(new Coordinate(column, row));
+    return hex == null ? null : hex.getCellBounds();
+  }
+
+  /**
+   * Gets what a hexagon currently shows, for testing.
+   *
+   * @param row    The row of the hexagon.
+   * @param column The column of the hexagon.
+   * @return The shown cell type, or null if there is no hexagon there.
+   */
+  public CellType getDisplayedContent(int row, int column) {
+    HexagonCell hex = hexagonsByCoordinate.get(new Coordinate(column, row));
+    return hex == null ? null : hex.getCellType();
+  }
+
   /**
    * Gets the logical coordinates of the hexagon that was clicked.
    *
@@ -230,9 +338,9 @@ public class HexPanel extends JPanel {
         if (boardCell != null) {
           HexagonCell hexagonCell;
           if (row != givenBoardSize / 2) {
-            hexagonCell = new HexagonCell(row, col, 30, gap, boardCell);
+            hexagonCell = new HexagonCell(row, col, HEXAGON_WIDTH, gap, boardCell);
           } else {
-            hexagonCell = new HexagonCell(row, col, 30, 0, boardCell);
+            hexagonCell = new HexagonCell(row, col, HEXAGON_WIDTH, 0, boardCell);
             gap = 0;
           }
           hexagonList.add(hexagonCell);
@@ -252,31 +360,33 @@ public class HexPanel extends JPanel {
 
   @Override
   public void paintComponent(Graphics g) {
-
-
-
+    RepaintEvent event = new RepaintEvent();
+    event.begin();
     super.paintComponent(g);
-    Graphics2D g2d = (Graphics2D) g;
-
-
-    // Determine the board size based on the provided board's coordinates
-    int givenBoardSize = 0;
-
-    for (ICoordinate key : board.keySet()) {
-
-      if (key.getRow() > givenBoardSize) {
-        givenBoardSize = key.getRow();
-      }
+    if (getWidth() <= 0 || getHeight() <= 0) {
+      return;
     }
-
-
-    for (HexagonCell hexagonCell : allHexagons) {
-
-      hexagonCell.draw(g2d);
+    int drawn = 0;
+    if (gridImage == null || gridImage.getWidth() != getWidth()
+            || gridImage.getHeight() != getHeight()) {
+      gridImage = new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_RGB);
+      gridStale = true;
     }
-
-
+    if (gridStale) {
+      Graphics2D g2d = gridImage.createGraphics();
+      try {
+        g2d.setColor(getBackground());
+        g2d.fillRect(0, 0, getWidth(), getHeight());
+        for (HexagonCell hexagonCell : allHexagons) {
+          hexagonCell.draw(g2d);
+        }
+        drawn = allHexagons.size();
+      } finally {
+        g2d.dispose();
+      }
+      gridStale = false;
+    }
+    g.drawImage(gridImage, 0, 0, null);
+    event.commit(this, model.getBoardSize(), drawn, getWidth(), getHeight());
   }
-
-
 }
@@ -5,6 +5,8 @@ import javax.swing.JPanel;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Polygon;
+import java.awt.Rectangle;
 import java.awt.geom.Point2D;
 import java.util.Objects;
 
@@ -24,16 +26,19 @@ public class HexagonCell extends JPanel {
 
 
   private final int width;
-  private final CellType cellType;
+  private CellType cellType;
   private final int halfWidth;
   private final int[] xPoints;
   private final int[] yPoints;
+  private final Polygon polygon;
+  private final Rectangle cellBounds;
   private final int initialYCoordinate;
   private final int initialXCoordinate;
   public boolean mouseClick;
 
   private boolean hintsOn;
   private int flipped;
+  private String searchHint;
 
   /**
    * Constructs a HexagonCell with the specified row, column, width, gap, and cell type.
@@ -68,6 +73,11 @@ public class HexagonCell extends JPanel {
                              + width + width,
                              initialYCoordinate + width / 2 + width, initialYCoordinate
                              + width / 2};
+    this.polygon = new Polygon(xPoints, yPoints, 6);
+    // the outline is drawn one pixel past the polygon
+    Rectangle outline = polygon.getBounds();
+    outline.grow(1, 1);
+    this.cellBounds = outline;
   }
 
   /**
@@ -88,14 +98,19 @@ public class HexagonCell extends JPanel {
     }
 
 
-    g2d.fillPolygon(xPoints, yPoints, 6);
+    g2d.fill(polygon);
     g2d.setColor(Color.black);
-    g2d.drawPolygon(xPoints, yPoints, 6);
+    g2d.draw(polygon);
     if (hintsOn && mouseClick) {
       g2d.setColor(RED);
       g2d.drawString(Integer.toString(flipped),
               initialXCoordinate - halfWidth / 2, initialYCoordinate + halfWidth / 2);
     }
+    if (hintsOn && searchHint != null) {
+      g2d.setColor(Color.BLUE);
+      g2d.drawString(searchHint, initialXCoordinate - halfWidth / 2,
+              initialYCoordinate + width + width / 2);
+    }
     // render the disc
     if (cellType.equals(CellType.BLACK)) {
       g2d.setColor(Color.BLACK);
@@ -115,6 +130,16 @@ public class HexagonCell extends JPanel {
   }
 
 
+  /**
+   * Gets the area the hexagon paints, including its outline, so that only that area needs to
+   * be repainted when the cell changes.
+   *
+   * @return A copy of the bounds of the cell, in panel pixels.
+   */
+  public Rectangle getCellBounds() {
+    return new Rectangle(cellBounds);
+  }
+
   /**
    * Checks if a given point is within the bounds of the hexagon, indicating a mouse click.
    *
@@ -122,11 +147,22 @@ public class HexagonCell extends JPanel {
    * @return True if the mouse click is within the hexagon; false otherwise.
    */
   public boolean isMouseClick(Point2D mouseLocation) {
+    return isMouseClick(mouseLocation.getX(), mouseLocation.getY());
+  }
+
+  /**
+   * Checks if a given pixel is within the bounds of the hexagon, indicating a mouse click.
+   *
+   * @param x The x position of the mouse click.
+   * @param y The y position of the mouse click.
+   * @return True if the mouse click is within the hexagon; false otherwise.
+   */
+  public boolean isMouseClick(double x, double y) {
     // minus to prevent click two tiles at the same time
-    return mouseLocation.getX() > initialXCoordinate - halfWidth - 1
-            && mouseLocation.getX() < initialXCoordinate + halfWidth
-            && mouseLocation.getY() > initialYCoordinate - 1
-            && mouseLocation.getY() < initialYCoordinate + width + width;
+    return x > initialXCoordinate - halfWidth - 1
+            && x < initialXCoordinate + halfWidth
+            && y > initialYCoordinate - 1
+            && y < initialYCoordinate + width + width;
   }
 
   /**
@@ -161,4 +197,31 @@ public class HexagonCell extends JPanel {
   public void setFlipped(int i) {
     this.flipped = i;
   }
+
+  /**
+   * Sets the search score shown on this cell while hints are on.
+   *
+   * @param searchHint The score label, or null to show none.
+   */
+  public void setSearchHint(String searchHint) {
+    this.searchHint = searchHint;
+  }
+
+  /**
+   * Gets what the cell holds.
+   *
+   * @return The type of the cell (BLACK, WHITE, or EMPTY).
+   */
+  public CellType getCellType() {
+    return cellType;
+  }
+
+  /**
+   * Changes what the cell holds, so that a move updates only the cells it changed.
+   *
+   * @param cellType The new type of the cell (BLACK, WHITE, or EMPTY).
+   */
+  public void setCellType(CellType cellType) {
+    this.cellType = Objects.requireNonNull(cellType);
+  }
 }
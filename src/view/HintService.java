@@ -0,0 +1,333 @@
+package view;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+
+import model.Coordinate;
+import model.ReadonlyReversiModel;
+import strategy.BoardGeometry;
+import strategy.SearchAbortedException;
+import strategy.SearchBoard;
+import strategy.SearchEngine;
+import strategy.SearchResult;
+import strategy.WeightedEvaluator;
+
+/**
+ * The HintService class works out the hints of the board views away from the thread that paints
+ * them: how many discs every legal move of the player to move would flip and, when asked for,
+ * the search scores of the best few moves. The position is copied on the calling thread, the
+ * hints are worked out on a background executor and handed to a delivery executor, such as the
+ * Swing event thread, when they are ready.
+ *
+ * <p>Hints are kept for the last board version worked out, so asking again for the same
+ * position hands back the same hints without working them out again. A request for a newer
+ * position cancels the one still running.</p>
+ */
+public final class HintService {
+
+  private static ExecutorService sharedThread;
+
+  private final Executor computeExecutor;
+  private final Executor deliveryExecutor;
+  private final int searchDepth;
+  private final int searchMoves;
+  private final SearchEngine engine = new SearchEngine(WeightedEvaluator.standard());
+
+  private Hints cached;
+  private FutureTask<Hints> pending;
+  private long pendingVersion = -1;
+  private boolean pendingSearch;
+  private long computed;
+
+  /**
+   * Constructs a hint service.
+   *
+   * @param computeExecutor  The executor the hints are worked out on.
+   * @param deliveryExecutor The executor the finished hints are handed over on.
+   * @param searchDepth      The depth the search scores are searched to.
+   * @param searchMoves      The number of moves given a search score.
+   * @throws IllegalArgumentException If an executor is null or the depth or move count is not
+   *                                  positive.
+   */
+  public HintService(Executor computeExecutor, Executor deliveryExecutor, int searchDepth,
+                     int searchMoves) {
+    if (computeExecutor == null || deliveryExecutor == null) {
+      throw new IllegalArgumentException("Executors cannot be null");
+    }
+    if (searchDepth < 1 || searchMoves < 1) {
+      throw new IllegalArgumentException("Search depth and move count must be positive");
+    }
+    this.computeExecutor = computeExecutor;
+    this.deliveryExecutor = deliveryExecutor;
+    this.searchDepth = searchDepth;
+    this.searchMoves = searchMoves;
+  }
+
+  /**
+   * Creates a hint service that works on a shared background daemon thread and hands its hints
+   * to the Swing event thread.
+   *
+   * @param searchDepth The depth the search scores are searched to.
+   * @param searchMoves The number of moves given a search score.
+   * @return The hint service.
+   */
+  public static HintService forSwing(int searchDepth, int searchMoves) {
+    return new HintService(sharedThread(), SwingUtilities::invokeLater, searchDepth,
+            searchMoves);
+  }
+
+  private static synchronized Executor sharedThread() {
+    if (sharedThread == null) {
+      sharedThread = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "reversi-hints");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    return sharedThread;
+  }
+
+  /**
+   * Asks for the hints of the current position of a model. Must be called on the thread that
+   * changes the model, or while it cannot change, since the position is copied here.
+   *
+   * @param model     The model.
+   * @param withScore Whether search scores are wanted besides the flip counts.
+   * @param onReady   Given the hints on the delivery executor. It is not called if a request
+   *                  for another position is made first.
+   * @throws IllegalArgumentException If the model or the callback is null.
+   */
+  public void request(ReadonlyReversiModel model, boolean withScore, Consumer<Hints> onReady) {
+    if (model == null || onReady == null) {
+      throw new IllegalArgumentException("Model and callback cannot be null");
+    }
+    long version = model.getBoardVersion();
+    Hints ready = null;
+    FutureTask<Hints> running = null;
+    FutureTask<Hints> task = null;
+    synchronized (this) {
+      if (cached != null && cached.getBoardVersion() == version
+              && (cached.hasSearchScores() || !withScore)) {
+        ready = cached;
+      } else if (pending != null && pendingVersion == version
+              && (pendingSearch || !withScore)) {
+        // the running request will work out these hints too
+        running = pending;
+      } else {
+        cancel();
+        SearchBoard board;
+        try {
+          board = model.isGameOver() ? null : SearchBoard.fromModel(model);
+        } catch (IllegalStateException e) {
+          // the game has not started yet, so there is nothing to hint
+          board = null;
+        }
+        SearchBoard position = board;
+        int[] moves = board == null ? new int[0] : playableMoves(model, board);
+        task = new FutureTask<>(() -> compute(version, position, moves, withScore));
+        pending = task;
+        pendingVersion = version;
+        pendingSearch = withScore;
+      }
+    }
+    if (ready != null) {
+      Hints hints = ready;
+      deliveryExecutor.execute(() -> onReady.accept(hints));
+    } else if (running != null) {
+      FutureTask<Hints> shared = running;
+      computeExecutor.execute(() -> deliverWhenDone(shared, onReady));
+    } else {
+      FutureTask<Hints> started = task;
+      computeExecutor.execute(() -> {
+        started.run();
+        deliverWhenDone(started, onReady);
+      });
+    }
+  }
+
+  /**
+   * Cancels the request still being worked out, if any. Its hints are never delivered.
+   */
+  public synchronized void cancel() {
+    if (pending != null) {
+      pending.cancel(true);
+      pending = null;
+      pendingVersion = -1;
+    }
+  }
+
+  /**
+   * Gets the hints kept for a board version.
+   *
+   * @param boardVersion The board version.
+   * @return The hints, or null if those of another version are kept.
+   */
+  public synchronized Hints getHints(long boardVersion) {
+    return cached != null && cached.getBoardVersion() == boardVersion ? cached : null;
+  }
+
+  /**
+   * Gets the number of times hints were worked out, as opposed to handed back from the cache.
+   *
+   * @return The number of computed hints.
+   */
+  public synchronized long getComputedCount() {
+    return computed;
+  }
+
+  private void deliverWhenDone(FutureTask<Hints> task, Consumer<Hints> onReady) {
+    Hints hints;
+    try {
+      hints = task.get();
+    } catch (CancellationException | ExecutionException e) {
+      // replaced by a newer request, or the search was stopped
+      return;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    synchronized (this) {
+      if (hints == null || task.isCancelled()) {
+        return;
+      }
+      if (cached == null || cached.getBoardVersion() != hints.getBoardVersion()
+              || hints.hasSearchScores()) {
+        cached = hints;
+      }
+      if (pending == task) {
+        pending = null;
+        pendingVersion = -1;
+      }
+    }
+    deliveryExecutor.execute(() -> onReady.accept(hints));
+  }
+
+  // the search board's rules are those of standard Reversi, so the model has the last word
+  private static int[] playableMoves(ReadonlyReversiModel model, SearchBoard board) {
+    BoardGeometry geometry = board.getGeometry();
+    int[] moves = new int[geometry.getCellCount()];
+    int count = 0;
+    for (int index = 0; index < moves.length; index++) {
+      if (board.isLegalMove(index)
+              && model.canMakeMove(geometry.rowOf(index), geometry.columnOf(index))) {
+        moves[count++] = index;
+      }
+    }
+    return Arrays.copyOf(moves, count);
+  }
+
+  private Hints compute(long version, SearchBoard board, int[] moves, boolean withScore) {
+    Map<Coordinate, Integer> flips = new HashMap<>();
+    Map<Coordinate, String> scores = new LinkedHashMap<>();
+    if (board != null) {
+      BoardGeometry geometry = board.getGeometry();
+      int count = moves.length;
+      for (int i = 0; i < count; i++) {
+        flips.put(coordinateOf(geometry, moves[i]), board.countFlips(moves[i]));
+      }
+      if (withScore && count > 0) {
+        // one search at a time; a cancelled one lets go as soon as it sees the interrupt
+        synchronized (engine) {
+          if (Thread.currentThread().isInterrupted()) {
+            return null;
+          }
+          try {
+            for (SearchResult result
+                    : engine.analyze(board, searchDepth, moves, count, searchMoves)) {
+              scores.put(coordinateOf(geometry, result.getBestMove()),
+                      SearchEngine.describeScore(result.getScore()));
+            }
+          } catch (SearchAbortedException e) {
+            return null;
+          }
+        }
+      }
+    }
+    synchronized (this) {
+      computed++;
+    }
+    return new Hints(version, flips, scores, withScore);
+  }
+
+  private static Coordinate coordinateOf(BoardGeometry geometry, int index) {
+    return new Coordinate(geometry.columnOf(index), geometry.rowOf(index));
+  }
+
+  /**
+   * The hints of one position.
+   */
+  public static final class Hints {
+
+    private final long boardVersion;
+    private final Map<Coordinate, Integer> flips;
+    private final Map<Coordinate, String> searchScores;
+    private final boolean searched;
+
+    private Hints(long boardVersion, Map<Coordinate, Integer> flips,
+                  Map<Coordinate, String> searchScores, boolean searched) {
+      this.boardVersion = boardVersion;
+      this.flips = Collections.unmodifiableMap(flips);
+      this.searchScores = Collections.unmodifiableMap(searchScores);
+      this.searched = searched;
+    }
+
+    /**
+     * Gets the board version the hints are for.
+     *
+     * @return The board version.
+     */
+    public long getBoardVersion() {
+      return boardVersion;
+    }
+
+    /**
+     * Gets the number of discs a move would flip.
+     *
+     * @param coordinate The cell of the move.
+     * @return The number of flipped discs, 0 if the move is not legal.
+     */
+    public int getFlips(Coordinate coordinate) {
+      return flips.getOrDefault(coordinate, 0);
+    }
+
+    /**
+     * Gets the search score label of a move.
+     *
+     * @param coordinate The cell of the move.
+     * @return The label, or null if the move is not among the best few or was not searched.
+     */
+    public String getSearchScore(Coordinate coordinate) {
+      return searchScores.get(coordinate);
+    }
+
+    /**
+     * Gets the legal moves and the discs each would flip.
+     *
+     * @return An unmodifiable map of moves to flip counts.
+     */
+    public Map<Coordinate, Integer> getFlipCounts() {
+      return flips;
+    }
+
+    /**
+     * Checks whether these hints include search scores.
+     *
+     * @return True if the best moves were searched.
+     */
+    public boolean hasSearchScores() {
+      return searched;
+    }
+  }
+}
@@ -1,7 +1,10 @@
 package view;
 
 
+import java.util.Set;
+
 import controller.PlayerActionFeatures;
+import model.ICoordinate;
 
 
 /**
@@ -24,6 +27,16 @@ public interface IReversiView {
 
   void updateView();
 
+  /**
+   * Updates the cells of the Reversi view that changed. The contents of the cells are read from
+   * the model. By default the whole view is updated.
+   *
+   * @param changedCells The cells that changed.
+   */
+  default void updateView(Set<ICoordinate> changedCells) {
+    updateView();
+  }
+
 
   /**
    * Adds a listener for player action events in the Reversi view.
@@ -2,11 +2,7 @@ package view;
 
 
 import java.io.IOException;
-import java.util.HashMap;
 
-import model.CellType;
-import model.Coordinate;
-import model.ICoordinate;
 import model.ReversiModel;
 
 /**
@@ -15,8 +11,8 @@ import model.ReversiModel;
  */
 public class ReversiTextualView implements TextualView {
 
-  private final ReversiModel model;
   private final Appendable output;
+  private final BoardTextRenderer renderer;
 
 
   /**
@@ -26,8 +22,23 @@ public class ReversiTextualView implements TextualView {
    */
 
   public ReversiTextualView(ReversiModel model) {
-    this.model = model;
-    this.output = new StringBuilder();
+    this(model, new StringBuilder());
+  }
+
+  /**
+   * Constructs a textual view for the Reversi game that renders to the given output, such as a
+   * log writer. The board is written straight to the output.
+   *
+   * @param model  The Reversi model to be rendered.
+   * @param output Where to render the game.
+   * @throws IllegalArgumentException If the output is null.
+   */
+  public ReversiTextualView(ReversiModel model, Appendable output) {
+    if (output == null) {
+      throw new IllegalArgumentException("Output cannot be null");
+    }
+    this.output = output;
+    this.renderer = new BoardTextRenderer(model, BoardTextRenderer.Layout.HEXAGONAL);
   }
 
   /**
@@ -38,7 +49,7 @@ public class ReversiTextualView implements TextualView {
   @Override
   public void render() throws IOException {
 
-    output.append(toString());
+    renderer.render(output);
 
   }
 
@@ -51,53 +62,12 @@ public class ReversiTextualView implements TextualView {
   @Override
   public String toString() {
     StringBuilder view = new StringBuilder();
-    int boardSize = model.getBoardSize();
-    HashMap<ICoordinate, CellType> gameBoard = model.getGameBoard();
-    int counter = 1;
-
-
-    for (int rows = 0; rows < boardSize; rows++) {
-
-
-      if (rows > (boardSize - 1) / 2) {
-
-
-        view.append(howManySpaces(counter));
-
-        counter++;
-
-      }
-      for (int columns = 0; columns < boardSize; columns++) {
-
-        if (gameBoard.get(new Coordinate(columns, rows)) == null) {
-          view.append(" ");
-        } else {
-          view.append(gameBoard.get(new Coordinate(columns, rows)).toString()).append(" ");
-
-        }
-      }
-
-      if (rows != boardSize - 1) {
-        view.append("\n");
-      }
+    try {
+      renderer.render(view);
+    } catch (IOException e) {
+      // a StringBuilder does not fail
+      throw new IllegalStateException(e);
     }
-
-
     return view.toString();
-
-  }
-
-
-  /**
-   * Generates a string with a specified number of spaces.
-   *
-   * @param spaces The number of spaces to generate.
-   * @return A string containing the specified number of spaces.
-   */
-  private String howManySpaces(int spaces) {
-
-    return " ".repeat(Math.max(0, spaces));
   }
-
-
 }
@@ -6,12 +6,14 @@ import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import javax.swing.JFrame;
 import javax.swing.WindowConstants;
 
 import controller.PlayerActionFeatures;
 
+import model.ICoordinate;
 import model.ReadonlyReversiModel;
 
 /**
@@ -123,6 +125,11 @@ public class ReversiView extends JFrame implements IReversiView, PlayerActionFea
     // You may add more logic here to update other UI components based on the model state
   }
 
+  @Override
+  public void updateView(Set<ICoordinate> changedCells) {
+    panel.updateCells(changedCells);
+  }
+
 
 
 
@@ -5,6 +5,7 @@ import javax.swing.JPanel;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.geom.Point2D;
 import java.util.Objects;
 
@@ -27,11 +28,15 @@ public class SquareCell extends JPanel {
   private final int row;
   private final int col;
   private final int width;
-  private final CellType cellType;
+  private CellType cellType;
   private final int initialYCoordinate;
   private final int initialXCoordinate;
   private boolean mouseClick;
 
+  private boolean hintsOn;
+  private int flipped;
+  private String searchHint;
+
   /**
    * Constructs a SquareCell with the specified row, column, width, gap, and cell type.
    *
@@ -68,6 +73,16 @@ public class SquareCell extends JPanel {
     g2d.fillRect(initialXCoordinate, initialYCoordinate, width, width);
     g2d.setColor(Color.black);
     g2d.drawRect(initialXCoordinate, initialYCoordinate, width, width);
+    if (hintsOn && mouseClick) {
+      g2d.setColor(Color.RED);
+      g2d.drawString(Integer.toString(flipped),
+              initialXCoordinate + width / 4, initialYCoordinate + width / 3);
+    }
+    if (hintsOn && searchHint != null) {
+      g2d.setColor(Color.BLUE);
+      g2d.drawString(searchHint, initialXCoordinate + width / 4,
+              initialYCoordinate + width * 3 / 4);
+    }
 
     // render the disc
     if (cellType.equals(CellType.BLACK)) {
@@ -88,10 +103,30 @@ public class SquareCell extends JPanel {
    * @return True if the mouse click is within the square; false otherwise.
    */
   public boolean isMouseClick(Point2D mouseLocation) {
-    return mouseLocation.getX() > initialXCoordinate
-            && mouseLocation.getX() < initialXCoordinate + width
-            && mouseLocation.getY() > initialYCoordinate
-            && mouseLocation.getY() < initialYCoordinate + width;
+    return isMouseClick(mouseLocation.getX(), mouseLocation.getY());
+  }
+
+  /**
+   * Checks if a given pixel is within the bounds of the square, indicating a mouse click.
+   *
+   * @param x The x position of the mouse click.
+   * @param y The y position of the mouse click.
+   * @return True if the mouse click is within the square; false otherwise.
+   */
+  public boolean isMouseClick(double x, double y) {
+    return x > initialXCoordinate
+            && x < initialXCoordinate + width
+            && y > initialYCoordinate
+            && y < initialYCoordinate + width;
+  }
+
+  /**
+   * Gets the area the square paints, including its outline.
+   *
+   * @return The bounds of the cell, in panel pixels.
+   */
+  public Rectangle getCellBounds() {
+    return new Rectangle(initialXCoordinate, initialYCoordinate, width + 1, width + 1);
   }
 
   /**
@@ -119,6 +154,48 @@ public class SquareCell extends JPanel {
     // You can implement additional logic here if needed
     this.mouseClick = !this.mouseClick;
   }
-}
 
+  /**
+   * Gets what the cell holds.
+   *
+   * @return The type of the cell (BLACK, WHITE, or EMPTY).
+   */
+  public CellType getCellType() {
+    return cellType;
+  }
 
+  /**
+   * Toggles whether the hints of the cell are shown.
+   */
+  public void toggleHint() {
+    hintsOn = !hintsOn;
+  }
+
+  /**
+   * Sets the number of discs a move on this cell would flip, shown while the cell is selected
+   * and hints are on.
+   *
+   * @param flipped The number of discs.
+   */
+  public void setFlipped(int flipped) {
+    this.flipped = flipped;
+  }
+
+  /**
+   * Sets the search score shown on this cell while hints are on.
+   *
+   * @param searchHint The score label, or null to show none.
+   */
+  public void setSearchHint(String searchHint) {
+    this.searchHint = searchHint;
+  }
+
+  /**
+   * Changes what the cell holds, so that a move updates only the cells it changed.
+   *
+   * @param cellType The new type of the cell (BLACK, WHITE, or EMPTY).
+   */
+  public void setCellType(CellType cellType) {
+    this.cellType = Objects.requireNonNull(cellType);
+  }
+}
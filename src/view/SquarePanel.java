@@ -6,9 +6,10 @@ import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.awt.geom.Point2D;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Map;
 
 import javax.swing.JPanel;
 
@@ -16,6 +17,7 @@ import model.CellType;
 import model.Coordinate;
 import model.ICoordinate;
 import model.ReadonlyReversiModel;
+import profiling.RepaintEvent;
 
 /**
  * The SquarePanel class represents a panel containing square cells to visualize the Reversi game
@@ -24,44 +26,143 @@ import model.ReadonlyReversiModel;
  */
 public class SquarePanel extends JPanel {
 
+  // how far and for how many moves the hint overlay searches
+  private static final int HINT_DEPTH = 3;
+  private static final int HINT_MOVES = 3;
+  private static final int SQUARE_WIDTH = 70;
+
   private HashMap<ICoordinate, CellType> board;
   private ArrayList<SquareCell> allSquares;
+  private final Map<Coordinate, SquareCell> squaresByCoordinate = new HashMap<>();
+  private final GridHitIndex<SquareCell> hitIndex =
+          new GridHitIndex<>(SQUARE_WIDTH, SQUARE_WIDTH, SquareCell::isMouseClick);
   private SquareCell squareClicked;
 
   private ReadonlyReversiModel model;
 
   private Coordinate squareClickedLogicalCoordinate;
 
+  private boolean hintsOn;
+  private final HintService hintService;
+
   /**
-   * Constructs a SquarePanel with the specified Reversi game model.
+   * Constructs a SquarePanel with the specified Reversi game model. Its hints are worked out on a
+   * background thread.
    *
    * @param model The ReadonlyReversiModel to visualize.
    */
   public SquarePanel(ReadonlyReversiModel model) {
+    this(model, HintService.forSwing(HINT_DEPTH, HINT_MOVES));
+  }
+
+  /**
+   * Constructs a SquarePanel with the specified Reversi game model and the service that works
+   * out its hints.
+   *
+   * @param model       The ReadonlyReversiModel to visualize.
+   * @param hintService The service that works out the hints, delivering them on the thread that
+   *                    updates this panel.
+   */
+  public SquarePanel(ReadonlyReversiModel model, HintService hintService) {
     super();
 
     this.model = model;
+    this.hintService = hintService;
     this.board = model.getGameBoard();
     this.setBackground(Color.DARK_GRAY);
     allSquares = createListOfSquares(board);
+    for (SquareCell square : allSquares) {
+      squaresByCoordinate.put(square.getCoordinate(), square);
+      hitIndex.add(square, square.getCellBounds());
+    }
     this.setPreferredSize(new Dimension(700, 700));
 
     addMouseListener(new MyMouseListener());
+    requestHints();
   }
 
   /**
-   * Updates the square grid based on the updated game board.
+   * Updates the square grid based on the updated game board. The cells are kept and only what
+   * they hold is changed.
    */
   public void updateSquareGrid() {
     // Get updated board
     board = model.getGameBoard();
 
-    ArrayList<SquareCell> updatedSquares = createListOfSquares(board);
-    allSquares.clear();
-    allSquares.addAll(updatedSquares);
+    for (SquareCell square : allSquares) {
+      Coordinate coordinate = square.getCoordinate();
+      square.setCellType(model.getContent(coordinate.getRow(), coordinate.getCol()));
+    }
+    requestHints();
+    repaint();
+  }
+
+  /**
+   * Updates only the given cells of the square grid, reading what they hold from the model.
+   * Cells that are not on the board are ignored.
+   *
+   * @param changedCells The cells that changed.
+   */
+  public void updateCells(Collection<? extends ICoordinate> changedCells) {
+    for (ICoordinate changed : changedCells) {
+      SquareCell square = squaresByCoordinate.get(
+              new Coordinate(changed.getCol(), changed.getRow()));
+      if (square != null) {
+        CellType content = model.getContent(changed.getRow(), changed.getCol());
+        board.put(square.getCoordinate(), content);
+        square.setCellType(content);
+      }
+    }
+    requestHints();
+    repaint();
+  }
+
+  /**
+   * Toggles the hints. Besides the flip count of the selected cell, the best few moves of the
+   * player to move are marked with their search scores.
+   */
+  public void toggleHint() {
+    hintsOn = !hintsOn;
+    for (SquareCell square : allSquares) {
+      square.toggleHint();
+    }
+    if (hintsOn) {
+      requestHints();
+    }
     repaint();
   }
 
+  /**
+   * Gets the number of discs the hints say a move would flip, for testing.
+   *
+   * @param row    The row of the move.
+   * @param column The column of the move.
+   * @return The number of discs, or -1 if the hints of the shown position are not ready.
+   */
+  public int getHintedFlips(int row, int column) {
+    HintService.Hints hints = hintService.getHints(model.getBoardVersion());
+    return hints == null ? -1 : hints.getFlips(new Coordinate(column, row));
+  }
+
+  // flip counts are always worked out, search scores only while they are shown
+  private void requestHints() {
+    hintService.request(model, hintsOn, this::showHints);
+  }
+
+  private void showHints(HintService.Hints hints) {
+    if (hints.getBoardVersion() != model.getBoardVersion()) {
+      // the board has changed since; the hints for it are on their way
+      return;
+    }
+    for (SquareCell square : allSquares) {
+      square.setFlipped(hints.getFlips(square.getCoordinate()));
+      square.setSearchHint(hints.getSearchScore(square.getCoordinate()));
+    }
+    if (hintsOn) {
+      repaint();
+    }
+  }
+
   /**
    * Mouse listener class for handling mouse events within the SquarePanel.
    */
@@ -72,48 +173,32 @@ public class SquarePanel extends JPanel {
       int mouseX = e.getX();
       int mouseY = e.getY();
 
-      boolean clickedOutside = true;
-
       // Check if the click is within any square
-      for (SquareCell squareCell : allSquares) {
-        if (squareCell.isMouseClick(new Point2D.Double(mouseX, mouseY))) {
-          // Print the logical coordinates of the clicked square
-          Coordinate coordinate = squareCell.getCoordinate();
-          squareClickedLogicalCoordinate = coordinate;
-
-          if (!squareCell.getClicked()) {
-            System.out.println("Square clicked at logical coordinates: Column: "
-                    + coordinate.getCol() + " Row: " + coordinate.getRow());
-
-            squareCell.click();
-            if (squareClicked != null) {
-              squareClicked.click();
-            }
-            squareClicked = squareCell;
-          } else {
-            squareCell.click();
-            squareClicked = null;
+      SquareCell squareCell = hitIndex.find(mouseX, mouseY);
+      if (squareCell != null) {
+        // Print the logical coordinates of the clicked square
+        Coordinate coordinate = squareCell.getCoordinate();
+        squareClickedLogicalCoordinate = coordinate;
+
+        if (!squareCell.getClicked()) {
+          System.out.println("Square clicked at logical coordinates: Column: "
+                  + coordinate.getCol() + " Row: " + coordinate.getRow());
+
+          squareCell.click();
+          if (squareClicked != null) {
+            squareClicked.click();
           }
-
-          // Optionally, you can perform additional actions here
-          break; // Stop checking once a square is clicked
+          squareClicked = squareCell;
+        } else {
+          squareCell.click();
+          squareClicked = null;
         }
-      }
-
-      // Check if the click is within any square
-      for (SquareCell squareCell : allSquares) {
-        if (squareCell.isMouseClick(new Point2D.Double(mouseX, mouseY))) {
-          clickedOutside = false;
-        }
-      }
-
-      if (clickedOutside) {
-        for (SquareCell squareCell : allSquares) {
-          if (squareCell.getClicked()) {
-            squareCell.click();
-            squareClicked = null;
-          }
+      } else if (squareClicked != null) {
+        // only the selected square can be clicked, so a click outside clears it
+        if (squareClicked.getClicked()) {
+          squareClicked.click();
         }
+        squareClicked = null;
       }
 
       repaint();
@@ -128,12 +213,20 @@ public class SquarePanel extends JPanel {
    * @return the square on which the mouse is.
    */
   public Coordinate handleMouseRelease(int mouseX, int mouseY) {
-    for (SquareCell squareCell : allSquares) {
-      if (squareCell.isMouseClick(new Point2D.Double(mouseX, mouseY))) {
-        return squareCell.getCoordinate();
-      }
-    }
-    return null;
+    SquareCell squareCell = hitIndex.find(mouseX, mouseY);
+    return squareCell == null ? null : squareCell.getCoordinate();
+  }
+
+  /**
+   * Gets what a square currently shows, for testing.
+   *
+   * @param row    The row of the square.
+   * @param column The column of the square.
+   * @return The shown cell type, or null if there is no square there.
+   */
+  public CellType getDisplayedContent(int row, int column) {
+    SquareCell square = squaresByCoordinate.get(new Coordinate(column, row));
+    return square == null ? null : square.getCellType();
   }
 
   /**
@@ -167,7 +260,7 @@ public class SquarePanel extends JPanel {
         CellType boardCell = board.get(new Coordinate(col, row));
 
         if (boardCell != null) {
-          SquareCell squareCell = new SquareCell(row, col, 70, gap, boardCell);
+          SquareCell squareCell = new SquareCell(row, col, SQUARE_WIDTH, gap, boardCell);
           squareList.add(squareCell);
         }
       }
@@ -178,11 +271,14 @@ public class SquarePanel extends JPanel {
 
   @Override
   public void paintComponent(Graphics g) {
+    RepaintEvent event = new RepaintEvent();
+    event.begin();
     super.paintComponent(g);
     Graphics2D g2d = (Graphics2D) g;
 
     for (SquareCell squareCell : allSquares) {
       squareCell.draw(g2d);
     }
+    event.commit(this, model.getBoardSize(), allSquares.size(), getWidth(), getHeight());
   }
 }
@@ -1,11 +1,7 @@
 package view;
 
 import java.io.IOException;
-import java.util.HashMap;
 
-import model.CellType;
-import model.Coordinate;
-import model.ICoordinate;
 import model.ReversiModel;
 import model.SquareReversi;
 import view.TextualView;
@@ -17,8 +13,8 @@ import view.TextualView;
 public class SquareReversiTextualView implements TextualView {
 
 
-  private final ReversiModel model;
   private final Appendable output;
+  private final BoardTextRenderer renderer;
 
 
   /**
@@ -28,8 +24,23 @@ public class SquareReversiTextualView implements TextualView {
    */
 
   public SquareReversiTextualView(SquareReversi model) {
-    this.model = model;
-    this.output = new StringBuilder();
+    this(model, new StringBuilder());
+  }
+
+  /**
+   * Constructs a textual view for the Reversi game that renders to the given output, such as a
+   * log writer. The board is written straight to the output.
+   *
+   * @param model  The Reversi model to be rendered.
+   * @param output Where to render the game.
+   * @throws IllegalArgumentException If the output is null.
+   */
+  public SquareReversiTextualView(SquareReversi model, Appendable output) {
+    if (output == null) {
+      throw new IllegalArgumentException("Output cannot be null");
+    }
+    this.output = output;
+    this.renderer = new BoardTextRenderer(model, BoardTextRenderer.Layout.SQUARE);
   }
 
   /**
@@ -40,7 +51,7 @@ public class SquareReversiTextualView implements TextualView {
   @Override
   public void render() throws IOException {
 
-    output.append(toString());
+    renderer.render(output);
 
   }
 
@@ -53,30 +64,12 @@ public class SquareReversiTextualView implements TextualView {
   @Override
   public String toString() {
     StringBuilder view = new StringBuilder();
-    int boardSize = model.getBoardSize();
-    HashMap<ICoordinate, CellType> gameBoard = model.getGameBoard();
-
-    for (int row = 0; row < boardSize; row++) {
-
-      for (int col = 0; col < boardSize; col++) {
-
-
-        view.append(gameBoard.get(new Coordinate(col, row)).toString()).append(" ");
-
-
-      }
-
-      view.append("\n");
+    try {
+      renderer.render(view);
+    } catch (IOException e) {
+      // a StringBuilder does not fail
+      throw new IllegalStateException(e);
     }
-
-
     return view.toString();
-
   }
-
-
-
-
-
-
 }
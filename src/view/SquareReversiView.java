@@ -5,12 +5,14 @@ import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import javax.swing.JFrame;
 import javax.swing.WindowConstants;
 
 import controller.PlayerActionFeatures;
 
+import model.ICoordinate;
 import model.ReadonlyReversiModel;
 
 /**
@@ -74,6 +76,8 @@ public class SquareReversiView extends JFrame implements IReversiView, PlayerAct
                 panel.getSquareClickedCoordinates().getCol());
       } else if (keyChar == 'p') {
         handlePassChosen();
+      } else if (keyChar == 'h') {
+        panel.toggleHint();
       }
     }
   }
@@ -97,4 +101,9 @@ public class SquareReversiView extends JFrame implements IReversiView, PlayerAct
 
     // You may add more logic here to update other UI components based on the model state
   }
+
+  @Override
+  public void updateView(Set<ICoordinate> changedCells) {
+    panel.updateCells(changedCells);
+  }
 }
@@ -0,0 +1,264 @@
+package view;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import model.CellType;
+import model.GameEvent;
+import model.GameEventListener;
+import model.ICoordinate;
+import model.ReversiModel;
+
+/**
+ * The TerminalSpectator class shows a running game on a text terminal, such as an SSH session,
+ * without Swing. The first frame draws the whole board; after that only the cells that changed
+ * are redrawn, with ANSI cursor moves, followed by a status line with the scores and the player
+ * to move.
+ *
+ * <p>The spectator keeps its own copy of the board, updated from the game's events, so frames
+ * are drawn on a scheduler thread without touching the model. Events are only recorded when
+ * they arrive; frames are drawn at most a given number of times a second, each showing all the
+ * changes since the last one. Because a nested event can arrive before the one that caused it,
+ * every cell keeps the version of the event that last set it, and older changes are dropped.</p>
+ */
+public final class TerminalSpectator implements GameEventListener, AutoCloseable {
+
+  private static final String ESCAPE = "\u001b[";
+
+  private final ReversiModel model;
+  private final Appendable out;
+  private final ScheduledExecutorService scheduler;
+  private final long frameNanos;
+  private final int boardSize;
+  private final CellType[] cells;
+  private final long[] versions;
+  private final BoardTextRenderer renderer;
+  private final StringBuilder frame = new StringBuilder();
+  private final Object writeLock = new Object();
+
+  private long statusVersion;
+  private String status;
+  private String shownStatus;
+  private boolean frameScheduled;
+  private long lastFrame;
+  private boolean closed;
+  private int frames;
+  private IOException failure;
+
+  private TerminalSpectator(ReversiModel model, BoardTextRenderer.Layout layout, Appendable out,
+                            int maxFramesPerSecond, ScheduledExecutorService scheduler) {
+    this.model = model;
+    this.out = out;
+    this.scheduler = scheduler;
+    this.frameNanos = TimeUnit.SECONDS.toNanos(1) / maxFramesPerSecond;
+    // so the first frame is drawn straight away
+    this.lastFrame = System.nanoTime() - frameNanos;
+    this.boardSize = model.getBoardSize();
+    this.cells = new CellType[boardSize * boardSize];
+    this.versions = new long[boardSize * boardSize];
+    long version = model.getBoardVersion();
+    for (Map.Entry<ICoordinate, CellType> cell : model.getGameBoard().entrySet()) {
+      int index = indexOf(cell.getKey());
+      if (index >= 0) {
+        cells[index] = cell.getValue();
+        versions[index] = version;
+      }
+    }
+    this.statusVersion = version;
+    this.status = describe(model);
+    this.renderer = new BoardTextRenderer(boardSize, this::getContent, layout);
+  }
+
+  /**
+   * Starts watching a game. Must be called on the thread that plays the game, or while it cannot
+   * change, since the board is copied here. The first frame is drawn straight away.
+   *
+   * @param model              The game to watch.
+   * @param layout             The layout of the board text.
+   * @param out                Where to write the frames; flushed after each one if it can be.
+   * @param maxFramesPerSecond The most frames to draw in a second.
+   * @param scheduler          The executor that draws the frames.
+   * @return The spectator, subscribed to the game's events until it is closed.
+   * @throws IllegalArgumentException If an argument is null or the frame rate is not positive.
+   */
+  public static TerminalSpectator watch(ReversiModel model, BoardTextRenderer.Layout layout,
+                                        Appendable out, int maxFramesPerSecond,
+                                        ScheduledExecutorService scheduler) {
+    if (model == null || layout == null || out == null || scheduler == null) {
+      throw new IllegalArgumentException("Arguments cannot be null");
+    }
+    if (maxFramesPerSecond < 1) {
+      throw new IllegalArgumentException("Frame rate must be positive");
+    }
+    TerminalSpectator spectator =
+            new TerminalSpectator(model, layout, out, maxFramesPerSecond, scheduler);
+    model.getEventBus().subscribe(spectator);
+    spectator.scheduleFrame();
+    return spectator;
+  }
+
+  @Override
+  public void handleEvent(GameEvent event) {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      for (Map.Entry<ICoordinate, CellType> change : event.getChanges().entrySet()) {
+        int index = indexOf(change.getKey());
+        if (index >= 0 && versions[index] < event.getVersion()) {
+          cells[index] = change.getValue();
+          versions[index] = event.getVersion();
+        }
+      }
+      if (event.getVersion() > statusVersion) {
+        statusVersion = event.getVersion();
+        status = describe(event);
+      }
+    }
+    scheduleFrame();
+  }
+
+  /**
+   * Gets the number of frames written so far.
+   *
+   * @return The number of frames.
+   */
+  public synchronized int getFrameCount() {
+    return frames;
+  }
+
+  /**
+   * Gets the error that stopped the spectator, if writing a frame failed.
+   *
+   * @return The error, or null if every frame was written.
+   */
+  public synchronized IOException getFailure() {
+    return failure;
+  }
+
+  /**
+   * Stops watching. No frame is written after this returns.
+   */
+  @Override
+  public void close() {
+    synchronized (this) {
+      closed = true;
+    }
+    model.getEventBus().unsubscribe(this);
+    synchronized (writeLock) {
+      // waits for a frame being written
+    }
+  }
+
+  // draws a frame now, or once the frame rate allows, unless one is already on its way
+  private void scheduleFrame() {
+    long delay;
+    synchronized (this) {
+      if (closed || frameScheduled) {
+        return;
+      }
+      frameScheduled = true;
+      delay = Math.max(0, lastFrame + frameNanos - System.nanoTime());
+    }
+    try {
+      scheduler.schedule(this::drawFrame, delay, TimeUnit.NANOSECONDS);
+    } catch (RejectedExecutionException e) {
+      // the scheduler was shut down, so no more frames can be drawn; the game must not notice
+      close();
+    }
+  }
+
+  // the frame is built under the lock and written outside it, so a slow terminal never holds
+  // up the game's events
+  private void drawFrame() {
+    synchronized (writeLock) {
+      synchronized (this) {
+        frameScheduled = false;
+        if (closed) {
+          return;
+        }
+        lastFrame = System.nanoTime();
+        frame.setLength(0);
+        try {
+          renderer.renderAnsiDiff(frame);
+        } catch (IOException e) {
+          // a StringBuilder does not fail
+          throw new IllegalStateException(e);
+        }
+        if (!status.equals(shownStatus)) {
+          frame.append(ESCAPE).append(boardSize + 1).append(";1H")
+                  .append(ESCAPE).append("2K").append(status).append('\n');
+          shownStatus = status;
+        }
+      }
+      if (frame.length() == 0) {
+        return;
+      }
+      try {
+        out.append(frame);
+        if (out instanceof Flushable) {
+          ((Flushable) out).flush();
+        }
+        synchronized (this) {
+          frames++;
+        }
+      } catch (IOException e) {
+        // the terminal has gone away
+        synchronized (this) {
+          failure = e;
+          closed = true;
+        }
+        model.getEventBus().unsubscribe(this);
+      }
+    }
+  }
+
+  // called by the renderer while a frame is built, so the lock is held
+  private CellType getContent(int row, int column) {
+    return cells[row * boardSize + column];
+  }
+
+  private int indexOf(ICoordinate coordinate) {
+    int row = coordinate.getRow();
+    int column = coordinate.getCol();
+    if (row < 0 || column < 0 || row >= boardSize || column >= boardSize) {
+      return -1;
+    }
+    return row * boardSize + column;
+  }
+
+  // describes the copied board, which counts the discs of every kind of board
+  private String describe(ReversiModel model) {
+    int[] scores = new int[2];
+    for (CellType cell : cells) {
+      if (cell == CellType.BLACK) {
+        scores[0]++;
+      } else if (cell == CellType.WHITE) {
+        scores[1]++;
+      }
+    }
+    try {
+      if (model.isGameOver()) {
+        return describeScores(scores) + ", game over";
+      }
+      return describeScores(scores) + ", " + model.getCurrentPlayerTurn() + " to move";
+    } catch (IllegalStateException e) {
+      return "waiting for the game to start";
+    }
+  }
+
+  private static String describe(GameEvent event) {
+    if (event.getType() == GameEvent.Type.GAME_OVER) {
+      return describeScores(event.getScores()) + ", game over";
+    }
+    return describeScores(event.getScores()) + ", " + event.getNextTurn() + " to move";
+  }
+
+  private static String describeScores(int[] scores) {
+    return CellType.BLACK + " " + scores[0] + " - " + CellType.WHITE + " " + scores[1];
+  }
+}
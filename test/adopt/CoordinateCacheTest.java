@@ -0,0 +1,67 @@
+package adopt;
+
+import org.junit.Test;
+
+import model.BasicReversi;
+import model.Coordinate;
+import provider.Coordinates;
+import provider.HexDirection;
+import provider.PlayerColor;
+import strategy.BoardGeometry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for the shared translation between provider and model coordinates.
+ */
+public class CoordinateCacheTest {
+
+  @Test
+  public void testTranslationsAreSharedBothWays() {
+    CoordinateCache cache = CoordinateCache.of(BoardGeometry.hexagonal(7));
+    assertSame(cache, CoordinateCache.of(BoardGeometry.hexagonal(7)));
+    assertEquals(37, cache.getInBoundsCoordinates().size());
+
+    for (Coordinates cell : cache.getInBoundsCoordinates()) {
+      Coordinate coordinate = cache.toModel(new OffsetHexCoordinates(
+              cell.getFirstCoordinate(), cell.getSecondCoordinate()));
+      assertEquals(new Coordinate(cell.getSecondCoordinate(), cell.getFirstCoordinate()),
+              coordinate);
+      assertSame(coordinate, cache.toModel(cell));
+      assertSame(cell, cache.toProvider(coordinate));
+      assertSame(cell, cache.get(cell.getFirstCoordinate(), cell.getSecondCoordinate()));
+    }
+    assertNull(cache.get(0, 0));
+    assertEquals(new Coordinate(0, 0), cache.toModel(new OffsetHexCoordinates(0, 0)));
+  }
+
+  @Test
+  public void testNeighboursFollowHexDirections() {
+    CoordinateCache cache = CoordinateCache.of(BoardGeometry.hexagonal(7));
+    Coordinates middle = cache.get(3, 3);
+    assertSame(cache.get(2, 3), cache.neighbor(middle, HexDirection.TOPLEFT));
+    assertSame(cache.get(2, 4), cache.neighbor(middle, HexDirection.TOPRIGHT));
+    assertSame(cache.get(3, 4), cache.neighbor(middle, HexDirection.RIGHT));
+    assertSame(cache.get(4, 3), cache.neighbor(middle, HexDirection.BOTTOMRIGHT));
+    assertSame(cache.get(4, 2), cache.neighbor(middle, HexDirection.BOTTOMLEFT));
+    assertSame(cache.get(3, 2), cache.neighbor(middle, HexDirection.LEFT));
+
+    Coordinates corner = cache.getInBoundsCoordinates().get(0);
+    assertNull(cache.neighbor(corner, HexDirection.TOPLEFT));
+    assertNull(cache.neighbor(new OffsetHexCoordinates(0, 0), HexDirection.RIGHT));
+  }
+
+  @Test
+  public void testAdaptersShareCoordinates() {
+    BasicReversi model = new BasicReversi(7);
+    model.startGame();
+    ModelAdopter adopter = new ModelAdopter(model);
+    CoordinateCache cache = CoordinateCache.forBoard(adopter.getCopyOfBoard());
+    assertSame(cache.getInBoundsCoordinates(), adopter.getInBoundsCoordinates());
+    for (Coordinates move : adopter.calculateMoves(PlayerColor.BLACK)) {
+      assertSame(cache.get(move.getFirstCoordinate(), move.getSecondCoordinate()), move);
+    }
+  }
+}
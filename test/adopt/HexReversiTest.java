@@ -0,0 +1,143 @@
+package adopt;
+
+import org.junit.Test;
+
+import java.util.Optional;
+
+import model.BasicReversi;
+import model.CellType;
+import model.Coordinate;
+import provider.Coordinates;
+import provider.DiscState;
+import provider.PlayerColor;
+import provider.StrategyMaximizeCurrentDiscs;
+import strategy.CaptureMost;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the simulation model that provider strategies try their moves on.
+ */
+public class HexReversiTest {
+
+  @Test
+  public void testMovesFlipLikeTheGame() {
+    BasicReversi model = new BasicReversi(9);
+    model.startGame();
+    HexReversi simulation =
+            new HexReversi(new ModelAdopter(model).getCopyOfBoard(), PlayerColor.BLACK);
+    CaptureMost strategy = new CaptureMost();
+    while (!model.isGameOver()) {
+      CellType turn = model.getCurrentPlayerTurn();
+      if (model.playerLegalMoves()) {
+        Coordinate move = strategy.chooseCoordinate(model, turn);
+        model.makeMove(turn, move.getRow(), move.getCol());
+        simulation.makeMove(colorOf(turn), new CoordinateAdopter(move.getRow(), move.getCol()));
+      } else {
+        model.skip(turn);
+        simulation.optToPass(colorOf(turn));
+      }
+      if (model.isGameOver()) {
+        break;
+      }
+
+      assertEquals(model.getScores()[0], simulation.getScore(PlayerColor.BLACK));
+      assertEquals(model.getScores()[1], simulation.getScore(PlayerColor.WHITE));
+      assertEquals(colorOf(model.getCurrentPlayerTurn()), simulation.getTurn());
+    }
+  }
+
+  @Test
+  public void testUndoRestoresPositionAndTurn() {
+    HexReversi simulation = new HexReversi(new BasicReversi(7).getGameBoard());
+    simulation.startGame();
+    Coordinates move = simulation.calculateMoves(PlayerColor.BLACK).iterator().next();
+    HexReversi copy = new HexReversi(simulation);
+
+    simulation.makeMove(PlayerColor.BLACK, move);
+    simulation.optToPass(PlayerColor.WHITE);
+    assertEquals(DiscState.BLACK, simulation.getDiscStateAt(move));
+    assertEquals(5, simulation.getScore(PlayerColor.BLACK));
+    assertEquals(PlayerColor.BLACK, simulation.getTurn());
+
+    simulation.undo();
+    simulation.undo();
+    assertEquals(PlayerColor.BLACK, simulation.getTurn());
+    assertEquals(DiscState.UNPLACED, simulation.getDiscStateAt(move));
+    for (Coordinates cell : simulation.getInBoundsCoordinates()) {
+      assertEquals(copy.getDiscStateAt(cell), simulation.getDiscStateAt(cell));
+    }
+    assertEquals(copy.calculateMoves(PlayerColor.BLACK).size(),
+            simulation.calculateMoves(PlayerColor.BLACK).size());
+  }
+
+  @Test
+  public void testMovesAreChecked() {
+    HexReversi simulation = new HexReversi(new BasicReversi(7).getGameBoard());
+    try {
+      simulation.optToPass(PlayerColor.BLACK);
+      assertTrue("not started", false);
+    } catch (IllegalStateException e) {
+      // expected
+    }
+    simulation.startGame();
+    assertFalse(simulation.isValidMove(PlayerColor.BLACK, new CoordinateAdopter(0, 0)));
+    assertFalse(simulation.isValidMove(PlayerColor.BLACK, new CoordinateAdopter(3, 3)));
+    try {
+      simulation.makeMove(PlayerColor.BLACK, new CoordinateAdopter(0, 3));
+      assertTrue("not a legal move", false);
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    try {
+      simulation.optToPass(PlayerColor.WHITE);
+      assertTrue("not white's turn", false);
+    } catch (IllegalStateException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testMaximizeDiscsPicksMostFlips() {
+    BasicReversi model = new BasicReversi(9);
+    model.startGame();
+    CaptureMost strategy = new CaptureMost();
+    for (int i = 0; i < 6; i++) {
+      CellType turn = model.getCurrentPlayerTurn();
+      Coordinate move = strategy.chooseCoordinate(model, turn);
+      model.makeMove(turn, move.getRow(), move.getCol());
+    }
+    ModelAdopter adopter = new ModelAdopter(model);
+    Optional<Coordinates> chosen = new StrategyMaximizeCurrentDiscs()
+            .chooseMove(adopter, new PlayerAdopter(CellType.BLACK));
+
+    assertTrue(chosen.isPresent());
+    int before = model.getScores()[0];
+    int best = 0;
+    for (Coordinates cell : adopter.calculateMoves(PlayerColor.BLACK)) {
+      BasicReversi copy = new BasicReversi(model.getGameBoard(), CellType.BLACK);
+      copy.makeMove(CellType.BLACK, cell.getFirstCoordinate(), cell.getSecondCoordinate());
+      best = Math.max(best, countBlack(copy));
+    }
+    model.makeMove(CellType.BLACK, chosen.get().getFirstCoordinate(),
+            chosen.get().getSecondCoordinate());
+    assertTrue(best > before);
+    assertEquals(best, model.getScores()[0]);
+  }
+
+  private static int countBlack(BasicReversi model) {
+    int count = 0;
+    for (CellType cell : model.getGameBoard().values()) {
+      if (cell == CellType.BLACK) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static PlayerColor colorOf(CellType turn) {
+    return turn == CellType.BLACK ? PlayerColor.BLACK : PlayerColor.WHITE;
+  }
+}
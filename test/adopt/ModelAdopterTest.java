@@ -0,0 +1,117 @@
+package adopt;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import model.BasicReversi;
+import model.CellType;
+import model.Coordinate;
+import model.SquareReversi;
+import provider.Coordinates;
+import provider.DiscState;
+import provider.PlayerColor;
+import strategy.CaptureMost;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the adapter that answers provider queries about one of our models.
+ */
+public class ModelAdopterTest {
+
+  @Test
+  public void testQueriesMatchModelThroughoutGame() {
+    BasicReversi model = new BasicReversi(9);
+    ModelAdopter adopter = new ModelAdopter(model);
+    model.startGame();
+    CaptureMost strategy = new CaptureMost();
+    while (!model.isGameOver()) {
+      CellType turn = model.getCurrentPlayerTurn();
+      PlayerColor color = turn == CellType.BLACK ? PlayerColor.BLACK : PlayerColor.WHITE;
+      assertEquals(legalMoves(model), positions(adopter.calculateMoves(color)));
+      assertEquals(legalMoves(new BasicReversi(model.getGameBoard(), model.nextPlayer())),
+              positions(adopter.calculateMoves(color == PlayerColor.BLACK
+                      ? PlayerColor.WHITE : PlayerColor.BLACK)));
+      assertEquals(model.getScores()[0], adopter.getScore(PlayerColor.BLACK));
+      assertEquals(model.getScores()[1], adopter.getScore(PlayerColor.WHITE));
+      for (Coordinates cell : adopter.getInBoundsCoordinates()) {
+        int row = cell.getFirstCoordinate();
+        int col = cell.getSecondCoordinate();
+        assertEquals(model.canMakeMove(row, col), adopter.isValidMove(color, cell));
+        assertEquals(discState(model.getContent(row, col)), adopter.getDiscStateAt(cell));
+      }
+
+      if (model.playerLegalMoves()) {
+        Coordinate move = strategy.chooseCoordinate(model, turn);
+        model.makeMove(turn, move.getRow(), move.getCol());
+      } else {
+        model.skip(turn);
+      }
+    }
+  }
+
+  @Test
+  public void testCoordinatesAreSharedBetweenQueries() {
+    BasicReversi model = new BasicReversi(7);
+    ModelAdopter adopter = new ModelAdopter(model);
+    model.startGame();
+    List<Coordinates> cells = adopter.getInBoundsCoordinates();
+    assertEquals(37, cells.size());
+    Coordinates move = adopter.calculateMoves(PlayerColor.BLACK).iterator().next();
+    assertSame(cells.get(cells.indexOf(move)), move);
+    assertSame(move, adopter.calculateMoves(PlayerColor.BLACK).iterator().next());
+
+    model.makeMove(CellType.BLACK, move.getFirstCoordinate(), move.getSecondCoordinate());
+    assertFalse(adopter.calculateMoves(PlayerColor.BLACK).contains(move));
+    assertEquals(DiscState.BLACK, adopter.getDiscStateAt(move));
+  }
+
+  @Test
+  public void testSquareBoardAndOffBoardCells() {
+    SquareReversi model = new SquareReversi(8);
+    ModelAdopter adopter = new ModelAdopter(model);
+    model.startGame();
+    assertEquals(64, adopter.getInBoundsCoordinates().size());
+    assertEquals(4, adopter.calculateMoves(PlayerColor.BLACK).size());
+    assertEquals(2, adopter.getScore(PlayerColor.WHITE));
+
+    ModelAdopter hex = new ModelAdopter(new BasicReversi(7));
+    assertEquals(DiscState.UNPLACED, hex.getDiscStateAt(new CoordinateAdopter(0, 0)));
+    assertFalse(hex.isValidMove(PlayerColor.BLACK, new CoordinateAdopter(-1, 9)));
+    assertTrue(hex.getInBoundsCoordinates().stream()
+            .noneMatch(cell -> cell.getFirstCoordinate() == 0 && cell.getSecondCoordinate() == 0));
+  }
+
+  private static Set<String> legalMoves(BasicReversi model) {
+    Set<String> moves = new HashSet<>();
+    for (int row = 0; row < model.getBoardSize(); row++) {
+      for (int col = 0; col < model.getBoardSize(); col++) {
+        if (model.canMakeMove(row, col)) {
+          moves.add(row + "," + col);
+        }
+      }
+    }
+    return moves;
+  }
+
+  private static Set<String> positions(Set<Coordinates> cells) {
+    Set<String> positions = new HashSet<>();
+    for (Coordinates cell : cells) {
+      positions.add(cell.getFirstCoordinate() + "," + cell.getSecondCoordinate());
+    }
+    return positions;
+  }
+
+  private static DiscState discState(CellType cell) {
+    if (cell == CellType.BLACK) {
+      return DiscState.BLACK;
+    }
+    return cell == CellType.WHITE ? DiscState.WHITE : DiscState.UNPLACED;
+  }
+}
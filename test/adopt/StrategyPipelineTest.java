@@ -0,0 +1,129 @@
+package adopt;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import model.BasicReversi;
+import model.CellType;
+import model.Coordinate;
+import model.ICoordinate;
+import provider.Coordinates;
+import provider.PlayerColor;
+import strategy.BoardGeometry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the strategy that chains filters and scorers over one list of moves.
+ */
+public class StrategyPipelineTest {
+
+  @Test
+  public void testMaximizeFlipsPicksMostDiscsThenUpperLeft() {
+    BasicReversi model = new BasicReversi(7);
+    model.startGame();
+    StrategyPipeline pipeline = new StrategyPipeline(
+            StrategyPipeline.Stage.maximize(StrategyPipeline.FLIPS));
+    while (!model.isGameOver()) {
+      CellType turn = model.getCurrentPlayerTurn();
+      if (!model.playerLegalMoves()) {
+        model.skip(turn);
+        continue;
+      }
+      Coordinate expected = null;
+      int best = -1;
+      for (int row = 0; row < model.getBoardSize(); row++) {
+        for (int col = 0; col < model.getBoardSize(); col++) {
+          if (model.canMakeMove(row, col)) {
+            BasicReversi copy = new BasicReversi(model.getGameBoard(), turn);
+            copy.makeMove(turn, row, col);
+            int discs = copy.getScores()[turn == CellType.BLACK ? 0 : 1];
+            if (discs > best) {
+              best = discs;
+              expected = new Coordinate(col, row);
+            }
+          }
+        }
+      }
+
+      Coordinate move = pipeline.chooseCoordinate(model, turn);
+      assertEquals(expected, move);
+      model.makeMove(turn, move.getRow(), move.getCol());
+    }
+  }
+
+  @Test
+  public void testStandardPrefersCornersAndAvoidsSecondLayer() {
+    BasicReversi model = new BasicReversi(9);
+    model.startGame();
+    BoardGeometry geometry = BoardGeometry.hexagonal(9);
+    StrategyPipeline pipeline = StrategyPipeline.standard();
+    while (!model.isGameOver()) {
+      CellType turn = model.getCurrentPlayerTurn();
+      if (!model.playerLegalMoves()) {
+        model.skip(turn);
+        continue;
+      }
+      boolean cornerOffered = false;
+      boolean outsideSecondLayerOffered = false;
+      for (int index = 0; index < geometry.getCellCount(); index++) {
+        if (model.canMakeMove(geometry.rowOf(index), geometry.columnOf(index))) {
+          cornerOffered |= geometry.isCorner(index);
+          outsideSecondLayerOffered |= !geometry.isSecondLayer(index);
+        }
+      }
+
+      Coordinate move = pipeline.chooseCoordinate(model, turn);
+      int chosen = geometry.indexOf(move.getCol(), move.getRow());
+      assertTrue(model.canMakeMove(move.getRow(), move.getCol()));
+      if (cornerOffered) {
+        assertTrue(geometry.isCorner(chosen));
+      } else if (outsideSecondLayerOffered) {
+        assertFalse(geometry.isSecondLayer(chosen));
+      }
+      model.makeMove(turn, move.getRow(), move.getCol());
+    }
+  }
+
+  @Test
+  public void testMovesAreGeneratedOncePerDecision() {
+    BasicReversi model = new BasicReversi(9);
+    model.startGame();
+    int[] generated = new int[1];
+    ModelAdopter adopter = new ModelAdopter(model) {
+      @Override
+      public Set<Coordinates> calculateMoves(PlayerColor color) {
+        generated[0]++;
+        return super.calculateMoves(color);
+      }
+    };
+
+    Optional<Coordinates> move = StrategyPipeline.standard()
+            .chooseMove(adopter, new PlayerAdopter(CellType.BLACK));
+    assertTrue(move.isPresent());
+    assertEquals(1, generated[0]);
+    StrategyPipeline.standard().chooseCoordinate(adopter, CellType.BLACK);
+    assertEquals(2, generated[0]);
+  }
+
+  @Test
+  public void testNoMoveWhenPlayerCannotMove() {
+    HashMap<ICoordinate, CellType> cells = new BasicReversi(5).getGameBoard();
+    for (Map.Entry<ICoordinate, CellType> cell : cells.entrySet()) {
+      if (cell.getValue() == CellType.WHITE) {
+        cell.setValue(CellType.BLACK);
+      }
+    }
+    HexReversi model = new HexReversi(cells);
+    model.startGame();
+
+    assertFalse(StrategyPipeline.standard()
+            .chooseMove(model, new PlayerAdopter(CellType.WHITE)).isPresent());
+  }
+}
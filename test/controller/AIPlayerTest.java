@@ -0,0 +1,227 @@
+package controller;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import model.BasicReversi;
+import model.CellType;
+import model.Coordinate;
+import model.ReversiModel;
+import strategy.AlphaBetaStrategy;
+import strategy.CaptureMost;
+import strategy.ReversiStrategy;
+
+/**
+ * Tests for the asynchronous mode of the AI player.
+ */
+public class AIPlayerTest {
+
+  private final List<String> transcript = new ArrayList<>();
+  // moves handed to the delivery executor, run by the test when it wants them delivered
+  private final BlockingQueue<Runnable> deliveries = new LinkedBlockingQueue<>();
+
+  private PlayerActionFeatures recorder() {
+    return new PlayerActionFeatures() {
+      @Override
+      public void handleMoveChosen(int row, int column) {
+        transcript.add("move " + row + " " + column + " on "
+                + Thread.currentThread().getName());
+      }
+
+      @Override
+      public void handlePassChosen() {
+        transcript.add("pass");
+      }
+    };
+  }
+
+  private static ReversiModel startedModel() {
+    ReversiModel model = new BasicReversi(7);
+    model.startGame();
+    return model;
+  }
+
+  @Test
+  public void testAsyncPlayerDeliversMoveThroughDeliveryExecutor() throws Exception {
+    ReversiModel model = startedModel();
+    Coordinate expected = new CaptureMost().chooseCoordinate(model, CellType.BLACK);
+    ExecutorService search = Executors.newSingleThreadExecutor();
+    try {
+      AIPlayer player = new AIPlayer(model, new CaptureMost(), CellType.BLACK, search,
+              deliveries::add);
+      player.addPlayerActionListener(recorder());
+      player.handleMoveChosen(0, 0);
+      Runnable delivery = deliveries.poll(10, TimeUnit.SECONDS);
+      Assert.assertNotNull(delivery);
+      Assert.assertTrue(transcript.isEmpty());
+      Assert.assertTrue(player.isMovePending());
+
+      delivery.run();
+      Assert.assertEquals(List.of("move " + expected.getRow() + " " + expected.getCol()
+              + " on " + Thread.currentThread().getName()), transcript);
+      Assert.assertFalse(player.isMovePending());
+    } finally {
+      search.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testCancelledMoveIsNeverDelivered() throws Exception {
+    ReversiModel model = startedModel();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ReversiStrategy slow = (m, player) -> {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return new CaptureMost().chooseCoordinate(m, player);
+    };
+    ExecutorService search = Executors.newSingleThreadExecutor();
+    try {
+      AIPlayer player = new AIPlayer(model, slow, CellType.BLACK, search, deliveries::add);
+      player.addPlayerActionListener(recorder());
+      player.handleMoveChosen(0, 0);
+      Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+      player.cancelPendingMove();
+      release.countDown();
+      Assert.assertFalse(player.isMovePending());
+
+      // the interrupted search must not hand anything over
+      Assert.assertNull(deliveries.poll(200, TimeUnit.MILLISECONDS));
+      Assert.assertTrue(transcript.isEmpty());
+    } finally {
+      search.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testMoveForAnEndedTurnIsDiscarded() throws Exception {
+    ReversiModel model = startedModel();
+    ExecutorService search = Executors.newSingleThreadExecutor();
+    try {
+      AIPlayer player = new AIPlayer(model, new CaptureMost(), CellType.BLACK, search,
+              deliveries::add);
+      player.addPlayerActionListener(recorder());
+      player.handleMoveChosen(0, 0);
+      Runnable delivery = deliveries.poll(10, TimeUnit.SECONDS);
+      Assert.assertNotNull(delivery);
+
+      model.skip(CellType.BLACK);
+      delivery.run();
+      Assert.assertTrue(transcript.isEmpty());
+    } finally {
+      search.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testAsyncPlayerReportsPassWhenNoMoveIsLeft() throws Exception {
+    ReversiModel model = startedModel();
+    ReversiStrategy stuck = (m, player) -> {
+      throw new IllegalStateException("No moves");
+    };
+    AIPlayer player = new AIPlayer(model, stuck, CellType.BLACK, Runnable::run, Runnable::run);
+    player.addPlayerActionListener(recorder());
+    player.handleMoveChosen(0, 0);
+    Assert.assertEquals(List.of("pass"), transcript);
+    Assert.assertFalse(player.isMovePending());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAsyncPlayerNeedsExecutors() {
+    new AIPlayer(startedModel(), new CaptureMost(), CellType.BLACK, null, Runnable::run);
+  }
+
+  @Test
+  public void testStrategyIsAskedOncePerBoardVersion() {
+    ReversiModel model = startedModel();
+    int[] calls = new int[1];
+    ReversiStrategy counting = (m, player) -> {
+      calls[0]++;
+      return new CaptureMost().chooseCoordinate(m, player);
+    };
+    AIPlayer player = new AIPlayer(model, counting, CellType.BLACK);
+    player.addPlayerActionListener(recorder());
+    player.handleMoveChosen(0, 0);
+    player.handleMoveChosen(0, 0);
+    Assert.assertEquals(1, calls[0]);
+    Assert.assertEquals(2, transcript.size());
+    Assert.assertEquals(transcript.get(0), transcript.get(1));
+    Assert.assertEquals(1, player.getDecisionCount());
+    Assert.assertEquals(1, player.getCachedDecisionCount());
+
+    MoveDecision decision = player.getLastDecision();
+    Assert.assertEquals(model.getBoardVersion(), decision.getBoardVersion());
+    Assert.assertFalse(decision.isPass());
+    Assert.assertEquals(decision.getThinkNanos(), player.getTotalThinkNanos());
+    Assert.assertEquals(decision.getThinkNanos(), player.getMaxThinkNanos());
+
+    model.makeMove(CellType.BLACK, decision.getMove().getRow(), decision.getMove().getCol());
+    model.skip(CellType.WHITE);
+    player.handleMoveChosen(0, 0);
+    Assert.assertEquals(2, calls[0]);
+    Assert.assertEquals(2, player.getDecisionCount());
+  }
+
+  @Test
+  public void testDecisionListenersGetSearchMetrics() {
+    ReversiModel model = startedModel();
+    AIPlayer player = new AIPlayer(model, new AlphaBetaStrategy(), CellType.BLACK);
+    DecisionTelemetry telemetry = new DecisionTelemetry();
+    List<MoveDecision> heard = new ArrayList<>();
+    player.addDecisionListener(telemetry);
+    player.addDecisionListener((color, decision) -> heard.add(decision));
+
+    player.handleMoveChosen(0, 0);
+    player.handleMoveChosen(0, 0);
+    Assert.assertEquals(1, heard.size());
+    Assert.assertSame(player.getLastDecision(), heard.get(0));
+    DecisionMetrics metrics = heard.get(0).getMetrics();
+    Assert.assertTrue(metrics.getNodes() > 0);
+    Assert.assertEquals(4, metrics.getDepth());
+    Assert.assertTrue(metrics.getSearchStatistics().getTableProbes() > 0);
+    Assert.assertEquals(heard.get(0).getThinkNanos(), metrics.getWallNanos());
+
+    Assert.assertEquals(1, telemetry.getDecisionCount());
+    Assert.assertEquals(metrics.getNodes(), telemetry.getNodes());
+    Assert.assertEquals(4, telemetry.getMaxDepth());
+    Assert.assertEquals(1, telemetry.getLatency().getCount());
+    Assert.assertEquals(metrics.getWallNanos(), telemetry.getLatency().getMax());
+  }
+
+  @Test
+  public void testBoardVersionChangesWithEveryMove() {
+    ReversiModel model = startedModel();
+    long start = model.getBoardVersion();
+    model.skip(CellType.BLACK);
+    long afterSkip = model.getBoardVersion();
+    Assert.assertNotEquals(start, afterSkip);
+    Coordinate move = new CaptureMost().chooseCoordinate(model, CellType.WHITE);
+    model.makeMove(CellType.WHITE, move.getRow(), move.getCol());
+    Assert.assertNotEquals(afterSkip, model.getBoardVersion());
+  }
+
+  @Test
+  public void testBoardVersionIsFinalBeforeListenersHearOfMove() {
+    ReversiModel model = startedModel();
+    long start = model.getBoardVersion();
+    List<Long> seen = new ArrayList<>();
+    model.getEventBus().subscribe(event -> seen.add(model.getBoardVersion()));
+    Coordinate move = new CaptureMost().chooseCoordinate(model, CellType.BLACK);
+    model.makeMove(CellType.BLACK, move.getRow(), move.getCol());
+    Assert.assertEquals(start + 1, model.getBoardVersion());
+    Assert.assertEquals(List.of(start + 1), seen);
+  }
+}
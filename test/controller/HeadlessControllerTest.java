@@ -0,0 +1,76 @@
+package controller;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import model.BasicReversi;
+import model.CellType;
+import model.ReversiModel;
+import strategy.CaptureMost;
+import view.HeadlessView;
+
+/**
+ * Tests for the controller running without a display, with its messages sent to a sink.
+ */
+public class HeadlessControllerTest {
+
+  @Test
+  public void testAIPlayersFinishGameWithoutDialogs() {
+    ReversiModel model = new BasicReversi(7);
+    CountingNotificationSink sink = new CountingNotificationSink();
+    HeadlessView blackView = new HeadlessView();
+    HeadlessView whiteView = new HeadlessView();
+    new ReversiController(model, new AIPlayer(model, new CaptureMost(), CellType.BLACK),
+            blackView, sink);
+    new ReversiController(model, new AIPlayer(model, new CaptureMost(), CellType.WHITE),
+            whiteView, sink);
+
+    model.startGame();
+
+    Assert.assertTrue(model.isGameOver());
+    Assert.assertTrue(blackView.isVisible());
+    Assert.assertTrue(blackView.getUpdateCount() > 0);
+    Assert.assertEquals(1, sink.getCount("Initialize Game"));
+    Assert.assertTrue(sink.getCount("Move notification") > 0);
+    Assert.assertEquals(2, sink.getCount("Game concluded"));
+    Assert.assertEquals(0, sink.getErrorCount());
+  }
+
+  @Test
+  public void testRejectedActionsAreLogged() {
+    ReversiModel model = new BasicReversi(7);
+    StringBuilder log = new StringBuilder();
+    HeadlessView view = new HeadlessView();
+    new ReversiController(model, new HumanPlayer(model, CellType.BLACK), view,
+            new LoggingNotificationSink(log));
+    model.startGame();
+
+    view.chooseMove(3, 0);
+    Assert.assertTrue(log.toString().contains("[error] "));
+    Assert.assertEquals(CellType.BLACK, model.getCurrentPlayerTurn());
+
+    view.choosePass();
+    Assert.assertTrue(log.toString().contains(
+            "[] Black has passed his turn. White player's turn to make move.\n"));
+    Assert.assertEquals(CellType.WHITE, model.getCurrentPlayerTurn());
+  }
+
+  @Test
+  public void testNullSinkDropsEverything() {
+    ReversiModel model = new BasicReversi(7);
+    HeadlessView view = new HeadlessView();
+    new ReversiController(model, new HumanPlayer(model, CellType.BLACK), view,
+            new NullNotificationSink());
+    model.startGame();
+    view.chooseMove(3, 0);
+    view.choosePass();
+    Assert.assertEquals(CellType.WHITE, model.getCurrentPlayerTurn());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testControllerNeedsSink() {
+    ReversiModel model = new BasicReversi(7);
+    new ReversiController(model, new HumanPlayer(model, CellType.BLACK), new HeadlessView(),
+            null);
+  }
+}
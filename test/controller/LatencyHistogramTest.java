@@ -0,0 +1,49 @@
+package controller;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for the histogram that decision latencies are collected in.
+ */
+public class LatencyHistogramTest {
+
+  @Test
+  public void testPercentilesAreWithinABucketOfTheTrueOnes() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long micros = 1; micros <= 1000; micros++) {
+      histogram.record(micros * 1_000);
+    }
+    Assert.assertEquals(1000, histogram.getCount());
+    Assert.assertEquals(1_000_000, histogram.getMax());
+    Assert.assertEquals(500_500, histogram.getMean(), 0.001);
+    assertWithinBucket(500_000, histogram.getP50());
+    assertWithinBucket(990_000, histogram.getP99());
+    Assert.assertEquals(1_000_000, histogram.getPercentile(100));
+  }
+
+  @Test
+  public void testShortDurationsAreExact() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long nanos = 0; nanos < 10; nanos++) {
+      histogram.record(nanos);
+    }
+    histogram.record(-5);
+    Assert.assertEquals(4, histogram.getP50());
+    Assert.assertEquals(9, histogram.getP99());
+
+    histogram.clear();
+    Assert.assertEquals(0, histogram.getCount());
+    Assert.assertEquals(0, histogram.getP99());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPercentileMustBeInRange() {
+    new LatencyHistogram().getPercentile(0);
+  }
+
+  private static void assertWithinBucket(long expected, long actual) {
+    Assert.assertTrue(actual + " below " + expected, actual >= expected);
+    Assert.assertTrue(actual + " too far above " + expected, actual <= expected * 1.125);
+  }
+}
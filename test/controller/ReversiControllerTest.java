@@ -10,14 +10,16 @@ import model.BasicReversi;
 import model.CellType;
 import model.ReversiModel;
 import strategy.CaptureMost;
+import view.HeadlessView;
 import view.IReversiView;
-import view.ReversiView;
 
 /**
  * Tests for reversi controller using a mock model.
  */
 public class ReversiControllerTest {
   List<String> transcript = new ArrayList<>();
+  // takes the messages the controllers would show in dialogs
+  private final CountingNotificationSink notifications = new CountingNotificationSink();
 
 
   private static Player createPlayer(ReversiModel model, String playerType, CellType cellType) {
@@ -54,8 +56,8 @@ public class ReversiControllerTest {
 
 
     //Create views for each player
-    IReversiView viewPlayer1 = new ReversiView(model);
-    IReversiView viewPlayer2 = new ReversiView(model);
+    IReversiView viewPlayer1 = new HeadlessView();
+    IReversiView viewPlayer2 = new HeadlessView();
 
     //Instantiate player objects
     Player player1 = createPlayer(model, blackPlayer, CellType.BLACK);
@@ -64,8 +66,10 @@ public class ReversiControllerTest {
 
 
     //Create a controller for each player
-    MockController controller1 = new MockController(model, player1, viewPlayer1, transcript);
-    MockController controller2 = new MockController(model, player2, viewPlayer2, transcript);
+    MockController controller1 = new MockController(model, player1, viewPlayer1, transcript,
+            notifications);
+    MockController controller2 = new MockController(model, player2, viewPlayer2, transcript,
+            notifications);
 
     //Start the game
     model.startGame();
@@ -80,7 +84,8 @@ public class ReversiControllerTest {
     Assert.assertTrue(transcript.contains("Player turn changed"));
 
     //Test that the view has been updated
-    Assert.assertTrue(transcript.contains("view has been updated"));
+    Assert.assertTrue(transcript.contains("AIPlayer X view has been updated"));
+    Assert.assertTrue(((HeadlessView) viewPlayer1).getUpdateCount() > 0);
 
 
 
@@ -109,8 +114,8 @@ public class ReversiControllerTest {
 
 
     //Create views for each player
-    IReversiView viewPlayer1 = new ReversiView(model);
-    IReversiView viewPlayer2 = new ReversiView(model);
+    IReversiView viewPlayer1 = new HeadlessView();
+    IReversiView viewPlayer2 = new HeadlessView();
 
     //Instantiate player objects
     Player player1 = createPlayer(model, blackPlayer, CellType.BLACK);
@@ -119,8 +124,10 @@ public class ReversiControllerTest {
 
 
     //Create a controller for each player
-    MockController controller1 = new MockController(model, player1, viewPlayer1, transcript);
-    MockController controller2 = new MockController(model, player2, viewPlayer2, transcript);
+    MockController controller1 = new MockController(model, player1, viewPlayer1, transcript,
+            notifications);
+    MockController controller2 = new MockController(model, player2, viewPlayer2, transcript,
+            notifications);
 
     //Start the game
     model.startGame();
@@ -160,8 +167,8 @@ public class ReversiControllerTest {
 
 
     //Create views for each player
-    IReversiView viewPlayer1 = new ReversiView(model);
-    IReversiView viewPlayer2 = new ReversiView(model);
+    IReversiView viewPlayer1 = new HeadlessView();
+    IReversiView viewPlayer2 = new HeadlessView();
 
     //Instantiate player objects
     Player player1 = createPlayer(model, blackPlayer, CellType.BLACK);
@@ -170,8 +177,10 @@ public class ReversiControllerTest {
 
 
     //Create a controller for each player
-    MockController controller1 = new MockController(model, player1, viewPlayer1, transcript);
-    MockController controller2 = new MockController(model, player2, viewPlayer2, transcript);
+    MockController controller1 = new MockController(model, player1, viewPlayer1, transcript,
+            notifications);
+    MockController controller2 = new MockController(model, player2, viewPlayer2, transcript,
+            notifications);
 
     //Start the game
     model.startGame();
@@ -183,6 +192,8 @@ public class ReversiControllerTest {
 
     Assert.assertTrue(transcript.contains("AIPlayer O Game is over"));
     Assert.assertTrue(transcript.contains("AIPlayer X Game is over"));
+    // the game over messages went to the sink instead of dialogs
+    Assert.assertTrue(notifications.getNotificationCount() > 0);
 
 
 
@@ -211,8 +222,8 @@ public class ReversiControllerTest {
 
 
     //Create views for each player
-    IReversiView viewPlayer1 = new ReversiView(model);
-    IReversiView viewPlayer2 = new ReversiView(model);
+    IReversiView viewPlayer1 = new HeadlessView();
+    IReversiView viewPlayer2 = new HeadlessView();
 
     //Instantiate player objects
     Player player1 = createPlayer(model, blackPlayer, CellType.BLACK);
@@ -221,8 +232,10 @@ public class ReversiControllerTest {
 
 
     //Create a controller for each player
-    MockController controller1 = new MockController(model, player1, viewPlayer1, transcript);
-    MockController controller2 = new MockController(model, player2, viewPlayer2, transcript);
+    MockController controller1 = new MockController(model, player1, viewPlayer1, transcript,
+            notifications);
+    MockController controller2 = new MockController(model, player2, viewPlayer2, transcript,
+            notifications);
 
     //Start the game
     model.startGame();
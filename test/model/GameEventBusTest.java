@@ -0,0 +1,159 @@
+package model;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import strategy.CaptureMost;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the typed events of the game models and their delivery.
+ */
+public class GameEventBusTest {
+
+  private static void playBestMove(ReversiModel model) {
+    CellType player = model.getCurrentPlayerTurn();
+    Coordinate move = new CaptureMost().chooseCoordinate(model, player);
+    model.makeMove(player, move.getRow(), move.getCol());
+  }
+
+  @Test
+  public void testMoveEventCarriesTheDelta() {
+    BasicReversi model = new BasicReversi(7);
+    List<GameEvent> events = new ArrayList<>();
+    model.getEventBus().subscribe(events::add);
+    model.startGame();
+    assertEquals(GameEvent.Type.GAME_STARTED, events.get(0).getType());
+    assertEquals(6, events.get(0).getChanges().size());
+
+    playBestMove(model);
+    GameEvent move = events.get(1);
+    assertEquals(GameEvent.Type.MOVE_PLAYED, move.getType());
+    assertEquals(CellType.BLACK, move.getPlayer());
+    assertEquals(CellType.WHITE, move.getNextTurn());
+    assertEquals(model.getBoardVersion(), move.getVersion());
+    assertArrayEquals(model.getScores(), move.getScores());
+    assertEquals(CellType.BLACK, move.getChanges().get(move.getPlaced()));
+    assertTrue(move.getChanges().size() > 1);
+    for (Map.Entry<ICoordinate, CellType> change : move.getChanges().entrySet()) {
+      assertEquals(change.getValue(),
+              model.getContent(change.getKey().getRow(), change.getKey().getCol()));
+    }
+  }
+
+  @Test
+  public void testPassAndGameOverEvents() {
+    SquareReversi model = new SquareReversi(8);
+    List<GameEvent> events = new ArrayList<>();
+    model.getEventBus().subscribe(events::add);
+    model.startGame();
+    model.skip(CellType.BLACK);
+    model.skip(CellType.WHITE);
+
+    assertEquals(GameEvent.Type.PASSED, events.get(1).getType());
+    assertEquals(CellType.BLACK, events.get(1).getPlayer());
+    assertEquals(CellType.WHITE, events.get(1).getNextTurn());
+    assertTrue(events.get(1).getChanges().isEmpty());
+    assertEquals(GameEvent.Type.GAME_OVER, events.get(2).getType());
+    assertNull(events.get(2).getNextTurn());
+    assertArrayEquals(new int[]{2, 2}, events.get(2).getScores());
+  }
+
+  @Test
+  public void testSlowAsyncListenerGetsCoalescedBurst() {
+    BasicReversi model = new BasicReversi(9);
+    ArrayDeque<Runnable> queued = new ArrayDeque<>();
+    List<GameEvent> events = new ArrayList<>();
+    model.getEventBus().subscribe(events::add, queued::add, true);
+    model.startGame();
+    for (int i = 0; i < 5; i++) {
+      playBestMove(model);
+    }
+    // one drain was scheduled for the whole burst
+    assertEquals(1, queued.size());
+    queued.poll().run();
+
+    assertEquals(2, events.size());
+    GameEvent burst = events.get(1);
+    assertEquals(GameEvent.Type.MOVE_PLAYED, burst.getType());
+    assertEquals(model.getBoardVersion(), burst.getVersion());
+    assertEquals(model.getCurrentPlayerTurn(), burst.getNextTurn());
+    assertArrayEquals(model.getScores(), burst.getScores());
+    for (Map.Entry<ICoordinate, CellType> change : burst.getChanges().entrySet()) {
+      assertEquals(change.getValue(),
+              model.getContent(change.getKey().getRow(), change.getKey().getCol()));
+    }
+  }
+
+  @Test
+  public void testAsyncListenerWithoutCoalescingGetsEveryEvent() {
+    BasicReversi model = new BasicReversi(9);
+    List<GameEvent> events = new ArrayList<>();
+    model.getEventBus().subscribe(events::add, Runnable::run, false);
+    model.startGame();
+    playBestMove(model);
+    playBestMove(model);
+    assertEquals(3, events.size());
+  }
+
+  @Test
+  public void testPassAnsweringMoveDoesNotEndGame() {
+    BasicReversi model = new BasicReversi(7);
+    model.startGame();
+    model.skip(CellType.BLACK);
+    // black replies to white's move with a pass, as an AI without moves would
+    model.getEventBus().subscribe(event -> {
+      if (event.getType() == GameEvent.Type.MOVE_PLAYED
+              && event.getNextTurn() == CellType.BLACK) {
+        model.skip(CellType.BLACK);
+      }
+    });
+    playBestMove(model);
+    assertFalse(model.isGameOver());
+    assertEquals(CellType.WHITE, model.getCurrentPlayerTurn());
+  }
+
+  @Test
+  public void testMoveMadeByListenerIsDeliveredAfterTheMoveItAnswers() {
+    BasicReversi model = new BasicReversi(7);
+    model.startGame();
+    // white replies to black's move from inside the publish, as a synchronous AI player would
+    model.getEventBus().subscribe(event -> {
+      if (event.getType() == GameEvent.Type.MOVE_PLAYED
+              && event.getNextTurn() == CellType.WHITE) {
+        playBestMove(model);
+      }
+    });
+    List<Long> versions = new ArrayList<>();
+    model.getEventBus().subscribe(event -> versions.add(event.getVersion()));
+    ArrayDeque<Runnable> queued = new ArrayDeque<>();
+    List<GameEvent> coalesced = new ArrayList<>();
+    model.getEventBus().subscribe(coalesced::add, queued::add, true);
+
+    long start = model.getBoardVersion();
+    playBestMove(model);
+    playBestMove(model);
+    assertEquals(List.of(start + 1, start + 2, start + 3, start + 4), versions);
+
+    while (!queued.isEmpty()) {
+      queued.poll().run();
+    }
+    GameEvent last = coalesced.get(coalesced.size() - 1);
+    assertEquals(model.getBoardVersion(), last.getVersion());
+    assertEquals(model.getCurrentPlayerTurn(), last.getNextTurn());
+    assertArrayEquals(model.getScores(), last.getScores());
+    for (Map.Entry<ICoordinate, CellType> change : last.getChanges().entrySet()) {
+      assertEquals(change.getValue(),
+              model.getContent(change.getKey().getRow(), change.getKey().getCol()));
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package profiling;
+
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import controller.AIPlayer;
+import model.BasicReversi;
+import model.CellType;
+import model.Coordinate;
+import strategy.AlphaBetaStrategy;
+import strategy.CaptureMost;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the flight recorder events of the model and the strategies.
+ */
+public class ProfilingEventsTest {
+
+  @Test
+  public void testGameIsRecorded() throws Exception {
+    BasicReversi model = new BasicReversi(7);
+    model.startGame();
+    Coordinate move = new CaptureMost().chooseCoordinate(model, CellType.BLACK);
+    int before = model.getScores()[0];
+
+    Path file = Files.createTempFile("reversi", ".jfr");
+    try (Recording recording = new Recording()) {
+      for (String name : new String[] {"reversi.Move", "reversi.Skip", "reversi.MoveGeneration",
+          "reversi.BoardCopy", "reversi.StrategyDecision"}) {
+        recording.enable(name);
+      }
+      recording.start();
+      model.makeMove(CellType.BLACK, move.getRow(), move.getCol());
+      model.skip(CellType.WHITE);
+      model.getGameBoard();
+      new AIPlayer(model, new AlphaBetaStrategy(), CellType.BLACK).handleMoveChosen(0, 0);
+      recording.stop();
+      recording.dump(file);
+
+      List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+      Map<String, RecordedEvent> first = new HashMap<>();
+      for (RecordedEvent event : events) {
+        first.putIfAbsent(event.getEventType().getName(), event);
+      }
+
+      RecordedEvent played = first.get("reversi.Move");
+      assertEquals(7, played.getInt("boardSize"));
+      assertEquals(move.getRow(), played.getInt("row"));
+      assertEquals(move.getCol(), played.getInt("column"));
+      assertEquals(model.getScores()[0] - before - 1, played.getInt("flips"));
+      assertEquals("WHITE", first.get("reversi.Skip").getString("player"));
+      assertEquals(model.getBoardSize(), first.get("reversi.BoardCopy").getInt("boardSize"));
+      assertTrue(first.containsKey("reversi.MoveGeneration"));
+      RecordedEvent decision = first.get("reversi.StrategyDecision");
+      assertEquals(AlphaBetaStrategy.class.getName(), decision.getString("strategy"));
+      assertTrue(decision.getLong("nodes") > 0);
+      assertTrue(decision.getDuration().toNanos() > 0);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void testListenersAreNotTimedAsPartOfMove() throws Exception {
+    BasicReversi model = new BasicReversi(7);
+    model.startGame();
+    Coordinate move = new CaptureMost().chooseCoordinate(model, CellType.BLACK);
+    model.getEventBus().subscribe(event -> {
+      try {
+        Thread.sleep(200);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+
+    Path file = Files.createTempFile("reversi", ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable("reversi.Move");
+      recording.enable("reversi.Skip");
+      recording.start();
+      model.makeMove(CellType.BLACK, move.getRow(), move.getCol());
+      model.skip(CellType.WHITE);
+      recording.stop();
+      recording.dump(file);
+
+      List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+      assertEquals(2, events.size());
+      for (RecordedEvent event : events) {
+        assertTrue(event.getDuration().toMillis() < 200);
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package provider;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Optional;
+
+import adopt.CoordinateCache;
+import adopt.HexBoard;
+import adopt.HexReversi;
+import adopt.PlayerAdopter;
+import model.BasicReversi;
+import model.CellType;
+import model.ICoordinate;
+import strategy.BoardGeometry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the board regions the provider strategies share.
+ */
+public class AbstractStrategyTest {
+
+  /**
+   * Opens up the regions of a board.
+   */
+  private static final class Regions extends AbstractStrategy {
+    Regions(Board board) {
+      initializeBoard(board);
+    }
+  }
+
+  @Test
+  public void testRegionsMatchBoardGeometry() {
+    for (int size = 5; size <= 11; size += 2) {
+      HexBoard board = new HexBoard(new BasicReversi(size).getGameBoard());
+      Regions regions = new Regions(board);
+      BoardGeometry geometry = BoardGeometry.hexagonal(size);
+      CoordinateCache cache = CoordinateCache.of(geometry);
+
+      assertEquals(6, regions.getCornerCoordinates().size());
+      for (int index = 0; index < geometry.getCellCount(); index++) {
+        Coordinates cell = cache.get(index);
+        assertEquals(geometry.isCorner(index), regions.isCorner(cell));
+        assertEquals(geometry.isOuterLayer(index), regions.isOuterMostLayer(cell));
+        assertEquals(geometry.isSecondLayer(index), regions.isSecondOuterMostLayer(cell));
+      }
+      assertSame(regions.getCornerCoordinates(), new Regions(board).getCornerCoordinates());
+    }
+  }
+
+  @Test
+  public void testCornerIsTakenWhenOffered() {
+    // a white disc next to the bottom corner, which black can take; other moves are higher up
+    HashMap<ICoordinate, CellType> cells = new BasicReversi(7).getGameBoard();
+    HexReversi position = new HexReversi(cells);
+    position.startGame();
+    HexBoard board = position.getCopyOfBoard();
+    CoordinateCache cache = CoordinateCache.forBoard(board);
+    board.setCellAt(cache.get(5, 3), DiscState.WHITE);
+    board.setCellAt(cache.get(4, 3), DiscState.BLACK);
+    HexReversi model = new HexReversi(board, PlayerColor.BLACK);
+
+    Optional<Coordinates> move = new StrategyMoveToCorner(board)
+            .chooseMove(model, new PlayerAdopter(CellType.BLACK));
+    assertTrue(move.isPresent());
+    assertTrue(model.calculateMoves(PlayerColor.BLACK).size() > 1);
+    assertSame(cache.get(6, 3), move.get());
+  }
+}
@@ -0,0 +1,186 @@
+package server;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the game server, driven by clients on localhost.
+ */
+public class GameServerTest {
+
+  private SessionManager sessions;
+  private GameServer server;
+
+  /**
+   * A client speaking the server's line protocol.
+   */
+  private static final class Client implements AutoCloseable {
+    private final Socket socket;
+    private final BufferedReader in;
+    private final Writer out;
+
+    Client(int port) throws IOException {
+      socket = new Socket(InetAddress.getLoopbackAddress(), port);
+      in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+              StandardCharsets.UTF_8));
+      out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+    }
+
+    String send(String request) throws IOException {
+      out.write(request + "\n");
+      out.flush();
+      return in.readLine();
+    }
+
+    String readLine() throws IOException {
+      return in.readLine();
+    }
+
+    @Override
+    public void close() throws IOException {
+      socket.close();
+    }
+  }
+
+  @Before
+  public void setUp() throws IOException {
+    sessions = new SessionManager();
+    server = new GameServer(sessions, 0);
+    server.start();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    server.close();
+  }
+
+  @Test
+  public void testProtocol() throws IOException {
+    try (Client client = new Client(server.getPort())) {
+      Assert.assertEquals("OK 1", client.send("NEW hexagon 7 human ai"));
+      Assert.assertEquals("OK 3 3 BLACK", client.send("STATE 1"));
+
+      String moves = client.send("MOVES 1");
+      Assert.assertTrue(moves.startsWith("OK "));
+      String[] first = moves.split(" ")[1].split(",");
+      String afterMove = client.send("MOVE 1 " + first[0] + " " + first[1]);
+      // the AI has replied, so it is black's turn again
+      Assert.assertTrue(afterMove, afterMove.endsWith(" BLACK"));
+
+      String board = client.send("BOARD 1");
+      Assert.assertEquals("OK 7", board);
+      for (int row = 0; row < 7; row++) {
+        Assert.assertNotNull(client.readLine());
+      }
+
+      Assert.assertTrue(client.send("MOVE 1 3 0").startsWith("ERR "));
+      Assert.assertEquals("ERR Expected a number", client.send("MOVE 1 x 0"));
+      Assert.assertEquals("ERR Unknown command: JUMP", client.send("JUMP 1"));
+      Assert.assertEquals("ERR Unknown player type: robot",
+              client.send("NEW hexagon 7 robot ai"));
+      Assert.assertEquals("ERR Board size cannot be more than " + GameSession.MAX_BOARD_SIZE,
+              client.send("NEW hexagon 99999 human human"));
+      Assert.assertEquals("ERR Board size cannot be more than " + GameSession.MAX_BOARD_SIZE,
+              client.send("NEW square " + (GameSession.MAX_BOARD_SIZE + 1) + " human human"));
+
+      Assert.assertEquals("OK", client.send("CLOSE 1"));
+      Assert.assertEquals("ERR No session 1", client.send("STATE 1"));
+      Assert.assertEquals("BYE", client.send("QUIT"));
+      Assert.assertNull(client.readLine());
+    }
+  }
+
+  @Test
+  public void testWatchStreamsFramesUntilClientSendsLine() throws IOException {
+    try (Client player = new Client(server.getPort());
+         Client watcher = new Client(server.getPort())) {
+      Assert.assertEquals("OK 1", player.send("NEW hexagon 7 human human"));
+      Assert.assertEquals("ERR No session 2", watcher.send("WATCH 2"));
+      Assert.assertEquals("OK", watcher.send("WATCH 1"));
+      Assert.assertTrue(watcher.readLine().startsWith("\u001b[H\u001b[2J"));
+      for (int row = 1; row < 7; row++) {
+        Assert.assertNotNull(watcher.readLine());
+      }
+      Assert.assertTrue(watcher.readLine().endsWith("X 3 - O 3, X to move"));
+
+      String[] move = player.send("MOVES 1").split(" ")[1].split(",");
+      Assert.assertTrue(player.send("MOVE 1 " + move[0] + " " + move[1]).startsWith("OK "));
+      Assert.assertTrue(watcher.readLine().endsWith("X 5 - O 2, O to move"));
+
+      Assert.assertEquals("OK", watcher.send("STOP"));
+      Assert.assertTrue(watcher.send("STATE 1").endsWith(" WHITE"));
+    }
+  }
+
+  @Test
+  public void testConcurrentClientsFinishTheirGames() throws Exception {
+    int clients = 8;
+    ExecutorService pool = Executors.newFixedThreadPool(clients);
+    try {
+      List<Future<String>> results = new ArrayList<>();
+      for (int i = 0; i < clients; i++) {
+        results.add(pool.submit(() -> playAgainstAi(server.getPort())));
+      }
+      for (Future<String> result : results) {
+        Assert.assertTrue(result.get(60, TimeUnit.SECONDS).contains(" OVER "));
+      }
+      Assert.assertEquals(clients, sessions.size());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testIdleSessionsAreCheap() {
+    for (int i = 0; i < 2000; i++) {
+      sessions.create("hexagon", 11, GameSession.PlayerType.HUMAN,
+              GameSession.PlayerType.HUMAN);
+    }
+    Assert.assertEquals(2000, sessions.size());
+    Assert.assertEquals("3 3 BLACK", sessions.get(2000).describeState());
+  }
+
+  @Test
+  public void testAiGameIsPlayedOnCreation() {
+    GameSession session = sessions.create("hexagon", 7, GameSession.PlayerType.AI,
+            GameSession.PlayerType.AI);
+    Assert.assertTrue(session.isGameOver());
+    Assert.assertTrue(session.getLegalMoves().isEmpty());
+  }
+
+  // plays the first legal move, or passes, until the game is over
+  private static String playAgainstAi(int port) throws IOException {
+    try (Client client = new Client(port)) {
+      String id = client.send("NEW hexagon 9 human ai").substring(3);
+      String state = client.send("STATE " + id);
+      while (!state.contains(" OVER ")) {
+        String moves = client.send("MOVES " + id);
+        if (moves.equals("OK")) {
+          state = client.send("PASS " + id);
+        } else {
+          String[] move = moves.split(" ")[1].split(",");
+          state = client.send("MOVE " + id + " " + move[0] + " " + move[1]);
+        }
+        Assert.assertTrue(state, state.startsWith("OK "));
+      }
+      return state;
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package strategy;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import model.BasicReversi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test class for the exact endgame solver.
+ */
+public class EndgameSolverTest {
+
+  @Test
+  public void testSolverMatchesBruteForce() {
+    Random random = new Random(11);
+    EndgameSolver solver = new EndgameSolver(8);
+    for (int game = 0; game < 20; game++) {
+      SearchBoard board = playRandomly(random, 7, 9);
+
+      SearchResult result = solver.solve(board);
+
+      assertEquals(bruteForce(board), result.getScore());
+      board.makeMove(result.getBestMove());
+      assertEquals(result.getScore(), -bruteForce(board));
+      board.undoMove();
+    }
+  }
+
+  @Test
+  public void testEngineSwitchesToSolverNearTheEnd() {
+    SearchBoard board = playRandomly(new Random(3), 7, 8);
+    SearchEngine engine = new SearchEngine(WeightedEvaluator.standard());
+    engine.setEndgameEmpties(8);
+
+    SearchResult result = engine.search(board, 1);
+
+    assertEquals(SearchEngine.exactScore(bruteForce(board)), result.getScore());
+    assertEquals(board.getEmptyCount(), result.getDepth());
+  }
+
+  @Test
+  public void testSolvesDefaultThresholdOnStandardBoard() {
+    BoardGeometry geometry = BoardGeometry.hexagonal(11);
+    SearchBoard board = playRandomly(new Random(5), 11,
+            SearchEngine.defaultEndgameEmpties(geometry));
+    long hash = board.getHash();
+
+    SearchResult result = new EndgameSolver().solve(board);
+
+    assertTrue(board.isLegalMove(result.getBestMove()));
+    assertTrue(Math.abs(result.getScore()) <= geometry.getCellCount());
+    assertEquals(hash, board.getHash());
+  }
+
+  // Plays random games until one has at most the given empties left and the side to move can move
+  private static SearchBoard playRandomly(Random random, int size, int empties) {
+    while (true) {
+      SearchBoard board = SearchBoard.fromModel(new BasicReversi(size));
+      int[] moves = new int[board.getGeometry().getCellCount()];
+      while (!board.isGameOver() && board.getEmptyCount() > empties) {
+        int count = board.generateMoves(moves);
+        if (count == 0) {
+          board.pass();
+        } else {
+          board.makeMove(moves[random.nextInt(count)]);
+        }
+      }
+      if (board.hasMoves(board.getSideToMove())) {
+        return board;
+      }
+    }
+  }
+
+  private static int bruteForce(SearchBoard board) {
+    int[] moves = new int[board.getGeometry().getCellCount()];
+    int count = board.generateMoves(moves);
+    if (count == 0) {
+      if (!board.hasMoves(SearchBoard.opponent(board.getSideToMove()))) {
+        return board.getDiscDifference(board.getSideToMove());
+      }
+      board.pass();
+      int score = -bruteForce(board);
+      board.pass();
+      return score;
+    }
+    int best = Integer.MIN_VALUE;
+    for (int i = 0; i < count; i++) {
+      board.makeMove(moves[i]);
+      best = Math.max(best, -bruteForce(board));
+      board.undoMove();
+    }
+    return best;
+  }
+}
@@ -0,0 +1,85 @@
+package strategy;
+
+import org.junit.Test;
+
+import model.BasicReversi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test class for the move ordering used by the search engine.
+ */
+public class MoveOrdererTest {
+
+  @Test
+  public void testCornersBeforeCornerNeighbors() {
+    BoardGeometry geometry = BoardGeometry.hexagonal(11);
+    int corner = geometry.indexOf(5, 0);
+    int cornerNeighbor = geometry.indexOf(5, 1);
+    int interior = geometry.indexOf(5, 3);
+
+    assertTrue(MoveOrderer.staticPriority(geometry, corner)
+            > MoveOrderer.staticPriority(geometry, interior));
+    assertTrue(MoveOrderer.staticPriority(geometry, interior)
+            > MoveOrderer.staticPriority(geometry, cornerNeighbor));
+  }
+
+  @Test
+  public void testHashMoveThenKillersThenHistory() {
+    BoardGeometry geometry = BoardGeometry.hexagonal(11);
+    SearchBoard board = new SearchBoard(geometry);
+    MoveOrderer orderer = new MoveOrderer();
+    orderer.startSearch(geometry, 4);
+    int corner = geometry.indexOf(5, 0);
+    int[] moves = {corner, geometry.indexOf(4, 4), geometry.indexOf(5, 4), geometry.indexOf(6, 4)};
+    int hashMove = moves[3];
+    int killer = moves[2];
+    int historic = moves[1];
+
+    orderer.recordCutoff(board, killer, 1, 1);
+    orderer.recordCutoff(board, historic, 2, 3);
+    orderer.order(board, moves, moves.length, 1, hashMove);
+
+    assertEquals(hashMove, moves[0]);
+    assertEquals(killer, moves[1]);
+    assertEquals(historic, moves[2]);
+    assertEquals(corner, moves[3]);
+  }
+
+  @Test
+  public void testOrderedSearchKeepsMinimaxScore() {
+    SearchBoard board = SearchBoard.fromModel(new BasicReversi(7));
+    Evaluator evaluator = WeightedEvaluator.standard();
+    SearchEngine engine = new SearchEngine(evaluator, 10);
+    engine.setEndgameEmpties(0);
+
+    for (int depth = 1; depth <= 4; depth++) {
+      assertEquals(minimax(board, evaluator, depth), engine.search(board, depth).getScore());
+    }
+  }
+
+  private static int minimax(SearchBoard board, Evaluator evaluator, int depth) {
+    if (depth == 0) {
+      return evaluator.evaluate(board);
+    }
+    int[] moves = new int[board.getGeometry().getCellCount()];
+    int count = board.generateMoves(moves);
+    if (count == 0) {
+      if (!board.hasMoves(SearchBoard.opponent(board.getSideToMove()))) {
+        return SearchEngine.finalScore(board);
+      }
+      board.pass();
+      int score = -minimax(board, evaluator, depth);
+      board.pass();
+      return score;
+    }
+    int best = -SearchEngine.INFINITY;
+    for (int i = 0; i < count; i++) {
+      board.makeMove(moves[i]);
+      best = Math.max(best, -minimax(board, evaluator, depth - 1));
+      board.undoMove();
+    }
+    return best;
+  }
+}
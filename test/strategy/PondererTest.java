@@ -0,0 +1,114 @@
+package strategy;
+
+import org.junit.Test;
+
+import model.BasicReversi;
+import model.CellType;
+import model.Coordinate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test class for searching on the opponent's time.
+ */
+public class PondererTest {
+
+  private static SearchBoard afterFirstMove() {
+    SearchBoard board = SearchBoard.fromModel(new BasicReversi(11));
+    int[] moves = new int[board.getGeometry().getCellCount()];
+    board.generateMoves(moves);
+    board.makeMove(moves[0]);
+    return board;
+  }
+
+  @Test
+  public void testPredictedReplyReusesSearch() {
+    SearchBoard board = afterFirstMove();
+    Ponderer ponderer = new Ponderer(new SearchEngine(WeightedEvaluator.standard()));
+
+    ponderer.start(board, 3);
+    SearchEngine reference = new SearchEngine(WeightedEvaluator.standard());
+    board.makeMove(reference.search(board, 2).getBestMove());
+    SearchResult result = ponderer.takeResult(board);
+
+    assertEquals(reference.search(board, 3).getBestMove(), result.getBestMove());
+    assertEquals(1, ponderer.getHits());
+    assertFalse(ponderer.isPondering());
+  }
+
+  @Test
+  public void testOtherReplyStopsPondering() {
+    SearchBoard board = afterFirstMove();
+    SearchEngine engine = new SearchEngine(WeightedEvaluator.standard());
+    Ponderer ponderer = new Ponderer(engine);
+
+    ponderer.start(board, 12);
+    int[] moves = new int[board.getGeometry().getCellCount()];
+    int count = board.generateMoves(moves);
+    board.makeMove(moves[count - 1]);
+    SearchResult pondered = ponderer.takeResult(board);
+
+    assertFalse(ponderer.isPondering());
+    assertTrue(pondered == null || pondered.getDepth() == 12);
+    assertTrue(board.isLegalMove(engine.search(board, 2).getBestMove()));
+  }
+
+  @Test
+  public void testStop() {
+    Ponderer ponderer = new Ponderer(new SearchEngine(WeightedEvaluator.standard()));
+
+    ponderer.start(afterFirstMove(), 20);
+    ponderer.stop();
+
+    assertFalse(ponderer.isPondering());
+    assertNull(ponderer.takeResult(afterFirstMove()));
+  }
+
+  @Test(timeout = 10000)
+  public void testInterruptStopsWaitingForPonderedSearch() {
+    SearchBoard board = afterFirstMove();
+    Ponderer ponderer = new Ponderer(new SearchEngine(WeightedEvaluator.standard()));
+    ponderer.start(board, 30);
+    int[] moves = new int[board.getGeometry().getCellCount()];
+    board.generateMoves(moves);
+    board.makeMove(moves[0]);
+
+    Thread.currentThread().interrupt();
+    try {
+      ponderer.takeResult(board);
+      fail("Expected the wait to be aborted");
+    } catch (SearchAbortedException e) {
+      assertTrue(Thread.interrupted());
+    }
+    ponderer.stop();
+    assertFalse(ponderer.isPondering());
+  }
+
+  @Test
+  public void testPonderingStrategyPlaysWholeGame() {
+    BasicReversi model = new BasicReversi(7);
+    AlphaBetaStrategy black = new AlphaBetaStrategy(WeightedEvaluator.standard(), 3);
+    AlphaBetaStrategy white = new AlphaBetaStrategy(WeightedEvaluator.standard(), 3);
+    black.setPondering(true);
+    white.setPondering(true);
+
+    while (!model.isGameOver()) {
+      CellType turn = model.getCurrentPlayerTurn();
+      AlphaBetaStrategy strategy = turn == CellType.BLACK ? black : white;
+      try {
+        Coordinate move = strategy.chooseCoordinate(model, turn);
+        model.makeMove(turn, move.getRow(), move.getCol());
+      } catch (IllegalStateException e) {
+        model.skip(turn);
+      }
+    }
+    black.setPondering(false);
+    white.setPondering(false);
+
+    assertTrue(model.getScores()[0] + model.getScores()[1] > 6);
+  }
+}
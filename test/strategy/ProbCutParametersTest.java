@@ -0,0 +1,77 @@
+package strategy;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import model.BasicReversi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test class for the ProbCut parameters, their training and their use in the search.
+ */
+public class ProbCutParametersTest {
+
+  @Test
+  public void testWriteAndReadBack() throws IOException {
+    StringWriter writer = new StringWriter();
+    ProbCutParameters.standard().write(writer);
+
+    ProbCutParameters read = ProbCutParameters.fromReader(new StringReader(writer.toString()));
+
+    assertEquals(ProbCutParameters.standard().getThreshold(), read.getThreshold(), 1e-9);
+    assertEquals(ProbCutParameters.standard().getCuts().size(), read.getCuts().size());
+    assertEquals(2, read.cutsFor(6).length);
+    assertEquals(2, read.cutsFor(6)[0].getShallowDepth());
+    assertEquals(0, read.cutsFor(12).length);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testShallowDepthMustBeBelowDepth() throws IOException {
+    ProbCutParameters.fromReader(new StringReader("cut 4 4 1.0 0.0 10.0"));
+  }
+
+  @Test
+  public void testFitRecoversLine() {
+    List<double[]> samples = new ArrayList<>();
+    for (int x = -50; x <= 50; x += 10) {
+      samples.add(new double[]{x, 2 * x + 5 + (x % 20 == 0 ? 1 : -1)});
+    }
+
+    ProbCutParameters.Cut cut = ProbCutTrainer.fit(4, 2, samples);
+
+    assertEquals(2.0, cut.getSlope(), 0.05);
+    assertEquals(5.0, cut.getIntercept(), 0.5);
+    assertTrue(cut.getSigma() < 2);
+  }
+
+  @Test
+  public void testTrainerProducesCuts() {
+    ProbCutTrainer trainer = new ProbCutTrainer(WeightedEvaluator.standard(), new Random(1));
+
+    ProbCutParameters parameters = trainer.train(7, 3, new int[][]{{2, 1}}, 1.0);
+
+    assertEquals(1, parameters.getCuts().size());
+    assertEquals(1, parameters.cutsFor(2)[0].getShallowDepth());
+  }
+
+  @Test
+  public void testSelectiveSearchPlaysLegalMove() {
+    SearchBoard board = SearchBoard.fromModel(new BasicReversi(11));
+    SearchEngine engine = new SearchEngine(WeightedEvaluator.standard());
+    engine.setProbCut(ProbCutParameters.standard());
+
+    SearchResult result = engine.search(board, 6);
+
+    assertNotNull(engine.getProbCut());
+    assertTrue(board.isLegalMove(result.getBestMove()));
+  }
+}
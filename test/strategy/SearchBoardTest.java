@@ -0,0 +1,79 @@
+package strategy;
+
+import org.junit.Test;
+
+import model.BasicReversi;
+import model.CellType;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test class for the compact board used by searching strategies.
+ */
+public class SearchBoardTest {
+
+  @Test
+  public void testGeometryOfStandardHexBoard() {
+    BoardGeometry geometry = BoardGeometry.hexagonal(11);
+
+    assertEquals(91, geometry.getCellCount());
+    assertEquals(-1, geometry.indexOf(0, 0));
+    assertTrue(geometry.isCorner(geometry.indexOf(5, 0)));
+    assertTrue(geometry.isCorner(geometry.indexOf(0, 10)));
+    assertTrue(geometry.isOuterLayer(geometry.indexOf(7, 0)));
+    assertTrue(geometry.isSecondLayer(geometry.indexOf(6, 1)));
+    assertFalse(geometry.isOuterLayer(geometry.indexOf(5, 5)));
+  }
+
+  @Test
+  public void testLegalMovesMatchModel() {
+    BasicReversi model = new BasicReversi(11);
+    model.makeMove(CellType.BLACK, 6, 3);
+    model.makeMove(CellType.WHITE, 6, 2);
+    model.makeMove(CellType.BLACK, 7, 4);
+
+    SearchBoard board = SearchBoard.fromModel(model);
+    BoardGeometry geometry = board.getGeometry();
+
+    for (int index = 0; index < geometry.getCellCount(); index++) {
+      assertEquals(model.canMakeMove(geometry.rowOf(index), geometry.columnOf(index)),
+              board.isLegalMove(index));
+    }
+  }
+
+  @Test
+  public void testMakeMoveFlipsLikeModel() {
+    BasicReversi model = new BasicReversi(11);
+    SearchBoard board = SearchBoard.fromModel(model);
+    BoardGeometry geometry = board.getGeometry();
+
+    model.makeMove(CellType.BLACK, 6, 3);
+    int flips = board.makeMove(geometry.indexOf(3, 6));
+
+    assertEquals(1, flips);
+    assertEquals(model.getScores()[0], board.getDiscCount(SearchBoard.BLACK));
+    assertEquals(model.getScores()[1], board.getDiscCount(SearchBoard.WHITE));
+    assertEquals(SearchBoard.WHITE, board.getSideToMove());
+  }
+
+  @Test
+  public void testUndoRestoresPosition() {
+    SearchBoard board = SearchBoard.fromModel(new BasicReversi(11));
+    long hash = board.getHash();
+    int[] moves = new int[board.getGeometry().getCellCount()];
+
+    board.generateMoves(moves);
+    board.makeMove(moves[0]);
+    board.generateMoves(moves);
+    board.makeMove(moves[0]);
+    board.undoMove();
+    board.undoMove();
+
+    assertEquals(hash, board.getHash());
+    assertEquals(3, board.getDiscCount(SearchBoard.BLACK));
+    assertEquals(3, board.getDiscCount(SearchBoard.WHITE));
+    assertEquals(SearchBoard.BLACK, board.getSideToMove());
+  }
+}
@@ -0,0 +1,120 @@
+package strategy;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import model.BasicReversi;
+import model.CellType;
+import model.Coordinate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test class for the principal variation search and multi-move analysis.
+ */
+public class SearchEngineTest {
+
+  private static SearchBoard midgame() {
+    BasicReversi model = new BasicReversi(11);
+    model.makeMove(CellType.BLACK, 6, 3);
+    model.makeMove(CellType.WHITE, 6, 2);
+    model.makeMove(CellType.BLACK, 7, 4);
+    return SearchBoard.fromModel(model);
+  }
+
+  @Test
+  public void testAspirationSearchKeepsMinimaxScore() {
+    SearchBoard board = midgame();
+    Evaluator evaluator = WeightedEvaluator.standard();
+    SearchEngine engine = new SearchEngine(evaluator, 12);
+    long hash = board.getHash();
+
+    SearchResult result = engine.search(board, 4);
+
+    assertEquals(minimax(board, evaluator, 4), result.getScore());
+    board.makeMove(result.getBestMove());
+    assertEquals(result.getScore(), -minimax(board, evaluator, 3));
+    board.undoMove();
+    assertEquals(hash, board.getHash());
+  }
+
+  @Test
+  public void testAnalyzeReportsBestMovesWithExactScores() {
+    SearchBoard board = midgame();
+    Evaluator evaluator = WeightedEvaluator.standard();
+    SearchEngine engine = new SearchEngine(evaluator, 12);
+    int[] moves = new int[board.getGeometry().getCellCount()];
+    int count = board.generateMoves(moves);
+
+    List<SearchResult> best = engine.analyze(board, 3, moves, count, 3);
+
+    assertEquals(3, best.size());
+    int previous = SearchEngine.INFINITY;
+    for (SearchResult result : best) {
+      board.makeMove(result.getBestMove());
+      assertEquals(-minimax(board, evaluator, 2), result.getScore());
+      board.undoMove();
+      assertTrue(result.getScore() <= previous);
+      previous = result.getScore();
+    }
+    assertEquals(engine.search(board, 3).getScore(), best.get(0).getScore());
+  }
+
+  @Test
+  public void testStrategyAnalysisUsesModelCoordinates() {
+    BasicReversi model = new BasicReversi(11);
+
+    for (Coordinate coordinate : new AlphaBetaStrategy().analyze(model, 2).keySet()) {
+      assertTrue(model.canMakeMove(coordinate.getRow(), coordinate.getCol()));
+    }
+  }
+
+  @Test
+  public void testInterruptStopsSearch() {
+    SearchEngine engine = new SearchEngine(WeightedEvaluator.standard());
+    Thread.currentThread().interrupt();
+    try {
+      engine.search(midgame(), 8);
+      fail("An interrupted search should abort");
+    } catch (SearchAbortedException e) {
+      assertTrue(Thread.interrupted());
+    } finally {
+      Thread.interrupted();
+    }
+  }
+
+  @Test
+  public void testDescribeScore() {
+    assertEquals("+12", SearchEngine.describeScore(12));
+    assertEquals("-3", SearchEngine.describeScore(-3));
+    assertEquals("W+4", SearchEngine.describeScore(SearchEngine.exactScore(4)));
+    assertEquals("L-2", SearchEngine.describeScore(SearchEngine.exactScore(-2)));
+  }
+
+  private static int minimax(SearchBoard board, Evaluator evaluator, int depth) {
+    if (depth == 0) {
+      return evaluator.evaluate(board);
+    }
+    int[] moves = new int[board.getGeometry().getCellCount()];
+    int count = board.generateMoves(moves);
+    if (count == 0) {
+      if (!board.hasMoves(SearchBoard.opponent(board.getSideToMove()))) {
+        return SearchEngine.finalScore(board);
+      }
+      board.pass();
+      int score = -minimax(board, evaluator, depth);
+      board.pass();
+      return score;
+    }
+    int best = -SearchEngine.INFINITY;
+    for (int i = 0; i < count; i++) {
+      board.makeMove(moves[i]);
+      best = Math.max(best, -minimax(board, evaluator, depth - 1));
+      board.undoMove();
+    }
+    return best;
+  }
+}
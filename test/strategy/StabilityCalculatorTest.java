@@ -0,0 +1,102 @@
+package strategy;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import model.BasicReversi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test class for the stable disc calculator.
+ */
+public class StabilityCalculatorTest {
+
+  @Test
+  public void testNoStableDiscsAtStart() {
+    SearchBoard board = SearchBoard.fromModel(new BasicReversi(11));
+    StabilityCalculator calculator = new StabilityCalculator(board.getGeometry());
+
+    calculator.compute(board);
+
+    assertEquals(0, calculator.getStableCount(SearchBoard.BLACK));
+    assertEquals(0, calculator.getStableCount(SearchBoard.WHITE));
+  }
+
+  @Test
+  public void testCornerAndEdgeNextToItAreStable() {
+    BoardGeometry geometry = BoardGeometry.hexagonal(11);
+    SearchBoard board = new SearchBoard(geometry);
+    int corner = geometry.indexOf(0, 5);
+    int edge = geometry.indexOf(0, 6);
+    int inner = geometry.indexOf(1, 5);
+    board.setCell(corner, SearchBoard.BLACK);
+    board.setCell(edge, SearchBoard.BLACK);
+    board.setCell(inner, SearchBoard.BLACK);
+    StabilityCalculator calculator = new StabilityCalculator(geometry);
+
+    calculator.compute(board);
+
+    assertTrue(calculator.isStable(corner));
+    assertTrue(calculator.isStable(edge));
+    assertFalse(calculator.isStable(inner));
+    assertEquals(2, calculator.getStableCount(SearchBoard.BLACK));
+  }
+
+  @Test
+  public void testFullBoardIsStable() {
+    BoardGeometry geometry = BoardGeometry.hexagonal(7);
+    SearchBoard board = new SearchBoard(geometry);
+    for (int index = 0; index < geometry.getCellCount(); index++) {
+      board.setCell(index, index % 3 == 0 ? SearchBoard.WHITE : SearchBoard.BLACK);
+    }
+    StabilityCalculator calculator = new StabilityCalculator(geometry);
+
+    calculator.compute(board);
+
+    assertEquals(geometry.getCellCount(), calculator.getStableCount(SearchBoard.BLACK)
+            + calculator.getStableCount(SearchBoard.WHITE));
+    assertEquals(geometry.getCellCount() - 2 * calculator.getStableCount(SearchBoard.WHITE),
+            calculator.discDifferenceUpperBound(board));
+  }
+
+  @Test
+  public void testStableDiscsNeverFlipInRandomGames() {
+    Random random = new Random(7);
+    BoardGeometry geometry = BoardGeometry.hexagonal(7);
+    StabilityCalculator calculator = new StabilityCalculator(geometry);
+    int[] moves = new int[geometry.getCellCount()];
+
+    for (int game = 0; game < 50; game++) {
+      SearchBoard board = SearchBoard.fromModel(new BasicReversi(7));
+      int checkAt = 4 + random.nextInt(20);
+      int[] stableColors = null;
+      int ply = 0;
+      while (!board.isGameOver()) {
+        if (ply++ == checkAt) {
+          calculator.compute(board);
+          stableColors = new int[geometry.getCellCount()];
+          for (int index = 0; index < geometry.getCellCount(); index++) {
+            stableColors[index] = calculator.isStable(index) ? board.getCell(index) : -1;
+          }
+        }
+        int count = board.generateMoves(moves);
+        if (count == 0) {
+          board.pass();
+        } else {
+          board.makeMove(moves[random.nextInt(count)]);
+        }
+        if (stableColors != null) {
+          for (int index = 0; index < geometry.getCellCount(); index++) {
+            if (stableColors[index] >= 0) {
+              assertEquals(stableColors[index], board.getCell(index));
+            }
+          }
+        }
+      }
+    }
+  }
+}
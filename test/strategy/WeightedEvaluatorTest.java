@@ -0,0 +1,57 @@
+package strategy;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import model.BasicReversi;
+import model.CellType;
+import model.Coordinate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Test class for the weighted evaluation function and its features.
+ */
+public class WeightedEvaluatorTest {
+
+  @Test
+  public void testInitialBoardIsBalanced() {
+    SearchBoard board = SearchBoard.fromModel(new BasicReversi(11));
+
+    for (StandardFeature feature : StandardFeature.values()) {
+      assertEquals(feature.getName(), 0, feature.compute(board, SearchBoard.BLACK));
+    }
+    assertEquals(0, WeightedEvaluator.standard().evaluate(board));
+  }
+
+  @Test
+  public void testLoadWeightsFromFile() throws IOException {
+    WeightedEvaluator evaluator = WeightedEvaluator.fromReader(new StringReader(
+            "# only count discs\n\ndisc-difference = 2\nmobility=0\n"));
+    BasicReversi model = new BasicReversi(11);
+    model.makeMove(CellType.BLACK, 6, 3);
+
+    SearchBoard board = SearchBoard.fromModel(model);
+
+    // white to move, 3 discs behind
+    assertEquals(-3 * 2, evaluator.evaluate(board));
+    assertEquals(1, evaluator.getWeights().size());
+  }
+
+  @Test
+  public void testUnknownFeatureRejected() {
+    assertThrows(IllegalArgumentException.class,
+        () -> WeightedEvaluator.fromReader(new StringReader("luck = 3")));
+  }
+
+  @Test
+  public void testAlphaBetaStrategyPicksLegalMove() {
+    BasicReversi model = new BasicReversi(7);
+    Coordinate move = new AlphaBetaStrategy().chooseCoordinate(model, CellType.BLACK);
+
+    assertEquals(true, model.canMakeMove(move.getRow(), move.getCol()));
+  }
+}
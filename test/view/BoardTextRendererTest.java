@@ -0,0 +1,101 @@
+package view;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import model.BasicReversi;
+import model.CellType;
+import model.Coordinate;
+import model.GameEvent;
+import model.ICoordinate;
+import model.SquareReversi;
+import strategy.CaptureMost;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the renderer that streams textual boards.
+ */
+public class BoardTextRendererTest {
+
+  @Test
+  public void testFullBoardMatchesTextualViews() throws IOException {
+    BasicReversi hex = new BasicReversi(9);
+    StringWriter hexOut = new StringWriter();
+    new BoardTextRenderer(hex, BoardTextRenderer.Layout.HEXAGONAL).render(hexOut);
+    assertEquals(new ReversiTextualView(hex).toString(), hexOut.toString());
+
+    SquareReversi square = new SquareReversi(8);
+    square.startGame();
+    square.makeMove(CellType.BLACK, 3, 5);
+    StringWriter squareOut = new StringWriter();
+    new BoardTextRenderer(square, BoardTextRenderer.Layout.SQUARE).render(squareOut);
+    assertEquals(new SquareReversiTextualView(square).toString(), squareOut.toString());
+  }
+
+  @Test
+  public void testTextualViewRendersToGivenOutput() throws IOException {
+    BasicReversi model = new BasicReversi(7);
+    StringBuilder log = new StringBuilder();
+    TextualView view = new ReversiTextualView(model, log);
+    view.render();
+    view.render();
+    assertEquals(view.toString() + view.toString(), log.toString());
+  }
+
+  @Test
+  public void testOnlyChangedRowsAreWritten() throws IOException {
+    BasicReversi model = new BasicReversi(7);
+    BoardTextRenderer renderer =
+            new BoardTextRenderer(model, BoardTextRenderer.Layout.HEXAGONAL);
+    StringBuilder out = new StringBuilder();
+    assertEquals(7, renderer.renderChangedRows(out));
+    assertTrue(out.toString().startsWith("0:    _ _ _ _ \n"));
+
+    Set<Integer> touched = new HashSet<>();
+    for (ICoordinate cell : playFirstMove(model)) {
+      touched.add(cell.getRow());
+    }
+    out.setLength(0);
+    assertEquals(touched.size(), renderer.renderChangedRows(out));
+    assertEquals(0, renderer.renderChangedRows(out));
+  }
+
+  @Test
+  public void testAnsiFramesRedrawOnlyChangedCells() throws IOException {
+    BasicReversi model = new BasicReversi(7);
+    BoardTextRenderer renderer =
+            new BoardTextRenderer(model, BoardTextRenderer.Layout.HEXAGONAL);
+    StringBuilder out = new StringBuilder();
+    assertEquals(37, renderer.renderAnsiDiff(out));
+    assertTrue(out.toString().startsWith("\u001b[H\u001b[2J"));
+
+    out.setLength(0);
+    assertEquals(0, renderer.renderAnsiDiff(out));
+    assertEquals("", out.toString());
+
+    Set<ICoordinate> changed = playFirstMove(model);
+    assertEquals(changed.size(), renderer.renderAnsiDiff(out));
+    assertTrue(out.toString().endsWith("\u001b[8;1H"));
+    assertTrue(out.toString().contains("X"));
+    assertFalse(out.toString().contains("_"));
+  }
+
+  // starts the game, plays black's first move and gets the cells it changed
+  private static Set<ICoordinate> playFirstMove(BasicReversi model) {
+    List<GameEvent> events = new ArrayList<>();
+    model.getEventBus().subscribe(events::add);
+    model.startGame();
+    Coordinate move = new CaptureMost().chooseCoordinate(model, CellType.BLACK);
+    model.makeMove(CellType.BLACK, move.getRow(), move.getCol());
+    return events.get(events.size() - 1).getChanges().keySet();
+  }
+}
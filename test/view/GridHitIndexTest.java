@@ -0,0 +1,75 @@
+package view;
+
+import org.junit.Test;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for the bucket index that finds the cell under a pixel.
+ */
+public class GridHitIndexTest {
+
+  private static final GridHitIndex.HitTest<Rectangle> INSIDE =
+          (cell, x, y) -> cell.contains(x, y);
+
+  /**
+   * Test that a lookup finds the same cell as a scan over all cells in order, overlaps included.
+   */
+  @Test
+  public void testFindMatchesLinearScan() {
+    Random random = new Random(7);
+    List<Rectangle> cells = new ArrayList<>();
+    GridHitIndex<Rectangle> index = new GridHitIndex<>(25, 25, INSIDE);
+    for (int i = 0; i < 60; i++) {
+      Rectangle cell = new Rectangle(random.nextInt(300), random.nextInt(300),
+              10 + random.nextInt(40), 10 + random.nextInt(40));
+      cells.add(cell);
+      index.add(cell, cell);
+    }
+    assertEquals(60, index.size());
+
+    for (int x = -10; x < 360; x += 3) {
+      for (int y = -10; y < 360; y += 3) {
+        Rectangle expected = null;
+        for (Rectangle cell : cells) {
+          if (cell.contains(x, y)) {
+            expected = cell;
+            break;
+          }
+        }
+        assertEquals(expected, index.find(x, y));
+      }
+    }
+  }
+
+  /**
+   * Test that an empty or cleared index finds nothing.
+   */
+  @Test
+  public void testClearedIndexFindsNothing() {
+    GridHitIndex<Rectangle> index = new GridHitIndex<>(10, 10, INSIDE);
+    assertNull(index.find(0, 0));
+    Rectangle cell = new Rectangle(5, 5, 10, 10);
+    index.add(cell, cell);
+    assertEquals(cell, index.find(6, 6));
+    index.clear();
+    assertNull(index.find(6, 6));
+    assertEquals(0, index.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBucketSizeMustBePositive() {
+    new GridHitIndex<>(0, 10, INSIDE);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCellNeedsBounds() {
+    new GridHitIndex<>(10, 10, INSIDE).add(new Rectangle(), null);
+  }
+}
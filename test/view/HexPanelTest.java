@@ -2,15 +2,25 @@ package view;
 
 import org.junit.Test;
 
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
 
 import model.BasicReversi;
 import model.CellType;
 import model.Coordinate;
+import model.GameEvent;
 import model.ICoordinate;
 import model.ReadonlyReversiModel;
+import strategy.CaptureMost;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 /**
  * Class to test the logic functionality of a HexPanel.
@@ -33,4 +43,67 @@ public class HexPanelTest {
 
     assertEquals(new Coordinate(1, 1), result);
   }
+
+  /**
+   * Test that only the cells named in a board change are redrawn with their new contents.
+   */
+  @Test
+  public void testUpdateCellsTouchesOnlyChangedCells() {
+    BasicReversi model = new BasicReversi(7);
+    HexPanel hexPanel = new HexPanel(model);
+    List<GameEvent> events = new ArrayList<>();
+    model.getEventBus().subscribe(events::add);
+    model.startGame();
+    Coordinate move = new CaptureMost().chooseCoordinate(model, CellType.BLACK);
+    model.makeMove(CellType.BLACK, move.getRow(), move.getCol());
+    GameEvent played = events.get(events.size() - 1);
+
+    // only the placed disc is reported, so the flipped ones keep showing white
+    hexPanel.updateCells(Set.of(played.getPlaced()));
+    assertEquals(CellType.BLACK, hexPanel.getDisplayedContent(move.getRow(), move.getCol()));
+    for (ICoordinate flipped : played.getChanges().keySet()) {
+      if (!flipped.equals(played.getPlaced())) {
+        assertEquals(CellType.WHITE,
+                hexPanel.getDisplayedContent(flipped.getRow(), flipped.getCol()));
+      }
+    }
+
+    hexPanel.updateCells(played.getChanges().keySet());
+    for (ICoordinate cell : model.getGameBoard().keySet()) {
+      assertEquals(model.getContent(cell.getRow(), cell.getCol()),
+              hexPanel.getDisplayedContent(cell.getRow(), cell.getCol()));
+    }
+  }
+
+  /**
+   * Test that a changed cell is drawn with its new disc once the panel paints again.
+   */
+  @Test
+  public void testChangedCellIsPainted() {
+    BasicReversi model = new BasicReversi(7);
+    HexPanel hexPanel = new HexPanel(model);
+    hexPanel.setSize(500, 500);
+    List<GameEvent> events = new ArrayList<>();
+    model.getEventBus().subscribe(events::add);
+    model.startGame();
+    Coordinate move = new CaptureMost().chooseCoordinate(model, CellType.BLACK);
+    Rectangle bounds = hexPanel.getCellBounds(move.getRow(), move.getCol());
+    int centerX = (int) bounds.getCenterX();
+    int centerY = (int) bounds.getCenterY();
+    assertEquals(Color.LIGHT_GRAY.getRGB(), paint(hexPanel).getRGB(centerX, centerY));
+
+    model.makeMove(CellType.BLACK, move.getRow(), move.getCol());
+    hexPanel.updateCells(events.get(events.size() - 1).getChanges().keySet());
+    assertEquals(Color.BLACK.getRGB(), paint(hexPanel).getRGB(centerX, centerY));
+    assertNull(hexPanel.getCellBounds(0, 0));
+  }
+
+  private static BufferedImage paint(HexPanel hexPanel) {
+    BufferedImage image = new BufferedImage(hexPanel.getWidth(), hexPanel.getHeight(),
+            BufferedImage.TYPE_INT_RGB);
+    Graphics2D g2d = image.createGraphics();
+    hexPanel.paint(g2d);
+    g2d.dispose();
+    return image;
+  }
 }
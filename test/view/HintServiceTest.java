@@ -0,0 +1,194 @@
+package view;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import model.BasicReversi;
+import model.CellType;
+import model.Coordinate;
+import model.ReversiModel;
+import model.SquareReversi;
+import strategy.CaptureMost;
+import strategy.SearchBoard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the service that works out the hints of the board views.
+ */
+public class HintServiceTest {
+
+  private static final Executor NOW = Runnable::run;
+
+  private final List<HintService.Hints> delivered = new ArrayList<>();
+
+  private static ReversiModel startedModel() {
+    ReversiModel model = new BasicReversi(7);
+    model.startGame();
+    return model;
+  }
+
+  @Test
+  public void testFlipCountsCoverTheLegalMoves() {
+    ReversiModel model = startedModel();
+    HintService service = new HintService(NOW, NOW, 2, 3);
+    service.request(model, false, delivered::add);
+
+    assertEquals(1, delivered.size());
+    HintService.Hints hints = delivered.get(0);
+    assertEquals(model.getBoardVersion(), hints.getBoardVersion());
+    assertFalse(hints.hasSearchScores());
+    int legal = 0;
+    for (int row = 0; row < model.getBoardSize(); row++) {
+      for (int col = 0; col < model.getBoardSize(); col++) {
+        if (model.canMakeMove(row, col)) {
+          legal++;
+          assertTrue(hints.getFlips(new Coordinate(col, row)) > 0);
+        }
+      }
+    }
+    assertEquals(legal, hints.getFlipCounts().size());
+  }
+
+  @Test
+  public void testHintsAreWorkedOutOncePerBoardVersion() {
+    ReversiModel model = startedModel();
+    HintService service = new HintService(NOW, NOW, 2, 3);
+    service.request(model, false, delivered::add);
+    service.request(model, false, delivered::add);
+    assertEquals(2, delivered.size());
+    assertEquals(1, service.getComputedCount());
+
+    service.request(model, true, delivered::add);
+    assertEquals(2, service.getComputedCount());
+    HintService.Hints searched = delivered.get(2);
+    assertTrue(searched.hasSearchScores());
+    int scored = 0;
+    for (Coordinate move : searched.getFlipCounts().keySet()) {
+      if (searched.getSearchScore(move) != null) {
+        scored++;
+      }
+    }
+    assertTrue(scored > 0 && scored <= 3);
+
+    // scores also serve a later request for flip counts only
+    service.request(model, false, delivered::add);
+    assertEquals(2, service.getComputedCount());
+    assertNotNull(service.getHints(model.getBoardVersion()));
+  }
+
+  @Test
+  public void testNewerPositionReplacesPendingRequest() {
+    ReversiModel model = startedModel();
+    List<Runnable> background = new ArrayList<>();
+    HintService service = new HintService(background::add, NOW, 2, 3);
+    service.request(model, false, delivered::add);
+    Coordinate move = new CaptureMost().chooseCoordinate(model, CellType.BLACK);
+    model.makeMove(CellType.BLACK, move.getRow(), move.getCol());
+    service.request(model, false, delivered::add);
+
+    for (Runnable task : background) {
+      task.run();
+    }
+    assertEquals(1, delivered.size());
+    assertEquals(model.getBoardVersion(), delivered.get(0).getBoardVersion());
+    assertEquals(1, service.getComputedCount());
+  }
+
+  @Test
+  public void testFinishedGameHasNoHints() {
+    SquareReversi model = new SquareReversi(8);
+    model.startGame();
+    model.skip(CellType.BLACK);
+    model.skip(CellType.WHITE);
+    HintService service = new HintService(NOW, NOW, 2, 3);
+    service.request(model, true, delivered::add);
+    assertEquals(1, delivered.size());
+    assertTrue(delivered.get(0).getFlipCounts().isEmpty());
+  }
+
+  @Test
+  public void testPanelsShowHintsOfCurrentPosition() {
+    ReversiModel hex = startedModel();
+    HexPanel hexPanel = new HexPanel(hex, new HintService(NOW, NOW, 2, 3));
+    SquareReversi square = new SquareReversi(8);
+    square.startGame();
+    SquarePanel squarePanel = new SquarePanel(square, new HintService(NOW, NOW, 2, 3));
+
+    Map<Coordinate, Integer> hexFlips = hintsOf(hex);
+    assertFalse(hexFlips.isEmpty());
+    for (Map.Entry<Coordinate, Integer> flips : hexFlips.entrySet()) {
+      assertEquals((int) flips.getValue(),
+              hexPanel.getHintedFlips(flips.getKey().getRow(), flips.getKey().getCol()));
+    }
+    // black opens the square board with four moves of one disc each
+    assertEquals(1, squarePanel.getHintedFlips(3, 5));
+    assertEquals(0, squarePanel.getHintedFlips(0, 0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testServiceNeedsExecutors() {
+    new HintService(null, NOW, 2, 3);
+  }
+
+  private static Map<Coordinate, Integer> hintsOf(ReversiModel model) {
+    List<HintService.Hints> hints = new ArrayList<>();
+    new HintService(NOW, NOW, 1, 1).request(model, false, hints::add);
+    return hints.get(0).getFlipCounts();
+  }
+
+  @Test
+  public void testHintsOnlyCoverMovesTheModelAccepts() {
+    ReversiModel model = new BasicReversi(11);
+    model.startGame();
+    Random random = new Random(7);
+    Set<Coordinate> legal = legalMoves(model);
+    // play until the search board's standard rules offer a move the model rejects
+    while (!model.isGameOver() && legal.size() == countGenerated(model)) {
+      List<Coordinate> moves = new ArrayList<>(legal);
+      if (moves.isEmpty()) {
+        model.skip(model.getCurrentPlayerTurn());
+      } else {
+        Coordinate move = moves.get(random.nextInt(moves.size()));
+        model.makeMove(model.getCurrentPlayerTurn(), move.getRow(), move.getCol());
+      }
+      legal = legalMoves(model);
+    }
+    assertFalse(model.isGameOver());
+
+    HintService service = new HintService(NOW, NOW, 2, 100);
+    service.request(model, true, delivered::add);
+    HintService.Hints hints = delivered.get(0);
+    assertEquals(legal, hints.getFlipCounts().keySet());
+    for (Coordinate move : hints.getFlipCounts().keySet()) {
+      assertNotNull(hints.getSearchScore(move));
+    }
+  }
+
+  private static Set<Coordinate> legalMoves(ReversiModel model) {
+    Set<Coordinate> legal = new HashSet<>();
+    for (int row = 0; row < model.getBoardSize(); row++) {
+      for (int col = 0; col < model.getBoardSize(); col++) {
+        if (model.canMakeMove(row, col)) {
+          legal.add(new Coordinate(col, row));
+        }
+      }
+    }
+    return legal;
+  }
+
+  private static int countGenerated(ReversiModel model) {
+    SearchBoard board = SearchBoard.fromModel(model);
+    return board.generateMoves(new int[board.getGeometry().getCellCount()]);
+  }
+}
@@ -1,12 +1,16 @@
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 
 import model.BasicReversi;
 import model.CellType;
 import model.Coordinate;
+import model.GameEvent;
 import model.ICoordinate;
 import model.ReadonlyReversiModel;
+import model.SquareReversi;
 
 import view.SquarePanel;
 
@@ -33,4 +37,25 @@ public class SquarePanelTest {
 
     assertEquals(new Coordinate(1, 1), result);
   }
+
+  /**
+   * Test that a square board gets its cells and that a board change updates them.
+   */
+  @Test
+  public void testSquareBoardCellsFollowChanges() {
+    SquareReversi model = new SquareReversi(8);
+    SquarePanel square = new SquarePanel(model);
+    assertEquals(CellType.BLACK, square.getDisplayedContent(4, 4));
+    assertEquals(CellType.EMPTY, square.getDisplayedContent(0, 0));
+
+    List<GameEvent> events = new ArrayList<>();
+    model.getEventBus().subscribe(events::add);
+    model.startGame();
+    model.makeMove(CellType.BLACK, 3, 5);
+    square.updateCells(events.get(events.size() - 1).getChanges().keySet());
+    for (ICoordinate cell : model.getGameBoard().keySet()) {
+      assertEquals(model.getContent(cell.getRow(), cell.getCol()),
+              square.getDisplayedContent(cell.getRow(), cell.getCol()));
+    }
+  }
 }
\ No newline at end of file
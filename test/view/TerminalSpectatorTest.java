@@ -0,0 +1,161 @@
+package view;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import model.BasicReversi;
+import model.CellType;
+import model.Coordinate;
+import strategy.CaptureMost;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the spectator that shows a running game on a text terminal.
+ */
+public class TerminalSpectatorTest {
+
+  private static final Pattern CELL_DRAWN = Pattern.compile("\u001b\\[\\d+;\\d+H[XO_]");
+
+  private ScheduledExecutorService scheduler;
+
+  @Before
+  public void setUp() {
+    scheduler = Executors.newSingleThreadScheduledExecutor();
+  }
+
+  @After
+  public void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  public void testFirstFrameDrawsWholeBoardAndStatus() throws Exception {
+    BasicReversi model = new BasicReversi(7);
+    model.startGame();
+    StringWriter out = new StringWriter();
+    TerminalSpectator spectator =
+            TerminalSpectator.watch(model, BoardTextRenderer.Layout.HEXAGONAL, out, 10, scheduler);
+    awaitFrames(spectator, 1);
+    spectator.close();
+
+    StringWriter board = new StringWriter();
+    new BoardTextRenderer(model, BoardTextRenderer.Layout.HEXAGONAL).render(board);
+    String text = out.toString();
+    assertTrue(text.startsWith("\u001b[H\u001b[2J"));
+    assertTrue(text.contains(board.toString()));
+    assertTrue(text.endsWith("X 3 - O 3, X to move\n"));
+  }
+
+  @Test
+  public void testShutDownSchedulerClosesSpectatorQuietly() throws Exception {
+    BasicReversi model = new BasicReversi(7);
+    model.startGame();
+    int listeners = model.getEventBus().getListenerCount();
+    StringWriter out = new StringWriter();
+    TerminalSpectator spectator =
+            TerminalSpectator.watch(model, BoardTextRenderer.Layout.HEXAGONAL, out, 10, scheduler);
+    awaitFrames(spectator, 1);
+    scheduler.shutdownNow();
+
+    Coordinate move = new CaptureMost().chooseCoordinate(model, CellType.BLACK);
+    model.makeMove(CellType.BLACK, move.getRow(), move.getCol());
+    assertEquals(listeners, model.getEventBus().getListenerCount());
+    assertEquals(1, spectator.getFrameCount());
+  }
+
+  @Test
+  public void testMoveRedrawsOnlyChangedCells() throws InterruptedException {
+    BasicReversi model = new BasicReversi(7);
+    model.startGame();
+    StringWriter out = new StringWriter();
+    TerminalSpectator spectator =
+            TerminalSpectator.watch(model, BoardTextRenderer.Layout.HEXAGONAL, out, 50, scheduler);
+    awaitFrames(spectator, 1);
+    int firstFrame = out.getBuffer().length();
+
+    Coordinate move = new CaptureMost().chooseCoordinate(model, CellType.BLACK);
+    model.makeMove(CellType.BLACK, move.getRow(), move.getCol());
+    awaitFrames(spectator, 2);
+    spectator.close();
+
+    String frame = out.toString().substring(firstFrame);
+    // the placed disc and the one it flipped
+    assertEquals(2, count(frame));
+    assertTrue(frame.endsWith("X 5 - O 2, O to move\n"));
+  }
+
+  @Test
+  public void testChangesBetweenFramesShareOneFrame() throws InterruptedException {
+    BasicReversi model = new BasicReversi(7);
+    model.startGame();
+    StringWriter out = new StringWriter();
+    TerminalSpectator spectator =
+            TerminalSpectator.watch(model, BoardTextRenderer.Layout.HEXAGONAL, out, 2, scheduler);
+    awaitFrames(spectator, 1);
+    int firstFrame = out.getBuffer().length();
+
+    CaptureMost strategy = new CaptureMost();
+    for (int i = 0; i < 4; i++) {
+      CellType player = model.getCurrentPlayerTurn();
+      Coordinate move = strategy.chooseCoordinate(model, player);
+      model.makeMove(player, move.getRow(), move.getCol());
+    }
+    awaitFrames(spectator, 2);
+    Thread.sleep(100);
+    spectator.close();
+
+    assertEquals(2, spectator.getFrameCount());
+    assertTrue(count(out.toString().substring(firstFrame)) >= 4);
+  }
+
+  @Test
+  public void testNothingIsWrittenAfterClose() throws InterruptedException {
+    BasicReversi model = new BasicReversi(7);
+    model.startGame();
+    StringWriter out = new StringWriter();
+    TerminalSpectator spectator =
+            TerminalSpectator.watch(model, BoardTextRenderer.Layout.HEXAGONAL, out, 50, scheduler);
+    awaitFrames(spectator, 1);
+    spectator.close();
+    int written = out.getBuffer().length();
+
+    Coordinate move = new CaptureMost().chooseCoordinate(model, CellType.BLACK);
+    model.makeMove(CellType.BLACK, move.getRow(), move.getCol());
+    Thread.sleep(100);
+    assertEquals(written, out.getBuffer().length());
+    assertEquals(1, spectator.getFrameCount());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFrameRateMustBePositive() {
+    TerminalSpectator.watch(new BasicReversi(7), BoardTextRenderer.Layout.HEXAGONAL,
+            new StringWriter(), 0, scheduler);
+  }
+
+  private static void awaitFrames(TerminalSpectator spectator, int frames)
+          throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (spectator.getFrameCount() < frames && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(frames, spectator.getFrameCount());
+  }
+
+  private static int count(String frame) {
+    Matcher cells = CELL_DRAWN.matcher(frame);
+    int count = 0;
+    while (cells.find()) {
+      count++;
+    }
+    return count;
+  }
+}